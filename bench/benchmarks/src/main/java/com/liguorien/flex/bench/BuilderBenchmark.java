@@ -0,0 +1,161 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.bench;
+
+import com.liguorien.flex.bench.fixtures.Fixtures;
+import com.liguorien.flex.bench.fixtures.Order;
+import com.liguorien.flex.bench.fixtures.OrderBuilder;
+import com.liguorien.flex.bench.fixtures.OrderJsonBuilder;
+import com.liguorien.flex.bench.fixtures.OrderStaxBuilder;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.concurrent.TimeUnit;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+import org.dom4j.Document;
+import org.dom4j.DocumentHelper;
+import org.dom4j.Element;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * <p>Measures the builders generated for the fixture entities : the dom4j
+ * builder, the StAX builder and the JSON builder.  Each one reads and 
+ * writes the same order.  Run with <code>-prof gc</code> to get the 
+ * allocation rate of each method.</p>
+ * <p>The dom4j methods are measured on an element which is already 
+ * parsed, <code>dom4jParseAndRead</code> includes the parsing.  The StAX
+ * and JSON methods always include the parsing or the serialization, since
+ * they read and write the stream directly.</p>
+ *
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BuilderBenchmark {
+    
+    /**
+     * The number of lines of the order
+     */
+    @Param({"10", "100"})
+    public int lines;
+    
+    private Order _order;
+    
+    private Element _element;
+    
+    private String _xml;
+    
+    private String _json;
+    
+    private XMLInputFactory _inputFactory;
+    
+    private XMLOutputFactory _outputFactory;
+    
+    @Setup
+    public void createOrder() throws Exception {
+        
+        _order = Fixtures.createOrder(42, lines);
+        _element = OrderBuilder.getElement(_order);
+        _xml = _element.asXML();
+        
+        final StringWriter w = new StringWriter();
+        OrderJsonBuilder.write(w, _order);
+        _json = w.toString();
+        
+        _inputFactory = XMLInputFactory.newInstance();
+        _outputFactory = XMLOutputFactory.newInstance();
+        
+        // every reader must give back the order which was written
+        check("dom4j", dom4jParseAndRead());
+        check("StAX", staxRead());
+        check("JSON", jsonRead());
+    }
+    
+    private void check(String name, Order order) {
+        if(!_xml.equals(OrderBuilder.getElement(order).asXML())){
+            throw new IllegalStateException(
+                    "The " + name + " builder doesn't read the order back");
+        }
+    }
+    
+    @Benchmark
+    public Order dom4jRead() {
+        return OrderBuilder.getInstance(_element);
+    }
+    
+    @Benchmark
+    public Element dom4jWrite() {
+        return OrderBuilder.getElement(_order);
+    }
+    
+    @Benchmark
+    public Order dom4jParseAndRead() throws Exception {
+        final Document doc = DocumentHelper.parseText(_xml);
+        return OrderBuilder.getInstance(doc.getRootElement());
+    }
+    
+    @Benchmark
+    public Order staxRead() throws Exception {
+        final XMLStreamReader in = 
+                _inputFactory.createXMLStreamReader(new StringReader(_xml));
+        in.nextTag();
+        return OrderStaxBuilder.getInstance(in);
+    }
+    
+    @Benchmark
+    public StringWriter staxWrite() throws Exception {
+        final StringWriter w = new StringWriter();
+        final XMLStreamWriter out = _outputFactory.createXMLStreamWriter(w);
+        OrderStaxBuilder.write(out, _order);
+        out.flush();
+        return w;
+    }
+    
+    @Benchmark
+    public Order jsonRead() throws Exception {
+        return OrderJsonBuilder.read(new StringReader(_json));
+    }
+    
+    @Benchmark
+    public StringWriter jsonWrite() throws Exception {
+        final StringWriter w = new StringWriter();
+        OrderJsonBuilder.write(w, _order);
+        return w;
+    }
+}
@@ -0,0 +1,105 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.bench;
+
+import com.liguorien.flex.bench.fixtures.Fixtures;
+import com.liguorien.flex.bench.fixtures.Order;
+import com.liguorien.flex.bench.fixtures.OrderBuilder;
+import com.liguorien.flex.generator.runtime.Dom4jCodec;
+import java.util.concurrent.TimeUnit;
+import org.dom4j.Element;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * <p>Compares the throughput of the runtime {@link Dom4jCodec} with the 
+ * generated dom4j builder, on the same order.  The codec is created by 
+ * the setup, so the introspection is not measured.</p>
+ *
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(3)
+public class CodecBenchmark {
+    
+    /**
+     * The number of lines of the order
+     */
+    @Param({"10", "100"})
+    public int lines;
+    
+    private Dom4jCodec<Order> _codec;
+    
+    private Order _order;
+    
+    private Element _element;
+    
+    @Setup
+    public void createOrder() {
+        
+        _codec = Dom4jCodec.forClass(Order.class);
+        _order = Fixtures.createOrder(42, lines);
+        _element = OrderBuilder.getElement(_order);
+        
+        // the codec must write and read the same document as the builder
+        final String xml = _element.asXML();
+        if(!xml.equals(codecWrite().asXML()) ||
+                !xml.equals(OrderBuilder.getElement(codecRead()).asXML())){
+            throw new IllegalStateException(
+                    "The codec doesn't match the generated builder");
+        }
+    }
+    
+    @Benchmark
+    public Order builderRead() {
+        return OrderBuilder.getInstance(_element);
+    }
+    
+    @Benchmark
+    public Order codecRead() {
+        return _codec.getInstance(_element);
+    }
+    
+    @Benchmark
+    public Element builderWrite() {
+        return OrderBuilder.getElement(_order);
+    }
+    
+    @Benchmark
+    public Element codecWrite() {
+        return _codec.getElement(_order);
+    }
+}
@@ -0,0 +1,159 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.bench;
+
+import com.liguorien.flex.generator.FlexGenerator;
+import com.liguorien.flex.generator.handlers.Dom4jBuilderHandler;
+import com.liguorien.flex.generator.handlers.FlexModelBuilderHandler;
+import com.liguorien.flex.generator.handlers.FlexModelHandler;
+import com.liguorien.flex.generator.utils.MemoryCompiler;
+import com.liguorien.flex.generator.utils.MemoryOutputSink;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * <p>Measures {@link FlexGenerator#generate} for a growing number of 
+ * entities.  The entities are synthetic classes compiled in memory when 
+ * the trial starts : each one has attributes, a nested entity and a 
+ * list.  The generated classes are written in a {@link MemoryOutputSink},
+ * so the disk is not measured.</p>
+ * <p>The three default handlers are used : the dom4j builders, the 
+ * ActionScript entities and the ActionScript builders.</p>
+ *
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GenerationBenchmark {
+    
+    private static final String PACKAGE = "com.liguorien.flex.bench.synthetic";
+    
+    /**
+     * The number of generated entities
+     */
+    @Param({"10", "100", "1000"})
+    public int entities;
+    
+    /**
+     * The number of threads of the generator
+     */
+    @Param({"1", "4"})
+    public int threads;
+    
+    private Class<?>[] _classes;
+    
+    @Setup
+    public void compileEntities() throws Exception {
+        
+        final Map<String, String> sources = new HashMap<String, String>();
+        for(int i = 0; i < entities; i++){
+            sources.put(PACKAGE + ".Entity" + i, getSource(i));
+        }
+        
+        final ClassLoader loader = new MemoryCompiler(
+                getClass().getClassLoader()).compile(sources);
+        
+        _classes = new Class<?>[entities];
+        for(int i = 0; i < entities; i++){
+            _classes[i] = Class.forName(PACKAGE + ".Entity" + i, true, loader);
+        }
+    }
+    
+    @Benchmark
+    public MemoryOutputSink generate() {
+        
+        final MemoryOutputSink sink = new MemoryOutputSink();
+        
+        final FlexGenerator g = new FlexGenerator();
+        g.addHandler(new Dom4jBuilderHandler());
+        g.addHandler(new FlexModelHandler());
+        g.addHandler(new FlexModelBuilderHandler());
+        g.setOutputSink(sink);
+        g.setThreadCount(threads);
+        
+        for(Class<?> clazz : _classes){
+            g.addClass(clazz);
+        }
+        
+        g.generate();
+        
+        return sink;
+    }
+    
+    /**
+     * Returns the source of a synthetic entity, which refers to the next 
+     * one.
+     */
+    private String getSource(int index) {
+        
+        final String next = "Entity" + ((index + 1) % entities);
+        
+        final StringBuilder sb = new StringBuilder();
+        sb.append("package ").append(PACKAGE).append(";\n");
+        sb.append("import com.liguorien.flex.generator.*;\n");
+        sb.append("import java.util.List;\n");
+        sb.append("public class Entity").append(index).append(" {\n");
+        sb.append("  private int _id;\n");
+        sb.append("  private String _name;\n");
+        sb.append("  private double _amount;\n");
+        sb.append("  private Integer _rank;\n");
+        sb.append("  private boolean _active;\n");
+        sb.append("  private List<String> _tags;\n");
+        sb.append("  private ").append(next).append(" _next;\n");
+        sb.append("  @FlexNode(\"@id\")\n");
+        sb.append("  public int getId() { return _id; }\n");
+        sb.append("  public void setId(int id) { _id = id; }\n");
+        sb.append("  @FlexNode(\"@name\")\n");
+        sb.append("  public String getName() { return _name; }\n");
+        sb.append("  public void setName(String name) { _name = name; }\n");
+        sb.append("  public double getAmount() { return _amount; }\n");
+        sb.append("  public void setAmount(double amount) { _amount = amount; }\n");
+        sb.append("  public Integer getRank() { return _rank; }\n");
+        sb.append("  public void setRank(Integer rank) { _rank = rank; }\n");
+        sb.append("  public boolean isActive() { return _active; }\n");
+        sb.append("  public void setActive(boolean active) { _active = active; }\n");
+        sb.append("  @FlexList(String.class)\n");
+        sb.append("  public List<String> getTags() { return _tags; }\n");
+        sb.append("  public void setTags(List<String> tags) { _tags = tags; }\n");
+        sb.append("  public ").append(next).append(" getNext() { return _next; }\n");
+        sb.append("  public void setNext(").append(next).append(" next) { _next = next; }\n");
+        sb.append("}\n");
+        return sb.toString();
+    }
+}
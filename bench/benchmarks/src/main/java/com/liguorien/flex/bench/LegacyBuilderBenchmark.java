@@ -0,0 +1,92 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.bench;
+
+import com.liguorien.flex.bench.fixtures.Fixtures;
+import com.liguorien.flex.bench.fixtures.Order;
+import com.liguorien.flex.bench.fixtures.OrderBuilder;
+import com.liguorien.flex.bench.fixtures.OrderLegacyBuilder;
+import java.util.concurrent.TimeUnit;
+import org.dom4j.Element;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * <p>Compares the allocation of the dom4j builders before and after the
+ * wrapper types were read with <code>valueOf()</code> and the numbers 
+ * without trimmed copies.  Run with <code>-prof gc</code> and compare 
+ * the <code>gc.alloc.rate.norm</code> of both methods.</p>
+ * <p>The <code>*LegacyBuilder</code> classes were generated for the 
+ * fixtures by the generator of the previous version, with the 
+ * "LegacyBuilder" suffix.  They are kept as sources since they can't be
+ * generated by the current version.</p>
+ *
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LegacyBuilderBenchmark {
+    
+    /**
+     * The number of lines of the order
+     */
+    @Param({"10", "100"})
+    public int lines;
+    
+    private Element _element;
+    
+    @Setup
+    public void createOrder() {
+        
+        _element = OrderBuilder.getElement(Fixtures.createOrder(42, lines));
+        
+        final String xml = _element.asXML();
+        if(!xml.equals(OrderBuilder.getElement(legacyRead()).asXML())){
+            throw new IllegalStateException(
+                    "The legacy builder doesn't read the order back");
+        }
+    }
+    
+    @Benchmark
+    public Order currentRead() {
+        return OrderBuilder.getInstance(_element);
+    }
+    
+    @Benchmark
+    public Order legacyRead() {
+        return OrderLegacyBuilder.getInstance(_element);
+    }
+}
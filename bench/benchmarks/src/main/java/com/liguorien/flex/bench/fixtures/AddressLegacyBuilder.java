@@ -0,0 +1,141 @@
+package com.liguorien.flex.bench.fixtures;
+
+import com.liguorien.flex.bench.fixtures.Address;
+import java.util.Collection;
+import java.util.Map;
+import org.dom4j.DocumentHelper;
+import org.dom4j.Element;
+
+public class AddressLegacyBuilder {
+
+    /**
+     * Build a Address instance from a dom4j element.
+     * @param el dom4j element. 
+     * @return A Address instance.
+     */
+    public static Address getInstance(Element el) {
+        if(el == null) return null;
+        final Address o = new Address();
+        o.setCity(el.attributeValue("city"));
+        o.setStreet(el.attributeValue("street"));
+        o.setLatitude(new Double(el.elementTextTrim("latitude")));
+        o.setLongitude(new Double(el.elementTextTrim("longitude")));
+        o.setZip(Integer.parseInt(el.elementTextTrim("zip")));
+        return o;
+    }
+
+    /**
+     * Build a dom4j element from a Address instance.
+     * @param o A Address instance. 
+     * @return A dom4j element.
+     */
+    public static Element getElement(Address o) {
+        if(o == null) return null;
+        final Element el = DocumentHelper.createElement("address");
+        String str = null;
+        Element nested = null;
+        str = String.valueOf(o.getCity());
+        el.addAttribute("city", ((str == null) ? "" : str));
+        str = String.valueOf(o.getStreet());
+        el.addAttribute("street", ((str == null) ? "" : str));
+        str = String.valueOf(o.getLatitude());
+        el.addElement("latitude").setText((str == null) ? "" : str);
+        str = String.valueOf(o.getLongitude());
+        el.addElement("longitude").setText((str == null) ? "" : str);
+        str = String.valueOf(o.getZip());
+        el.addElement("zip").setText((str == null) ? "" : str);
+        return el;
+    }
+
+    /**
+     * Fill a Collection of Address instances from a dom4j element.
+     * @param coll A Collection of Address instances. 
+     * @param el A dom4j element. 
+     * @return The Collection sent in parameters.
+     */
+    public static <T extends Collection<Address>> 
+            T getEntityCollection(T coll, Element el) {
+        if(el == null) return null;
+        for(Object obj: el.elements("address")) {
+            coll.add(getInstance((Element)obj));
+        }
+        return coll;
+    }
+
+    /**
+     * Build a dom4j element from an array of Address.
+     * @param coll A Collection of Address. 
+     * @return A dom4j element.
+     */
+    public static Element getArrayElement(Object[] arr) {
+        if(arr == null) return null;
+        final Element el = DocumentHelper.createElement("address");
+        for(Object obj : arr) {
+            el.addElement("e").
+                    setText(String.valueOf(obj.toString()));
+        }
+        return el;
+    }
+
+    /**
+     * Build a dom4j element from a Collection of simple type.
+     * @param coll A Collection of simple type. 
+     * @return A dom4j element.
+     */
+    public static <T extends Collection<?>> 
+            Element getCollectionElement(T coll) {
+        if(coll == null) return null;
+        final Element el = DocumentHelper.createElement("address");
+        int i = 0;
+        for(Object obj : coll) {
+            el.addElement("e").setText(obj.toString());
+        }
+        return el;
+    }
+
+    /**
+     * Build a dom4j element from a Map of Address.
+     * @param map A Map of Address. 
+     * @return A dom4j element.
+     */
+    public static <T extends Map<?, Address>> 
+            Element getEntityMapElement(T map) {
+        if(map == null) return null;
+        final Element el = DocumentHelper.createElement("address");
+        for(Object key : map.keySet()) {
+            final Element ell = getElement(map.get(key));
+            ell.addAttribute("KEY", String.valueOf(key.toString()));
+            el.add(ell);
+        }
+        return el;
+    }
+
+    /**
+     * Build a dom4j element from an array of Address.
+     * @param coll A Collection of Address. 
+     * @return A dom4j element.
+     */
+    public static Element getEntityArrayElement(Address[] arr) {
+        if(arr == null) return null;
+        final Element el = DocumentHelper.createElement("address");
+        for(Address obj : arr) {
+            el.add(getElement(obj));
+        }
+        return el;
+    }
+
+    /**
+     * Build a dom4j element from a Collection of Address.
+     * @param coll A Collection of Address. 
+     * @return A dom4j element.
+     */
+    public static <T extends Collection<Address>> 
+            Element getEntityCollectionElement(T coll) {
+        if(coll == null) return null;
+        final Element el = DocumentHelper.createElement("address");
+        for(Address obj : coll) {
+            el.add(getElement(obj));
+        }
+        return el;
+    }
+}
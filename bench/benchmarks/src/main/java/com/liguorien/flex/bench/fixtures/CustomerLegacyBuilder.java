@@ -0,0 +1,170 @@
+package com.liguorien.flex.bench.fixtures;
+
+import com.liguorien.flex.bench.fixtures.AddressLegacyBuilder;
+import com.liguorien.flex.bench.fixtures.Customer;
+import java.lang.String;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeSet;
+import org.dom4j.DocumentHelper;
+import org.dom4j.Element;
+
+public class CustomerLegacyBuilder {
+
+    /**
+     * Build a Customer instance from a dom4j element.
+     * @param el dom4j element. 
+     * @return A Customer instance.
+     */
+    public static Customer getInstance(Element el) {
+        if(el == null) return null;
+        final Customer o = new Customer();
+        o.setId(Integer.parseInt(el.attributeValue("id")));
+        o.setName(el.attributeValue("name"));
+        o.setAddress(AddressLegacyBuilder.getInstance(el.element("address")));
+        o.setEmail(el.elementTextTrim("email"));
+        o.setTags(getTags(
+                new TreeSet<String>(), el.element("tags")));
+        o.setVip("true".equals(el.elementTextTrim("vip")));
+        return o;
+    }
+
+    /**
+     * Build a dom4j element from a Customer instance.
+     * @param o A Customer instance. 
+     * @return A dom4j element.
+     */
+    public static Element getElement(Customer o) {
+        if(o == null) return null;
+        final Element el = DocumentHelper.createElement("Customer");
+        String str = null;
+        Element nested = null;
+        str = String.valueOf(o.getId());
+        el.addAttribute("id", ((str == null) ? "" : str));
+        str = String.valueOf(o.getName());
+        el.addAttribute("name", ((str == null) ? "" : str));
+        nested = AddressLegacyBuilder.getElement(o.getAddress());
+        if(nested != null) {
+            nested.setName("address");
+            el.add(nested);
+        }
+        str = String.valueOf(o.getEmail());
+        el.addElement("email").setText((str == null) ? "" : str);
+        nested = getCollectionElement(o.getTags());
+        if(nested != null) {
+            nested.setName("tags");
+            el.add(nested);
+        }
+        str = String.valueOf(o.isVip());
+        el.addElement("vip").setText((str == null) ? "" : str);
+        return el;
+    }
+
+    /**
+     * Fill a Collection of Customer instances from a dom4j element.
+     * @param coll A Collection of Customer instances. 
+     * @param el A dom4j element. 
+     * @return The Collection sent in parameters.
+     */
+    public static <T extends Collection<Customer>> 
+            T getEntityCollection(T coll, Element el) {
+        if(el == null) return null;
+        for(Object obj: el.elements("Customer")) {
+            coll.add(getInstance((Element)obj));
+        }
+        return coll;
+    }
+
+    /**
+     * Build a dom4j element from an array of Customer.
+     * @param coll A Collection of Customer. 
+     * @return A dom4j element.
+     */
+    public static Element getArrayElement(Object[] arr) {
+        if(arr == null) return null;
+        final Element el = DocumentHelper.createElement("Customer");
+        for(Object obj : arr) {
+            el.addElement("e").
+                    setText(String.valueOf(obj.toString()));
+        }
+        return el;
+    }
+
+    /**
+     * Build a dom4j element from a Collection of simple type.
+     * @param coll A Collection of simple type. 
+     * @return A dom4j element.
+     */
+    public static <T extends Collection<?>> 
+            Element getCollectionElement(T coll) {
+        if(coll == null) return null;
+        final Element el = DocumentHelper.createElement("Customer");
+        int i = 0;
+        for(Object obj : coll) {
+            el.addElement("e").setText(obj.toString());
+        }
+        return el;
+    }
+
+    /**
+     * Build a dom4j element from a Map of Customer.
+     * @param map A Map of Customer. 
+     * @return A dom4j element.
+     */
+    public static <T extends Map<?, Customer>> 
+            Element getEntityMapElement(T map) {
+        if(map == null) return null;
+        final Element el = DocumentHelper.createElement("Customer");
+        for(Object key : map.keySet()) {
+            final Element ell = getElement(map.get(key));
+            ell.addAttribute("KEY", String.valueOf(key.toString()));
+            el.add(ell);
+        }
+        return el;
+    }
+
+    /**
+     * Build a dom4j element from an array of Customer.
+     * @param coll A Collection of Customer. 
+     * @return A dom4j element.
+     */
+    public static Element getEntityArrayElement(Customer[] arr) {
+        if(arr == null) return null;
+        final Element el = DocumentHelper.createElement("Customer");
+        for(Customer obj : arr) {
+            el.add(getElement(obj));
+        }
+        return el;
+    }
+
+    /**
+     * Build a dom4j element from a Collection of Customer.
+     * @param coll A Collection of Customer. 
+     * @return A dom4j element.
+     */
+    public static <T extends Collection<Customer>> 
+            Element getEntityCollectionElement(T coll) {
+        if(coll == null) return null;
+        final Element el = DocumentHelper.createElement("Customer");
+        for(Customer obj : coll) {
+            el.add(getElement(obj));
+        }
+        return el;
+    }
+
+    /**
+     * Fill a Collection of String from a dom4j Element.
+     * @param coll A Collection of String instances. 
+     * @param els A dom4j element. 
+     * @return a Collection of String
+     */
+    public static <T extends Collection<String>> 
+            T getTags(T coll, Element els) {
+        if(els == null) return null;
+        for(Object obj: els.elements()) {
+            final Element el = (Element)obj;
+            coll.add(el.getTextTrim());
+        }
+        return coll;
+    }
+}
@@ -0,0 +1,195 @@
+package com.liguorien.flex.bench.fixtures;
+
+import com.liguorien.flex.bench.fixtures.CustomerLegacyBuilder;
+import com.liguorien.flex.bench.fixtures.Order;
+import com.liguorien.flex.bench.fixtures.OrderLine;
+import com.liguorien.flex.bench.fixtures.OrderLineLegacyBuilder;
+import java.lang.String;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+import org.dom4j.DocumentHelper;
+import org.dom4j.Element;
+
+public class OrderLegacyBuilder {
+
+    /**
+     * Build a Order instance from a dom4j element.
+     * @param el dom4j element. 
+     * @return A Order instance.
+     */
+    public static Order getInstance(Element el) {
+        if(el == null) return null;
+        final Order o = new Order();
+        o.setId(Long.parseLong(el.attributeValue("id")));
+        o.setStatus(el.attributeValue("status"));
+        o.setAttributes(getAttributesMap(
+                new TreeMap<String, String>(), el.element("attributes")));
+        o.setCustomer(CustomerLegacyBuilder.getInstance(el.element("customer")));
+        o.setLines(OrderLineLegacyBuilder.getEntityCollection(
+                new ArrayList<OrderLine>(), el.element("lines")));
+        o.setNotes(el.elementTextTrim("notes"));
+        o.setPriority(new Integer(el.elementTextTrim("priority")));
+        return o;
+    }
+
+    /**
+     * Build a dom4j element from a Order instance.
+     * @param o A Order instance. 
+     * @return A dom4j element.
+     */
+    public static Element getElement(Order o) {
+        if(o == null) return null;
+        final Element el = DocumentHelper.createElement("order");
+        String str = null;
+        Element nested = null;
+        str = String.valueOf(o.getId());
+        el.addAttribute("id", ((str == null) ? "" : str));
+        str = String.valueOf(o.getStatus());
+        el.addAttribute("status", ((str == null) ? "" : str));
+        nested = getMapElement(o.getAttributes());
+        if(nested != null) {
+            nested.setName("attributes");
+            el.add(nested);
+        }
+        nested = CustomerLegacyBuilder.getElement(o.getCustomer());
+        if(nested != null) {
+            nested.setName("customer");
+            el.add(nested);
+        }
+        nested = OrderLineLegacyBuilder.
+                getEntityCollectionElement(o.getLines());
+        if(nested != null) {
+            nested.setName("lines");
+            el.add(nested);
+        }
+        str = String.valueOf(o.getPriority());
+        el.addElement("priority").setText((str == null) ? "" : str);
+        return el;
+    }
+
+    /**
+     * Fill a Collection of Order instances from a dom4j element.
+     * @param coll A Collection of Order instances. 
+     * @param el A dom4j element. 
+     * @return The Collection sent in parameters.
+     */
+    public static <T extends Collection<Order>> 
+            T getEntityCollection(T coll, Element el) {
+        if(el == null) return null;
+        for(Object obj: el.elements("order")) {
+            coll.add(getInstance((Element)obj));
+        }
+        return coll;
+    }
+
+    /**
+     * Build a dom4j element from an array of Order.
+     * @param coll A Collection of Order. 
+     * @return A dom4j element.
+     */
+    public static Element getArrayElement(Object[] arr) {
+        if(arr == null) return null;
+        final Element el = DocumentHelper.createElement("order");
+        for(Object obj : arr) {
+            el.addElement("e").
+                    setText(String.valueOf(obj.toString()));
+        }
+        return el;
+    }
+
+    /**
+     * Build a dom4j element from a Collection of simple type.
+     * @param coll A Collection of simple type. 
+     * @return A dom4j element.
+     */
+    public static <T extends Collection<?>> 
+            Element getCollectionElement(T coll) {
+        if(coll == null) return null;
+        final Element el = DocumentHelper.createElement("order");
+        int i = 0;
+        for(Object obj : coll) {
+            el.addElement("e").setText(obj.toString());
+        }
+        return el;
+    }
+
+    /**
+     * Build a dom4j element from a Map of Order.
+     * @param map A Map of Order. 
+     * @return A dom4j element.
+     */
+    public static <T extends Map<?, Order>> 
+            Element getEntityMapElement(T map) {
+        if(map == null) return null;
+        final Element el = DocumentHelper.createElement("order");
+        for(Object key : map.keySet()) {
+            final Element ell = getElement(map.get(key));
+            ell.addAttribute("KEY", String.valueOf(key.toString()));
+            el.add(ell);
+        }
+        return el;
+    }
+
+    /**
+     * Build a dom4j element from an array of Order.
+     * @param coll A Collection of Order. 
+     * @return A dom4j element.
+     */
+    public static Element getEntityArrayElement(Order[] arr) {
+        if(arr == null) return null;
+        final Element el = DocumentHelper.createElement("order");
+        for(Order obj : arr) {
+            el.add(getElement(obj));
+        }
+        return el;
+    }
+
+    /**
+     * Build a dom4j element from a Collection of Order.
+     * @param coll A Collection of Order. 
+     * @return A dom4j element.
+     */
+    public static <T extends Collection<Order>> 
+            Element getEntityCollectionElement(T coll) {
+        if(coll == null) return null;
+        final Element el = DocumentHelper.createElement("order");
+        for(Order obj : coll) {
+            el.add(getElement(obj));
+        }
+        return el;
+    }
+
+    /**
+     * Build a Map of String with String keys from a dom4j element.
+     * @param map A Map of String with String keys.
+     * @param els A dom4j element.
+     * @return A Map of String with String keys.
+     */
+    public static <T extends Map<String, String>> 
+            T getAttributesMap(T map, Element els) {
+        if(els == null) return null;
+        for(Object obj: els.elements()) {
+            final Element el = (Element)obj;
+            map.put(el.attributeValue("KEY"), el.getTextTrim());
+        }
+        return map;
+    }
+
+    /**
+     * Build a dom4j element from a Map of simple type.
+     * @param map A Map of simple type. 
+     * @return A dom4j element.
+     */
+    public static Element getMapElement(Map map) {
+        if(map == null) return null;
+        final Element el = DocumentHelper.createElement("order");
+        for(Object key : map.keySet()) {
+            el.addElement("order").
+                addAttribute("KEY", key.toString()).
+                setText(String.valueOf(map.get(key)));
+        }
+        return el;
+    }
+}
@@ -0,0 +1,139 @@
+package com.liguorien.flex.bench.fixtures;
+
+import com.liguorien.flex.bench.fixtures.OrderLine;
+import com.liguorien.flex.bench.fixtures.ProductLegacyBuilder;
+import java.util.Collection;
+import java.util.Map;
+import org.dom4j.DocumentHelper;
+import org.dom4j.Element;
+
+public class OrderLineLegacyBuilder {
+
+    /**
+     * Build a OrderLine instance from a dom4j element.
+     * @param el dom4j element. 
+     * @return A OrderLine instance.
+     */
+    public static OrderLine getInstance(Element el) {
+        if(el == null) return null;
+        final OrderLine o = new OrderLine();
+        o.setQuantity(Integer.parseInt(el.attributeValue("quantity")));
+        o.setDiscount(Long.parseLong(el.elementTextTrim("discount")));
+        o.setProduct(ProductLegacyBuilder.getInstance(el.element("product")));
+        return o;
+    }
+
+    /**
+     * Build a dom4j element from a OrderLine instance.
+     * @param o A OrderLine instance. 
+     * @return A dom4j element.
+     */
+    public static Element getElement(OrderLine o) {
+        if(o == null) return null;
+        final Element el = DocumentHelper.createElement("line");
+        String str = null;
+        Element nested = null;
+        str = String.valueOf(o.getQuantity());
+        el.addAttribute("quantity", ((str == null) ? "" : str));
+        str = String.valueOf(o.getDiscount());
+        el.addElement("discount").setText((str == null) ? "" : str);
+        nested = ProductLegacyBuilder.getElement(o.getProduct());
+        if(nested != null) {
+            nested.setName("product");
+            el.add(nested);
+        }
+        return el;
+    }
+
+    /**
+     * Fill a Collection of OrderLine instances from a dom4j element.
+     * @param coll A Collection of OrderLine instances. 
+     * @param el A dom4j element. 
+     * @return The Collection sent in parameters.
+     */
+    public static <T extends Collection<OrderLine>> 
+            T getEntityCollection(T coll, Element el) {
+        if(el == null) return null;
+        for(Object obj: el.elements("line")) {
+            coll.add(getInstance((Element)obj));
+        }
+        return coll;
+    }
+
+    /**
+     * Build a dom4j element from an array of OrderLine.
+     * @param coll A Collection of OrderLine. 
+     * @return A dom4j element.
+     */
+    public static Element getArrayElement(Object[] arr) {
+        if(arr == null) return null;
+        final Element el = DocumentHelper.createElement("line");
+        for(Object obj : arr) {
+            el.addElement("e").
+                    setText(String.valueOf(obj.toString()));
+        }
+        return el;
+    }
+
+    /**
+     * Build a dom4j element from a Collection of simple type.
+     * @param coll A Collection of simple type. 
+     * @return A dom4j element.
+     */
+    public static <T extends Collection<?>> 
+            Element getCollectionElement(T coll) {
+        if(coll == null) return null;
+        final Element el = DocumentHelper.createElement("line");
+        int i = 0;
+        for(Object obj : coll) {
+            el.addElement("e").setText(obj.toString());
+        }
+        return el;
+    }
+
+    /**
+     * Build a dom4j element from a Map of OrderLine.
+     * @param map A Map of OrderLine. 
+     * @return A dom4j element.
+     */
+    public static <T extends Map<?, OrderLine>> 
+            Element getEntityMapElement(T map) {
+        if(map == null) return null;
+        final Element el = DocumentHelper.createElement("line");
+        for(Object key : map.keySet()) {
+            final Element ell = getElement(map.get(key));
+            ell.addAttribute("KEY", String.valueOf(key.toString()));
+            el.add(ell);
+        }
+        return el;
+    }
+
+    /**
+     * Build a dom4j element from an array of OrderLine.
+     * @param coll A Collection of OrderLine. 
+     * @return A dom4j element.
+     */
+    public static Element getEntityArrayElement(OrderLine[] arr) {
+        if(arr == null) return null;
+        final Element el = DocumentHelper.createElement("line");
+        for(OrderLine obj : arr) {
+            el.add(getElement(obj));
+        }
+        return el;
+    }
+
+    /**
+     * Build a dom4j element from a Collection of OrderLine.
+     * @param coll A Collection of OrderLine. 
+     * @return A dom4j element.
+     */
+    public static <T extends Collection<OrderLine>> 
+            Element getEntityCollectionElement(T coll) {
+        if(coll == null) return null;
+        final Element el = DocumentHelper.createElement("line");
+        for(OrderLine obj : coll) {
+            el.add(getElement(obj));
+        }
+        return el;
+    }
+}
@@ -0,0 +1,177 @@
+package com.liguorien.flex.bench.fixtures;
+
+import com.liguorien.flex.bench.fixtures.Product;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import org.dom4j.DocumentHelper;
+import org.dom4j.Element;
+
+public class ProductLegacyBuilder {
+
+    /**
+     * Build a Product instance from a dom4j element.
+     * @param el dom4j element. 
+     * @return A Product instance.
+     */
+    public static Product getInstance(Element el) {
+        if(el == null) return null;
+        final Product o = new Product();
+        o.setSku(el.attributeValue("sku"));
+        o.setLabel(el.elementTextTrim("label"));
+        o.setPrice(Double.parseDouble(el.elementTextTrim("price")));
+        o.setSizes(getSizes(el.element("sizes")));
+        o.setStock(new Integer(el.elementTextTrim("stock")));
+        return o;
+    }
+
+    /**
+     * Build a dom4j element from a Product instance.
+     * @param o A Product instance. 
+     * @return A dom4j element.
+     */
+    public static Element getElement(Product o) {
+        if(o == null) return null;
+        final Element el = DocumentHelper.createElement("Product");
+        String str = null;
+        Element nested = null;
+        str = String.valueOf(o.getSku());
+        el.addAttribute("sku", ((str == null) ? "" : str));
+        str = String.valueOf(o.getLabel());
+        el.addElement("label").setText((str == null) ? "" : str);
+        str = String.valueOf(o.getPrice());
+        el.addElement("price").setText((str == null) ? "" : str);
+        nested = getSizesElement(o.getSizes());
+        if(nested != null) {
+            nested.setName("sizes");
+            el.add(nested);
+        }
+        str = String.valueOf(o.getStock());
+        el.addElement("stock").setText((str == null) ? "" : str);
+        return el;
+    }
+
+    /**
+     * Fill a Collection of Product instances from a dom4j element.
+     * @param coll A Collection of Product instances. 
+     * @param el A dom4j element. 
+     * @return The Collection sent in parameters.
+     */
+    public static <T extends Collection<Product>> 
+            T getEntityCollection(T coll, Element el) {
+        if(el == null) return null;
+        for(Object obj: el.elements("Product")) {
+            coll.add(getInstance((Element)obj));
+        }
+        return coll;
+    }
+
+    /**
+     * Build a dom4j element from an array of Product.
+     * @param coll A Collection of Product. 
+     * @return A dom4j element.
+     */
+    public static Element getArrayElement(Object[] arr) {
+        if(arr == null) return null;
+        final Element el = DocumentHelper.createElement("Product");
+        for(Object obj : arr) {
+            el.addElement("e").
+                    setText(String.valueOf(obj.toString()));
+        }
+        return el;
+    }
+
+    /**
+     * Build a dom4j element from a Collection of simple type.
+     * @param coll A Collection of simple type. 
+     * @return A dom4j element.
+     */
+    public static <T extends Collection<?>> 
+            Element getCollectionElement(T coll) {
+        if(coll == null) return null;
+        final Element el = DocumentHelper.createElement("Product");
+        int i = 0;
+        for(Object obj : coll) {
+            el.addElement("e").setText(obj.toString());
+        }
+        return el;
+    }
+
+    /**
+     * Build a dom4j element from a Map of Product.
+     * @param map A Map of Product. 
+     * @return A dom4j element.
+     */
+    public static <T extends Map<?, Product>> 
+            Element getEntityMapElement(T map) {
+        if(map == null) return null;
+        final Element el = DocumentHelper.createElement("Product");
+        for(Object key : map.keySet()) {
+            final Element ell = getElement(map.get(key));
+            ell.addAttribute("KEY", String.valueOf(key.toString()));
+            el.add(ell);
+        }
+        return el;
+    }
+
+    /**
+     * Build a dom4j element from an array of Product.
+     * @param coll A Collection of Product. 
+     * @return A dom4j element.
+     */
+    public static Element getEntityArrayElement(Product[] arr) {
+        if(arr == null) return null;
+        final Element el = DocumentHelper.createElement("Product");
+        for(Product obj : arr) {
+            el.add(getElement(obj));
+        }
+        return el;
+    }
+
+    /**
+     * Build a dom4j element from a Collection of Product.
+     * @param coll A Collection of Product. 
+     * @return A dom4j element.
+     */
+    public static <T extends Collection<Product>> 
+            Element getEntityCollectionElement(T coll) {
+        if(coll == null) return null;
+        final Element el = DocumentHelper.createElement("Product");
+        for(Product obj : coll) {
+            el.add(getElement(obj));
+        }
+        return el;
+    }
+
+    /**
+     * Build a int array from a dom4j element.
+     * @param el A dom4j element. 
+     * @return A int array.
+     */
+    public static int[] getSizes(Element el) {
+        if(el == null) return null;
+        final List els = el.elements();
+        final int size = els.size();
+        final int[] items = new int[size];
+        for(int i=0; i<size; i++) {
+            final Element e = (Element)els.get(i);
+            items[i] = Integer.parseInt(e.getTextTrim());
+        }
+        return items;
+    }
+
+    /**
+     * Build a dom4j element from an array of Product.
+     * @param coll A Collection of Product. 
+     * @return A dom4j element.
+     */
+    public static Element getSizesElement(int[] arr) {
+        if(arr == null) return null;
+        final Element el = DocumentHelper.createElement("Product");
+        for(Integer obj : arr) {
+            el.addElement("e").
+                    setText(String.valueOf(obj.toString()));
+        }
+        return el;
+    }
+}
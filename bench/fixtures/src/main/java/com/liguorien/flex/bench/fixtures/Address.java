@@ -0,0 +1,93 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.bench.fixtures;
+
+import com.liguorien.flex.generator.FlexNode;
+
+/**
+ * <p>Address of a {@link Customer}, written in an <code>address</code> 
+ * element.</p>
+ *
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+@FlexNode("address")
+public class Address {
+    
+    private String _street;
+    
+    private String _city;
+    
+    private int _zip;
+    
+    private Double _latitude;
+    
+    private Double _longitude;
+    
+    /**
+     * Creates a new instance of Address
+     */
+    public Address() {
+    }
+    
+    @FlexNode("@street")
+    public String getStreet() {
+        return _street;
+    }
+    
+    public void setStreet(String street) {
+        _street = street;
+    }
+    
+    @FlexNode("@city")
+    public String getCity() {
+        return _city;
+    }
+    
+    public void setCity(String city) {
+        _city = city;
+    }
+    
+    public int getZip() {
+        return _zip;
+    }
+    
+    public void setZip(int zip) {
+        _zip = zip;
+    }
+    
+    public Double getLatitude() {
+        return _latitude;
+    }
+    
+    public void setLatitude(Double latitude) {
+        _latitude = latitude;
+    }
+    
+    public Double getLongitude() {
+        return _longitude;
+    }
+    
+    public void setLongitude(Double longitude) {
+        _longitude = longitude;
+    }
+}
@@ -0,0 +1,119 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.bench.fixtures;
+
+import com.liguorien.flex.generator.FlexBindable;
+import com.liguorien.flex.generator.FlexNode;
+import com.liguorien.flex.generator.FlexSet;
+import com.liguorien.flex.generator.FlexTransient;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * <p>Customer of an {@link Order}.  The password is never generated.</p>
+ *
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+@FlexBindable
+public class Customer {
+    
+    private int _id;
+    
+    private String _name;
+    
+    private String _email;
+    
+    private boolean _vip;
+    
+    private Address _address;
+    
+    private Set<String> _tags;
+    
+    private String _password;
+    
+    /**
+     * Creates a new instance of Customer
+     */
+    public Customer() {
+    }
+    
+    @FlexNode("@id")
+    public int getId() {
+        return _id;
+    }
+    
+    public void setId(int id) {
+        _id = id;
+    }
+    
+    @FlexNode("@name")
+    public String getName() {
+        return _name;
+    }
+    
+    public void setName(String name) {
+        _name = name;
+    }
+    
+    public String getEmail() {
+        return _email;
+    }
+    
+    public void setEmail(String email) {
+        _email = email;
+    }
+    
+    public boolean isVip() {
+        return _vip;
+    }
+    
+    public void setVip(boolean vip) {
+        _vip = vip;
+    }
+    
+    public Address getAddress() {
+        return _address;
+    }
+    
+    public void setAddress(Address address) {
+        _address = address;
+    }
+    
+    @FlexSet(value=String.class, clazz=TreeSet.class)
+    public Set<String> getTags() {
+        return _tags;
+    }
+    
+    public void setTags(Set<String> tags) {
+        _tags = tags;
+    }
+    
+    @FlexTransient
+    public String getPassword() {
+        return _password;
+    }
+    
+    public void setPassword(String password) {
+        _password = password;
+    }
+}
@@ -0,0 +1,127 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.bench.fixtures;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * <p>Creates the entities used by the benchmarks.  The values only depend
+ * on the arguments, so each run reads and writes the same documents.</p>
+ *
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+public final class Fixtures {
+    
+    /**
+     * The classes generated for the benchmarks.
+     */
+    public static final Class<?>[] ENTITIES = {
+        Order.class, Customer.class, Address.class, OrderLine.class, 
+        Product.class
+    };
+    
+    private Fixtures() {
+    }
+    
+    /**
+     * <p>Creates an order.</p>
+     * @param id The id of the order
+     * @param lineCount The number of lines of the order
+     * @return An order
+     */
+    public static Order createOrder(long id, int lineCount) {
+        
+        final Order order = new Order();
+        order.setId(id);
+        order.setStatus((id % 2 == 0) ? "SHIPPED" : "PENDING");
+        order.setPriority(Integer.valueOf((int) (id % 5)));
+        order.setCustomer(createCustomer((int) (id % 1000)));
+        
+        final List<OrderLine> lines = new ArrayList<OrderLine>(lineCount);
+        for(int i = 0; i < lineCount; i++){
+            final OrderLine line = new OrderLine();
+            line.setQuantity(1 + i % 7);
+            line.setDiscount(i % 3 * 5L);
+            line.setProduct(createProduct(i));
+            lines.add(line);
+        }
+        order.setLines(lines);
+        
+        final Map<String, String> attributes = new TreeMap<String, String>();
+        attributes.put("channel", "web");
+        attributes.put("currency", "EUR");
+        attributes.put("warehouse", "W" + (id % 4));
+        order.setAttributes(attributes);
+        
+        return order;
+    }
+    
+    /**
+     * <p>Creates a customer.</p>
+     * @param id The id of the customer
+     * @return A customer
+     */
+    public static Customer createCustomer(int id) {
+        
+        final Address address = new Address();
+        address.setStreet(id + " rue Saint-Denis");
+        address.setCity("Montr\u00e9al");
+        address.setZip(10000 + id);
+        address.setLatitude(Double.valueOf(45.5 + id / 10000.0));
+        address.setLongitude(Double.valueOf(-73.5 - id / 10000.0));
+        
+        final Set<String> tags = new TreeSet<String>();
+        tags.add("customer");
+        tags.add((id % 2 == 0) ? "retail" : "wholesale");
+        
+        final Customer customer = new Customer();
+        customer.setId(id);
+        customer.setName("Customer " + id);
+        customer.setEmail("customer" + id + "@example.com");
+        customer.setVip(id % 10 == 0);
+        customer.setAddress(address);
+        customer.setTags(tags);
+        customer.setPassword("secret");
+        return customer;
+    }
+    
+    /**
+     * <p>Creates a product.</p>
+     * @param id The id of the product
+     * @return A product
+     */
+    public static Product createProduct(int id) {
+        final Product product = new Product();
+        product.setSku("SKU-" + id);
+        product.setLabel("Product " + id);
+        product.setPrice(9.99 + id);
+        product.setStock(Integer.valueOf(id * 3));
+        product.setSizes(new int[]{ 36 + id % 4, 38 + id % 4, 40 + id % 4 });
+        return product;
+    }
+}
@@ -0,0 +1,65 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.bench.fixtures;
+
+import com.liguorien.flex.generator.FlexGenerator;
+import com.liguorien.flex.generator.handlers.Dom4jBuilderHandler;
+import com.liguorien.flex.generator.handlers.JsonBuilderHandler;
+import com.liguorien.flex.generator.handlers.StaxBuilderHandler;
+import com.liguorien.flex.generator.utils.OutputMode;
+
+/**
+ * <p>Generates the Java builders of the fixture entities.  The benchmarks
+ * module runs it before its compilation.</p>
+ * <p>Usage : <code>GenerateFixtures outputDirectory</code></p>
+ *
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+public final class GenerateFixtures {
+    
+    private GenerateFixtures() {
+    }
+    
+    public static void main(String[] args) throws Exception {
+        
+        if(args.length != 1){
+            System.err.println("Usage : GenerateFixtures outputDirectory");
+            System.exit(1);
+        }
+        
+        final FlexGenerator g = new FlexGenerator();
+        g.addHandler(new Dom4jBuilderHandler());
+        g.addHandler(new StaxBuilderHandler());
+        g.addHandler(new JsonBuilderHandler());
+        g.setJavaOutputDirectory(args[0]);
+        g.setOutputMode(OutputMode.FILE_IF_CHANGED);
+        
+        for(Class<?> clazz : Fixtures.ENTITIES){
+            g.addClass(clazz);
+        }
+        
+        g.generate();
+        
+        System.out.println(g.getStatistics());
+    }
+}
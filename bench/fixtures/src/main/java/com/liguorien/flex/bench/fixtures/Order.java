@@ -0,0 +1,124 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.bench.fixtures;
+
+import com.liguorien.flex.generator.FlexBindable;
+import com.liguorien.flex.generator.FlexLazy;
+import com.liguorien.flex.generator.FlexList;
+import com.liguorien.flex.generator.FlexMap;
+import com.liguorien.flex.generator.FlexNode;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * <p>Root entity of the benchmarks : an order with its customer, its lines
+ * and some free attributes.</p>
+ *
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+@FlexBindable
+@FlexNode("order")
+public class Order {
+    
+    private long _id;
+    
+    private String _status;
+    
+    private Integer _priority;
+    
+    private Customer _customer;
+    
+    private List<OrderLine> _lines;
+    
+    private Map<String, String> _attributes;
+    
+    private String _notes;
+    
+    /**
+     * Creates a new instance of Order
+     */
+    public Order() {
+    }
+    
+    @FlexNode("@id")
+    public long getId() {
+        return _id;
+    }
+    
+    public void setId(long id) {
+        _id = id;
+    }
+    
+    @FlexNode("@status")
+    public String getStatus() {
+        return _status;
+    }
+    
+    public void setStatus(String status) {
+        _status = status;
+    }
+    
+    public Integer getPriority() {
+        return _priority;
+    }
+    
+    public void setPriority(Integer priority) {
+        _priority = priority;
+    }
+    
+    public Customer getCustomer() {
+        return _customer;
+    }
+    
+    public void setCustomer(Customer customer) {
+        _customer = customer;
+    }
+    
+    @FlexList(OrderLine.class)
+    public List<OrderLine> getLines() {
+        return _lines;
+    }
+    
+    public void setLines(List<OrderLine> lines) {
+        _lines = lines;
+    }
+    
+    @FlexMap(key=String.class, entry=String.class, clazz=TreeMap.class)
+    public Map<String, String> getAttributes() {
+        return _attributes;
+    }
+    
+    public void setAttributes(Map<String, String> attributes) {
+        _attributes = attributes;
+    }
+    
+    @FlexLazy(serverRead=false, clientWrite=false)
+    public String getNotes() {
+        return _notes;
+    }
+    
+    public void setNotes(String notes) {
+        _notes = notes;
+    }
+}
@@ -0,0 +1,71 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.bench.fixtures;
+
+import com.liguorien.flex.generator.FlexNode;
+
+/**
+ * <p>Line of an {@link Order}.</p>
+ *
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+@FlexNode("line")
+public class OrderLine {
+    
+    private int _quantity;
+    
+    private long _discount;
+    
+    private Product _product;
+    
+    /**
+     * Creates a new instance of OrderLine
+     */
+    public OrderLine() {
+    }
+    
+    @FlexNode("@quantity")
+    public int getQuantity() {
+        return _quantity;
+    }
+    
+    public void setQuantity(int quantity) {
+        _quantity = quantity;
+    }
+    
+    public long getDiscount() {
+        return _discount;
+    }
+    
+    public void setDiscount(long discount) {
+        _discount = discount;
+    }
+    
+    public Product getProduct() {
+        return _product;
+    }
+    
+    public void setProduct(Product product) {
+        _product = product;
+    }
+}
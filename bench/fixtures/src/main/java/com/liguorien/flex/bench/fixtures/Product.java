@@ -0,0 +1,92 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.bench.fixtures;
+
+import com.liguorien.flex.generator.FlexDefault;
+import com.liguorien.flex.generator.FlexNode;
+
+/**
+ * <p>Product of an {@link OrderLine}.</p>
+ *
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+public class Product {
+    
+    private String _sku;
+    
+    private String _label;
+    
+    private double _price;
+    
+    private Integer _stock;
+    
+    private int[] _sizes;
+    
+    /**
+     * Creates a new instance of Product
+     */
+    public Product() {
+    }
+    
+    @FlexNode("@sku")
+    public String getSku() {
+        return _sku;
+    }
+    
+    public void setSku(String sku) {
+        _sku = sku;
+    }
+    
+    public String getLabel() {
+        return _label;
+    }
+    
+    public void setLabel(String label) {
+        _label = label;
+    }
+    
+    @FlexDefault("0")
+    public double getPrice() {
+        return _price;
+    }
+    
+    public void setPrice(double price) {
+        _price = price;
+    }
+    
+    public Integer getStock() {
+        return _stock;
+    }
+    
+    public void setStock(Integer stock) {
+        _stock = stock;
+    }
+    
+    public int[] getSizes() {
+        return _sizes;
+    }
+    
+    public void setSizes(int[] sizes) {
+        _sizes = sizes;
+    }
+}
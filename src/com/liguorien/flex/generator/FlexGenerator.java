@@ -21,37 +21,65 @@
 
 package com.liguorien.flex.generator;
 
+import com.liguorien.flex.generator.handlers.AbstractGeneratorHandler;
+import com.liguorien.flex.generator.handlers.Dom4jBuilderHandler;
 import com.liguorien.flex.generator.handlers.FlexGeneratorHandler;
+import com.liguorien.flex.generator.utils.ClassFileReader;
+import com.liguorien.flex.generator.utils.ClassFingerprint;
 import com.liguorien.flex.generator.utils.ClassLoaderUtil;
+import com.liguorien.flex.generator.utils.ClassPathIndex;
+import com.liguorien.flex.generator.utils.GenerationManifest;
+import com.liguorien.flex.generator.utils.GenerationStatistics;
 import com.liguorien.flex.generator.utils.GeneratorContext;
+import com.liguorien.flex.generator.utils.MemoryCompiler;
 import com.liguorien.flex.generator.utils.OutputMode;
+import com.liguorien.flex.generator.utils.OutputSink;
 import com.liguorien.flex.generator.utils.LazyMode;
 import com.liguorien.flex.generator.utils.ClassType;
 import com.liguorien.flex.generator.utils.PropertyDescriptorProxy;
+import com.liguorien.flex.generator.utils.PropertyMetadata;
+import com.liguorien.flex.generator.utils.SourceArchive;
 import com.liguorien.flex.generator.utils.TransientMode;
 import com.liguorien.flex.generator.writers.MethodWriter;
 import com.liguorien.flex.generator.writers.PropertyWriter;
-import java.beans.BeanInfo;
+import com.liguorien.flex.generator.writers.PropertyWriterIndex;
+import com.liguorien.flex.generator.writers.amf.AmfWriter;
+import com.liguorien.flex.generator.writers.as3.AS3Writer;
+import com.liguorien.flex.generator.writers.dom4j.Dom4jWriter;
+import com.liguorien.flex.generator.writers.json.JsonWriter;
+import com.liguorien.flex.generator.writers.stax.StaxWriter;
 import java.beans.IntrospectionException;
 import java.beans.Introspector;
 import java.beans.PropertyDescriptor;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.StringWriter;
 import java.io.UnsupportedEncodingException;
 import java.io.Writer;
-import java.lang.reflect.Method;
 import java.net.URL;
 import java.net.URLDecoder;
+import java.nio.charset.Charset;
 import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * <p>Main class of FlexGenerator.</p>
@@ -79,6 +107,9 @@ import java.util.Set;
  * generator.setNewLineBeforeCurlyBrace(false);
  * generator.setUsingUnderscore(true);
  * 
+ * // generate the classes with 4 threads
+ * generator.setThreadCount(4);
+ * 
  * // indicate to the generator where generate the actionscript and java files
  * generator.setOutputMode(OutputMode.FILE);
  * generator.setFlexOutputDirectory("./src/flex/");
@@ -112,6 +143,18 @@ import java.util.Set;
  */
 public class FlexGenerator {
     
+    /**
+     * The attribute which holds the id of an entity when the 
+     * {@link #setSharedReferences shared references} are written.
+     */
+    public final static String ID_ATTRIBUTE = "_id";
+    
+    /**
+     * The attribute which holds the id of the entity an element refers to
+     * when the {@link #setSharedReferences shared references} are written.
+     */
+    public final static String REF_ATTRIBUTE = "_ref";
+    
     private File _outputDirectory = null;
     
     private OutputMode _outputMode = OutputMode.CONSOLE;
@@ -134,6 +177,67 @@ public class FlexGenerator {
     
     private final Set<Class<?>> _classes = new HashSet<Class<?>>();
     
+    private int _threadCount = 1;
+    
+    private ExecutorService _executor;
+    
+    private boolean _incremental = false;
+    
+    private boolean _bytecodeScanning = false;
+    
+    private boolean _dirtyTracking = false;
+    
+    private boolean _sharedReferences = false;
+    
+    private boolean _singlePassReading = false;
+    
+    private Charset _charset = Charset.forName("UTF-8");
+    
+    private OutputSink _outputSink;
+    
+    /**
+     * contains the archives opened during the generation, by file
+     */
+    private final Map<File, SourceArchive> _archives =
+            new HashMap<File, SourceArchive>();
+    
+    /**
+     * contains the output directories created during the generation
+     */
+    private final ConcurrentMap<File, Boolean> _directories =
+            new ConcurrentHashMap<File, Boolean>();
+    
+    private final GenerationStatistics _statistics = new GenerationStatistics();
+    
+    /**
+     * contains the manifest of each output directory during an incremental
+     * generation, null otherwise
+     */
+    private Map<File, GenerationManifest> _manifests;
+    
+    /**
+     * contains the fingerprint of each entity, without its dependencies
+     */
+    private final Map<Class<?>, String> _fingerprints =
+            new ConcurrentHashMap<Class<?>, String>();
+    
+    /**
+     * describes the options of the generator and of its handlers
+     */
+    private String _configuration;
+    
+    /**
+     * contains the generated properties of each entity
+     */
+    private final Map<Class<?>, List<PropertyDescriptor>> _properties =
+            new ConcurrentHashMap<Class<?>, List<PropertyDescriptor>>();
+    
+    /**
+     * contains the PropertyWriterIndex of each List of property writers
+     */
+    private final Map<List<?>, PropertyWriterIndex<?>> _writerIndexes =
+            new IdentityHashMap<List<?>, PropertyWriterIndex<?>>();
+    
     /** Creates a new instance of FlexGenerator */
     public FlexGenerator(){
         setPackage(ClassType.CLIENT_ENTITIES, ".");
@@ -193,16 +297,51 @@ public class FlexGenerator {
     
     /**
      * <p>Proceed to generation.</p>
+     * <p>The classes are generated concurrently if an executor has been set
+     * or if the thread count is greater than 1.</p>
+     * @see #setThreadCount
+     * @see #setExecutor
+     * @see #setIncremental
+     * @see #getStatistics
      */
     public void generate(){
         
+        _statistics.begin();
+        
+        _properties.clear();
+        _directories.clear();
+        
+        synchronized(_writerIndexes){
+            _writerIndexes.clear();
+        }
+        
+        _loadManifests();
+        
+        try {
+            if(_executor != null || _threadCount > 1){
+                _generateParallel();
+            }else{
+                _generateSerial();
+            }
+        } finally {
+            _storeManifests();
+            _closeArchives();
+            _statistics.end();
+        }
+    }
+    
+    /**
+     * <p>Generates every classes in the current thread.</p>
+     */
+    private void _generateSerial(){
+        
         final GeneratorContext context = new GeneratorContext();
         context.setGenerator(this);
         
         _contextHandlers.set(context);
         
         try {
-            for(Class clazz : _classes){
+            for(Class<?> clazz : _classes){
                 _generate(clazz, context);
             }
         } catch (IntrospectionException ex) {
@@ -212,6 +351,191 @@ public class FlexGenerator {
         }
     }
     
+    /**
+     * <p>Submits one task by class to the executor and waits until every
+     * class has been generated.</p>
+     */
+    private void _generateParallel(){
+        
+        final ExecutorService executor = (_executor != null) ?
+            _executor : Executors.newFixedThreadPool(_threadCount);
+        
+        final ClassLoader loader =
+                Thread.currentThread().getContextClassLoader();
+        
+        final List<Future<Object>> results = new ArrayList<Future<Object>>();
+        
+        try {
+            
+            for(final Class<?> clazz : _classes){
+                results.add(executor.submit(new Callable<Object>(){
+                    public Object call() throws Exception {
+                        _generate(clazz, loader);
+                        return null;
+                    }
+                }));
+            }
+            
+            for(Future<Object> result : results){
+                try {
+                    result.get();
+                } catch (ExecutionException ex) {
+                    ex.getCause().printStackTrace();
+                }
+            }
+            
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if(executor != _executor){
+                executor.shutdown();
+            }
+        }
+    }
+    
+    /**
+     * <p>Generates a single class in a worker thread.  The worker gets its 
+     * own {@link GeneratorContext} and the context writers are released 
+     * once the class is generated, since the thread can be reused.</p>
+     * @param clazz The class to generate
+     * @param loader The context ClassLoader of the thread who invoked 
+     * {@link #generate}
+     * @throws java.beans.IntrospectionException 
+     *    If an introspection error occurs
+     * @throws java.io.IOException
+     *    If an IO error occurs
+     */
+    private void _generate(Class<?> clazz, ClassLoader loader)
+    throws IntrospectionException, IOException {
+        
+        final Thread thread = Thread.currentThread();
+        final ClassLoader oldLoader = thread.getContextClassLoader();
+        
+        final GeneratorContext context = new GeneratorContext();
+        context.setGenerator(this);
+        
+        thread.setContextClassLoader(loader);
+        _contextHandlers.set(context);
+        
+        try {
+            _generate(clazz, context);
+        } finally {
+            Dom4jWriter.setContextWriter(null);
+            AS3Writer.setContextWriter(null);
+            StaxWriter.setContextWriter(null);
+            AmfWriter.setContextWriter(null);
+            JsonWriter.setContextWriter(null);
+            _contextHandlers.remove();
+            thread.setContextClassLoader(oldLoader);
+        }
+    }
+    
+    /**
+     * <p>Generates the dom4j builders of the classes in memory, compiles 
+     * them and loads them in a new ClassLoader, whose parent is the context
+     * ClassLoader of the current thread.</p>
+     * @return The builder class of each entity
+     * @throws java.beans.IntrospectionException 
+     *    If an introspection error occurs
+     * @throws java.io.IOException If the builders cannot be compiled.
+     * @see #compileBuilders(ClassLoader)
+     */
+    public Map<Class<?>, Class<?>> compileBuilders()
+    throws IntrospectionException, IOException {
+        
+        ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        
+        if(loader == null){
+            loader = FlexGenerator.class.getClassLoader();
+        }
+        
+        return compileBuilders(loader);
+    }
+    
+    /**
+     * <p>Generates the dom4j builders of the classes in memory, compiles 
+     * them with the system Java compiler against the running classpath and
+     * loads them in a new ClassLoader.  Nothing is written to disk, so the
+     * builders can be regenerated in a running application when the 
+     * annotations of the entities change.</p>
+     * <p>The builders are loaded before the builders of the same name which
+     * are already on the classpath.  They are unloaded once the returned
+     * classes are no longer referenced.  The handlers and the output mode 
+     * of this generator are not used.</p>
+     * <pre>
+     * final Class&lt;?&gt; builder = g.compileBuilders().get(Person.class);
+     * final Method getElement = builder.getMethod("getElement", Person.class);
+     * </pre>
+     * @param parent The ClassLoader of the entities
+     * @return The builder class of each entity
+     * @throws java.beans.IntrospectionException 
+     *    If an introspection error occurs
+     * @throws java.io.IOException If the builders cannot be compiled.
+     * @throws IllegalStateException If no Java compiler is available.
+     */
+    public Map<Class<?>, Class<?>> compileBuilders(ClassLoader parent)
+    throws IntrospectionException, IOException {
+        
+        final MemoryCompiler compiler = new MemoryCompiler(parent);
+        
+        final Map<String, String> sources = new HashMap<String, String>();
+        final Map<Class<?>, String> names = new HashMap<Class<?>, String>();
+        
+        final Dom4jBuilderHandler handler = new Dom4jBuilderHandler(){
+            protected void initWriter(Class<?> clazz) {
+                setWriter(new StringWriter());
+            }
+            protected boolean isDateMarked() {
+                return false;
+            }
+            protected void writeOutput(Class<?> clazz, Writer w) {
+                final String path = getRelativeFilePath(clazz);
+                final String name = path.substring(
+                        0, path.length() - 5).replace('/', '.');
+                sources.put(name, w.toString());
+                names.put(clazz, name);
+            }
+        };
+        handler.setGenerator(this);
+        
+        _properties.clear();
+        
+        final GeneratorContext context = new GeneratorContext();
+        context.setGenerator(this);
+        
+        final Thread thread = Thread.currentThread();
+        final ClassLoader oldLoader = thread.getContextClassLoader();
+        
+        thread.setContextClassLoader(parent);
+        _contextHandlers.set(context);
+        
+        try {
+            for(Class<?> clazz : _classes){
+                _handleClass(clazz, getProperties(clazz), handler, context);
+            }
+        } finally {
+            Dom4jWriter.setContextWriter(null);
+            _contextHandlers.remove();
+            thread.setContextClassLoader(oldLoader);
+        }
+        
+        final ClassLoader loader = compiler.compile(sources);
+        
+        final Map<Class<?>, Class<?>> builders =
+                new HashMap<Class<?>, Class<?>>();
+        
+        try {
+            for(Map.Entry<Class<?>, String> entry : names.entrySet()){
+                builders.put(entry.getKey(), loader.loadClass(entry.getValue()));
+            }
+        } catch (ClassNotFoundException ex) {
+            throw new IOException("A builder has not been compiled : " + 
+                    ex.getMessage());
+        }
+        
+        return builders;
+    }
+    
     /**
      * Add a single class
      * @param clazz A class which represents a Java entity
@@ -225,41 +549,139 @@ public class FlexGenerator {
     /**
      * <p>Add an entire package.
      * Every classes in the package will be processed</p>
+     * <p>The package can be a folder or be packaged in one or several JAR 
+     * files.  When the name ends with ".**", the classes of the 
+     * sub-packages are processed too.</p>
      * <p>Classes can be excluded with the {@link FlexTransient} annotation.</p>
      * @param packageName The name of the package
-     * (ie. "com.liguorien.myproject.entities")
+     * (ie. "com.liguorien.myproject.entities" or 
+     * "com.liguorien.myproject.**")
      * @see FlexTransient
+     * @see com.liguorien.flex.generator.utils.ClassPathIndex
      */
     public void addPackage(String packageName){
         
-        final String name = packageName.replace('.', '/');
-        final URL url = ClassLoaderUtil.findResource(name);
+        final boolean recursive = packageName.endsWith(".**");
         
-        if(url == null){
-            throw new IllegalArgumentException(
-                    "The package '" + name + "' cannot be found");
-        }
+        final String name = (recursive
+                ? packageName.substring(0, packageName.length() - 3)
+                : packageName).replace('.', '/');
         
         try {
             
-            final File packFolder = new File(
-                    URLDecoder.decode(url.getFile(), "ISO-8859-1"));
+            final List<URL> urls = ClassLoaderUtil.findResources(name);
             
-            if (packFolder.exists()) {
-                
-                for(String fileName : packFolder.list()){
-                    
-                    if (fileName.endsWith(".class")) {
-                        addClass(ClassLoaderUtil.loadClass(packageName
-                                + '.' +
-                                fileName.substring(0, fileName.length() - 6)
-                                ));
+            if(urls.isEmpty()){
+                throw new IllegalArgumentException(
+                        "The package '" + name + "' cannot be found");
+            }
+            
+            final Set<String> classNames = new TreeSet<String>();
+            
+            for(URL url : urls){
+                classNames.addAll(
+                        ClassPathIndex.getClassNames(url, name, recursive));
+            }
+            
+            for(String className : _bytecodeScanning
+                    ? _scanClasses(classNames) : classNames){
+                addClass(ClassLoaderUtil.loadClass(className));
+            }
+            
+        } catch (IOException ex) {
+            ex.printStackTrace();
+        }
+    }
+    
+    /**
+     * <p>Reads the class files of a package and returns the name of
+     * the classes to generate.  The classes annotated with 
+     * {@link FlexTransient} are excluded without being loaded, the other 
+     * ones are kept like in {@link #addClass}, so the generated classes are
+     * the same as without the scan.</p>
+     * <p>The class files are read concurrently with the executor or the 
+     * thread count of the generator.</p>
+     * @param classNames The name of the classes of the package
+     * @return A List of class names
+     */
+    private List<String> _scanClasses(Collection<String> classNames){
+        
+        final List<Callable<String>> tasks = new ArrayList<Callable<String>>();
+        
+        for(final String className : classNames){
+            tasks.add(new Callable<String>(){
+                public String call() throws Exception {
+                    return _scanClassFile(className);
+                }
+            });
+        }
+        
+        final List<String> names = new ArrayList<String>();
+        
+        if(_executor == null && _threadCount <= 1){
+            for(Callable<String> task : tasks){
+                try {
+                    final String name = task.call();
+                    if(name != null){
+                        names.add(name);
                     }
+                } catch (Exception ex) {
+                    ex.printStackTrace();
                 }
             }
+            return names;
+        }
+        
+        final ExecutorService executor = (_executor != null) ?
+            _executor : Executors.newFixedThreadPool(_threadCount);
+        
+        try {
+            for(Future<String> result : executor.invokeAll(tasks)){
+                try {
+                    final String name = result.get();
+                    if(name != null){
+                        names.add(name);
+                    }
+                } catch (ExecutionException ex) {
+                    ex.getCause().printStackTrace();
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if(executor != _executor){
+                executor.shutdown();
+            }
+        }
+        
+        return names;
+    }
+    
+    /**
+     * <p>Reads a class file and returns the name of its class if it must be
+     * generated.</p>
+     * @param className The name of the class
+     * @return The class name, or null if the class is excluded.
+     * @throws java.io.IOException If an IO error occurs.
+     */
+    private static String _scanClassFile(String className)
+    throws IOException {
+        
+        final InputStream in = ClassLoaderUtil.findResource(
+                className.replace('.', '/') + ".class").openStream();
+        
+        try {
+            
+            final ClassFileReader reader = new ClassFileReader(in);
+            
+            if(reader.isAnnotationPresent(FlexTransient.class)){
+                return null;
+            }
             
-        } catch (UnsupportedEncodingException ex) {
-            ex.printStackTrace();
+            return reader.getClassName();
+            
+        } finally {
+            in.close();
         }
     }
     
@@ -277,29 +699,324 @@ public class FlexGenerator {
     private void _generate(Class<?> clazz, GeneratorContext context)
     throws IntrospectionException, IOException {
         
+        final String fingerprint = _getFingerprint(clazz);
+        
+        if(fingerprint != null && _isUpToDate(clazz, fingerprint, context)){
+            _statistics.addSkippedClass();
+            return;
+        }
+        
+        final List<PropertyDescriptor> props = getProperties(clazz);
+        
+        context.setOutputFailed(false);
+        
         for(FlexGeneratorHandler handler : _handlers){
-            context.setHandler(handler);
-            handler.handleClassBegin(clazz);
+            
+            final long start = System.nanoTime();
+            
+            _handleClass(clazz, props, handler, context);
+            
+            _statistics.addHandlerTime(handler, System.nanoTime() - start);
+        }
+        
+        _statistics.addGeneratedClass();
+        
+        // a class which wasn't written is generated again by the next run
+        if(fingerprint != null && !context.isOutputFailed()){
+            for(FlexGeneratorHandler handler : _handlers){
+                _manifests.get(((AbstractGeneratorHandler) handler).
+                        getOutputDirectory()).setFingerprint(clazz, fingerprint);
+            }
+        }
+    }
+    
+    /**
+     * <p>Sends a class and its properties to an handler.</p>
+     * @param clazz The class to generate
+     * @param props The properties of the class
+     * @param handler An handler
+     * @param context The current context
+     */
+    private void _handleClass(Class<?> clazz, List<PropertyDescriptor> props,
+            FlexGeneratorHandler handler, GeneratorContext context){
+        
+        context.setHandler(handler);
+        handler.handleClassBegin(clazz);
+        
+        for(PropertyDescriptor prop : props){
+            handler.handleProperty(prop);
         }
         
-        final BeanInfo info = Introspector.getBeanInfo(clazz);
-        for(PropertyDescriptor prop : info.getPropertyDescriptors()){
+        handler.handleClassEnd(clazz);
+    }
+    
+    /**
+     * <p>Returns the properties of an entity which are handled by the 
+     * generator, that is every readable property except 'class' and those
+     * annotated with {@link FlexTransient}.</p>
+     * <p>The entity is introspected once by generation, and the 
+     * {@link PropertyMetadata} of its properties is resolved at the same 
+     * time, so it's shared by every handler.</p>
+     * @param clazz An entity class
+     * @return A List of PropertyDescriptor
+     * @throws java.beans.IntrospectionException 
+     *    If an introspection error occurs
+     */
+    public List<PropertyDescriptor> getProperties(Class<?> clazz)
+    throws IntrospectionException {
+        
+        List<PropertyDescriptor> props = _properties.get(clazz);
+        
+        if(props == null){
             
-            // be sure to skip the 'class' and FlexTransient property
-            if("class".equals(prop.getName()) || prop.getReadMethod().
-                    isAnnotationPresent(FlexTransient.class)){
-                continue;
+            // the descriptors are shared with the Introspector cache
+            synchronized(_properties){
+                
+                props = new ArrayList<PropertyDescriptor>();
+                
+                for(PropertyDescriptor prop : _getPropertyDescriptors(clazz)){
+                    
+                    if("class".equals(prop.getName()) ||
+                            prop.getReadMethod() == null){
+                        continue;
+                    }
+                    
+                    if(PropertyMetadata.get(prop).getTransientMode() == null){
+                        props.add(prop);
+                    }
+                }
+                
+                props = Collections.unmodifiableList(props);
+                _properties.put(clazz, props);
             }
-            for(FlexGeneratorHandler handler : _handlers){
-                context.setHandler(handler);
-                handler.handleProperty(prop);
+        }
+        
+        return props;
+    }
+    
+    /**
+     * <p>Returns every property of a JavaBean.  They are read from the 
+     * class files in bytecode scanning mode, or from the Introspector if 
+     * the class files cannot be read.</p>
+     * @param clazz A JavaBean class
+     * @return An array of PropertyDescriptor
+     * @throws java.beans.IntrospectionException 
+     *    If an introspection error occurs
+     */
+    private PropertyDescriptor[] _getPropertyDescriptors(Class<?> clazz)
+    throws IntrospectionException {
+        
+        if(_bytecodeScanning){
+            try {
+                
+                final List<PropertyDescriptor> props =
+                        ClassFileReader.getPropertyDescriptors(clazz);
+                
+                if(props != null){
+                    return props.toArray(new PropertyDescriptor[props.size()]);
+                }
+                
+            } catch (IOException ex) {
+                // the class file is not readable, the Introspector is used
+            }
+        }
+        
+        return Introspector.getBeanInfo(clazz).getPropertyDescriptors();
+    }
+    
+    /**
+     * <p>Loads the manifest of each output directory if the generator is 
+     * in incremental mode.</p>
+     */
+    private void _loadManifests(){
+        
+        _manifests = null;
+        _fingerprints.clear();
+        
+        if(!_incremental || _outputSink != null ||
+                (_outputMode != OutputMode.FILE &&
+                _outputMode != OutputMode.FILE_IF_CHANGED)){
+            return;
+        }
+        
+        final StringBuilder config = new StringBuilder();
+        config.append(_usingUnderscore).append(',').
+                append(_newLineBeforeCurlyBrace).append(',').
+                append(_classPrefix).append(',').
+                append(_classSuffix).append(',').
+                append(_indentationString).append(',').
+                append(_locale).append(',').
+                append(_charset).append(',').
+                append(_dirtyTracking).append(',').
+                append(_sharedReferences).append(',').
+                append(_singlePassReading).append(',').
+                append(new TreeMap<ClassType, String>(_packages));
+        
+        final Map<File, GenerationManifest> manifests =
+                new HashMap<File, GenerationManifest>();
+        
+        for(FlexGeneratorHandler handler : _handlers){
+            
+            // the output of a custom handler cannot be tracked
+            if(!(handler instanceof AbstractGeneratorHandler)){
+                return;
+            }
+            
+            final AbstractGeneratorHandler<?> h =
+                    (AbstractGeneratorHandler<?>) handler;
+            
+            config.append('\n').append(h.getConfiguration());
+            
+            final File dir = h.getOutputDirectory();
+            if(!manifests.containsKey(dir)){
+                final GenerationManifest manifest = new GenerationManifest(dir);
+                try {
+                    manifest.load();
+                } catch (IOException ex) {
+                    ex.printStackTrace();
+                }
+                manifests.put(dir, manifest);
             }
         }
         
+        _configuration = config.toString();
+        _manifests = manifests;
+    }
+    
+    /**
+     * <p>Stores the manifests modified by an incremental generation.</p>
+     */
+    private void _storeManifests(){
+        
+        if(_manifests == null){
+            return;
+        }
+        
+        for(GenerationManifest manifest : _manifests.values()){
+            try {
+                manifest.store();
+            } catch (IOException ex) {
+                ex.printStackTrace();
+            }
+        }
+        
+        _manifests = null;
+    }
+    
+    /**
+     * <p>Determines if the classes generated for an entity are up to date, 
+     * that is if every generated file exists and was generated from 
+     * the same fingerprint.</p>
+     * @param clazz An entity class
+     * @param fingerprint The current fingerprint of the entity
+     * @param context The current context
+     * @return A boolean value
+     */
+    private boolean _isUpToDate(
+            Class<?> clazz, String fingerprint, GeneratorContext context){
+        
         for(FlexGeneratorHandler handler : _handlers){
+            
+            final AbstractGeneratorHandler<?> h =
+                    (AbstractGeneratorHandler<?>) handler;
+            
             context.setHandler(handler);
-            handler.handleClassEnd(clazz);
+            
+            if(!fingerprint.equals(
+                    _manifests.get(h.getOutputDirectory()).
+                    getFingerprint(clazz)) ||
+                    !h.getOutputFile(clazz).exists()){
+                return false;
+            }
         }
+        
+        return true;
+    }
+    
+    /**
+     * <p>Returns the fingerprint of an entity, which includes the 
+     * fingerprint of the generated entities it refers to.</p>
+     * @param clazz An entity class
+     * @return The fingerprint or null if the generator is not in incremental 
+     * mode.
+     */
+    private String _getFingerprint(Class<?> clazz)
+    throws IntrospectionException, IOException {
+        
+        if(_manifests == null){
+            return null;
+        }
+        
+        final ClassFingerprint fp = new ClassFingerprint();
+        fp.update(_getOwnFingerprint(clazz));
+        
+        for(Class<?> dep : _getDependencies(clazz)){
+            fp.update(dep.getName());
+            if(isGeneratedClass(dep)){
+                fp.update(_getOwnFingerprint(dep));
+            }
+        }
+        
+        return fp.toString();
+    }
+    
+    /**
+     * <p>Returns the fingerprint of an entity, without its dependencies.</p>
+     * @param clazz An entity class
+     * @return The fingerprint
+     */
+    private String _getOwnFingerprint(Class<?> clazz)
+    throws IntrospectionException, IOException {
+        
+        String fingerprint = _fingerprints.get(clazz);
+        
+        if(fingerprint == null){
+            
+            final ClassFingerprint fp = new ClassFingerprint();
+            fp.update(_configuration);
+            fp.update(clazz);
+            
+            for(PropertyDescriptor prop : _getPropertyDescriptors(clazz)){
+                fp.update(prop);
+            }
+            
+            fingerprint = fp.toString();
+            _fingerprints.put(clazz, fingerprint);
+        }
+        
+        return fingerprint;
+    }
+    
+    /**
+     * <p>Returns the classes used by the properties of an entity, including
+     * the entries of its arrays, Collections and Maps.</p>
+     * @param clazz An entity class
+     * @return A Collection of classes sorted by name
+     */
+    private Collection<Class<?>> _getDependencies(Class<?> clazz)
+    throws IntrospectionException {
+        
+        final Map<String, Class<?>> deps = new TreeMap<String, Class<?>>();
+        
+        for(PropertyDescriptor prop : getProperties(clazz)){
+            
+            final PropertyMetadata meta = PropertyMetadata.get(prop);
+            final Class<?> type = prop.getPropertyType();
+            
+            if(type != null){
+                deps.put(type.getName(), type);
+            }
+            
+            if(meta.getEntryClass() != null){
+                deps.put(meta.getEntryClass().getName(), meta.getEntryClass());
+            }
+            
+            if(meta.getKeyClass() != null){
+                deps.put(meta.getKeyClass().getName(), meta.getKeyClass());
+            }
+        }
+        
+        return deps.values();
     }
     
     
@@ -460,6 +1177,280 @@ public class FlexGenerator {
     }
     
     
+    /**
+     * Getter for property threadCount.
+     * @return Value of property threadCount.
+     */
+    public int getThreadCount() {
+        return _threadCount;
+    }
+    
+    /**
+     * <p>Set the number of threads used to generate the classes. Each class 
+     * is generated by a single thread, but distinct classes are generated 
+     * concurrently when the count is greater than 1.</p>
+     * <p>The default value is 1.</p>
+     * @param threadCount New value of property threadCount.
+     */
+    public void setThreadCount(int threadCount) {
+        _threadCount = threadCount;
+    }
+    
+    /**
+     * Getter for property executor.
+     * @return Value of property executor.
+     */
+    public ExecutorService getExecutor() {
+        return _executor;
+    }
+    
+    /**
+     * <p>Set the executor used to generate the classes concurrently.  When 
+     * set, the thread count is ignored and the executor is not shut down by
+     * the generator.</p>
+     * @param executor New value of property executor.
+     */
+    public void setExecutor(ExecutorService executor) {
+        _executor = executor;
+    }
+    
+    /**
+     * <p>Returns the statistics of the last generation session.</p>
+     * @return The statistics, which are reset by {@link #generate}.
+     */
+    public GenerationStatistics getStatistics() {
+        return _statistics;
+    }
+    
+    /**
+     * Getter for property incremental.
+     * @return Value of property incremental.
+     */
+    public boolean isIncremental() {
+        return _incremental;
+    }
+    
+    /**
+     * <p>Indicates if the generator should skip the entities which have not
+     * changed since the last generation.  It's only used with the
+     * {@link OutputMode#FILE} and {@link OutputMode#FILE_IF_CHANGED} modes.
+     * </p>
+     * <p>The fingerprint of each entity is kept in a manifest at the root of
+     * each output directory. It covers the bytecode and the annotations of
+     * the entity, its properties, the options of the generator and of its 
+     * handlers, and the fingerprint of the generated entities it refers 
+     * to.  An entity is generated again if its fingerprint changes or if one
+     * of its generated files is missing.</p>
+     * <p>The default value is false.</p>
+     * @param incremental New value of property incremental.
+     * @see com.liguorien.flex.generator.utils.GenerationManifest
+     */
+    public void setIncremental(boolean incremental) {
+        _incremental = incremental;
+    }
+    
+    /**
+     * Getter for property bytecodeScanning.
+     * @return Value of property bytecodeScanning.
+     */
+    public boolean isBytecodeScanning() {
+        return _bytecodeScanning;
+    }
+    
+    /**
+     * <p>Indicates if the metadata of the entities should be read from 
+     * their class files instead of the reflection API.</p>
+     * <p>In this mode, {@link #addPackage} reads the class files of the 
+     * package concurrently and only loads the classes to generate, and the
+     * properties are found without the Introspector.  The classes are 
+     * never initialized, by the generator or the scan.</p>
+     * <p>The default value is false.</p>
+     * @param bytecodeScanning New value of property bytecodeScanning.
+     * @see com.liguorien.flex.generator.utils.ClassFileReader
+     */
+    public void setBytecodeScanning(boolean bytecodeScanning) {
+        _bytecodeScanning = bytecodeScanning;
+    }
+    
+    /**
+     * Getter for property dirtyTracking.
+     * @return Value of property dirtyTracking.
+     */
+    public boolean isDirtyTracking() {
+        return _dirtyTracking;
+    }
+    
+    /**
+     * <p>Indicates if the generated classes track the modified properties,
+     * so only the modified properties are sent back to the server.</p>
+     * <p>In this mode, the setters of the ActionScript entities mark their 
+     * property in a bitmask, and the ActionScript builders have a 
+     * <code>getDeltaXML</code> method which only writes the marked 
+     * properties.  The dom4j builders have an <code>applyDelta</code> 
+     * method which updates an existing entity with these properties.</p>
+     * <p>The default value is false.</p>
+     * @param dirtyTracking New value of property dirtyTracking.
+     */
+    public void setDirtyTracking(boolean dirtyTracking) {
+        _dirtyTracking = dirtyTracking;
+    }
+    
+    /**
+     * Getter for property sharedReferences.
+     * @return Value of property sharedReferences.
+     */
+    public boolean isSharedReferences() {
+        return _sharedReferences;
+    }
+    
+    /**
+     * <p>Indicates if the XML builders write each entity only once.</p>
+     * <p>In this mode, the first element of an entity has an 
+     * {@link #ID_ATTRIBUTE id attribute}, and the next occurrences of the 
+     * same instance are written as empty elements with a 
+     * {@link #REF_ATTRIBUTE reference attribute}.  The readers resolve the
+     * references with a table of the entities already read from the 
+     * document, so the shared instances are shared again and the cycles 
+     * are supported.</p>
+     * <p>The default value is false.</p>
+     * @param sharedReferences New value of property sharedReferences.
+     */
+    public void setSharedReferences(boolean sharedReferences) {
+        _sharedReferences = sharedReferences;
+    }
+    
+    /**
+     * Getter for property singlePassReading.
+     * @return Value of property singlePassReading.
+     */
+    public boolean isSinglePassReading() {
+        return _singlePassReading;
+    }
+    
+    /**
+     * <p>Indicates if the builders read an entity in a single pass over 
+     * its attributes and its child elements.</p>
+     * <p>By default, the <code>getInstance</code> methods of the dom4j 
+     * and the ActionScript builders look up each property by its name, so
+     * reading an entity costs one scan of its children for each property.
+     * In this mode, they iterate the attributes and the child elements 
+     * once and dispatch each node on its name, which keeps the wide 
+     * entities linear.  The nodes which are missing from the document 
+     * leave their property unchanged.</p>
+     * <p>The default value is false.</p>
+     * @param singlePassReading New value of property singlePassReading.
+     */
+    public void setSinglePassReading(boolean singlePassReading) {
+        _singlePassReading = singlePassReading;
+    }
+    
+    /**
+     * Getter for property charset.
+     * @return Value of property charset.
+     */
+    public Charset getCharset() {
+        return _charset;
+    }
+    
+    /**
+     * <p>Set the charset of the generated files.</p>
+     * <p>The default value is UTF-8.</p>
+     * @param charset New value of property charset.
+     */
+    public void setCharset(Charset charset) {
+        _charset = charset;
+    }
+    
+    /**
+     * <p>Set the charset of the generated files.</p>
+     * @param charset The name of a charset (ie. "UTF-8")
+     */
+    public void setCharset(String charset) {
+        setCharset(Charset.forName(charset));
+    }
+    
+    /**
+     * Getter for property outputSink.
+     * @return Value of property outputSink.
+     */
+    public OutputSink getOutputSink() {
+        return _outputSink;
+    }
+    
+    /**
+     * <p>Set the sink which receives the generated classes.  When a sink 
+     * is set, the output mode is ignored and nothing is written to the
+     * file system or to the console.</p>
+     * <p>The default value is null.</p>
+     * @param outputSink New value of property outputSink, or null to use
+     * the output mode.
+     * @see com.liguorien.flex.generator.utils.MemoryOutputSink
+     */
+    public void setOutputSink(OutputSink outputSink) {
+        _outputSink = outputSink;
+    }
+    
+    /**
+     * <p>Returns the archive where the classes are written in 
+     * {@link OutputMode#ARCHIVE} mode.  The archive is created at first use
+     * and closed at the end of the generation.</p>
+     * @param file The archive file
+     * @return A {@link SourceArchive}
+     * @throws java.io.IOException If the archive cannot be created.
+     */
+    public SourceArchive getArchive(File file) throws IOException {
+        
+        synchronized(_archives){
+            
+            SourceArchive archive = _archives.get(file);
+            
+            if(archive == null){
+                createDirectory(file.getParentFile());
+                archive = new SourceArchive(file);
+                _archives.put(file, archive);
+            }
+            
+            return archive;
+        }
+    }
+    
+    /**
+     * <p>Closes the archives opened during the generation.</p>
+     */
+    private void _closeArchives(){
+        
+        synchronized(_archives){
+            
+            for(SourceArchive archive : _archives.values()){
+                try {
+                    archive.close();
+                } catch (IOException ex) {
+                    ex.printStackTrace();
+                }
+            }
+            
+            _archives.clear();
+        }
+    }
+    
+    /**
+     * <p>Creates a directory of the output and its parents, unless it has 
+     * already been created during this generation.</p>
+     * @param dir A directory
+     * @throws java.io.IOException If the directory cannot be created.
+     */
+    public void createDirectory(File dir) throws IOException {
+        if(!_directories.containsKey(dir)){
+            // the threads can create the same directory at the same time,
+            // it's only recorded once it exists
+            if(!dir.mkdirs() && !dir.isDirectory()){
+                throw new IOException("Cannot create " + dir);
+            }
+            _directories.put(dir, Boolean.TRUE);
+        }
+    }
+    
+    
     
     /**
      * <p>Determines if a property is lazy.</p>
@@ -470,33 +1461,7 @@ public class FlexGenerator {
      * @see LazyMode
      */
     public static boolean isLazy(PropertyDescriptor prop, LazyMode mode){
-        
-        if(mode == null){
-            return false;
-        }
-        
-        final Method getter = prop.getReadMethod();
-        if(!getter.isAnnotationPresent(FlexLazy.class)){
-            return false;
-        }
-        
-        final FlexLazy lazy = getter.getAnnotation(FlexLazy.class);
-        
-        switch(mode){
-            case SERVER_WRITE :
-                return lazy.serverWrite();
-                
-            case SERVER_READ :
-                return lazy.serverRead();
-                
-            case CLIENT_READ :
-                return lazy.clientRead();
-                
-            case CLIENT_WRITE :
-                return lazy.clientWrite();
-        }
-        
-        return false;
+        return PropertyMetadata.get(prop).isLazy(mode);
     }
     
     
@@ -634,11 +1599,8 @@ public class FlexGenerator {
             return;
         }
         
-        final Method getter = prop.getReadMethod();
-        if(getter.isAnnotationPresent(FlexTransient.class)){
-            
-            TransientMode t =
-                    getter.getAnnotation(FlexTransient.class).value();
+        final TransientMode t = PropertyMetadata.get(prop).getTransientMode();
+        if(t != null){
             
             if(t == TransientMode.PUBLIC){
                 return;
@@ -650,12 +1612,62 @@ public class FlexGenerator {
             }
         }
         
-        for(PropertyWriter<T> writer : writers){
-            if(writer.acceptProperty(prop, handler)){
-                writer.writeProperty(w, g, handler, varName, prop);
-                return;
+        final List<PropertyWriter<T>> accepted =
+                g.getPropertyWriters(prop, handler, writers);
+        
+        if(!accepted.isEmpty()){
+            accepted.get(0).writeProperty(w, g, handler, varName, prop);
+        }
+    }
+    
+    /**
+     * <p>Returns the writers of a List which accept a property, by order 
+     * of priority.</p>
+     * <p>When the handler extends {@link AbstractGeneratorHandler}, the 
+     * result is resolved by a {@link PropertyWriterIndex}, so it's only 
+     * computed once for each property type and context writer.</p>
+     * @param prop
+     *     A PropertyDescriptor
+     * @param handler
+     *     The current FlexGeneratorHandler.
+     * @param writers
+     *     A sorted List of {@link PropertyWriter}.
+     * @return A List of {@link PropertyWriter}.
+     */
+    public <T extends FlexGeneratorHandler> List<PropertyWriter<T>> 
+            getPropertyWriters(PropertyDescriptor prop, T handler, 
+            List<PropertyWriter<T>> writers) {
+        
+        if(!(handler instanceof AbstractGeneratorHandler)){
+            
+            final List<PropertyWriter<T>> accepted =
+                    new ArrayList<PropertyWriter<T>>(1);
+            
+            for(PropertyWriter<T> writer : writers){
+                if(writer.acceptProperty(prop, handler)){
+                    accepted.add(writer);
+                }
             }
+            
+            return accepted;
         }
+        
+        PropertyWriterIndex<T> index;
+        
+        synchronized(_writerIndexes){
+            // an index is only stored under the List it was built from
+            @SuppressWarnings("unchecked")
+            final PropertyWriterIndex<T> cached = 
+                    (PropertyWriterIndex<T>) _writerIndexes.get(writers);
+            index = cached;
+            if(index == null){
+                index = new PropertyWriterIndex<T>(writers);
+                _writerIndexes.put(writers, index);
+            }
+        }
+        
+        return index.getWriters(prop, handler, 
+                ((AbstractGeneratorHandler) handler).getClassWriter());
     }
     
     /**
@@ -735,15 +1747,7 @@ public class FlexGenerator {
      * @return The node name.
      */
     public static String getNodeName(PropertyDescriptor prop){
-        final Method getter = prop.getReadMethod();
-        if(getter.isAnnotationPresent(FlexNode.class)){
-            final String name = getter.getAnnotation(FlexNode.class).value();
-            if(name.indexOf("@") == 0){
-                return name.substring(1);
-            }
-            return name;
-        }
-        return prop.getName();
+        return PropertyMetadata.get(prop).getNodeName();
     }
     
     
@@ -822,6 +1826,28 @@ public class FlexGenerator {
         return _contextHandlers.get();
     }
     
+    /**
+     * <p>Write the internationalized documentation of a variant of the 
+     * method of a given class, ie. "GetInstance.refs.doc".</p>
+     * @param w A Writer
+     * @param clazz The target class
+     * @param variant The name of the variant
+     * @param indentation The current indentation level
+     * @param params String params sent to the MessageFormat
+     */
+    public void writeDocumentation(Writer w, Class<?> clazz, 
+            String variant, int indentation, Object ... params){
+        
+        final String doc = ClassLoaderUtil.getString(
+                clazz.getPackage().getName() + ".documentation",
+                clazz.getSimpleName() + '.' + variant + ".doc"
+                );
+        
+        if(doc != null){
+            writeComment(w, MessageFormat.format(doc, params), indentation);
+        }
+    }
+    
     /**
      * <p>Write internationalized document for a given class.</p>
      * @param w A Writer
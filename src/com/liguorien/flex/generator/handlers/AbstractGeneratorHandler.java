@@ -22,33 +22,42 @@
 package com.liguorien.flex.generator.handlers;
 
 import com.liguorien.flex.generator.FlexGenerator;
+import com.liguorien.flex.generator.utils.ClassContext;
 import com.liguorien.flex.generator.utils.ClassType;
+import com.liguorien.flex.generator.utils.GenerationStatistics;
 import com.liguorien.flex.generator.writers.MethodWriter;
-import com.liguorien.flex.generator.FlexNode;
+import com.liguorien.flex.generator.utils.NodeType;
+import com.liguorien.flex.generator.utils.OutputBuffer;
 import com.liguorien.flex.generator.utils.OutputMode;
+import com.liguorien.flex.generator.utils.OutputSink;
+import com.liguorien.flex.generator.utils.PropertyMetadata;
 import com.liguorien.flex.generator.writers.PropertyWriter;
 import com.liguorien.flex.generator.writers.ClassWriter;
 import java.beans.PropertyDescriptor;
 import java.io.File;
-import java.io.FileWriter;
+import java.io.FileInputStream;
 import java.io.IOException;
-import java.io.StringWriter;
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.io.Writer;
-import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
-import java.util.HashSet;
-import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
 import java.util.Set;
-import java.util.TreeSet;
 
 /**
  * <p>Basic implementation of {@link FlexGeneratorHandler}.  The basic use of 
  * this class is to extends it to create a new type of generated code.</p>
  * <p>The behavior of this handler can easily be customized. It provides a List 
  * of {@link MethodWriter}, whichs contains a writer for each generated methods.
+ * </p>
+ * <p>The state of the class being generated is kept in a {@link ClassContext}
+ * owned by the context of the current Thread, so an handler can be used to
+ * generate several classes at the same time.</p>
 
  * @version 0.2
  * @author Nicolas Dsy
@@ -69,42 +78,28 @@ public abstract class AbstractGeneratorHandler<T extends FlexGeneratorHandler>
             new ArrayList<MethodWriter<T>>();
     
     /**
-     * contains the current context method writers for this handler
+     * written instead of the generation date when the class is written by
+     * {@link #writeFileIfChanged}, so the date can be ignored when the 
+     * generated code is compared with the existing file
      */
-    private Set<MethodWriter<T>> _contextMethodWriters =
-            new HashSet<MethodWriter<T>>();
+    private final static String DATE_MARKER = "\u0000DATE\u0000";
     
     /**
-     * contains old context method writers
-     */
-    private Set<MethodWriter<T>> _oldContextMethodWriters =
-            new HashSet<MethodWriter<T>>();
-    
-    /**
-     * contains the currents import statements
-     */
-    private final Set<String> _imports = new TreeSet<String>();
-    
-    /**
-     * contains the current attributes
-     */
-    private List<PropertyDescriptor> _attributes;
-    
-    /**
-     * contains the current elements
+     * Creates a new instance of AbstractGeneratorHandler
      */
-    private List<PropertyDescriptor> _elements;
-    
-    private String _className;
-    private String _subClass;
-    private Set<String> _interfaces;
-    private Class<?> _clazz;
-    private String _distPackage = null;
+    public AbstractGeneratorHandler() {
+    }
     
     /**
-     * Creates a new instance of AbstractGeneratorHandler
+     * <p>Returns the context of the class being generated by this handler in
+     * the current Thread.</p>
+     * @return A {@link ClassContext} instance.
      */
-    public AbstractGeneratorHandler() {
+    @SuppressWarnings("unchecked")
+    protected ClassContext<T> getClassContext(){
+        // the context was created for this handler by handleClassBegin
+        return (ClassContext<T>) FlexGenerator.getContext().
+                getClassContext(this);
     }
     
     /**
@@ -112,7 +107,7 @@ public abstract class AbstractGeneratorHandler<T extends FlexGeneratorHandler>
      * @param str The fully qualified name of the class
      */
     public void addImport(String str){
-        _imports.add(str);
+        getClassContext().getImports().add(str);
     }
     
     /**
@@ -122,14 +117,14 @@ public abstract class AbstractGeneratorHandler<T extends FlexGeneratorHandler>
      * class
      */
     public Set<String> getImports(){
-        return _imports;
+        return getClassContext().getImports();
     }
     
     /**
      * <p>Clear the import statements</p>
      */
     public void clearImports(){
-        _imports.clear();
+        getClassContext().getImports().clear();
     }
    
     /**
@@ -176,15 +171,14 @@ public abstract class AbstractGeneratorHandler<T extends FlexGeneratorHandler>
             Class<?> clazz, ClassWriter cw, String className, String subClass,
             Set<String> interfaces){
         
-        _clazz = clazz;
+        final ClassContext<T> context = new ClassContext<T>(clazz);
+        context.setClassName(className);
+        context.setSubClass(subClass);
+        context.setInterfaces(interfaces);
+        FlexGenerator.getContext().setClassContext(this, context);
+        
+        resetImports();
         initWriter(clazz);
-        _attributes = new ArrayList<PropertyDescriptor>();
-        _elements = new ArrayList<PropertyDescriptor>();
-        _className = className;
-        _subClass = subClass;
-        _interfaces = interfaces;
-        _contextMethodWriters.clear();
-        _oldContextMethodWriters.clear();
     }
     
     /**
@@ -196,13 +190,10 @@ public abstract class AbstractGeneratorHandler<T extends FlexGeneratorHandler>
      * @param property The property descriptor to handle
      */
     public void handleProperty(PropertyDescriptor property) {
-        final Method getter = property.getReadMethod();
-        if(getter.isAnnotationPresent(FlexNode.class) &&
-                getter.getAnnotation(FlexNode.class).value().indexOf("@") == 0){
-            
-            _attributes.add(property);
+        if(PropertyMetadata.get(property).getNodeType() == NodeType.ATTRIBUTE){
+            getAttributes().add(property);
         }else{
-            _elements.add(property);
+            getElements().add(property);
         }
     }    
     
@@ -214,9 +205,33 @@ public abstract class AbstractGeneratorHandler<T extends FlexGeneratorHandler>
      * @param w The writer used to write the documentation.
      */
     protected void writeDocumentation(Writer w){
-        getGenerator().writeDocumentation(w, getClass(),
-                getClassWriter().getClassIndentationLevel(), _className,
-                getClassName(getCurrentClass()).toString(), new Date());
+        
+        final Object date = isDateMarked() ? DATE_MARKER : new Date();
+        
+        // an anonymous subclass uses the documentation of its superclass
+        Class<?> type = getClass();
+        while(type.isAnonymousClass()){
+            type = type.getSuperclass();
+        }
+        
+        getGenerator().writeDocumentation(w, type,
+                getClassWriter().getClassIndentationLevel(),
+                getClassContext().getClassName(),
+                getClassName(getCurrentClass()).toString(), date);
+    }
+    
+    /**
+     * <p>Indicates if the generation date is replaced by a marker in the
+     * documentation of the current class.  The marker is only written when
+     * the class is sent to {@link #writeFileIfChanged}, which removes it.
+     * </p>
+     * <p>Must be overrided to return <code>false</code> if 
+     * {@link #writeOutput} is overrided.</p>
+     * @return true if the generation date is replaced by a marker.
+     */
+    protected boolean isDateMarked(){
+        return getGenerator().getOutputSink() == null
+                && getGenerator().getOutputMode() == OutputMode.FILE_IF_CHANGED;
     }
     
     /**
@@ -238,8 +253,12 @@ public abstract class AbstractGeneratorHandler<T extends FlexGeneratorHandler>
      */
     protected void handleClassEnd(Class<?> clazz, ClassWriter cw) {
         
-        final Writer w = getWriter();
+        final ClassContext<T> context = getClassContext();
+        final Writer w = context.getWriter();
         final FlexGenerator g = getGenerator();
+        // T is the type of the concrete handler (ie. Dom4jBuilderHandler)
+        @SuppressWarnings("unchecked")
+        final T handler = (T) this;
         
         try {
             
@@ -247,61 +266,209 @@ public abstract class AbstractGeneratorHandler<T extends FlexGeneratorHandler>
              * write methods into a temporary buffer before writing import
              * declarations
              */
-            final StringWriter sw = new StringWriter();
+            final OutputBuffer sw = FlexGenerator.getContext().
+                    getMethodBuffer();
                   
-            g.writeMethods(sw, this, getMethodWriters(), clazz);
+            g.writeMethods(sw, handler, getMethodWriters(), clazz);
             
-            while(_contextMethodWriters.size() > 0){
-                
-                final Set<MethodWriter<T>> cmw = _contextMethodWriters;
-                _contextMethodWriters = new HashSet<MethodWriter<T>>();
-                
-                g.writeMethods(sw, this, cmw, clazz);
-                
-                _oldContextMethodWriters.addAll(cmw);
-                
-                final Iterator<MethodWriter<T>> it = 
-                        _contextMethodWriters.iterator();
-                
-                while(it.hasNext()){                
-                    if(_oldContextMethodWriters.contains(it.next())){
-                        it.remove();
-                    }
-                }
+            Set<MethodWriter<T>> cmw = context.drainContextMethodWriters();
+            while(cmw.size() > 0){
+                g.writeMethods(sw, handler, cmw, clazz);
+                cmw = context.drainContextMethodWriters();
             }
             
-            
-            
             // write package declaration
             cw.writePackageDeclaration(w, g, clazz, getImports());
-            w.flush();
             
             writeDocumentation(w);
             
             // write class declaration
-            cw.writeClassDeclaration(w, g, _className, _subClass, _interfaces);
-            w.flush();
+            cw.writeClassDeclaration(w, g, context.getClassName(),
+                    context.getSubClass(), context.getInterfaces());
             
             // transfer the temporary method buffer into the main writer
-            w.write(sw.toString());          
-            w.flush();
+            sw.writeTo(w);
             
             // write class end
             cw.writeClassEnd(w, g);
+            
             w.flush();
+            w.close();
             
+            writeOutput(clazz, w);
             
-            w.close();
+        } catch (IOException ex) {
+            // the class must not be recorded as generated in the manifest
+            FlexGenerator.getContext().setOutputFailed(true);
+            ex.printStackTrace();
+        } finally {
+            FlexGenerator.getContext().setClassContext(this, null);
+        }
+    }
+    
+    /**
+     * <p>Sends the generated class to its destination once its writer has
+     * been closed.  In {@link OutputMode#FILE} mode, the class is encoded
+     * in the charset of the generator and written to its file at once.  In
+     * {@link OutputMode#ARCHIVE} mode, it's appended to the archive of its
+     * {@link ClassType}.  If the generator has an {@link OutputSink}, the
+     * class is sent to the sink instead.</p>
+     * @param clazz The current class
+     * @param w The writer initialized by {@link #initWriter}
+     * @throws java.io.IOException If an IO error occurs.
+     */
+    protected void writeOutput(Class<?> clazz, Writer w) throws IOException {
+        
+        final GenerationStatistics stats = getGenerator().getStatistics();
+        final OutputSink sink = getGenerator().getOutputSink();
+        
+        if(sink != null){
+            sink.write(clazz, getClassType(), getRelativeFilePath(clazz),
+                    getBuffer(w));
+            stats.addOutput(true);
+            return;
+        }
+        
+        switch(getGenerator().getOutputMode()){
             
-            if(g.getOutputMode() == OutputMode.CONSOLE){
+            case CONSOLE :
                 System.out.println(w.toString());
+                stats.addOutput(true);
+                break;
+                
+            case FILE_IF_CHANGED :
+                stats.addOutput(
+                        writeFileIfChanged(getOutputFile(clazz), w.toString()));
+                break;
+                
+            case FILE :
+                final File file = getOutputFile(clazz);
+                getGenerator().createDirectory(file.getParentFile());
+                getBuffer(w).writeTo(file, getGenerator().getCharset());
+                stats.addOutput(true);
+                break;
+                
+            case ARCHIVE :
+                getGenerator().getArchive(getArchiveFile()).addEntry(
+                        getRelativeFilePath(clazz),
+                        getBuffer(w).encode(getGenerator().getCharset(),
+                        getRelativeFilePath(clazz)));
+                stats.addOutput(true);
+                break;
+        }
+    }
+    
+    /**
+     * Returns the content of a writer as an OutputBuffer.
+     */
+    private static OutputBuffer getBuffer(Writer w) {
+        
+        if(w instanceof OutputBuffer){
+            return (OutputBuffer) w;
+        }
+        
+        final String content = w.toString();
+        final OutputBuffer buffer = new OutputBuffer(content.length());
+        buffer.write(content, 0, content.length());
+        return buffer;
+    }
+    
+    /**
+     * <p>Replaces the content of a file, unless the file already contains the
+     * same code.  The generation date is not taken into account.</p>
+     * <p>The content is written to a temporary file of the same directory, 
+     * which is then renamed, so the file is never partially written.</p>
+     * @param file The destination file
+     * @param content The generated code
+     * @return A boolean which indicates if the file has been written.
+     * @throws java.io.IOException If an IO error occurs.
+     */
+    protected boolean writeFileIfChanged(File file, String content)
+    throws IOException {
+        
+        String head = content;
+        String tail = "";
+        
+        final int index = content.indexOf(DATE_MARKER);
+        if(index != -1){
+            head = content.substring(0, index);
+            tail = content.substring(index + DATE_MARKER.length());
+        }
+        
+        if(file.exists() && file.length() >= head.length() + tail.length()){
+            
+            final String old = readFile(file);
+            
+            if(old.startsWith(head) && old.endsWith(tail)){
+                
+                // the date of the previous generation
+                final String date = old.substring(
+                        head.length(), old.length() - tail.length());
+                
+                if(index == -1 ? date.length() == 0 : date.indexOf('\n') == -1){
+                    return false;
+                }
             }
+        }
+        
+        final File dir = file.getParentFile();
+        getGenerator().createDirectory(dir);
+        
+        final OutputBuffer buffer = new OutputBuffer(content.length());
+        buffer.write(head);
+        if(index != -1){
+            buffer.write(MessageFormat.format("{0}", new Date()));
+        }
+        buffer.write(tail);
+        
+        // encoded before the temporary file is created, so an error names
+        // the generated file
+        final ByteBuffer bytes = 
+                buffer.encode(getGenerator().getCharset(), file.getPath());
+        
+        final File tmp = File.createTempFile(file.getName(), ".tmp", dir);
+        
+        try {
             
-            resetImports();
+            OutputBuffer.write(tmp, bytes);
             
-        } catch (IOException ex) {
-            ex.printStackTrace();
+            // renameTo cannot replace an existing file on some platforms
+            if(!tmp.renameTo(file) && !(file.delete() && tmp.renameTo(file))){
+                throw new IOException("Cannot replace " + file);
+            }
+            
+        } finally {
+            if(tmp.exists()){
+                tmp.delete();
+            }
+        }
+        
+        return true;
+    }
+    
+    /**
+     * Reads the content of a file.
+     * @param file A File
+     * @return The content of the file.
+     * @throws java.io.IOException If an IO error occurs.
+     */
+    private String readFile(File file) throws IOException {
+        
+        final StringBuilder buffer = new StringBuilder((int) file.length());
+        final char[] chars = new char[4096];
+        final Reader r = new InputStreamReader(
+                new FileInputStream(file), getGenerator().getCharset());
+        
+        try {
+            int count;
+            while((count = r.read(chars)) != -1){
+                buffer.append(chars, 0, count);
+            }
+        } finally {
+            r.close();
         }
+        
+        return buffer.toString();
     }
     
     /**
@@ -319,7 +486,7 @@ public abstract class AbstractGeneratorHandler<T extends FlexGeneratorHandler>
      * @param writer A {@link MethodWriter} instance.
      */
     public void addContextMethodWriter(MethodWriter<T> writer){
-        _contextMethodWriters.add(writer);      
+        getClassContext().getContextMethodWriters().add(writer);
     }
     
     /**
@@ -346,7 +513,7 @@ public abstract class AbstractGeneratorHandler<T extends FlexGeneratorHandler>
      * @return A Set of {@link MethodWriter} instances.
      */
     public Set<MethodWriter<T>> getContextMethodWriters(){
-        return _contextMethodWriters;
+        return getClassContext().getContextMethodWriters();
     }
     
     /**
@@ -363,7 +530,7 @@ public abstract class AbstractGeneratorHandler<T extends FlexGeneratorHandler>
      * @return A List of PropertyDescriptor.
      */
     public List<PropertyDescriptor> getAttributes(){
-        return _attributes;
+        return getClassContext().getAttributes();
     }
     
     /**
@@ -371,7 +538,28 @@ public abstract class AbstractGeneratorHandler<T extends FlexGeneratorHandler>
      * @return A List of PropertyDescriptor.
      */
     public List<PropertyDescriptor> getElements(){
-        return _elements;
+        return getClassContext().getElements();
+    }
+    
+    /**
+     * <p>Returns the index of a property of the current class : the 
+     * attributes come first, then the elements.  Every handler gets the
+     * same index for a given property.</p>
+     * @param prop A property of the current class
+     * @return The index, or -1 if the property has not been handled.
+     */
+    public int getPropertyIndex(PropertyDescriptor prop){
+        
+        final int index = getAttributes().indexOf(prop);
+        
+        if(index != -1){
+            return index;
+        }
+        
+        final int elementIndex = getElements().indexOf(prop);
+        
+        return (elementIndex == -1) 
+                ? -1 : getAttributes().size() + elementIndex;
     }
     
     /**
@@ -416,7 +604,7 @@ public abstract class AbstractGeneratorHandler<T extends FlexGeneratorHandler>
      * @return The current entity class.
      */
     public Class<?> getCurrentClass(){
-        return _clazz;
+        return getClassContext().getCurrentClass();
     }
     
     
@@ -488,36 +676,81 @@ public abstract class AbstractGeneratorHandler<T extends FlexGeneratorHandler>
     }
     
     /**
-     * <p>Init writer used to output the generated classes.</p>
+     * <p>Returns the file where the class generated for an entity is 
+     * written in {@link OutputMode#FILE} mode.</p>
+     * @param clazz An entity class
+     * @return A File object.
+     */
+    public File getOutputFile(Class<?> clazz) {
+        return new File(getOutputDirectory(), getRelativeFilePath(clazz));
+    }
+    
+    /**
+     * <p>Returns the archive where the classes of this handler are written
+     * in {@link OutputMode#ARCHIVE} mode.  The handlers of the same 
+     * {@link ClassType} share the same archive : 
+     * <code>server-builders.srcjar</code>, <code>client-entities.zip</code>
+     * or <code>client-builders.zip</code> in the output directory.</p>
+     * @return A File object.
+     */
+    public File getArchiveFile() {
+        
+        final StringBuilder extension = new StringBuilder();
+        appendExtension(extension);
+        
+        final StringBuilder buffer = new StringBuilder(
+                getClassType().name().toLowerCase(Locale.ENGLISH).
+                replace('_', '-'));
+        buffer.append(".java".equals(extension.toString()) ? ".srcjar" : ".zip");
+        
+        return new File(getOutputDirectory(), buffer.toString());
+    }
+    
+    /**
+     * <p>Returns a description of the configuration of this handler. It's 
+     * used by the incremental mode of the generator to detect when a 
+     * configuration change requires the classes to be generated again.</p>
+     * <p>Subclass with additionnal options should append them.</p>
+     * @return A String which describes this handler.
+     * @see FlexGenerator#setIncremental
+     */
+    public String getConfiguration() {
+        
+        final StringBuilder buffer = new StringBuilder(getClass().getName());
+        
+        buffer.append(',').append(getClassType());
+        buffer.append(',').append(getOutputDirectory());
+        buffer.append(',');
+        appendClassSuffix(buffer);
+        appendExtension(buffer);
+        
+        for(PropertyWriter<T> pw : _propertyWriters){
+            buffer.append(',').append(pw.getClass().getName());
+            buffer.append(':').append(pw.getPriority());
+        }
+        
+        for(MethodWriter<T> mw : _methodWriters){
+            buffer.append(',').append(mw.getClass().getName());
+            buffer.append(':').append(mw.getPriority());
+        }
+        
+        return buffer.toString();
+    }
+    
+    /**
+     * <p>Init writer used to output the generated classes.  The default 
+     * writer is the {@link OutputBuffer} of the current context, or a new
+     * buffer if the generator has an {@link OutputSink}.  It's sent to its 
+     * destination by {@link #writeOutput}.</p>
      * @param clazz The current entity class.
      */
     protected void initWriter(Class<?> clazz){
         
-        switch(getGenerator().getOutputMode()){
-            
-            case CONSOLE :
-                setWriter(new StringWriter());
-                break;
-                
-            case FILE :
-                
-                final String relativePath = getRelativeFilePath(clazz);
-                
-                try {
-                    
-                    final File file =
-                            new File(getOutputDirectory(), relativePath);
-                    
-                    if(!file.getParentFile().exists()){
-                        file.getParentFile().mkdirs();
-                    }
-                    
-                    setWriter(new FileWriter(file));
-                    
-                } catch (Exception ex) {
-                    ex.printStackTrace();
-                }
-                break;
+        // the buffer is handed over to the sink, so it cannot be reused
+        if(getGenerator().getOutputSink() != null){
+            setWriter(new OutputBuffer());
+        }else{
+            setWriter(FlexGenerator.getContext().getBuffer());
         }
     }
     
@@ -525,17 +758,12 @@ public abstract class AbstractGeneratorHandler<T extends FlexGeneratorHandler>
     
     
     
-    /**
-     * Holds value of property _writer.
-     */
-    private Writer _writer;
-    
     /**
      * Getter for property writer.
      * @return Value of property writer.
      */
     public Writer getWriter() {
-        return _writer;
+        return getClassContext().getWriter();
     }
     
     /**
@@ -543,7 +771,7 @@ public abstract class AbstractGeneratorHandler<T extends FlexGeneratorHandler>
      * @param writer New value of property writer.
      */
     public void setWriter(Writer writer) {
-        _writer = writer;
+        getClassContext().setWriter(writer);
     }
     
     /**
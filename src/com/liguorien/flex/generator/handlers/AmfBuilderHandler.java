@@ -0,0 +1,222 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.generator.handlers;
+
+import com.liguorien.flex.generator.utils.ClassType;
+import com.liguorien.flex.generator.writers.ClassWriter;
+import com.liguorien.flex.generator.writers.amf.AmfWriter;
+import com.liguorien.flex.generator.writers.amf.methods.*;
+import com.liguorien.flex.generator.writers.amf.properties.*;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Date;
+
+/**
+ * <p>Generates server builders which read and write the entities in the
+ * AMF3 binary format of the Flash Player, from a
+ * <code>java.io.DataInput</code> and to a <code>java.io.DataOutput</code>.
+ * </p>
+ * <p>Each entity is an externalizable object whose alias is the name of
+ * its Java class.  Its body is a list of property names and values, 
+ * terminated by null, which is also read and written by the ActionScript
+ * entities generated by {@link FlexModelHandler} when they are 
+ * {@link FlexModelHandler#setExternalizable externalizable}.  The strings,
+ * the objects and the traits are written once by stream and then 
+ * referenced, as specified by AMF3.</p>
+ * <p>The lazy properties follow the 
+ * {@link com.liguorien.flex.generator.utils.LazyMode#SERVER_READ} and
+ * {@link com.liguorien.flex.generator.utils.LazyMode#SERVER_WRITE} modes,
+ * like the XML builders.</p>
+ *
+ * @see FlexModelHandler#setExternalizable
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+public class AmfBuilderHandler
+        extends AbstractGeneratorHandler<AmfBuilderHandler> {
+    
+    private String _builderSuffix;
+    
+    /**
+     * Create a new instance of AmfBuilderHandler
+     */
+    public AmfBuilderHandler(){
+        this("AmfBuilder");
+    }
+    
+    /**
+     * Create a new instance of AmfBuilderHandler
+     * @param builderSuffix
+     *     The suffix to be appended to the name of the generated classes.
+     */
+    public AmfBuilderHandler(String builderSuffix){
+        super();
+        
+        _builderSuffix = builderSuffix;
+        
+        for(Class<?> type : new Class<?>[]{
+            String.class, int.class, Integer.class, boolean.class,
+            Boolean.class, double.class, Double.class, float.class,
+            Float.class, long.class, Long.class, short.class, Short.class,
+            byte.class, Byte.class, char.class, Character.class, Date.class
+        }){
+            addPropertyWriter(new BasicProperty(type, 0));
+        }
+        addPropertyWriter(
+                new CollectionProperty(5));
+        addPropertyWriter(
+                new MapProperty(5));
+        addPropertyWriter(
+                new ArrayProperty(5));
+        addPropertyWriter(
+                new EntityProperty(5));
+        
+        addMethodWriter(new WriteInstance());
+        addMethodWriter(Write.getDefault());
+        addMethodWriter(new WriteEntityCollection());
+        addMethodWriter(new WriteEntityArray());
+        addMethodWriter(new WriteEntityMap());
+        addMethodWriter(new ReadInstance());
+        addMethodWriter(new Read());
+        addMethodWriter(new ReadEntityCollection());
+        addMethodWriter(new ReadEntityArray());
+        addMethodWriter(new ReadEntityMap());
+        addMethodWriter(new WriteValue());
+        addMethodWriter(new WriteInteger());
+        addMethodWriter(new WriteNumber());
+        addMethodWriter(new WriteString());
+        addMethodWriter(new WriteStringData());
+        addMethodWriter(new WriteReference());
+        addMethodWriter(new WriteArrayHeader());
+        addMethodWriter(new WriteMapHeader());
+        addMethodWriter(new WriteTraits());
+        addMethodWriter(new WriteU29());
+        addMethodWriter(new ReadValue());
+        addMethodWriter(new ReadCollection());
+        addMethodWriter(new ReadMap());
+        addMethodWriter(new ReadArray());
+        addMethodWriter(new Convert());
+        addMethodWriter(new ReadMarker());
+        addMethodWriter(new ReadString());
+        addMethodWriter(new ReadStringData());
+        addMethodWriter(new ReadTraits());
+        addMethodWriter(new ReadU29());
+    }
+    
+    /**
+     * @inheritDoc
+     * @return {@link ClassType#SERVER_BUILDERS}
+     */
+    public ClassType getClassType(){
+        return ClassType.SERVER_BUILDERS;
+    }
+    
+    /**
+     * Return the suffix to be appended to the name of the generated class.
+     */
+    public String getBuilderSuffix(){
+        return _builderSuffix;
+    }
+    
+    /**
+     * <p>Returns the name of the builder generated for an entity, and adds
+     * its import declaration to the current class.</p>
+     * @param clazz An entity class
+     * @return The simple name of the builder class.
+     */
+    public String getBuilderName(Class<?> clazz){
+        final String name = clazz.getSimpleName() + _builderSuffix;
+        addImport(getGenerator().getPackageName(clazz) + '.' + name);
+        return name;
+    }
+    
+    /**
+     * @inheritDoc
+     */
+    public File getOutputDirectory() {
+        return getGenerator().getJavaOutputDirectory();
+    }
+    
+    /**
+     * @inheritDoc
+     */
+    public void handleClassBegin(Class<?> clazz) {
+        super.handleClassBegin(clazz, AmfWriter.getContextWriter(),
+                getClassName(clazz).append(_builderSuffix).toString(),
+                null, null);
+    }
+    
+    /**
+     * @inheritDoc
+     */
+    protected void appendClassSuffix(StringBuilder buffer) {
+        super.appendClassSuffix(buffer);
+        buffer.append(_builderSuffix);
+    }
+    
+    /**
+     * @inheritDoc
+     */
+    protected void appendExtension(StringBuilder buffer) {
+        buffer.append(".java");
+    }
+    
+    /**
+     * @inheritDoc
+     */
+    public ClassWriter getClassWriter() {
+        return AmfWriter.getContextWriter();
+    }
+    
+    /**
+     * @inheritDoc
+     */
+    public StringBuilder getClassName(Class clazz) {
+        return new StringBuilder(clazz.getSimpleName());
+    }
+    
+    /**
+     * @inheritDoc
+     */
+    protected String getRelativeFilePath(Class clazz) {
+        
+        final StringBuilder buffer = new StringBuilder();
+        buffer.
+                append(getGenerator().getPackageName(clazz).replace('.', '/')).
+                append('/');
+        
+        buffer.append(clazz.getSimpleName());
+        buffer.append(getBuilderSuffix());
+        appendExtension(buffer);
+        
+        return buffer.toString();
+    }
+    
+    /**
+     * @inheritDoc
+     */
+    public void writeClassName(Writer w, Class clazz,
+            String classPrefix, String classSuffix) throws IOException {
+        w.write(clazz.getSimpleName());
+    }
+}
@@ -63,7 +63,7 @@ public class Dom4jBuilderHandler
         addPropertyWriter(
                 new BasicProperty("int", "Integer.parseInt(", ")", 0));
         addPropertyWriter(
-                new BasicProperty("Integer", "new Integer(", ")", 0));
+                new BasicProperty("Integer", "Integer.valueOf(", ")", 0));
         addPropertyWriter(
                 new BasicProperty("boolean", "\"true\".equals(", ")", 0));
         addPropertyWriter(
@@ -71,19 +71,19 @@ public class Dom4jBuilderHandler
         addPropertyWriter(
                 new BasicProperty("double", "Double.parseDouble(", ")", 0));
         addPropertyWriter(
-                new BasicProperty("Double", "new Double(", ")", 0));
+                new BasicProperty("Double", "Double.valueOf(", ")", 0));
         addPropertyWriter(
                 new BasicProperty("float", "Float.parseFloat(", ")", 0));
         addPropertyWriter(
-                new BasicProperty("Float", "new Float(", ")", 0));
+                new BasicProperty("Float", "Float.valueOf(", ")", 0));
         addPropertyWriter(
                 new BasicProperty("long", "Long.parseLong(", ")", 0));
         addPropertyWriter(
-                new BasicProperty("Long", "new Long(", ")", 0));
+                new BasicProperty("Long", "Long.valueOf(", ")", 0));
         addPropertyWriter(
                 new BasicProperty("short", "Short.parseShort(", ")", 0));
         addPropertyWriter(
-                new BasicProperty("Short", "new Short(", ")", 0));
+                new BasicProperty("Short", "Short.valueOf(", ")", 0));
         addPropertyWriter(
                 new CollectionProperty(5));
         addPropertyWriter(
@@ -102,6 +102,11 @@ public class Dom4jBuilderHandler
         addMethodWriter(new GetEntityMapElement());       
         addMethodWriter(new GetEntityArrayElement());       
         addMethodWriter(new GetEntityCollectionElement());
+        addMethodWriter(new WriteAll());
+        addMethodWriter(new GetText());
+        addMethodWriter(new ApplyDelta());
+        addMethodWriter(new IsNil());
+        addMethodWriter(new IsDelta());
         
     }
     
@@ -0,0 +1,161 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.generator.handlers;
+
+import com.liguorien.flex.generator.utils.ClassType;
+import com.liguorien.flex.generator.writers.ClassWriter;
+import com.liguorien.flex.generator.writers.as3.AS3Writer;
+import com.liguorien.flex.generator.writers.as3.json.methods.Decode;
+import com.liguorien.flex.generator.writers.as3.json.methods.Encode;
+import com.liguorien.flex.generator.writers.as3.json.methods.GetBasicMap;
+import com.liguorien.flex.generator.writers.as3.json.methods.GetBasicObjectMap;
+import com.liguorien.flex.generator.writers.as3.json.methods.GetEntityArray;
+import com.liguorien.flex.generator.writers.as3.json.methods.GetEntityMap;
+import com.liguorien.flex.generator.writers.as3.json.methods.GetInstance;
+import com.liguorien.flex.generator.writers.as3.json.methods.GetObject;
+import com.liguorien.flex.generator.writers.as3.json.methods.GetObjectArray;
+import com.liguorien.flex.generator.writers.as3.json.methods.GetObjectMap;
+import com.liguorien.flex.generator.writers.as3.json.properties.BasicMapProperty;
+import com.liguorien.flex.generator.writers.as3.json.properties.EntityProperty;
+import com.liguorien.flex.generator.writers.as3.json.properties.ValueProperty;
+import java.io.File;
+
+/**
+ * <p>Generates the ActionScript builders which decode and encode the JSON 
+ * documents written and read by the builders of {@link JsonBuilderHandler}.
+ * </p>
+ * <p>The documents are parsed and stringified by the native JSON class of
+ * the Flash Player 11, the builders only convert the plain objects to the
+ * entities and back.</p>
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+public class FlexJsonBuilderHandler extends
+        AbstractGeneratorHandler<FlexJsonBuilderHandler> {
+    
+    private String _builderSuffix;
+    
+    public FlexJsonBuilderHandler(){
+        this("JsonBuilder");
+    }
+    
+    /**
+     * Creates a new instance of FlexJsonBuilderHandler
+     */
+    public FlexJsonBuilderHandler(String builderSuffix){
+        super();
+        _builderSuffix = builderSuffix;
+        
+        addPropertyWriter(
+                new ValueProperty());
+        addPropertyWriter(
+                new BasicMapProperty());
+        addPropertyWriter(
+                new EntityProperty());
+        
+        addMethodWriter(
+                new Decode());
+        addMethodWriter(
+                new GetInstance());
+        addMethodWriter(
+                new GetEntityArray());
+        addMethodWriter(
+                new GetEntityMap());
+        addMethodWriter(
+                new Encode());
+        addMethodWriter(
+                GetObject.getDefault());
+        addMethodWriter(
+                new GetObjectArray());
+        addMethodWriter(
+                new GetObjectMap());
+        addMethodWriter(
+                new GetBasicMap());
+        addMethodWriter(
+                new GetBasicObjectMap());
+    }
+    
+    /**
+     *
+     */
+    public File getOutputDirectory() {
+        return getGenerator().getFlexOutputDirectory();
+    }
+    
+    /**
+     *
+     */
+    public String getBuilderSuffix(){
+        return _builderSuffix;
+    }
+    
+    /**
+     * Imports the builder of an entity and returns its name.
+     * @param clazz An entity class
+     * @return The name of the builder
+     */
+    public String getBuilderName(Class<?> clazz){
+        final String name = getClassName(clazz).append(_builderSuffix)
+                .toString();
+        addImport(getGenerator().getPackageName(clazz) + '.' + name);
+        return name;
+    }
+    
+    public ClassType getClassType(){
+        return ClassType.CLIENT_BUILDERS;
+    }
+    
+    /**
+     *
+     */
+    public void handleClassBegin(Class<?> clazz) {
+        super.handleClassBegin(clazz, AS3Writer.getContextWriter(),
+                getClassName(clazz).append(_builderSuffix).toString(),
+                null, null);
+    }
+    
+    /**
+     *
+     */
+    public void handleClassEnd(Class<?> clazz) {
+        super.handleClassEnd(clazz, AS3Writer.getContextWriter());
+    }
+    
+    /**
+     *
+     */
+    protected void appendClassSuffix(StringBuilder buffer) {
+        super.appendClassSuffix(buffer);
+        buffer.append(_builderSuffix);
+    }
+    
+    /**
+     *
+     */
+    protected void appendExtension(StringBuilder buffer) {
+        buffer.append(".as");
+    }
+    
+    public ClassWriter getClassWriter() {
+        return AS3Writer.getContextWriter();
+    }
+}
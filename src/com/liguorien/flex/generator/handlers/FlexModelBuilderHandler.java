@@ -25,6 +25,7 @@ import com.liguorien.flex.generator.utils.ClassType;
 import com.liguorien.flex.generator.writers.ClassWriter;
 import com.liguorien.flex.generator.writers.as3.AS3Writer;
 import com.liguorien.flex.generator.writers.as3.methods.GetBasicXML;
+import com.liguorien.flex.generator.writers.as3.methods.GetDeltaXML;
 import com.liguorien.flex.generator.writers.as3.methods.GetEntityArray;
 import com.liguorien.flex.generator.writers.as3.methods.GetBasicXMLList;
 import com.liguorien.flex.generator.writers.as3.methods.GetEntityMap;
@@ -87,8 +88,11 @@ public class FlexModelBuilderHandler extends
         
         addMethodWriter(
                 new GetInstance());
+        final GetXML getXML = GetXML.getDefault();
         addMethodWriter(
-                GetXML.getDefault());
+                getXML);
+        addMethodWriter(
+                new GetDeltaXML(getXML));
         addMethodWriter(
                 new GetBasicXML()); 
         addMethodWriter(
@@ -25,8 +25,15 @@ import com.liguorien.flex.generator.*;
 import com.liguorien.flex.generator.utils.ClassType;
 import com.liguorien.flex.generator.writers.ClassWriter;
 import com.liguorien.flex.generator.writers.as3.AS3Writer;
+import com.liguorien.flex.generator.writers.as3.methods.ClearDirty;
 import com.liguorien.flex.generator.writers.as3.methods.GetterSetter;
+import com.liguorien.flex.generator.writers.as3.methods.IsDirty;
+import com.liguorien.flex.generator.writers.as3.methods.ReadExternal;
+import com.liguorien.flex.generator.writers.as3.methods.RegisterClassAlias;
+import com.liguorien.flex.generator.writers.as3.methods.WriteExternal;
 import java.io.File;
+import java.util.Collections;
+import java.util.Set;
 
 /**
  *
@@ -36,16 +43,42 @@ import java.io.File;
 public class FlexModelHandler
         extends AbstractGeneratorHandler<FlexModelHandler> {
     
+    private final static Set<String> EXTERNALIZABLE =
+            Collections.singleton("IExternalizable");
     
-    private boolean _bindEverything = false;
-    private String _defaultEvent = null;
+    private boolean _externalizable = false;
     
     /**
      * create a new instance of FlexModelHandler
      */
     public FlexModelHandler(){
         super();
+        addMethodWriter(new RegisterClassAlias());
         addMethodWriter(new GetterSetter());
+        addMethodWriter(new WriteExternal());
+        addMethodWriter(new ReadExternal());
+        addMethodWriter(new IsDirty());
+        addMethodWriter(new ClearDirty());
+    }
+    
+    /**
+     * <p>Indicates if the generated classes implement 
+     * <code>IExternalizable</code>, to be read and written in the AMF3 
+     * format of {@link AmfBuilderHandler}.</p>
+     * @return true if the generated classes are externalizable.
+     */
+    public boolean isExternalizable(){
+        return _externalizable;
+    }
+    
+    /**
+     * <p>Sets if the generated classes implement 
+     * <code>IExternalizable</code>.  The classes are then registered 
+     * under the name of their Java entity.</p>
+     * @param externalizable true to generate externalizable classes.
+     */
+    public void setExternalizable(boolean externalizable){
+        _externalizable = externalizable;
     }
     
     /**
@@ -54,7 +87,7 @@ public class FlexModelHandler
      * should be bindable
      */
     public boolean isBindingEverything(){
-        return _bindEverything;
+        return getCurrentClass().isAnnotationPresent(FlexBindable.class);
     }
     
     /**
@@ -63,7 +96,11 @@ public class FlexModelHandler
      * @return The default event.
      */
     public String getDefaultEvent(){
-        return _defaultEvent;
+        final Class<?> clazz = getCurrentClass();
+        if(clazz.isAnnotationPresent(FlexBindable.class)){
+            return clazz.getAnnotation(FlexBindable.class).event();
+        }
+        return null;
     }
     
     
@@ -81,19 +118,22 @@ public class FlexModelHandler
     public void handleClassBegin(Class<?> clazz) {
         
         super.handleClassBegin(clazz, AS3Writer.getContextWriter(),
-                getClassName(clazz).toString(), "EventDispatcher", null);        
+                getClassName(clazz).toString(), "EventDispatcher", 
+                _externalizable ? EXTERNALIZABLE : null);
         
-        if(clazz.isAnnotationPresent(FlexBindable.class)){
-            _bindEverything = true;
-            _defaultEvent = clazz.
-                    getAnnotation(FlexBindable.class).
-                    event();
-        }else{
-            _bindEverything = false;
-            _defaultEvent = null;
+        if(_externalizable){
+            addImport("flash.utils.IExternalizable");
         }
     }
     
+    /**
+     * Append the externalizable option.
+     * @inheritDoc
+     */
+    public String getConfiguration() {
+        return super.getConfiguration() + ",externalizable:" + _externalizable;
+    }
+    
     
     /**
      * @inheritDoc
@@ -0,0 +1,198 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.generator.handlers;
+
+import com.liguorien.flex.generator.utils.ClassType;
+import com.liguorien.flex.generator.writers.ClassWriter;
+import com.liguorien.flex.generator.writers.stax.StaxWriter;
+import com.liguorien.flex.generator.writers.stax.methods.*;
+import com.liguorien.flex.generator.writers.stax.properties.*;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * <p>Generates server builders which read the entities from a StAX
+ * <code>javax.xml.stream.XMLStreamReader</code> and write them to a
+ * <code>javax.xml.stream.XMLStreamWriter</code>, in a single forward pass
+ * and without building a dom4j tree.  The XML format is the same as the
+ * one of {@link Dom4jBuilderHandler}.</p>
+ * <p>The generated code requires the StAX API (JSR 173), which is part of
+ * the JDK since Java 6.</p>
+ *
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+public class StaxBuilderHandler
+        extends AbstractGeneratorHandler<StaxBuilderHandler> {
+    
+    private String _builderSuffix;
+    
+    /**
+     * Create a new instance of StaxBuilderHandler
+     */
+    public StaxBuilderHandler(){
+        this("StaxBuilder");
+    }
+    
+    /**
+     * Create a new instance of StaxBuilderHandler
+     * @param builderSuffix
+     *     The suffix to be appended to the name of the generated classes.
+     */
+    public StaxBuilderHandler(String builderSuffix){
+        super();
+        
+        _builderSuffix = builderSuffix;
+        
+        addPropertyWriter(
+                new BasicProperty("String", null, null, 0));
+        addPropertyWriter(
+                new BasicProperty("int", "Integer.parseInt(", ")", 0));
+        addPropertyWriter(
+                new BasicProperty("Integer", "Integer.valueOf(", ")", 0));
+        addPropertyWriter(
+                new BasicProperty("boolean", "\"true\".equals(", ")", 0));
+        addPropertyWriter(
+                new BasicProperty("Boolean", "Boolean.valueOf(", ")", 0));
+        addPropertyWriter(
+                new BasicProperty("double", "Double.parseDouble(", ")", 0));
+        addPropertyWriter(
+                new BasicProperty("Double", "Double.valueOf(", ")", 0));
+        addPropertyWriter(
+                new BasicProperty("float", "Float.parseFloat(", ")", 0));
+        addPropertyWriter(
+                new BasicProperty("Float", "Float.valueOf(", ")", 0));
+        addPropertyWriter(
+                new BasicProperty("long", "Long.parseLong(", ")", 0));
+        addPropertyWriter(
+                new BasicProperty("Long", "Long.valueOf(", ")", 0));
+        addPropertyWriter(
+                new BasicProperty("short", "Short.parseShort(", ")", 0));
+        addPropertyWriter(
+                new BasicProperty("Short", "Short.valueOf(", ")", 0));
+        addPropertyWriter(
+                new CollectionProperty(5));
+        addPropertyWriter(
+                new MapProperty(5));
+        addPropertyWriter(
+                new ArrayProperty(5));
+        addPropertyWriter(
+                new EntityProperty(5));
+        
+        addMethodWriter(new GetInstance());
+        addMethodWriter(new GetEntityCollection());
+        addMethodWriter(new SkipElement());
+        addMethodWriter(new WriteInstance());
+        addMethodWriter(Write.getDefault());
+        addMethodWriter(new WriteEntityCollection());
+        addMethodWriter(new WriteEntityMap());
+        addMethodWriter(new WriteEntityArray());
+        addMethodWriter(new WriteAll());
+        addMethodWriter(new WriteElement());
+    }
+    
+    /**
+     * @inheritDoc
+     * @return {@link ClassType#SERVER_BUILDERS}
+     */
+    public ClassType getClassType(){
+        return ClassType.SERVER_BUILDERS;
+    }
+    
+    /**
+     * Return the suffix to be appended to the name of the generated class.
+     */
+    public String getBuilderSuffix(){
+        return _builderSuffix;
+    }
+    
+    /**
+     * @inheritDoc
+     */
+    public File getOutputDirectory() {
+        return getGenerator().getJavaOutputDirectory();
+    }
+    
+    /**
+     * @inheritDoc
+     */
+    public void handleClassBegin(Class<?> clazz) {
+        super.handleClassBegin(clazz, StaxWriter.getContextWriter(),
+                getClassName(clazz).append(_builderSuffix).toString(),
+                null, null);
+    }
+    
+    /**
+     * @inheritDoc
+     */
+    protected void appendClassSuffix(StringBuilder buffer) {
+        super.appendClassSuffix(buffer);
+        buffer.append(_builderSuffix);
+    }
+    
+    /**
+     * @inheritDoc
+     */
+    protected void appendExtension(StringBuilder buffer) {
+        buffer.append(".java");
+    }
+    
+    /**
+     * @inheritDoc
+     */
+    public ClassWriter getClassWriter() {
+        return StaxWriter.getContextWriter();
+    }
+    
+    /**
+     * @inheritDoc
+     */
+    public StringBuilder getClassName(Class clazz) {
+        return new StringBuilder(clazz.getSimpleName());
+    }
+    
+    /**
+     * @inheritDoc
+     */
+    protected String getRelativeFilePath(Class clazz) {
+        
+        final StringBuilder buffer = new StringBuilder();
+        buffer.
+                append(getGenerator().getPackageName(clazz).replace('.', '/')).
+                append('/');
+        
+        buffer.append(clazz.getSimpleName());
+        buffer.append(getBuilderSuffix());
+        appendExtension(buffer);
+        
+        return buffer.toString();
+    }
+    
+    /**
+     * @inheritDoc
+     */
+    public void writeClassName(Writer w, Class clazz,
+            String classPrefix, String classSuffix) throws IOException {
+        w.write(clazz.getSimpleName());
+    }
+}
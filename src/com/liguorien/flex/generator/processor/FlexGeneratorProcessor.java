@@ -0,0 +1,571 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.generator.processor;
+
+import com.liguorien.flex.generator.FlexBindable;
+import com.liguorien.flex.generator.FlexDefault;
+import com.liguorien.flex.generator.FlexGenerator;
+import com.liguorien.flex.generator.FlexLazy;
+import com.liguorien.flex.generator.FlexList;
+import com.liguorien.flex.generator.FlexMap;
+import com.liguorien.flex.generator.FlexNode;
+import com.liguorien.flex.generator.FlexPackage;
+import com.liguorien.flex.generator.FlexSet;
+import com.liguorien.flex.generator.FlexTransient;
+import com.liguorien.flex.generator.handlers.Dom4jBuilderHandler;
+import com.liguorien.flex.generator.handlers.FlexModelBuilderHandler;
+import com.liguorien.flex.generator.handlers.FlexModelHandler;
+import com.liguorien.flex.generator.utils.ClassType;
+import com.liguorien.flex.generator.utils.MemoryCompiler;
+import com.liguorien.flex.generator.utils.OutputSink;
+import com.sun.source.tree.CompilationUnitTree;
+import com.sun.source.tree.IdentifierTree;
+import com.sun.source.tree.MemberSelectTree;
+import com.sun.source.util.TreePath;
+import com.sun.source.util.TreePathScanner;
+import com.sun.source.util.Trees;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * <p>Annotation processor which generates the dom4j builders, the 
+ * ActionScript entities and the ActionScript builders during the 
+ * compilation, so the generated Java builders are compiled by the same
+ * javac invocation.</p>
+ * <p>The processor is triggered by the annotations of FlexGenerator.  The
+ * entities are found from the annotated elements : a class annotated with
+ * {@link FlexPackage}, or a class whose accessors are annotated with
+ * {@link FlexNode}, {@link FlexList}, {@link FlexMap}, etc.  The classes
+ * annotated with {@link FlexTransient} are ignored.</p>
+ * <p>The handlers read the entities through reflection.  The sources of 
+ * the entities, and the sources of the compilation they use, are compiled
+ * in memory before the generation, so the classes match the sources being
+ * compiled, even if an older version of an entity is on the classpath.  
+ * The compiled classes they use are loaded from the classpath of the 
+ * compilation.  An error is reported for the entities which can't be 
+ * compiled or loaded.</p>
+ * <p>The Java builders are written with the Filer.  The ActionScript
+ * classes are written in the folder given by the 
+ * <code>-Aflexgenerator.flexOutputDirectory</code> option, or with the 
+ * Filer in the source output folder if the option is not set.</p>
+ * <p>The processor is not registered as a service, so it only runs when
+ * it's given to javac : 
+ * <code>-processor com.liguorien.flex.generator.processor.FlexGeneratorProcessor</code>.
+ * </p>
+ *
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+public class FlexGeneratorProcessor extends AbstractProcessor {
+    
+    /**
+     * The option which sets the folder of the ActionScript classes.
+     */
+    public static final String FLEX_OUTPUT_DIRECTORY =
+            "flexgenerator.flexOutputDirectory";
+    
+    private static final Class<?>[] ANNOTATIONS = {
+        FlexBindable.class, FlexDefault.class, FlexLazy.class,
+        FlexList.class, FlexMap.class, FlexNode.class, FlexPackage.class,
+        FlexSet.class, FlexTransient.class
+    };
+    
+    /**
+     * contains the name of the entities already processed by a previous 
+     * round
+     */
+    private final Set<String> _processed = new HashSet<String>();
+    
+    /**
+     * contains the element of each entity of the current round, by class
+     */
+    private final Map<Class<?>, TypeElement> _elements =
+            new HashMap<Class<?>, TypeElement>();
+    
+    /**
+     * Creates a new instance of FlexGeneratorProcessor
+     */
+    public FlexGeneratorProcessor() {
+    }
+    
+    public Set<String> getSupportedAnnotationTypes() {
+        final Set<String> types = new HashSet<String>();
+        for(Class<?> annotation : ANNOTATIONS){
+            types.add(annotation.getName());
+        }
+        return types;
+    }
+    
+    public Set<String> getSupportedOptions() {
+        final Set<String> options = new HashSet<String>();
+        options.add(FLEX_OUTPUT_DIRECTORY);
+        return options;
+    }
+    
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+    
+    /**
+     * <p>Generates the entities found in the annotated elements of the 
+     * round.  The annotations are not claimed, so other processors can 
+     * use them.</p>
+     */
+    public boolean process(Set<? extends TypeElement> annotations,
+            RoundEnvironment round) {
+        
+        _elements.clear();
+        
+        final Map<String, TypeElement> entities =
+                new LinkedHashMap<String, TypeElement>();
+        
+        for(TypeElement annotation : annotations){
+            for(Element element : round.getElementsAnnotatedWith(annotation)){
+                
+                final TypeElement type = getEntity(element);
+                
+                if(type == null){
+                    continue;
+                }
+                
+                final String name = processingEnv.getElementUtils().
+                        getBinaryName(type).toString();
+                
+                if(_processed.add(name)){
+                    entities.put(name, type);
+                }
+            }
+        }
+        
+        if(entities.isEmpty()){
+            return false;
+        }
+        
+        final ClassLoader loader = compileEntities(entities.values());
+        
+        if(loader == null){
+            return false;
+        }
+        
+        for(Map.Entry<String, TypeElement> entity : entities.entrySet()){
+            try {
+                _elements.put(Class.forName(entity.getKey(), false, loader),
+                        entity.getValue());
+            } catch (ClassNotFoundException ex) {
+                processingEnv.getMessager().printMessage(
+                        Diagnostic.Kind.ERROR, "The entity " + 
+                        entity.getKey() + " can't be loaded", 
+                        entity.getValue());
+            } catch (LinkageError ex) {
+                processingEnv.getMessager().printMessage(
+                        Diagnostic.Kind.ERROR, "The entity " + 
+                        entity.getKey() + " can't be loaded : " + ex, 
+                        entity.getValue());
+            }
+        }
+        
+        if(_elements.size() == entities.size()){
+            generate(loader);
+        }
+        
+        return false;
+    }
+    
+    /**
+     * <p>Compiles the sources of the entities in memory, with the sources 
+     * they use.  The sources are followed from the entities : a class of 
+     * the compilation used by an entity or by one of its sources (a 
+     * property type, a superclass, an enum, ...) is compiled with them, 
+     * so it doesn't need to be annotated or already compiled.  The sources
+     * which don't lead to an entity, like the ones using the generated 
+     * builders, are not compiled.</p>
+     * <p>The classes used by these sources which come from the classpath of
+     * the compilation are found with the Filer, and their classpath 
+     * entries are added to the ClassLoader of the entities.  An entity 
+     * which isn't compiled from a source is loaded by the processor's 
+     * ClassLoader.</p>
+     * @param entities The entities of the current round
+     * @return The ClassLoader of the entities, or null if they can't be 
+     * compiled.
+     */
+    private ClassLoader compileEntities(Collection<TypeElement> entities) {
+        
+        ClassLoader parent = getClass().getClassLoader();
+        
+        Trees trees;
+        try {
+            trees = Trees.instance(processingEnv);
+        } catch (IllegalArgumentException ex) {
+            // not run by javac, the sources are not available
+            return parent;
+        }
+        
+        final Set<File> classPath = new LinkedHashSet<File>();
+        final Map<String, CompilationUnitTree> units =
+                findSources(trees, entities, classPath);
+        
+        if(units.isEmpty()){
+            return parent;
+        }
+        
+        final Map<String, String> sources = new HashMap<String, String>();
+        
+        for(Map.Entry<String, CompilationUnitTree> unit : units.entrySet()){
+            try {
+                sources.put(unit.getKey(), unit.getValue().getSourceFile().
+                        getCharContent(true).toString());
+            } catch (IOException ex) {
+                processingEnv.getMessager().printMessage(
+                        Diagnostic.Kind.ERROR, "The source of " + 
+                        unit.getKey() + " can't be read : " + ex);
+                return null;
+            }
+        }
+        
+        if(!classPath.isEmpty()){
+            // the MemoryCompiler compiles against the URLs of its parent
+            final List<URL> urls = new ArrayList<URL>();
+            for(File entry : classPath){
+                try {
+                    urls.add(entry.toURI().toURL());
+                } catch (MalformedURLException ex) {
+                    throw new IllegalStateException(ex);
+                }
+            }
+            parent = new URLClassLoader(urls.toArray(new URL[urls.size()]),
+                    parent);
+        }
+        
+        try {
+            return new MemoryCompiler(parent).compile(sources);
+        } catch (IOException ex) {
+            for(TypeElement type : entities){
+                processingEnv.getMessager().printMessage(
+                        Diagnostic.Kind.ERROR, "The entity " + 
+                        type.getQualifiedName() + " can't be compiled " +
+                        "before the generation : " + ex.getMessage(), type);
+            }
+            return null;
+        }
+    }
+    
+    /**
+     * <p>Finds the sources of the entities and the sources they use, 
+     * directly or not.  The classpath entries of the classes they use 
+     * which are not compiled from a source are added to 
+     * <code>classPath</code>.</p>
+     * @param trees The trees of the compilation
+     * @param entities The entities of the current round
+     * @param classPath Receives the classpath entries of the classes used
+     * by the sources
+     * @return The compilation units, by class name
+     */
+    private Map<String, CompilationUnitTree> findSources(final Trees trees,
+            Collection<TypeElement> entities, final Set<File> classPath) {
+        
+        final Map<String, CompilationUnitTree> units =
+                new LinkedHashMap<String, CompilationUnitTree>();
+        final Set<String> visited = new HashSet<String>();
+        final LinkedList<TypeElement> pending = 
+                new LinkedList<TypeElement>(entities);
+        
+        final TreePathScanner<Void, Void> scanner = 
+                new TreePathScanner<Void, Void>(){
+            
+            public Void visitIdentifier(IdentifierTree node, Void p) {
+                addElement(trees.getElement(getCurrentPath()));
+                return super.visitIdentifier(node, p);
+            }
+            
+            public Void visitMemberSelect(MemberSelectTree node, Void p) {
+                addElement(trees.getElement(getCurrentPath()));
+                return super.visitMemberSelect(node, p);
+            }
+            
+            private void addElement(Element element) {
+                final TypeElement type = getTopLevelType(element);
+                if(type != null){
+                    pending.add(type);
+                }
+            }
+        };
+        
+        while(!pending.isEmpty()){
+            
+            final TypeElement type = pending.removeFirst();
+            
+            if(!visited.add(type.getQualifiedName().toString())){
+                continue;
+            }
+            
+            final TreePath path = trees.getPath(type);
+            
+            if(path == null){
+                // a compiled class, its supertypes must be loaded with it
+                if(addClassPath(type, classPath)){
+                    addType(type.getSuperclass(), pending);
+                    for(TypeMirror i : type.getInterfaces()){
+                        addType(i, pending);
+                    }
+                }
+                continue;
+            }
+            
+            final CompilationUnitTree unit = path.getCompilationUnit();
+            
+            // the name of the source must match its public class
+            String name = unit.getSourceFile().toUri().getPath();
+            name = name.substring(name.lastIndexOf('/') + 1);
+            name = name.substring(0, name.length() - 5);
+            if(unit.getPackageName() != null){
+                name = unit.getPackageName() + "." + name;
+            }
+            
+            if(!units.containsKey(name)){
+                units.put(name, unit);
+                scanner.scan(unit, null);
+            }
+        }
+        
+        return units;
+    }
+    
+    /**
+     * Adds the class of a type to the classes to find.
+     */
+    private void addType(TypeMirror type, Collection<TypeElement> pending) {
+        if(type.getKind() == TypeKind.DECLARED){
+            final TypeElement element = getTopLevelType(
+                    ((DeclaredType) type).asElement());
+            if(element != null){
+                pending.add(element);
+            }
+        }
+    }
+    
+    /**
+     * Returns the top level class of an element.
+     * @param element An element of the compilation, can be null
+     * @return The top level class of the element, or null if the element 
+     * isn't in a class.
+     */
+    private TypeElement getTopLevelType(Element element) {
+        
+        while(element != null && element.getEnclosingElement() != null && 
+                element.getEnclosingElement().getKind() != 
+                ElementKind.PACKAGE){
+            element = element.getEnclosingElement();
+        }
+        
+        if(element == null || !(element instanceof TypeElement) ||
+                element.asType().getKind() == TypeKind.ERROR){
+            return null;
+        }
+        
+        return (TypeElement) element;
+    }
+    
+    /**
+     * <p>Adds the classpath entry of a compiled class.  The class file is 
+     * found with the Filer in the classpath of the compilation, the 
+     * classes of the platform are not on it.</p>
+     * @param type A top level class which isn't compiled from a source
+     * @param classPath Receives the classpath entry
+     * @return true if the class file is on the classpath
+     */
+    private boolean addClassPath(TypeElement type, Set<File> classPath) {
+        
+        final String pkg = processingEnv.getElementUtils().
+                getPackageOf(type).getQualifiedName().toString();
+        final String path = type.getSimpleName() + ".class";
+        
+        URI uri;
+        try {
+            uri = processingEnv.getFiler().getResource(
+                    StandardLocation.CLASS_PATH, pkg, path).toUri();
+        } catch (IOException ex) {
+            return false;
+        } catch (IllegalArgumentException ex) {
+            return false;
+        }
+        
+        // jar:file:/lib/lib.jar!/com/acme/Lib.class or 
+        // file:/classes/com/acme/Lib.class
+        String entry = uri.toString();
+        
+        if("jar".equals(uri.getScheme())){
+            entry = entry.substring(4, entry.indexOf("!/"));
+        }else if("file".equals(uri.getScheme())){
+            final String relative = pkg.length() == 0 ? path :
+                    pkg.replace('.', '/') + "/" + path;
+            if(!entry.endsWith(relative)){
+                return false;
+            }
+            entry = entry.substring(0, entry.length() - relative.length());
+        }else{
+            return false;
+        }
+        
+        try {
+            classPath.add(new File(new URI(entry)));
+        } catch (URISyntaxException ex) {
+            return false;
+        } catch (IllegalArgumentException ex) {
+            return false;
+        }
+        
+        return true;
+    }
+    
+    /**
+     * Returns the entity of an annotated element.
+     * @param element An annotated class or accessor
+     * @return The class of the element, or null if it's not an entity.
+     */
+    private TypeElement getEntity(Element element) {
+        
+        while(element != null && !element.getKind().isClass()){
+            element = element.getEnclosingElement();
+        }
+        
+        if(element == null || element.getKind() != ElementKind.CLASS ||
+                element.getAnnotation(FlexTransient.class) != null){
+            return null;
+        }
+        
+        return (TypeElement) element;
+    }
+    
+    /**
+     * Generates the entities of the current round.  The resources of the
+     * generator are loaded with the ClassLoader of the entities, whose 
+     * parent is the processor's ClassLoader.
+     */
+    private void generate(ClassLoader loader) {
+        
+        final Thread thread = Thread.currentThread();
+        final ClassLoader contextLoader = thread.getContextClassLoader();
+        
+        thread.setContextClassLoader(loader);
+        
+        try {
+            
+            final FlexGenerator g = new FlexGenerator();
+            
+            g.addHandler(new Dom4jBuilderHandler());
+            g.addHandler(new FlexModelHandler());
+            g.addHandler(new FlexModelBuilderHandler());
+            
+            g.setOutputSink(new OutputSink(){
+                public void write(Class<?> clazz, ClassType type, String path,
+                        CharSequence content) throws IOException {
+                    writeOutput(clazz, path, content);
+                }
+            });
+            
+            for(Class<?> clazz : _elements.keySet()){
+                g.addClass(clazz);
+            }
+            
+            g.generate();
+        
+        } finally {
+            thread.setContextClassLoader(contextLoader);
+        }
+    }
+    
+    /**
+     * <p>Writes a generated class.  The Java classes are created with the 
+     * Filer, so they are compiled in the next round.</p>
+     * @param clazz The entity
+     * @param path The relative path of the generated file
+     * (ie. "com/acme/PersonBuilder.java")
+     * @param content The generated code
+     * @throws java.io.IOException If an IO error occurs.
+     */
+    private void writeOutput(Class<?> clazz, String path, 
+            CharSequence content) throws IOException {
+        
+        final String flexDir =
+                processingEnv.getOptions().get(FLEX_OUTPUT_DIRECTORY);
+        
+        Writer w;
+        
+        if(path.endsWith(".java")){
+            
+            final FileObject file = processingEnv.getFiler().createSourceFile(
+                    path.substring(0, path.length() - 5).replace('/', '.'),
+                    _elements.get(clazz));
+            w = file.openWriter();
+        
+        }else if(flexDir != null){
+            
+            final File file = new File(flexDir, path);
+            file.getParentFile().mkdirs();
+            w = new OutputStreamWriter(new FileOutputStream(file), "UTF-8");
+        
+        }else{
+            
+            final FileObject file = processingEnv.getFiler().createResource(
+                    StandardLocation.SOURCE_OUTPUT, "", path,
+                    _elements.get(clazz));
+            w = file.openWriter();
+        }
+        
+        try {
+            w.append(content);
+        } finally {
+            w.close();
+        }
+    }
+}
@@ -0,0 +1,230 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.generator.runtime;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.List;
+import org.dom4j.Element;
+
+/**
+ * <p>Creates and combines the method handles used by the codecs.  The 
+ * accessors keep the type of their property, so the primitive values are 
+ * never boxed.</p>
+ * <p>The handle of a property is only made of combinators : its getter or
+ * its setter, the parser or the formatter of its type, and a static method 
+ * of its codec which reads or writes the dom4j nodes, with the node name 
+ * bound.  The handles of the properties of an entity are chained in a 
+ * single handle, which the JIT compiles for this entity once it's warm.  
+ * The bound values become constants, so the accessors of each property 
+ * are inlined like the direct calls of the generated builders, instead of
+ * going through call sites shared by all the properties.  The static 
+ * methods never invoke a handle of a property themselves, since they are 
+ * shared by all the properties and usually compiled on their own.</p>
+ *
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+final class Accessors {
+    
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    
+    /**
+     * the type of the handles which read or write a property : 
+     * (Object entity, Element el)void
+     */
+    static final MethodType PROPERTY_TYPE =
+            MethodType.methodType(void.class, Object.class, Element.class);
+    
+    /**
+     * the type of a getter whose value is an object : (Object)Object
+     */
+    static final MethodType GETTER_TYPE =
+            MethodType.methodType(Object.class, Object.class);
+    
+    /**
+     * the type of a setter whose value is an object : (Object, Object)void
+     */
+    static final MethodType SETTER_TYPE =
+            MethodType.methodType(void.class, Object.class, Object.class);
+    
+    private static final MethodHandle SKIP = bind(Accessors.class, "skip");
+    
+    private static final MethodHandle IS_NULL = 
+            bind(Accessors.class, "isNull");
+    
+    private Accessors() {
+    }
+    
+    /**
+     * Creates the handle of a getter.
+     * @param method A public getter
+     * @return A handle of type (Object)T, where T is the property type
+     */
+    static MethodHandle getter(Method method) {
+        return unreflect(method).asType(MethodType.methodType(
+                method.getReturnType(), Object.class));
+    }
+    
+    /**
+     * Creates the handle of a setter.
+     * @param method A public setter
+     * @return A handle of type (Object, T)void, where T is the property type
+     */
+    static MethodHandle setter(Method method) {
+        return unreflect(method).asType(MethodType.methodType(
+                void.class, Object.class, method.getParameterTypes()[0]));
+    }
+    
+    /**
+     * Creates the factory of a class.
+     * @param clazz A public class with a public default constructor
+     * @return A handle of type ()Object
+     */
+    static MethodHandle factory(Class<?> clazz) {
+        try {
+            return LOOKUP.findConstructor(clazz, 
+                    MethodType.methodType(void.class)).
+                    asType(MethodType.methodType(Object.class));
+        } catch (Exception ex) {
+            throw new IllegalArgumentException(
+                    "No public default constructor : " + clazz.getName());
+        }
+    }
+    
+    /**
+     * <p>Creates the handle which reads a property from the element of an 
+     * entity : <code>set(o, read(el))</code>.</p>
+     * @param set A setter : (Object, T)void
+     * @param read Reads the value from the element : (Element)T
+     * @return A handle of type {@link #PROPERTY_TYPE}
+     */
+    static MethodHandle reader(MethodHandle set, MethodHandle read) {
+        return MethodHandles.filterArguments(set, 1, read);
+    }
+    
+    /**
+     * <p>Creates the handle which writes a property to the element of an 
+     * entity : <code>write(el, get(o))</code>.</p>
+     * @param get A getter : (Object)T
+     * @param write Writes the value to the element : (Element, T)void
+     * @return A handle of type {@link #PROPERTY_TYPE}
+     */
+    static MethodHandle writer(MethodHandle get, MethodHandle write) {
+        return MethodHandles.permuteArguments(
+                MethodHandles.filterArguments(write, 1, get),
+                PROPERTY_TYPE, 1, 0);
+    }
+    
+    /**
+     * <p>Returns a handle which doesn't call <code>target</code> when its 
+     * last argument is null, and calls <code>fallback</code> instead.</p>
+     * @param target A handle whose last argument is an object
+     * @param fallback A handle of the same type, or null to do nothing
+     * @return A handle of the same type
+     */
+    static MethodHandle skipNull(MethodHandle target, MethodHandle fallback) {
+        
+        final MethodType type = target.type();
+        final int last = type.parameterCount() - 1;
+        
+        if(fallback == null){
+            fallback = MethodHandles.dropArguments(
+                    SKIP, 0, type.parameterList());
+        }
+        
+        return MethodHandles.guardWithTest(
+                MethodHandles.dropArguments(IS_NULL.asType(
+                MethodType.methodType(boolean.class, 
+                type.parameterType(last))),
+                0, type.parameterList().subList(0, last)),
+                fallback, target);
+    }
+    
+    /**
+     * <p>Returns the handle of a static method of the package, with its 
+     * first arguments bound.</p>
+     * @param owner The class of the method
+     * @param name The name of the method, which is not overloaded
+     * @param values The values of the first arguments
+     * @return The handle of the remaining arguments
+     */
+    static MethodHandle bind(Class<?> owner, String name, Object... values) {
+        
+        for(Method method : owner.getDeclaredMethods()){
+            if(method.getName().equals(name) && 
+                    Modifier.isStatic(method.getModifiers())){
+                return MethodHandles.insertArguments(
+                        unreflect(method), 0, values);
+            }
+        }
+        
+        throw new IllegalArgumentException(
+                "No static method " + name + " in " + owner.getName());
+    }
+    
+    /**
+     * <p>Chains the handles of the properties of an entity.</p>
+     * @param handles Some handles of type {@link #PROPERTY_TYPE}
+     * @return A handle which invokes them in order
+     */
+    static MethodHandle sequence(List<MethodHandle> handles) {
+        
+        MethodHandle result = MethodHandles.dropArguments(
+                SKIP, 0, PROPERTY_TYPE.parameterList());
+        
+        for(int i = handles.size() - 1; i >= 0; i--){
+            result = MethodHandles.foldArguments(result, handles.get(i));
+        }
+        
+        return result;
+    }
+    
+    static void skip() {
+    }
+    
+    static boolean isNull(Object value) {
+        return value == null;
+    }
+    
+    static MethodHandle unreflect(Method method) {
+        try {
+            return LOOKUP.unreflect(method);
+        } catch (IllegalAccessException ex) {
+            throw new IllegalArgumentException(
+                    "The method is not accessible : " + method);
+        }
+    }
+    
+    static RuntimeException rethrow(Throwable ex) {
+        if(ex instanceof RuntimeException){
+            return (RuntimeException) ex;
+        }
+        if(ex instanceof Error){
+            throw (Error) ex;
+        }
+        return new IllegalStateException(ex);
+    }
+}
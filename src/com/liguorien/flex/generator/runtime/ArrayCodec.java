@@ -0,0 +1,160 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.generator.runtime;
+
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.util.List;
+import org.dom4j.Element;
+
+/**
+ * <p>Reads and writes an array of simple values or of entities.  The 
+ * items of an array of primitive type are parsed and formatted without
+ * being boxed.</p>
+ *
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+class ArrayCodec extends PropertyCodec {
+    
+    private final Class<?> _componentType;
+    
+    private final EntryCodec _entry;
+    
+    ArrayCodec(PropertyDescriptor prop) {
+        super(prop);
+        _componentType = prop.getPropertyType().getComponentType();
+        _entry = new EntryCodec(_componentType);
+    }
+    
+    MethodHandle reader() {
+        
+        final Class<?> arrayType = _prop.getPropertyType();
+        MethodHandle item = MethodHandles.arrayElementSetter(arrayType);
+        
+        if(_entry.isEntity()){
+            item = MethodHandles.filterArguments(
+                    item.asType(MethodType.methodType(void.class, arrayType,
+                    int.class, Object.class)), 2,
+                    Accessors.bind(ArrayCodec.class, "readEntity", _entry));
+        }else{
+            item = MethodHandles.filterArguments(item, 2,
+                    MethodHandles.filterReturnValue(
+                    Accessors.bind(ArrayCodec.class, "text"),
+                    ValueParser.forType(_componentType).
+                    parser(_componentType)));
+        }
+        
+        return Accessors.reader(setter().asType(Accessors.SETTER_TYPE),
+                Accessors.bind(ArrayCodec.class, "read",
+                item.asType(MethodType.methodType(void.class, Object.class,
+                int.class, Element.class)), _componentType, _nodeName));
+    }
+    
+    MethodHandle writer() {
+        
+        MethodHandle item;
+        
+        if(_entry.isEntity()){
+            item = Accessors.bind(ArrayCodec.class, "writeEntity", _entry);
+        }else{
+            final Class<?> arrayType = _prop.getPropertyType();
+            item = Accessors.bind(ArrayCodec.class, "writeText",
+                    MethodHandles.filterReturnValue(
+                    MethodHandles.arrayElementGetter(arrayType).asType(
+                    MethodType.methodType(_componentType, Object.class, 
+                    int.class)), ValueParser.formatter(_componentType)));
+        }
+        
+        return Accessors.writer(getter().asType(Accessors.GETTER_TYPE),
+                Accessors.bind(ArrayCodec.class, "write", item, _nodeName));
+    }
+    
+    /**
+     * Reads the array.
+     * @param item Reads an item into the array : 
+     * (Object items, int i, Element el)void
+     */
+    static Object read(MethodHandle item, Class<?> componentType, 
+            String name, Element el) throws Throwable {
+        
+        final Element container = el.element(name);
+        
+        if(container == null){
+            return null;
+        }
+        
+        final List<?> els = container.elements();
+        final int size = els.size();
+        final Object items = Array.newInstance(componentType, size);
+        
+        for(int i = 0; i < size; i++){
+            item.invokeExact(items, i, (Element) els.get(i));
+        }
+        
+        return items;
+    }
+    
+    /**
+     * Writes the array.
+     * @param item Writes an item of the array : 
+     * (Element container, Object items, int i)void
+     */
+    static void write(MethodHandle item, String name, Element el, 
+            Object items) throws Throwable {
+        
+        if(items == null){
+            return;
+        }
+        
+        final Element container = el.addElement(name);
+        final int size = Array.getLength(items);
+        
+        for(int i = 0; i < size; i++){
+            item.invokeExact(container, items, i);
+        }
+    }
+    
+    static String text(Element el) {
+        return el.getText().trim();
+    }
+    
+    static Object readEntity(EntryCodec entry, Element el) {
+        return entry.read(el);
+    }
+    
+    /**
+     * @param text Formats an item : (Object items, int i)String
+     */
+    static void writeText(MethodHandle text, Element container, 
+            Object items, int i) throws Throwable {
+        container.addElement("e").setText((String) text.invokeExact(items, i));
+    }
+    
+    static void writeEntity(EntryCodec entry, Element container, 
+            Object items, int i) {
+        entry.write(container, ((Object[]) items)[i]);
+    }
+}
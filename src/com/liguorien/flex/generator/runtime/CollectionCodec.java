@@ -0,0 +1,108 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.generator.runtime;
+
+import com.liguorien.flex.generator.FlexGenerator;
+import com.liguorien.flex.generator.utils.PropertyMetadata;
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.util.Collection;
+import java.util.Iterator;
+import org.dom4j.Element;
+
+/**
+ * <p>Reads and writes a Collection annotated with FlexList or FlexSet.</p>
+ *
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+class CollectionCodec extends PropertyCodec {
+    
+    private final Class<?> _collectionClass;
+    
+    private final EntryCodec _entry;
+    
+    /**
+     * the node name of the entries, or null to read every child
+     */
+    private final String _entryName;
+    
+    CollectionCodec(PropertyDescriptor prop) {
+        super(prop);
+        final PropertyMetadata meta = PropertyMetadata.get(prop);
+        _collectionClass = meta.getCollectionClass();
+        _entry = new EntryCodec(meta.getEntryClass());
+        _entryName = _entry.isEntity()
+                ? FlexGenerator.getNodeName(meta.getEntryClass()) : null;
+    }
+    
+    MethodHandle reader() {
+        return Accessors.reader(setter().asType(Accessors.SETTER_TYPE), 
+                Accessors.bind(CollectionCodec.class, "read", 
+                Accessors.factory(_collectionClass), _nodeName, _entryName,
+                _entry));
+    }
+    
+    MethodHandle writer() {
+        return Accessors.writer(getter().asType(Accessors.GETTER_TYPE), 
+                Accessors.bind(CollectionCodec.class, "write", _nodeName, 
+                _entry));
+    }
+    
+    static Object read(MethodHandle factory, String name, String entryName, 
+            EntryCodec entry, Element el) throws Throwable {
+        
+        final Element container = el.element(name);
+        
+        if(container == null){
+            return null;
+        }
+        
+        // the collection is only filled with the entries read by this codec
+        @SuppressWarnings("unchecked")
+        final Collection<Object> coll = 
+                (Collection<Object>) (Object) factory.invokeExact();
+        final Iterator<?> it = (entryName == null)
+                ? container.elementIterator()
+                : container.elementIterator(entryName);
+        
+        while(it.hasNext()){
+            coll.add(entry.read((Element) it.next()));
+        }
+        
+        return coll;
+    }
+    
+    static void write(String name, EntryCodec entry, Element el, 
+            Object value) {
+        
+        if(value == null){
+            return;
+        }
+        
+        final Element container = el.addElement(name);
+        
+        for(Object item : (Collection<?>) value){
+            entry.write(container, item);
+        }
+    }
+}
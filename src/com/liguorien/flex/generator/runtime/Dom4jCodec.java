@@ -0,0 +1,236 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.generator.runtime;
+
+import com.liguorien.flex.generator.FlexGenerator;
+import com.liguorien.flex.generator.utils.LazyMode;
+import com.liguorien.flex.generator.utils.PropertyMetadata;
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.dom4j.DocumentHelper;
+import org.dom4j.Element;
+
+/**
+ * <p>Reads and writes the entities of a class from dom4j elements, like the 
+ * generated dom4j builders but without generating any source code.  The 
+ * codec is built from the annotations of the class at first use, and the 
+ * properties are accessed through method handles.  The handles of the 
+ * properties are chained in a handle which reads the entity and a handle 
+ * which writes it, so once they're compiled by the JIT each property is 
+ * read and written without boxing or shared call sites, like the 
+ * generated code.</p>
+ * <p>The elements have the same format as the dom4j builders : </p>
+ * <pre>
+ * final Element el = Dom4jCodec.forClass(Person.class).getElement(person);
+ * final Person copy = Dom4jCodec.forClass(Person.class).getInstance(el);
+ * </pre>
+ * <p>The codecs are immutable and cached by class, so they can be shared by 
+ * several threads.</p>
+ *
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+public final class Dom4jCodec<T> {
+    
+    private static final ConcurrentMap<Class<?>, Dom4jCodec<?>> _codecs =
+            new ConcurrentHashMap<Class<?>, Dom4jCodec<?>>();
+    
+    private final Class<T> _class;
+    
+    private final String _nodeName;
+    
+    /**
+     * creates the entities : ()Object
+     */
+    private final MethodHandle _factory;
+    
+    /**
+     * reads the properties which are read by getInstance() : 
+     * (Object, Element)void
+     */
+    private final MethodHandle _reader;
+    
+    /**
+     * writes the properties which are written by getElement() : 
+     * (Object, Element)void
+     */
+    private final MethodHandle _writer;
+    
+    private Dom4jCodec(Class<T> clazz) {
+        
+        _class = clazz;
+        _nodeName = FlexGenerator.getNodeName(clazz);
+        _factory = Accessors.factory(clazz);
+        
+        final List<MethodHandle> readers = new ArrayList<MethodHandle>();
+        final List<MethodHandle> writers = new ArrayList<MethodHandle>();
+        
+        for(PropertyDescriptor prop : getPropertyDescriptors(clazz)){
+            
+            if("class".equals(prop.getName()) || prop.getReadMethod() == null){
+                continue;
+            }
+            
+            final PropertyMetadata meta = PropertyMetadata.get(prop);
+            
+            if(meta.getTransientMode() != null){
+                continue;
+            }
+            
+            final PropertyCodec codec = PropertyCodec.create(prop, _nodeName);
+            
+            if(codec == null){
+                continue;
+            }
+            
+            if(codec.isWritable() && !meta.isLazy(LazyMode.SERVER_READ)){
+                readers.add(codec.reader());
+            }
+            
+            if(!meta.isLazy(LazyMode.SERVER_WRITE)){
+                writers.add(codec.writer());
+            }
+        }
+        
+        _reader = Accessors.sequence(readers);
+        _writer = Accessors.sequence(writers);
+    }
+    
+    /**
+     * <p>Returns the codec of an entity class.  It's built at first use.</p>
+     * @param clazz An entity class, with a public no-arg constructor
+     * @return The codec of the class
+     * @throws IllegalArgumentException If the class cannot be introspected
+     */
+    public static <T> Dom4jCodec<T> forClass(Class<T> clazz) {
+        
+        Dom4jCodec<?> codec = _codecs.get(clazz);
+        
+        if(codec == null){
+            codec = new Dom4jCodec<T>(clazz);
+            final Dom4jCodec<?> previous = _codecs.putIfAbsent(clazz, codec);
+            if(previous != null){
+                codec = previous;
+            }
+        }
+        
+        // a codec is only stored under the class it was created for
+        @SuppressWarnings("unchecked")
+        final Dom4jCodec<T> result = (Dom4jCodec<T>) codec;
+        return result;
+    }
+    
+    /**
+     * <p>Creates an entity from its element.</p>
+     * @param el The element of the entity (can be null)
+     * @return The entity, or null if the element is null
+     */
+    public T getInstance(Element el) {
+        
+        if(el == null){
+            return null;
+        }
+        
+        try {
+            final Object o = (Object) _factory.invokeExact();
+            _reader.invokeExact(o, el);
+            return _class.cast(o);
+        } catch (Throwable ex) {
+            throw Accessors.rethrow(ex);
+        }
+    }
+    
+    /**
+     * <p>Creates the element of an entity.</p>
+     * @param o The entity (can be null)
+     * @return The element, or null if the entity is null
+     */
+    public Element getElement(T o) {
+        
+        if(o == null){
+            return null;
+        }
+        
+        final Element el = DocumentHelper.createElement(_nodeName);
+        
+        try {
+            _writer.invokeExact((Object) o, el);
+        } catch (Throwable ex) {
+            throw Accessors.rethrow(ex);
+        }
+        
+        return el;
+    }
+    
+    /**
+     * Returns the class of the entities.
+     * @return The entity class
+     */
+    public Class<T> getEntityClass() {
+        return _class;
+    }
+    
+    /**
+     * Returns the node name of the entities.
+     * @return The node name
+     */
+    public String getNodeName() {
+        return _nodeName;
+    }
+    
+    /**
+     * <p>Determines if a class is an entity : a class which isn't a simple 
+     * type, an array, a Collection, a Map or a class of the JDK.</p>
+     * @param clazz A property type
+     * @return true if the class can have a codec
+     */
+    static boolean isEntity(Class<?> clazz) {
+        
+        if(clazz == null || clazz.isPrimitive() || clazz.isArray() ||
+                clazz.isInterface() || clazz.isEnum() ||
+                ValueParser.forType(clazz) != null ||
+                Collection.class.isAssignableFrom(clazz) ||
+                Map.class.isAssignableFrom(clazz)){
+            return false;
+        }
+        
+        final String name = clazz.getName();
+        return !name.startsWith("java.") && !name.startsWith("javax.");
+    }
+    
+    private static PropertyDescriptor[] getPropertyDescriptors(Class<?> clazz){
+        try {
+            return Introspector.getBeanInfo(clazz).getPropertyDescriptors();
+        } catch (IntrospectionException ex) {
+            throw new IllegalArgumentException(
+                    "Cannot introspect " + clazz.getName(), ex);
+        }
+    }
+}
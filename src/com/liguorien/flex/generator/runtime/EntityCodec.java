@@ -0,0 +1,67 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.generator.runtime;
+
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import org.dom4j.Element;
+
+/**
+ * <p>Reads and writes a property which holds another entity, with the 
+ * codec of its class.</p>
+ *
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+class EntityCodec extends PropertyCodec {
+    
+    private final EntryCodec _entry;
+    
+    EntityCodec(PropertyDescriptor prop) {
+        super(prop);
+        _entry = new EntryCodec(prop.getPropertyType());
+    }
+    
+    MethodHandle reader() {
+        return Accessors.reader(setter().asType(Accessors.SETTER_TYPE), 
+                Accessors.bind(EntityCodec.class, "read", _nodeName, _entry));
+    }
+    
+    MethodHandle writer() {
+        return Accessors.writer(getter().asType(Accessors.GETTER_TYPE), 
+                Accessors.bind(EntityCodec.class, "write", _nodeName, _entry));
+    }
+    
+    static Object read(String name, EntryCodec entry, Element el) {
+        return entry.read(el.element(name));
+    }
+    
+    static void write(String name, EntryCodec entry, Element el, 
+            Object value) {
+        
+        if(value != null){
+            final Element nested = entry.getCodec().getElement(value);
+            nested.setName(name);
+            el.add(nested);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.generator.runtime;
+
+import org.dom4j.Element;
+
+/**
+ * <p>Reads and writes the entries of an array, a Collection or a Map : a
+ * simple value as the text of an element, or an entity with the codec of
+ * its class.  The codec of an entity is resolved at first use, so an 
+ * entity can hold entries of its own class.</p>
+ *
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+final class EntryCodec {
+    
+    private final Class<?> _entryClass;
+    
+    private final ValueParser _parser;
+    
+    private Dom4jCodec<Object> _codec;
+    
+    EntryCodec(Class<?> entryClass) {
+        _entryClass = entryClass;
+        _parser = ValueParser.forType(entryClass);
+    }
+    
+    /**
+     * Determines if the entries are entities.
+     * @return false if the entries are simple values.
+     */
+    boolean isEntity() {
+        return _parser == null;
+    }
+    
+    /**
+     * Returns the codec of the entity entries.
+     * @return A codec (the codecs are immutable, so they can be shared 
+     * without synchronization)
+     */
+    Dom4jCodec<Object> getCodec() {
+        Dom4jCodec<Object> codec = _codec;
+        if(codec == null){
+            // the values given to the codec are entries of the property, 
+            // so they are instances of the entry class
+            @SuppressWarnings("unchecked")
+            final Dom4jCodec<Object> entryCodec = 
+                    (Dom4jCodec<Object>) Dom4jCodec.forClass(_entryClass);
+            codec = entryCodec;
+            _codec = codec;
+        }
+        return codec;
+    }
+    
+    /**
+     * Reads an entry.
+     * @param el The element of the entry (can be null)
+     * @return The entry
+     */
+    Object read(Element el) {
+        if(el == null){
+            return null;
+        }
+        return (_parser == null)
+                ? getCodec().getInstance(el)
+                : _parser.parse(el.getText().trim());
+    }
+    
+    /**
+     * Adds an entry to the element of an array or a Collection.
+     * @param parent The element of the array or the Collection
+     * @param value The entry
+     * @return The element of the entry, or null if the entry is null.
+     */
+    Element write(Element parent, Object value) {
+        
+        if(_parser != null){
+            final Element el = parent.addElement("e");
+            el.setText(value.toString());
+            return el;
+        }
+        
+        final Element el = getCodec().getElement(value);
+        
+        if(el != null){
+            parent.add(el);
+        }
+        
+        return el;
+    }
+}
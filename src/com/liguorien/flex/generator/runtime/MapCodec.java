@@ -0,0 +1,124 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.generator.runtime;
+
+import com.liguorien.flex.generator.utils.PropertyMetadata;
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.util.Iterator;
+import java.util.Map;
+import org.dom4j.Element;
+
+/**
+ * <p>Reads and writes a Map annotated with FlexMap.  Each entry is an 
+ * element with a KEY attribute.</p>
+ *
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+class MapCodec extends PropertyCodec {
+    
+    private final Class<?> _mapClass;
+    
+    private final EntryCodec _entry;
+    
+    private final ValueParser _keyParser;
+    
+    /**
+     * the node name of the simple entries, which is the node name of the
+     * entity of the property, like the dom4j builders
+     */
+    private final String _entryName;
+    
+    MapCodec(PropertyDescriptor prop, String ownerNodeName) {
+        super(prop);
+        final PropertyMetadata meta = PropertyMetadata.get(prop);
+        _mapClass = meta.getCollectionClass();
+        _entry = new EntryCodec(meta.getEntryClass());
+        _keyParser = ValueParser.forType(meta.getKeyClass());
+        _entryName = ownerNodeName;
+    }
+    
+    MethodHandle reader() {
+        return Accessors.reader(setter().asType(Accessors.SETTER_TYPE), 
+                Accessors.bind(MapCodec.class, "read", 
+                Accessors.factory(_mapClass), _nodeName, _keyParser, _entry));
+    }
+    
+    MethodHandle writer() {
+        return Accessors.writer(getter().asType(Accessors.GETTER_TYPE), 
+                Accessors.bind(MapCodec.class, "write", _nodeName, 
+                _entryName, _entry));
+    }
+    
+    static Object read(MethodHandle factory, String name, 
+            ValueParser keyParser, EntryCodec entryCodec, Element el) 
+            throws Throwable {
+        
+        final Element container = el.element(name);
+        
+        if(container == null){
+            return null;
+        }
+        
+        // the map is only filled with the entries read by this codec
+        @SuppressWarnings("unchecked")
+        final Map<Object, Object> map = 
+                (Map<Object, Object>) (Object) factory.invokeExact();
+        
+        for(Iterator<?> it = container.elementIterator(); it.hasNext();){
+            final Element entry = (Element) it.next();
+            final String key = entry.attributeValue("KEY");
+            map.put((keyParser == null || key == null)
+                    ? key : keyParser.parse(key), entryCodec.read(entry));
+        }
+        
+        return map;
+    }
+    
+    static void write(String name, String entryName, EntryCodec entryCodec,
+            Element el, Object value) {
+        
+        if(value == null){
+            return;
+        }
+        
+        final Element container = el.addElement(name);
+        
+        for(Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()){
+            
+            final String key = String.valueOf(entry.getKey());
+            
+            if(entryCodec.isEntity()){
+                final Element ell = 
+                        entryCodec.write(container, entry.getValue());
+                if(ell != null){
+                    ell.addAttribute("KEY", key);
+                }
+            }else{
+                container.addElement(entryName).
+                        addAttribute("KEY", key).
+                        setText(String.valueOf(entry.getValue()));
+            }
+        }
+    }
+}
@@ -0,0 +1,129 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.generator.runtime;
+
+import com.liguorien.flex.generator.FlexGenerator;
+import com.liguorien.flex.generator.utils.PropertyMetadata;
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * <p>Reads and writes a property of an entity.  It's the runtime 
+ * counterpart of the PropertyWriters of the dom4j builders : instead of 
+ * writing the code of the property, it creates the handles which read 
+ * and write it, which are chained by {@link Dom4jCodec}.</p>
+ *
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+abstract class PropertyCodec {
+    
+    protected final PropertyDescriptor _prop;
+    
+    protected final String _nodeName;
+    
+    PropertyCodec(PropertyDescriptor prop) {
+        _prop = prop;
+        _nodeName = FlexGenerator.getNodeName(prop);
+    }
+    
+    /**
+     * Determines if the property can be read from an element.
+     * @return false if the property has no setter
+     */
+    boolean isWritable() {
+        return _prop.getWriteMethod() != null;
+    }
+    
+    /**
+     * Returns the handle which reads the property from the element of an 
+     * entity.  It's only called if the property is writable.
+     * @return A handle of type (Object entity, Element el)void
+     */
+    abstract MethodHandle reader();
+    
+    /**
+     * Returns the handle which writes the property to the element of an 
+     * entity.
+     * @return A handle of type (Object entity, Element el)void
+     */
+    abstract MethodHandle writer();
+    
+    /**
+     * Returns the handle of the getter.
+     * @return A handle of type (Object)T, where T is the property type
+     */
+    protected MethodHandle getter() {
+        return Accessors.getter(_prop.getReadMethod());
+    }
+    
+    /**
+     * Returns the handle of the setter.
+     * @return A handle of type (Object, T)void, where T is the property type
+     */
+    protected MethodHandle setter() {
+        return Accessors.setter(_prop.getWriteMethod());
+    }
+    
+    /**
+     * <p>Creates the codec of a property, following the rules of the dom4j
+     * builders : the arrays, the Collections annotated with FlexList or 
+     * FlexSet, the Maps annotated with FlexMap, the simple types and the 
+     * entities are supported.</p>
+     * @param prop A property
+     * @param ownerNodeName The node name of the entity of the property
+     * @return The codec, or null if the property is not supported.
+     */
+    static PropertyCodec create(PropertyDescriptor prop, String ownerNodeName){
+        
+        final Class<?> type = prop.getPropertyType();
+        final PropertyMetadata meta = PropertyMetadata.get(prop);
+        
+        if(type.isArray()){
+            return isSupported(type.getComponentType())
+                    ? new ArrayCodec(prop) : null;
+        }
+        
+        if(Collection.class.isAssignableFrom(type)){
+            return (meta.isCollection() && isSupported(meta.getEntryClass()))
+                    ? new CollectionCodec(prop) : null;
+        }
+        
+        if(Map.class.isAssignableFrom(type)){
+            return (meta.isMap() && isSupported(meta.getEntryClass()))
+                    ? new MapCodec(prop, ownerNodeName) : null;
+        }
+        
+        if(ValueParser.forType(type) != null){
+            return new ValueCodec(prop);
+        }
+        
+        return Dom4jCodec.isEntity(type) ? new EntityCodec(prop) : null;
+    }
+    
+    private static boolean isSupported(Class<?> entryClass) {
+        return ValueParser.forType(entryClass) != null ||
+                Dom4jCodec.isEntity(entryClass);
+    }
+}
@@ -0,0 +1,98 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.generator.runtime;
+
+import com.liguorien.flex.generator.utils.NodeType;
+import com.liguorien.flex.generator.utils.PropertyMetadata;
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import org.dom4j.Element;
+
+/**
+ * <p>Reads and writes a property of simple type, as an attribute or as the
+ * text of an element.  The text is parsed and formatted with the type of 
+ * the property, so the primitive values are not boxed.</p>
+ *
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+class ValueCodec extends PropertyCodec {
+    
+    private final boolean _attribute;
+    
+    private final ValueParser _parser;
+    
+    ValueCodec(PropertyDescriptor prop) {
+        super(prop);
+        _attribute = PropertyMetadata.get(prop).getNodeType()
+                == NodeType.ATTRIBUTE;
+        _parser = ValueParser.forType(prop.getPropertyType());
+    }
+    
+    MethodHandle reader() {
+        
+        final Class<?> type = _prop.getPropertyType();
+        final MethodHandle setter = setter();
+        
+        // a missing node leaves a primitive unchanged and sets an object 
+        // to null
+        return Accessors.reader(Accessors.skipNull(
+                MethodHandles.filterArguments(setter, 1, _parser.parser(type)),
+                type.isPrimitive() ? null : MethodHandles.filterArguments(
+                setter, 1, MethodHandles.dropArguments(
+                MethodHandles.constant(type, null), 0, String.class))),
+                Accessors.bind(ValueCodec.class, "read", 
+                _nodeName, Boolean.valueOf(_attribute)));
+    }
+    
+    MethodHandle writer() {
+        return Accessors.writer(MethodHandles.filterReturnValue(getter(), 
+                ValueParser.formatter(_prop.getPropertyType())),
+                Accessors.bind(ValueCodec.class, "write", 
+                _nodeName, Boolean.valueOf(_attribute)));
+    }
+    
+    /**
+     * Returns the trimmed text of the property, or null if its node is 
+     * missing.
+     */
+    static String read(String name, boolean attribute, Element el) {
+        
+        if(attribute){
+            return el.attributeValue(name);
+        }
+        
+        final String text = el.elementText(name);
+        return (text == null) ? null : text.trim();
+    }
+    
+    static void write(String name, boolean attribute, Element el, 
+            String text) {
+        
+        if(attribute){
+            el.addAttribute(name, text);
+        }else{
+            el.addElement(name).setText(text);
+        }
+    }
+}
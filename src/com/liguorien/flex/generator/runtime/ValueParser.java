@@ -0,0 +1,192 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.generator.runtime;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * <p>Parses and formats the text of the simple types supported by the 
+ * dom4j builders.  The handles of the primitive types parse and format 
+ * the values without boxing them, like the generated builders.</p>
+ *
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+enum ValueParser {
+    
+    STRING(null, null) {
+        Object parse(String text) {
+            return text;
+        }
+    },
+    
+    INTEGER(Integer.class, "parseInt") {
+        Object parse(String text) {
+            return Integer.valueOf(text);
+        }
+    },
+    
+    BOOLEAN(ValueParser.class, "parseBoolean") {
+        Object parse(String text) {
+            return Boolean.valueOf("true".equals(text));
+        }
+    },
+    
+    DOUBLE(Double.class, "parseDouble") {
+        Object parse(String text) {
+            return Double.valueOf(text);
+        }
+    },
+    
+    FLOAT(Float.class, "parseFloat") {
+        Object parse(String text) {
+            return Float.valueOf(text);
+        }
+    },
+    
+    LONG(Long.class, "parseLong") {
+        Object parse(String text) {
+            return Long.valueOf(text);
+        }
+    },
+    
+    SHORT(Short.class, "parseShort") {
+        Object parse(String text) {
+            return Short.valueOf(text);
+        }
+    };
+    
+    private static final Map<Class<?>, ValueParser> _parsers =
+            new HashMap<Class<?>, ValueParser>();
+    
+    static {
+        _parsers.put(String.class, STRING);
+        _parsers.put(int.class, INTEGER);
+        _parsers.put(Integer.class, INTEGER);
+        _parsers.put(boolean.class, BOOLEAN);
+        _parsers.put(Boolean.class, BOOLEAN);
+        _parsers.put(double.class, DOUBLE);
+        _parsers.put(Double.class, DOUBLE);
+        _parsers.put(float.class, FLOAT);
+        _parsers.put(Float.class, FLOAT);
+        _parsers.put(long.class, LONG);
+        _parsers.put(Long.class, LONG);
+        _parsers.put(short.class, SHORT);
+        _parsers.put(Short.class, SHORT);
+    }
+    
+    /**
+     * the class of the static method which parses the primitive values
+     */
+    private final Class<?> _parserClass;
+    
+    private final String _parserName;
+    
+    private ValueParser(Class<?> parserClass, String parserName) {
+        _parserClass = parserClass;
+        _parserName = parserName;
+    }
+    
+    /**
+     * Parses a text.
+     * @param text A trimmed text (not null)
+     * @return The value
+     */
+    abstract Object parse(String text);
+    
+    /**
+     * <p>Returns the handle which parses a text.  The primitive values 
+     * are parsed by the static methods of their wrapper class (ie. 
+     * <code>Integer.parseInt</code>), like the dom4j builders.</p>
+     * @param type A type of this parser
+     * @return A handle of type (String)type
+     */
+    MethodHandle parser(Class<?> type) {
+        
+        if(this == STRING){
+            return MethodHandles.identity(String.class);
+        }
+        
+        if(type.isPrimitive()){
+            try {
+                return MethodHandles.lookup().findStatic(_parserClass, 
+                        _parserName, MethodType.methodType(type, String.class));
+            } catch (Exception ex) {
+                throw new IllegalStateException(ex);
+            }
+        }
+        
+        try {
+            return MethodHandles.lookup().findVirtual(ValueParser.class, 
+                    "parse", MethodType.methodType(Object.class, String.class)).
+                    bindTo(this).
+                    asType(MethodType.methodType(type, String.class));
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+    
+    /**
+     * Returns the parser of a type.
+     * @param type A class
+     * @return The parser or null if the type is not a simple type.
+     */
+    static ValueParser forType(Class<?> type) {
+        return _parsers.get(type);
+    }
+    
+    /**
+     * <p>Returns the handle which formats a value with 
+     * <code>String.valueOf</code>, like the dom4j builders.</p>
+     * @param type The type of the values
+     * @return A handle of type (type)String
+     */
+    static MethodHandle formatter(Class<?> type) {
+        
+        Class<?> argType = Object.class;
+        
+        if(type == short.class){
+            argType = int.class;
+        }else if(type.isPrimitive()){
+            argType = type;
+        }
+        
+        try {
+            return MethodHandles.lookup().findStatic(String.class, "valueOf",
+                    MethodType.methodType(String.class, argType)).
+                    asType(MethodType.methodType(String.class, type));
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+    
+    /**
+     * Parses a boolean like the dom4j builders, which only accept "true".
+     */
+    static boolean parseBoolean(String text) {
+        return "true".equals(text);
+    }
+}
@@ -0,0 +1,195 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.generator.utils;
+
+import com.liguorien.flex.generator.handlers.FlexGeneratorHandler;
+import com.liguorien.flex.generator.writers.MethodWriter;
+import java.beans.PropertyDescriptor;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * <p>Holds the state of an handler for the class being generated.</p>
+ * <p>A new instance is created by the handler for each class and is kept
+ * in the {@link GeneratorContext} of the current Thread, so a single handler
+ * can generate several classes at the same time.</p>
+ *
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+public class ClassContext<T extends FlexGeneratorHandler> {
+    
+    private final Class<?> _clazz;
+    
+    private final Set<String> _imports = new TreeSet<String>();
+    
+    private final List<PropertyDescriptor> _attributes =
+            new ArrayList<PropertyDescriptor>();
+    
+    private final List<PropertyDescriptor> _elements =
+            new ArrayList<PropertyDescriptor>();
+    
+    private Set<MethodWriter<T>> _contextMethodWriters =
+            new LinkedHashSet<MethodWriter<T>>();
+    
+    private final Set<MethodWriter<T>> _oldContextMethodWriters =
+            new HashSet<MethodWriter<T>>();
+    
+    private String _className;
+    private String _subClass;
+    private Set<String> _interfaces;
+    private Writer _writer;
+    
+    /**
+     * Creates a new instance of ClassContext
+     * @param clazz The entity class being generated.
+     */
+    public ClassContext(Class<?> clazz) {
+        _clazz = clazz;
+    }
+    
+    /**
+     * Returns the entity class being generated.
+     * @return The current entity class.
+     */
+    public Class<?> getCurrentClass() {
+        return _clazz;
+    }
+    
+    /**
+     * Returns the import statements of the generated class.
+     * @return A sorted Set of fully qualified class names.
+     */
+    public Set<String> getImports() {
+        return _imports;
+    }
+    
+    /**
+     * Returns the properties which will be XML attributes.
+     * @return A List of PropertyDescriptor.
+     */
+    public List<PropertyDescriptor> getAttributes() {
+        return _attributes;
+    }
+    
+    /**
+     * Returns the properties which will be XML elements.
+     * @return A List of PropertyDescriptor.
+     */
+    public List<PropertyDescriptor> getElements() {
+        return _elements;
+    }
+    
+    /**
+     * Returns the method writers added for the generated class.
+     * @return A Set of {@link MethodWriter} instances.
+     */
+    public Set<MethodWriter<T>> getContextMethodWriters() {
+        return _contextMethodWriters;
+    }
+    
+    /**
+     * <p>Returns the pending context method writers and replace them by an
+     * empty Set. The returned writers are remembered, so they will not be
+     * returned again if they are added twice.</p>
+     * @return A Set of {@link MethodWriter} instances.
+     */
+    public Set<MethodWriter<T>> drainContextMethodWriters() {
+        
+        final Set<MethodWriter<T>> cmw = _contextMethodWriters;
+        _contextMethodWriters = new LinkedHashSet<MethodWriter<T>>();
+        
+        cmw.removeAll(_oldContextMethodWriters);
+        _oldContextMethodWriters.addAll(cmw);
+        
+        return cmw;
+    }
+    
+    /**
+     * Getter for property className.
+     * @return Value of property className.
+     */
+    public String getClassName() {
+        return _className;
+    }
+    
+    /**
+     * Setter for property className.
+     * @param className New value of property className.
+     */
+    public void setClassName(String className) {
+        _className = className;
+    }
+    
+    /**
+     * Getter for property subClass.
+     * @return Value of property subClass.
+     */
+    public String getSubClass() {
+        return _subClass;
+    }
+    
+    /**
+     * Setter for property subClass.
+     * @param subClass New value of property subClass.
+     */
+    public void setSubClass(String subClass) {
+        _subClass = subClass;
+    }
+    
+    /**
+     * Getter for property interfaces.
+     * @return Value of property interfaces.
+     */
+    public Set<String> getInterfaces() {
+        return _interfaces;
+    }
+    
+    /**
+     * Setter for property interfaces.
+     * @param interfaces New value of property interfaces.
+     */
+    public void setInterfaces(Set<String> interfaces) {
+        _interfaces = interfaces;
+    }
+    
+    /**
+     * Getter for property writer.
+     * @return Value of property writer.
+     */
+    public Writer getWriter() {
+        return _writer;
+    }
+    
+    /**
+     * Setter for property writer.
+     * @param writer New value of property writer.
+     */
+    public void setWriter(Writer writer) {
+        _writer = writer;
+    }
+}
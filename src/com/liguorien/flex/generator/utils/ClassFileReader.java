@@ -0,0 +1,439 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.generator.utils;
+
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * <p>Reads the metadata of a class directly from its class file : the
+ * access flags, the name of the class and of its superclass, the runtime 
+ * visible annotations and the signature of the methods.</p>
+ * <p>The class is neither loaded nor initialized, so it's used by the 
+ * generator to scan a package without loading the classes which are not
+ * generated, and to find the properties of an entity without the 
+ * Introspector.</p>
+ *
+ * @see com.liguorien.flex.generator.FlexGenerator#setBytecodeScanning
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+public class ClassFileReader {
+    
+    private static final int ACC_PUBLIC = 0x0001;
+    private static final int ACC_STATIC = 0x0008;
+    private static final int ACC_BRIDGE = 0x0040;
+    private static final int ACC_INTERFACE = 0x0200;
+    private static final int ACC_SYNTHETIC = 0x1000;
+    private static final int ACC_ANNOTATION = 0x2000;
+    private static final int ACC_ENUM = 0x4000;
+    
+    private static final int CONSTANT_UTF8 = 1;
+    private static final int CONSTANT_LONG = 5;
+    private static final int CONSTANT_DOUBLE = 6;
+    private static final int CONSTANT_CLASS = 7;
+    private static final int CONSTANT_METHOD_HANDLE = 15;
+    
+    private final String[] _utf8;
+    
+    private final int[] _classes;
+    
+    private final int _access;
+    
+    private final String _className;
+    
+    private final String _superclassName;
+    
+    private final Set<String> _annotations = new HashSet<String>();
+    
+    private final List<MethodInfo> _methods = new ArrayList<MethodInfo>();
+    
+    /**
+     * Creates a new instance of ClassFileReader
+     * @param in The content of a class file.  The stream is not closed.
+     * @throws java.io.IOException If an IO error occurs or if the stream
+     * doesn't contain a class file.
+     */
+    public ClassFileReader(InputStream in) throws IOException {
+        
+        final DataInputStream data = new DataInputStream(in);
+        
+        if(data.readInt() != 0xCAFEBABE){
+            throw new IOException("Not a class file");
+        }
+        
+        data.readUnsignedShort();
+        data.readUnsignedShort();
+        
+        final int count = data.readUnsignedShort();
+        _utf8 = new String[count];
+        _classes = new int[count];
+        
+        for(int i = 1; i < count; i++){
+            
+            final int tag = data.readUnsignedByte();
+            
+            switch(tag){
+                case CONSTANT_UTF8 :
+                    _utf8[i] = data.readUTF();
+                    break;
+                case CONSTANT_CLASS :
+                    _classes[i] = data.readUnsignedShort();
+                    break;
+                case CONSTANT_LONG :
+                case CONSTANT_DOUBLE :
+                    data.skipBytes(8);
+                    i++;
+                    break;
+                case CONSTANT_METHOD_HANDLE :
+                    data.skipBytes(3);
+                    break;
+                // String, MethodType, Module, Package
+                case 8 : case 16 : case 19 : case 20 :
+                    data.skipBytes(2);
+                    break;
+                // Integer, Float, the member references, NameAndType, 
+                // Dynamic, InvokeDynamic
+                case 3 : case 4 : case 9 : case 10 : 
+                case 11 : case 12 : case 17 : case 18 :
+                    data.skipBytes(4);
+                    break;
+                default :
+                    throw new IOException("Unknown constant tag : " + tag);
+            }
+        }
+        
+        _access = data.readUnsignedShort();
+        _className = getClassName(data.readUnsignedShort());
+        _superclassName = getClassName(data.readUnsignedShort());
+        
+        data.skipBytes(data.readUnsignedShort() * 2);
+        
+        // fields
+        for(int i = data.readUnsignedShort(); i > 0; i--){
+            data.skipBytes(6);
+            readAttributes(data, null);
+        }
+        
+        for(int i = data.readUnsignedShort(); i > 0; i--){
+            final MethodInfo method = new MethodInfo(
+                    data.readUnsignedShort(),
+                    _utf8[data.readUnsignedShort()],
+                    _utf8[data.readUnsignedShort()]);
+            readAttributes(data, null);
+            _methods.add(method);
+        }
+        
+        readAttributes(data, _annotations);
+    }
+    
+    /**
+     * Creates a new instance of ClassFileReader
+     * @param bytecode The content of a class file.
+     * @throws java.io.IOException If the bytecode is not a class file.
+     */
+    public ClassFileReader(byte[] bytecode) throws IOException {
+        this(new ByteArrayInputStream(bytecode));
+    }
+    
+    private String getClassName(int index){
+        return (index == 0) ? null : _utf8[_classes[index]].replace('/', '.');
+    }
+    
+    /**
+     * Reads the attributes of a class, a field or a method and keeps the 
+     * descriptors of its runtime visible annotations if a Set is given.
+     */
+    private void readAttributes(DataInputStream data, Set<String> annotations)
+    throws IOException {
+        
+        for(int i = data.readUnsignedShort(); i > 0; i--){
+            
+            final String name = _utf8[data.readUnsignedShort()];
+            final int length = data.readInt();
+            
+            if(annotations != null &&
+                    "RuntimeVisibleAnnotations".equals(name)){
+                for(int j = data.readUnsignedShort(); j > 0; j--){
+                    annotations.add(readAnnotation(data));
+                }
+            }else{
+                data.skipBytes(length);
+            }
+        }
+    }
+    
+    /**
+     * Reads an annotation and returns the descriptor of its type.
+     */
+    private String readAnnotation(DataInputStream data) throws IOException {
+        
+        final String type = _utf8[data.readUnsignedShort()];
+        
+        for(int i = data.readUnsignedShort(); i > 0; i--){
+            data.skipBytes(2);
+            skipElementValue(data);
+        }
+        
+        return type;
+    }
+    
+    private void skipElementValue(DataInputStream data) throws IOException {
+        
+        final int tag = data.readUnsignedByte();
+        
+        if(tag == 'e'){
+            data.skipBytes(4);
+        }else if(tag == '@'){
+            readAnnotation(data);
+        }else if(tag == '['){
+            for(int i = data.readUnsignedShort(); i > 0; i--){
+                skipElementValue(data);
+            }
+        }else{
+            data.skipBytes(2);
+        }
+    }
+    
+    /**
+     * Returns the name of the class.
+     * @return A fully qualified class name (ie. "com.acme.Person")
+     */
+    public String getClassName() {
+        return _className;
+    }
+    
+    /**
+     * Returns the name of the superclass.
+     * @return A fully qualified class name, or null for java.lang.Object.
+     */
+    public String getSuperclassName() {
+        return _superclassName;
+    }
+    
+    /**
+     * Determines if the class file describes an interface or an 
+     * annotation type, like the package-info classes.
+     * @return true if the class is an interface.
+     */
+    public boolean isInterface() {
+        return (_access & (ACC_INTERFACE | ACC_ANNOTATION)) != 0;
+    }
+    
+    /**
+     * Determines if the class file describes an enum.
+     * @return true if the class is an enum.
+     */
+    public boolean isEnum() {
+        return (_access & ACC_ENUM) != 0;
+    }
+    
+    /**
+     * Determines if the class has been generated by the compiler.
+     * @return true if the class is synthetic.
+     */
+    public boolean isSynthetic() {
+        return (_access & ACC_SYNTHETIC) != 0;
+    }
+    
+    /**
+     * Determines if the class is annotated with a runtime visible 
+     * annotation.  The annotation type is not loaded.
+     * @param type An annotation type
+     * @return true if the class is annotated.
+     */
+    public boolean isAnnotationPresent(Class<? extends Annotation> type) {
+        return _annotations.contains(
+                'L' + type.getName().replace('.', '/') + ';');
+    }
+    
+    /**
+     * <p>Returns the properties of a JavaBean, found in the class files of
+     * the bean and of its superclasses.  The PropertyDescriptors are 
+     * created directly from the accessors, so the Introspector is not used 
+     * and no BeanInfo class is searched.</p>
+     * <p>A property is defined by a public getter (getX or isX for a 
+     * boolean), with an optional public setter of the same type.  
+     * The properties are sorted by name, like those of the Introspector, 
+     * and the 'class' property is not returned.</p>
+     * @param clazz A JavaBean class
+     * @return A List of PropertyDescriptor, or null if the class file of
+     * the bean or of one of its superclasses cannot be found.
+     * @throws java.io.IOException If a class file cannot be read.
+     * @throws java.beans.IntrospectionException If an accessor cannot be
+     * resolved.
+     */
+    public static List<PropertyDescriptor> getPropertyDescriptors(
+            Class<?> clazz) throws IOException, IntrospectionException {
+        
+        // property name -> getter, the subclasses are read first
+        final Map<String, MethodInfo> getters =
+                new TreeMap<String, MethodInfo>();
+        final Set<String> setters = new HashSet<String>();
+        
+        for(Class<?> c = clazz; c != null && c != Object.class;
+        c = c.getSuperclass()){
+            
+            final byte[] bytecode = ClassFingerprint.getBytecode(c);
+            
+            if(bytecode.length == 0){
+                return null;
+            }
+            
+            for(MethodInfo method : new ClassFileReader(bytecode)._methods){
+                
+                if((method._access & ACC_PUBLIC) == 0 ||
+                        (method._access &
+                        (ACC_STATIC | ACC_BRIDGE | ACC_SYNTHETIC)) != 0){
+                    continue;
+                }
+                
+                final String suffix = method.getPropertySuffix();
+                
+                if(suffix == null){
+                    continue;
+                }
+                
+                if(method._name.startsWith("set")){
+                    setters.add(method._name + method._descriptor);
+                    continue;
+                }
+                
+                final String name = Introspector.decapitalize(suffix);
+                final MethodInfo getter = getters.get(name);
+                
+                // isX is preferred to getX, like the Introspector does
+                if(getter == null || (method._name.startsWith("is") &&
+                        getter._name.startsWith("get") &&
+                        getter._descriptor.equals(method._descriptor))){
+                    getters.put(name, method);
+                }
+            }
+        }
+        
+        final List<PropertyDescriptor> props =
+                new ArrayList<PropertyDescriptor>(getters.size());
+        
+        for(Map.Entry<String, MethodInfo> entry : getters.entrySet()){
+            
+            final MethodInfo info = entry.getValue();
+            final Method getter = getMethod(clazz, info._name);
+            
+            final String setterName = "set" + info.getPropertySuffix();
+            final Method setter = setters.contains(setterName + '(' +
+                    info._descriptor.substring(2) + ")V")
+                    ? getMethod(clazz, setterName, getter.getReturnType())
+                    : null;
+            
+            props.add(new PropertyDescriptor(entry.getKey(), getter, setter));
+        }
+        
+        return props;
+    }
+    
+    private static Method getMethod(Class<?> clazz, String name,
+            Class<?>... parameterTypes) throws IntrospectionException {
+        try {
+            return clazz.getMethod(name, parameterTypes);
+        } catch (NoSuchMethodException ex) {
+            throw new IntrospectionException(
+                    "Method not found : " + clazz.getName() + '.' + name);
+        }
+    }
+    
+    /**
+     * The access flags, the name and the descriptor of a method.
+     */
+    private static class MethodInfo {
+        
+        private final int _access;
+        
+        private final String _name;
+        
+        private final String _descriptor;
+        
+        MethodInfo(int access, String name, String descriptor) {
+            _access = access;
+            _name = name;
+            _descriptor = descriptor;
+        }
+        
+        /**
+         * Returns the capitalized name of the property of an accessor.
+         * @return The part after get/is/set, or null if the method is not
+         * an accessor.
+         */
+        String getPropertySuffix() {
+            
+            if(_name.startsWith("get") && _name.length() > 3 &&
+                    _descriptor.startsWith("()") &&
+                    !_descriptor.endsWith(")V")){
+                return _name.substring(3);
+            }
+            
+            if(_name.startsWith("is") && _name.length() > 2 &&
+                    _descriptor.equals("()Z")){
+                return _name.substring(2);
+            }
+            
+            if(_name.startsWith("set") && _name.length() > 3 &&
+                    _descriptor.endsWith(")V") &&
+                    isSingleParameter(_descriptor)){
+                return _name.substring(3);
+            }
+            
+            return null;
+        }
+        
+        private static boolean isSingleParameter(String descriptor) {
+            
+            int i = 1;
+            
+            while(descriptor.charAt(i) == '['){
+                i++;
+            }
+            
+            if(descriptor.charAt(i) == ')'){
+                return false;
+            }
+            
+            if(descriptor.charAt(i) == 'L'){
+                i = descriptor.indexOf(';', i);
+            }
+            
+            return descriptor.charAt(i + 1) == ')';
+        }
+    }
+}
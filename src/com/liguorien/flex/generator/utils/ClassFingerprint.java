@@ -0,0 +1,170 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.generator.utils;
+
+import java.beans.PropertyDescriptor;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UnsupportedEncodingException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * <p>Computes a digest of everything the generated code of an entity
+ * depends on.  It's used by the incremental mode of the generator to
+ * detect the classes which must be generated again.</p>
+ *
+ * @see com.liguorien.flex.generator.FlexGenerator#setIncremental
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+public class ClassFingerprint {
+    
+    private final MessageDigest _digest;
+    
+    /**
+     * Creates a new instance of ClassFingerprint
+     */
+    public ClassFingerprint() {
+        try {
+            _digest = MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+    
+    /**
+     * Adds a String to the fingerprint.
+     * @param str A String (can be null)
+     * @return This fingerprint.
+     */
+    public ClassFingerprint update(String str) {
+        try {
+            _digest.update(String.valueOf(str).getBytes("UTF-8"));
+        } catch (UnsupportedEncodingException ex) {
+            throw new IllegalStateException(ex);
+        }
+        // separator, so "ab"+"c" and "a"+"bc" have different fingerprints
+        _digest.update((byte) 0);
+        return this;
+    }
+    
+    /**
+     * Adds the bytecode and the annotations of a class to the fingerprint.
+     * @param clazz An entity class
+     * @return This fingerprint.
+     * @throws java.io.IOException If the bytecode cannot be read.
+     */
+    public ClassFingerprint update(Class<?> clazz) throws IOException {
+        update(clazz.getName());
+        _digest.update(getBytecode(clazz));
+        updateAnnotations(clazz.getAnnotations());
+        return this;
+    }
+    
+    /**
+     * Adds a property and the annotations of its accessors to the fingerprint.
+     * @param prop A PropertyDescriptor
+     * @return This fingerprint.
+     */
+    public ClassFingerprint update(PropertyDescriptor prop) {
+        
+        update(prop.getName());
+        
+        final Class<?> type = prop.getPropertyType();
+        update(type == null ? null : type.getName());
+        
+        final Method getter = prop.getReadMethod();
+        final Method setter = prop.getWriteMethod();
+        
+        if(getter != null){
+            update(getter.toGenericString());
+            updateAnnotations(getter.getAnnotations());
+        }
+        
+        if(setter != null){
+            update(setter.toGenericString());
+        }
+        
+        return this;
+    }
+    
+    private void updateAnnotations(Annotation[] annotations) {
+        for(Annotation annotation : annotations){
+            update(annotation.toString());
+        }
+    }
+    
+    /**
+     * Returns the fingerprint as an hexadecimal String. The fingerprint
+     * is reset after this call.
+     * @return An hexadecimal String.
+     */
+    public String toString() {
+        
+        final StringBuilder buffer = new StringBuilder(32);
+        
+        for(byte b : _digest.digest()){
+            buffer.append(Character.forDigit((b >> 4) & 0xF, 16));
+            buffer.append(Character.forDigit(b & 0xF, 16));
+        }
+        
+        return buffer.toString();
+    }
+    
+    /**
+     * Reads the bytecode of a class.
+     * @param clazz A class
+     * @return The content of the .class file, or an empty array if the
+     * class file cannot be found.
+     * @throws java.io.IOException If an IO error occurs.
+     */
+    public static byte[] getBytecode(Class<?> clazz) throws IOException {
+        
+        final String name = clazz.getName();
+        final InputStream in = clazz.getResourceAsStream(
+                name.substring(name.lastIndexOf('.') + 1) + ".class");
+        
+        if(in == null){
+            return new byte[0];
+        }
+        
+        try {
+            
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            final byte[] buffer = new byte[4096];
+            
+            int count;
+            while((count = in.read(buffer)) != -1){
+                out.write(buffer, 0, count);
+            }
+            
+            return out.toByteArray();
+        
+        } finally {
+            in.close();
+        }
+    }
+}
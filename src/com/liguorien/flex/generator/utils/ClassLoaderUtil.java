@@ -22,8 +22,12 @@
 package com.liguorien.flex.generator.utils;
 
 import com.liguorien.flex.generator.FlexGenerator;
+import java.io.IOException;
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Enumeration;
+import java.util.List;
 import java.util.Locale;
 import java.util.MissingResourceException;
 import java.util.ResourceBundle;
@@ -72,6 +76,40 @@ public final class ClassLoaderUtil {
         return url;
     }
     
+    /**
+     * <p>Finds every resource with a given name, like the same package in
+     * several JAR files, through several classloaders.  The search sequence
+     * is the same as {@link #findResource}, and the search stops at the 
+     * first classloader who finds the resource.</p>
+     * @return A List of URL, empty if the resource cannot be found
+     * @throws java.io.IOException If an IO error occurs.
+     */
+    public static List<URL> findResources(String name) throws IOException {
+        
+        final List<URL> urls = new ArrayList<URL>();
+        
+        final ClassLoader loader =
+                Thread.currentThread().getContextClassLoader();
+        
+        if(loader != null){
+            urls.addAll(Collections.list(loader.getResources(name)));
+        }
+        
+        if(urls.isEmpty()){
+            
+            urls.addAll(Collections.list(
+                    ClassLoader.getSystemClassLoader().getResources(name)));
+            
+            if(urls.isEmpty()){
+                urls.addAll(Collections.list(ClassLoaderUtil.class.
+                        getClassLoader().getResources(name)));
+            }
+        }
+        
+        return urls;
+    }
+    
+    
     
     /**
      * <p>Finds a resource through several classloaders. The search sequence is
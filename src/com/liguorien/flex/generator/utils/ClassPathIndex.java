@@ -0,0 +1,181 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.generator.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.net.URL;
+import java.net.URLDecoder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * <p>Lists the classes of a package, from a folder or from a JAR file.</p>
+ * <p>The classes of a JAR file are read once from its central directory,
+ * and the index is kept as long as the size and the modification date of
+ * the file don't change, so a JAR file is not read again by the next 
+ * generations of the same JVM.</p>
+ *
+ * @see com.liguorien.flex.generator.FlexGenerator#addPackage
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+public class ClassPathIndex {
+    
+    /**
+     * contains the index of each JAR file
+     */
+    private static final Map<File, ClassPathIndex> _archives =
+            new ConcurrentHashMap<File, ClassPathIndex>();
+    
+    private final long _length;
+    
+    private final long _lastModified;
+    
+    /**
+     * the path of every class of the archive, without the extension 
+     * (ie. "com/acme/Person"), sorted
+     */
+    private final String[] _classes;
+    
+    private ClassPathIndex(File archive) throws IOException {
+        
+        _length = archive.length();
+        _lastModified = archive.lastModified();
+        
+        final List<String> classes = new ArrayList<String>();
+        final ZipFile zip = new ZipFile(archive);
+        
+        try {
+            final Enumeration<? extends ZipEntry> entries = zip.entries();
+            while(entries.hasMoreElements()){
+                final String name = entries.nextElement().getName();
+                if(name.endsWith(".class")){
+                    classes.add(name.substring(0, name.length() - 6));
+                }
+            }
+        } finally {
+            zip.close();
+        }
+        
+        _classes = classes.toArray(new String[classes.size()]);
+        Arrays.sort(_classes);
+    }
+    
+    /**
+     * Returns the index of a JAR file, from the cache if the file has not
+     * changed.
+     */
+    private static ClassPathIndex getArchive(File archive)
+    throws IOException {
+        
+        ClassPathIndex index = _archives.get(archive);
+        
+        if(index == null || index._length != archive.length() ||
+                index._lastModified != archive.lastModified()){
+            index = new ClassPathIndex(archive);
+            _archives.put(archive, index);
+        }
+        
+        return index;
+    }
+    
+    /**
+     * <p>Returns the name of the classes of a package.</p>
+     * @param url The URL of the package, as returned by a ClassLoader. 
+     * The 'file', 'jar' and 'zip' protocols are supported.
+     * @param path The path of the package (ie. "com/acme/entities")
+     * @param recursive Indicates if the classes of the sub-packages are 
+     * returned too.
+     * @return A List of class names (ie. "com.acme.entities.Person")
+     * @throws java.io.IOException If the package cannot be read.
+     */
+    public static List<String> getClassNames(URL url, String path,
+            boolean recursive) throws IOException {
+        
+        final List<String> names = new ArrayList<String>();
+        final String protocol = url.getProtocol();
+        
+        if("file".equals(protocol)){
+            
+            final File folder = toFile(url.getFile());
+            
+            if(folder.isDirectory()){
+                listFolder(folder, path.replace('/', '.'), recursive, names);
+            }
+        
+        }else if("jar".equals(protocol) || "zip".equals(protocol)){
+            
+            String file = url.getFile();
+            file = file.substring(0, file.indexOf("!/"));
+            
+            if(file.startsWith("file:")){
+                file = file.substring(5);
+            }
+            
+            final String[] classes = getArchive(toFile(file))._classes;
+            final String prefix = path + '/';
+            
+            // the classes of the package are contiguous once sorted
+            int i = -Arrays.binarySearch(classes, prefix) - 1;
+            
+            for(; i < classes.length && classes[i].startsWith(prefix); i++){
+                if(recursive || classes[i].indexOf('/', prefix.length()) == -1){
+                    names.add(classes[i].replace('/', '.'));
+                }
+            }
+        
+        }else{
+            throw new IOException("Unsupported URL : " + url);
+        }
+        
+        return names;
+    }
+    
+    private static void listFolder(File folder, String packageName,
+            boolean recursive, List<String> names){
+        
+        for(File file : folder.listFiles()){
+            
+            final String fileName = file.getName();
+            
+            if(fileName.endsWith(".class")){
+                names.add(packageName + '.' +
+                        fileName.substring(0, fileName.length() - 6));
+            }else if(recursive && file.isDirectory()){
+                listFolder(file, packageName + '.' + fileName, true, names);
+            }
+        }
+    }
+    
+    private static File toFile(String path)
+    throws UnsupportedEncodingException {
+        return new File(URLDecoder.decode(path, "ISO-8859-1"));
+    }
+}
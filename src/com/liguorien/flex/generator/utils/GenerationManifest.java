@@ -0,0 +1,124 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.generator.utils;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Properties;
+
+/**
+ * <p>Keeps the fingerprint of each entity whose classes have been generated
+ * into an output directory.  The manifest is stored as a properties file at
+ * the root of the output directory.</p>
+ *
+ * @see ClassFingerprint
+ * @see com.liguorien.flex.generator.FlexGenerator#setIncremental
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+public class GenerationManifest {
+    
+    /**
+     * The name of the manifest file.
+     */
+    public final static String FILE_NAME = "flexgenerator.manifest";
+    
+    private final File _file;
+    
+    private final Properties _fingerprints = new Properties();
+    
+    private boolean _modified = false;
+    
+    /**
+     * Creates a new instance of GenerationManifest
+     * @param directory The output directory.
+     */
+    public GenerationManifest(File directory) {
+        _file = new File(directory, FILE_NAME);
+    }
+    
+    /**
+     * Loads the manifest, if it exists.
+     * @throws java.io.IOException If an IO error occurs.
+     */
+    public void load() throws IOException {
+        
+        if(!_file.exists()){
+            return;
+        }
+        
+        final InputStream in = new FileInputStream(_file);
+        try {
+            _fingerprints.load(in);
+        } finally {
+            in.close();
+        }
+    }
+    
+    /**
+     * Stores the manifest if it has been modified since it was loaded.
+     * @throws java.io.IOException If an IO error occurs.
+     */
+    public synchronized void store() throws IOException {
+        
+        if(!_modified){
+            return;
+        }
+        
+        if(!_file.getParentFile().exists()){
+            _file.getParentFile().mkdirs();
+        }
+        
+        final OutputStream out = new FileOutputStream(_file);
+        try {
+            _fingerprints.store(out, "Generated by FlexGenerator");
+        } finally {
+            out.close();
+        }
+        
+        _modified = false;
+    }
+    
+    /**
+     * Returns the fingerprint of the last generation of an entity.
+     * @param clazz An entity class
+     * @return The fingerprint or null if the entity is unknown.
+     */
+    public String getFingerprint(Class<?> clazz) {
+        return _fingerprints.getProperty(clazz.getName());
+    }
+    
+    /**
+     * Set the fingerprint of an entity which has just been generated.
+     * @param clazz An entity class
+     * @param fingerprint The fingerprint of the entity.
+     */
+    public synchronized void setFingerprint(
+            Class<?> clazz, String fingerprint) {
+        _fingerprints.setProperty(clazz.getName(), fingerprint);
+        _modified = true;
+    }
+}
@@ -0,0 +1,239 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.generator.utils;
+
+import com.liguorien.flex.generator.handlers.FlexGeneratorHandler;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>Collects statistics about the last generation session : the number of
+ * generated and skipped entities, the number of written and unchanged files,
+ * and the time spent by each handler.</p>
+ * <p>The statistics are reset each time 
+ * {@link com.liguorien.flex.generator.FlexGenerator#generate} is invoked. 
+ * They can be updated by many threads when the classes are generated
+ * concurrently.</p>
+ * <p>Here is how the generator throughput can be measured :</p>
+ * <pre>
+ * generator.generate();
+ * GenerationStatistics stats = generator.getStatistics();
+ * System.out.println(stats.getGeneratedClassCount() * 1000L 
+ *         / Math.max(1L, stats.getElapsedTime()) + " classes/s");
+ * System.out.println(stats);
+ * </pre>
+ *
+ * @see com.liguorien.flex.generator.FlexGenerator#getStatistics
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+public class GenerationStatistics {
+    
+    private final AtomicInteger _generatedClasses = new AtomicInteger();
+    
+    private final AtomicInteger _skippedClasses = new AtomicInteger();
+    
+    private final AtomicInteger _writtenFiles = new AtomicInteger();
+    
+    private final AtomicInteger _unchangedFiles = new AtomicInteger();
+    
+    private final ConcurrentMap<FlexGeneratorHandler, AtomicLong> _handlerTimes =
+            new ConcurrentHashMap<FlexGeneratorHandler, AtomicLong>();
+    
+    private volatile long _startTime = 0;
+    
+    private volatile long _endTime = 0;
+    
+    /**
+     * Creates a new instance of GenerationStatistics
+     */
+    public GenerationStatistics() {
+    }
+    
+    /**
+     * <p>Resets the statistics and starts the session clock.</p>
+     */
+    public void begin() {
+        _generatedClasses.set(0);
+        _skippedClasses.set(0);
+        _writtenFiles.set(0);
+        _unchangedFiles.set(0);
+        _handlerTimes.clear();
+        _endTime = 0;
+        _startTime = System.nanoTime();
+    }
+    
+    /**
+     * <p>Stops the session clock.</p>
+     */
+    public void end() {
+        _endTime = System.nanoTime();
+    }
+    
+    /**
+     * Indicates that an entity has been generated.
+     */
+    public void addGeneratedClass() {
+        _generatedClasses.incrementAndGet();
+    }
+    
+    /**
+     * Indicates that an entity has been skipped since it's up to date.
+     */
+    public void addSkippedClass() {
+        _skippedClasses.incrementAndGet();
+    }
+    
+    /**
+     * Indicates that a generated class has been sent to its destination.
+     * @param written false if the destination file already contained
+     * the same code.
+     */
+    public void addOutput(boolean written) {
+        if(written){
+            _writtenFiles.incrementAndGet();
+        }else{
+            _unchangedFiles.incrementAndGet();
+        }
+    }
+    
+    /**
+     * Adds time spent by a handler.
+     * @param handler The handler
+     * @param nanos The time spent, in nanoseconds.
+     */
+    public void addHandlerTime(FlexGeneratorHandler handler, long nanos) {
+        AtomicLong time = _handlerTimes.get(handler);
+        if(time == null){
+            final AtomicLong newTime = new AtomicLong();
+            time = _handlerTimes.putIfAbsent(handler, newTime);
+            if(time == null){
+                time = newTime;
+            }
+        }
+        time.addAndGet(nanos);
+    }
+    
+    /**
+     * Getter for property generatedClassCount.
+     * @return The number of entities generated in the last session.
+     */
+    public int getGeneratedClassCount() {
+        return _generatedClasses.get();
+    }
+    
+    /**
+     * Getter for property skippedClassCount.
+     * @return The number of up to date entities skipped in the last session.
+     * @see com.liguorien.flex.generator.FlexGenerator#setIncremental
+     */
+    public int getSkippedClassCount() {
+        return _skippedClasses.get();
+    }
+    
+    /**
+     * Getter for property writtenFileCount.
+     * @return The number of generated classes sent to their destination.
+     */
+    public int getWrittenFileCount() {
+        return _writtenFiles.get();
+    }
+    
+    /**
+     * Getter for property unchangedFileCount.
+     * @return The number of generated files which were left untouched since
+     * they already contained the same code.
+     * @see OutputMode#FILE_IF_CHANGED
+     */
+    public int getUnchangedFileCount() {
+        return _unchangedFiles.get();
+    }
+    
+    /**
+     * <p>Returns the time spent by the last session.  If the session is 
+     * not finished, it's the time spent so far.</p>
+     * @return The elapsed time, in milliseconds.
+     */
+    public long getElapsedTime() {
+        if(_startTime == 0){
+            return 0;
+        }
+        final long end = (_endTime == 0) ? System.nanoTime() : _endTime;
+        return (end - _startTime) / 1000000L;
+    }
+    
+    /**
+     * <p>Returns the time spent by a handler in the last session.  With
+     * concurrent generation, it's the sum of the time spent by each
+     * thread.</p>
+     * @param handler A handler
+     * @return The time spent by the handler, in milliseconds.
+     */
+    public long getHandlerTime(FlexGeneratorHandler handler) {
+        final AtomicLong time = _handlerTimes.get(handler);
+        return (time == null) ? 0 : time.get() / 1000000L;
+    }
+    
+    /**
+     * Returns the time spent by each handler in the last session.
+     * @return A read-only map of the time spent, in milliseconds, 
+     * indexed by handler.
+     */
+    public Map<FlexGeneratorHandler, Long> getHandlerTimes() {
+        final Map<FlexGeneratorHandler, Long> times =
+                new LinkedHashMap<FlexGeneratorHandler, Long>();
+        for(Map.Entry<FlexGeneratorHandler, AtomicLong> entry
+                : _handlerTimes.entrySet()){
+            times.put(entry.getKey(),
+                    Long.valueOf(entry.getValue().get() / 1000000L));
+        }
+        return Collections.unmodifiableMap(times);
+    }
+    
+    /**
+     * Returns a summary of the statistics.
+     * @return A summary of the statistics.
+     */
+    public String toString() {
+        
+        final StringBuilder sb = new StringBuilder();
+        sb.append(getGeneratedClassCount()).append(" classes generated, ");
+        sb.append(getSkippedClassCount()).append(" skipped, ");
+        sb.append(getWrittenFileCount()).append(" files written, ");
+        sb.append(getUnchangedFileCount()).append(" unchanged in ");
+        sb.append(getElapsedTime()).append(" ms");
+        
+        for(Map.Entry<FlexGeneratorHandler, Long> entry
+                : getHandlerTimes().entrySet()){
+            sb.append("\n  ");
+            sb.append(entry.getKey().getClass().getSimpleName());
+            sb.append(" : ").append(entry.getValue()).append(" ms");
+        }
+        
+        return sb.toString();
+    }
+}
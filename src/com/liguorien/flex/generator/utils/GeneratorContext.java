@@ -23,8 +23,14 @@ package com.liguorien.flex.generator.utils;
 
 import com.liguorien.flex.generator.*;
 import com.liguorien.flex.generator.handlers.FlexGeneratorHandler;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
+ * <p>Holds the state of a generation for the current Thread.</p>
+ * <p>When the generator runs in parallel, each worker Thread has its own
+ * GeneratorContext, so the handlers can keep their per-class state
+ * (see {@link ClassContext}) without being synchronized.</p>
  *
  * @version 0.2
  * @author Nicolas Dsy
@@ -79,4 +85,92 @@ public class GeneratorContext {
         _handler = handler;
     }
     
+    /**
+     * Holds value of property _outputFailed.
+     */
+    private boolean _outputFailed;
+    
+    /**
+     * Getter for property outputFailed.
+     * @return true if a handler failed to write the current class.
+     */
+    public boolean isOutputFailed() {
+        return _outputFailed;
+    }
+    
+    /**
+     * Setter for property outputFailed.
+     * @param outputFailed New value of property outputFailed.
+     */
+    public void setOutputFailed(boolean outputFailed) {
+        _outputFailed = outputFailed;
+    }
+    
+    /**
+     * Holds the class context of each handler.
+     */
+    private final Map<FlexGeneratorHandler, ClassContext<?>> _classContexts =
+            new HashMap<FlexGeneratorHandler, ClassContext<?>>();
+    
+    /**
+     * Returns the context of the class being generated by a given handler.
+     * @param handler A handler
+     * @return A {@link ClassContext} or null if the handler is not
+     * generating a class in this context.
+     */
+    public ClassContext<?> getClassContext(FlexGeneratorHandler handler) {
+        return _classContexts.get(handler);
+    }
+    
+    /**
+     * Set the context of the class being generated by a given handler.
+     * @param handler A handler
+     * @param context A {@link ClassContext}, or null to release the
+     * current one.
+     */
+    public void setClassContext(
+            FlexGeneratorHandler handler, ClassContext<?> context) {
+        if(context == null){
+            _classContexts.remove(handler);
+        }else{
+            _classContexts.put(handler, context);
+        }
+    }
+    
+    /**
+     * the buffer of the class being generated
+     */
+    private OutputBuffer _buffer;
+    
+    /**
+     * the buffer of the methods of the class being generated
+     */
+    private OutputBuffer _methodBuffer;
+    
+    /**
+     * <p>Returns the buffer where the class being generated is written.
+     * It's reused by every class generated in this context.</p>
+     * @return An empty {@link OutputBuffer}
+     */
+    public OutputBuffer getBuffer() {
+        if(_buffer == null){
+            _buffer = new OutputBuffer();
+        }
+        _buffer.reset();
+        return _buffer;
+    }
+    
+    /**
+     * <p>Returns the buffer where the methods of the class being generated 
+     * are written before its import declarations.  It's reused by every 
+     * class generated in this context.</p>
+     * @return An empty {@link OutputBuffer}
+     */
+    public OutputBuffer getMethodBuffer() {
+        if(_methodBuffer == null){
+            _methodBuffer = new OutputBuffer();
+        }
+        _methodBuffer.reset();
+        return _methodBuffer;
+    }
 }
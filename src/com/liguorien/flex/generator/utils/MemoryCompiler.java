@@ -0,0 +1,295 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.generator.utils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.FileObject;
+import javax.tools.ForwardingJavaFileManager;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+/**
+ * <p>Compiles generated Java sources in memory with the system Java 
+ * compiler, and loads the compiled classes in a new ClassLoader.  Nothing
+ * is written to disk.</p>
+ * <p>The sources are compiled against the running classpath : the 
+ * <code>java.class.path</code> system property and the URLs of the 
+ * URLClassLoaders of the parent ClassLoader.  The compiled classes are
+ * loaded before the classes of the parent ClassLoader, so they replace the
+ * classes of the same name which are already on the classpath.  Once the
+ * ClassLoader is no longer referenced, the classes can be unloaded.</p>
+ *
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+public final class MemoryCompiler {
+    
+    private final JavaCompiler _compiler;
+    
+    private final ClassLoader _parent;
+    
+    /**
+     * Creates a new instance of MemoryCompiler
+     * @param parent The ClassLoader of the classes used by the sources
+     * @throws IllegalStateException If no Java compiler is available, 
+     * like when running on a JRE instead of a JDK.
+     */
+    public MemoryCompiler(ClassLoader parent) {
+        _compiler = ToolProvider.getSystemJavaCompiler();
+        if(_compiler == null){
+            throw new IllegalStateException(
+                    "No Java compiler is available, a JDK is required");
+        }
+        _parent = parent;
+    }
+    
+    /**
+     * <p>Compiles some sources and loads them in a new ClassLoader.</p>
+     * @param sources The source of each class, by fully qualified name
+     * @return The ClassLoader of the compiled classes
+     * @throws java.io.IOException If the sources cannot be compiled.  
+     * The message contains the compilation errors.
+     */
+    public ClassLoader compile(Map<String, String> sources) throws IOException {
+        
+        final List<JavaFileObject> units = new ArrayList<JavaFileObject>();
+        for(Map.Entry<String, String> source : sources.entrySet()){
+            units.add(new SourceFile(source.getKey(), source.getValue()));
+        }
+        
+        final DiagnosticCollector<JavaFileObject> diagnostics =
+                new DiagnosticCollector<JavaFileObject>();
+        
+        final MemoryFileManager fileManager = new MemoryFileManager(
+                _compiler.getStandardFileManager(diagnostics, null, null));
+        
+        // the processors of the classpath are not run on generated code
+        final List<String> options = Arrays.asList(
+                "-classpath", getClassPath(), "-proc:none", "-nowarn");
+        
+        try {
+            
+            final boolean success = _compiler.getTask(null, fileManager,
+                    diagnostics, options, null, units).call().booleanValue();
+            
+            if(!success){
+                final StringBuilder message = 
+                        new StringBuilder("Compilation failed :");
+                for(Diagnostic<?> d : diagnostics.getDiagnostics()){
+                    if(d.getKind() == Diagnostic.Kind.ERROR){
+                        message.append('\n').append(d);
+                    }
+                }
+                throw new IOException(message.toString());
+            }
+        
+        } finally {
+            fileManager.close();
+        }
+        
+        return new MemoryClassLoader(_parent, fileManager.getClasses());
+    }
+    
+    /**
+     * <p>Returns the classpath used to compile the sources.</p>
+     * @return A classpath, with the platform path separator
+     */
+    private String getClassPath() {
+        
+        final Set<String> paths = new LinkedHashSet<String>();
+        
+        for(ClassLoader loader = _parent; loader != null; 
+                loader = loader.getParent()){
+            
+            if(!(loader instanceof URLClassLoader)){
+                continue;
+            }
+            
+            for(URL url : ((URLClassLoader) loader).getURLs()){
+                if("file".equals(url.getProtocol())){
+                    try {
+                        paths.add(new File(url.toURI()).getPath());
+                    } catch (URISyntaxException ex) {
+                        paths.add(url.getPath());
+                    }
+                }
+            }
+        }
+        
+        final String classPath = System.getProperty("java.class.path");
+        if(classPath != null && classPath.length() > 0){
+            paths.add(classPath);
+        }
+        
+        final StringBuilder sb = new StringBuilder();
+        for(String path : paths){
+            if(sb.length() > 0){
+                sb.append(File.pathSeparatorChar);
+            }
+            sb.append(path);
+        }
+        
+        return sb.toString();
+    }
+    
+    /**
+     * A source held in memory.
+     */
+    private static class SourceFile extends SimpleJavaFileObject {
+        
+        private final String _content;
+        
+        SourceFile(String className, String content) {
+            super(URI.create("string:///" + className.replace('.', '/') + 
+                    Kind.SOURCE.extension), Kind.SOURCE);
+            _content = content;
+        }
+        
+        public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+            return _content;
+        }
+    }
+    
+    /**
+     * A compiled class held in memory.
+     */
+    private static class ClassFile extends SimpleJavaFileObject {
+        
+        private final ByteArrayOutputStream _bytes =
+                new ByteArrayOutputStream();
+        
+        ClassFile(String className) {
+            super(URI.create("bytes:///" + className.replace('.', '/') + 
+                    Kind.CLASS.extension), Kind.CLASS);
+        }
+        
+        public OutputStream openOutputStream() {
+            return _bytes;
+        }
+        
+        byte[] getBytes() {
+            return _bytes.toByteArray();
+        }
+    }
+    
+    /**
+     * Keeps the compiled classes in memory.  The other files are handled 
+     * by the standard file manager.
+     */
+    private static class MemoryFileManager 
+            extends ForwardingJavaFileManager<StandardJavaFileManager> {
+        
+        private final Map<String, ClassFile> _classes =
+                new HashMap<String, ClassFile>();
+        
+        MemoryFileManager(StandardJavaFileManager fileManager) {
+            super(fileManager);
+        }
+        
+        public JavaFileObject getJavaFileForOutput(Location location,
+                String className, JavaFileObject.Kind kind, FileObject sibling)
+                throws IOException {
+            
+            if(kind != JavaFileObject.Kind.CLASS){
+                return super.getJavaFileForOutput(
+                        location, className, kind, sibling);
+            }
+            
+            final ClassFile file = new ClassFile(className);
+            _classes.put(className, file);
+            return file;
+        }
+        
+        Map<String, byte[]> getClasses() {
+            final Map<String, byte[]> classes = new HashMap<String, byte[]>();
+            for(Map.Entry<String, ClassFile> entry : _classes.entrySet()){
+                classes.put(entry.getKey(), entry.getValue().getBytes());
+            }
+            return classes;
+        }
+    }
+    
+    /**
+     * Defines the compiled classes.  A compiled class is loaded before the 
+     * class of the same name of the parent ClassLoader.
+     */
+    private static class MemoryClassLoader extends ClassLoader {
+        
+        private final Map<String, byte[]> _classes;
+        
+        MemoryClassLoader(ClassLoader parent, Map<String, byte[]> classes) {
+            super(parent);
+            _classes = classes;
+        }
+        
+        protected synchronized Class<?> loadClass(String name, boolean resolve)
+        throws ClassNotFoundException {
+            
+            if(!_classes.containsKey(name)){
+                return super.loadClass(name, resolve);
+            }
+            
+            Class<?> clazz = findLoadedClass(name);
+            
+            if(clazz == null){
+                clazz = findClass(name);
+            }
+            
+            if(resolve){
+                resolveClass(clazz);
+            }
+            
+            return clazz;
+        }
+        
+        protected Class<?> findClass(String name)
+        throws ClassNotFoundException {
+            
+            final byte[] bytes = _classes.get(name);
+            
+            if(bytes == null){
+                throw new ClassNotFoundException(name);
+            }
+            
+            return defineClass(name, bytes, 0, bytes.length);
+        }
+    }
+}
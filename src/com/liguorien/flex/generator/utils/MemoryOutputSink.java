@@ -0,0 +1,83 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.generator.utils;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * <p>An {@link OutputSink} which keeps the generated classes in memory, by
+ * relative path.  The generated code is kept as it was written by the 
+ * handlers, without being copied.</p>
+ * <pre>
+ * final MemoryOutputSink sink = new MemoryOutputSink();
+ * generator.setOutputSink(sink);
+ * generator.generate();
+ * final CharSequence code = sink.getFile("com/acme/PersonBuilder.java");
+ * </pre>
+ *
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+public class MemoryOutputSink implements OutputSink {
+    
+    private final Map<String, CharSequence> _files =
+            new ConcurrentSkipListMap<String, CharSequence>();
+    
+    /**
+     * Creates a new instance of MemoryOutputSink
+     */
+    public MemoryOutputSink() {
+    }
+    
+    public void write(Class<?> clazz, ClassType type, String path,
+            CharSequence content) {
+        _files.put(path, content);
+    }
+    
+    /**
+     * <p>Returns the generated classes.</p>
+     * @return An unmodifiable Map which contains the code of each 
+     * generated file by relative path, sorted by path.
+     */
+    public Map<String, CharSequence> getFiles() {
+        return Collections.unmodifiableMap(_files);
+    }
+    
+    /**
+     * <p>Returns a generated class.</p>
+     * @param path The relative path of the generated file
+     * @return The generated code, or null if the file has not been 
+     * generated.
+     */
+    public CharSequence getFile(String path) {
+        return _files.get(path);
+    }
+    
+    /**
+     * <p>Discards the generated classes.</p>
+     */
+    public void clear() {
+        _files.clear();
+    }
+}
@@ -0,0 +1,229 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.generator.utils;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.text.MessageFormat;
+
+/**
+ * <p>A Writer which renders a generated class into a growable char array.
+ * The buffer is reset and reused from a class to the next, and the class
+ * is encoded once in the output charset and written to its file with a 
+ * single FileChannel write.</p>
+ * <p>Closing the buffer doesn't release its content, so it can still be 
+ * read as a CharSequence once the class has been written.  An OutputBuffer
+ * is not synchronized.</p>
+ *
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+public final class OutputBuffer extends Writer implements CharSequence {
+    
+    private char[] _chars;
+    
+    private int _length;
+    
+    private CharsetEncoder _encoder;
+    
+    private ByteBuffer _bytes;
+    
+    /**
+     * Creates a new instance of OutputBuffer
+     */
+    public OutputBuffer() {
+        this(8192);
+    }
+    
+    /**
+     * Creates a new instance of OutputBuffer
+     * @param capacity The initial capacity, in chars
+     */
+    public OutputBuffer(int capacity) {
+        _chars = new char[capacity];
+    }
+    
+    private void ensureCapacity(int capacity) {
+        if(capacity > _chars.length){
+            final char[] chars = new char[Math.max(capacity, _chars.length*2)];
+            System.arraycopy(_chars, 0, chars, 0, _length);
+            _chars = chars;
+        }
+    }
+    
+    public void write(int c) {
+        ensureCapacity(_length + 1);
+        _chars[_length++] = (char) c;
+    }
+    
+    public void write(char[] cbuf, int off, int len) {
+        ensureCapacity(_length + len);
+        System.arraycopy(cbuf, off, _chars, _length, len);
+        _length += len;
+    }
+    
+    public void write(String str, int off, int len) {
+        ensureCapacity(_length + len);
+        str.getChars(off, off + len, _chars, _length);
+        _length += len;
+    }
+    
+    public void flush() {
+    }
+    
+    public void close() {
+    }
+    
+    /**
+     * Returns the number of chars in the buffer.
+     * @return The length of the content
+     */
+    public int length() {
+        return _length;
+    }
+    
+    public char charAt(int index) {
+        if(index < 0 || index >= _length){
+            throw new IndexOutOfBoundsException(String.valueOf(index));
+        }
+        return _chars[index];
+    }
+    
+    public CharSequence subSequence(int start, int end) {
+        if(start < 0 || end > _length || start > end){
+            throw new IndexOutOfBoundsException(start + "," + end);
+        }
+        return CharBuffer.wrap(_chars, start, end - start);
+    }
+    
+    /**
+     * Discards the content of the buffer.  The allocated memory is kept.
+     */
+    public void reset() {
+        _length = 0;
+    }
+    
+    /**
+     * <p>Writes the content of the buffer to another Writer, without 
+     * copying it.</p>
+     * @param w A Writer
+     * @throws java.io.IOException If an IO error occurs.
+     */
+    public void writeTo(Writer w) throws IOException {
+        w.write(_chars, 0, _length);
+    }
+    
+    /**
+     * <p>Encodes the content of the buffer and replaces a file with it.</p>
+     * @param file The destination file.  Its directory must exist.
+     * @param charset The charset of the file
+     * @throws java.io.IOException If an IO error occurs, or if a character
+     * can't be encoded in the charset.
+     */
+    public void writeTo(File file, Charset charset) throws IOException {
+        write(file, encode(charset, file.getPath()));
+    }
+    
+    /**
+     * <p>Replaces a file with some encoded content.</p>
+     * @param file The destination file.  Its directory must exist.
+     * @param bytes The content, returned by {@link #encode}
+     * @throws java.io.IOException If an IO error occurs.
+     */
+    public static void write(File file, ByteBuffer bytes) throws IOException {
+        
+        final FileOutputStream out = new FileOutputStream(file);
+        
+        try {
+            final FileChannel channel = out.getChannel();
+            while(bytes.hasRemaining()){
+                channel.write(bytes);
+            }
+        } finally {
+            out.close();
+        }
+    }
+    
+    /**
+     * <p>Encodes the content of the buffer.  The characters which can't be
+     * encoded are reported, so the generated code is never altered.</p>
+     * @param charset A charset
+     * @param name The name of the content in the error message 
+     * (ie. the generated file)
+     * @return The encoded content, which is reused by the next call.
+     * @throws java.io.IOException If a character can't be encoded in the
+     * charset.
+     */
+    public ByteBuffer encode(Charset charset, String name) throws IOException {
+        
+        if(_encoder == null || !_encoder.charset().equals(charset)){
+            _encoder = charset.newEncoder().
+                    onMalformedInput(CodingErrorAction.REPORT).
+                    onUnmappableCharacter(CodingErrorAction.REPORT);
+        }
+        
+        final int capacity = (int) (_length * _encoder.maxBytesPerChar()) + 1;
+        
+        if(_bytes == null || _bytes.capacity() < capacity){
+            _bytes = ByteBuffer.allocate(capacity);
+        }
+        
+        _bytes.clear();
+        _encoder.reset();
+        
+        final CharBuffer chars = CharBuffer.wrap(_chars, 0, _length);
+        CoderResult result = _encoder.encode(chars, _bytes, true);
+        
+        if(!result.isError()){
+            result = _encoder.flush(_bytes);
+        }
+        
+        if(result.isError()){
+            final int index = chars.position();
+            throw new IOException(MessageFormat.format(
+                    "{0} can''t be encoded in {1} : the character U+{2} at " +
+                    "offset {3} is not supported", name, charset.name(),
+                    String.format("%04X", Integer.valueOf(_chars[index])),
+                    String.valueOf(index)));
+        }
+        
+        _bytes.flip();
+        return _bytes;
+    }
+    
+    /**
+     * Returns the content of the buffer.
+     * @return A String
+     */
+    public String toString() {
+        return new String(_chars, 0, _length);
+    }
+}
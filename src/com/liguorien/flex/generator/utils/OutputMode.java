@@ -27,6 +27,8 @@ package com.liguorien.flex.generator.utils;
  * <p>The current modes are : </p>
  * <ul>
  *    <li>{@link #FILE}</li>
+ *    <li>{@link #FILE_IF_CHANGED}</li>
+ *    <li>{@link #ARCHIVE}</li>
  *    <li>{@link #CONSOLE}</li>
  * </ul>
  *
@@ -51,6 +53,30 @@ public enum OutputMode {
      */
     FILE,
     
+    /**
+     * <p>Same as {@link #FILE}, but the classes are generated in memory and
+     * a file is only replaced if its content has changed, so its timestamp
+     * is left untouched by a generation which produces the same code.  The
+     * generation date written in the documentation is ignored by the
+     * comparison.</p>
+     * @see FlexGenerator#setOutputMode
+     */
+    FILE_IF_CHANGED,
+    
+    /**
+     * <p>The classes of each {@link ClassType} are written in a single ZIP 
+     * archive instead of a file by class.  The entries are appended as the
+     * classes are generated, and the archives are closed at the end of the
+     * generation.</p>
+     * <p>The archive is created in the output directory of the handlers : 
+     * <code>server-builders.srcjar</code> for the Java builders, 
+     * <code>client-entities.zip</code> and 
+     * <code>client-builders.zip</code> for the ActionScript classes.</p>
+     * @see FlexGenerator#setOutputMode
+     * @see com.liguorien.flex.generator.handlers.AbstractGeneratorHandler#getArchiveFile
+     */
+    ARCHIVE,
+    
     /**
      * <p>The generator will output the result 
      * directly to the system output.</p>
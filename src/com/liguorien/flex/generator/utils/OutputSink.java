@@ -0,0 +1,52 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.generator.utils;
+
+import java.io.IOException;
+
+/**
+ * <p>Receives the classes generated by the handlers, instead of the output
+ * of the {@link OutputMode}.  It lets an application or a build tool 
+ * consume the generated code without the file system.</p>
+ * <p>A sink can be invoked by several threads when the generator runs in
+ * parallel.</p>
+ *
+ * @see com.liguorien.flex.generator.FlexGenerator#setOutputSink
+ * @see MemoryOutputSink
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+public interface OutputSink {
+    
+    /**
+     * <p>Receives a generated class.</p>
+     * @param clazz The entity class
+     * @param type The type of the generated class
+     * @param path The path of the generated file, relative to the output 
+     * directory (ie. "com/acme/PersonBuilder.java")
+     * @param content The generated code.  It's not reused by the generator,
+     * so the sink can keep it.
+     * @throws java.io.IOException If an IO error occurs.
+     */
+    void write(Class<?> clazz, ClassType type, String path, 
+            CharSequence content) throws IOException;
+}
@@ -0,0 +1,282 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.generator.utils;
+
+import com.liguorien.flex.generator.FlexBindable;
+import com.liguorien.flex.generator.FlexDefault;
+import com.liguorien.flex.generator.FlexLazy;
+import com.liguorien.flex.generator.FlexList;
+import com.liguorien.flex.generator.FlexMap;
+import com.liguorien.flex.generator.FlexNode;
+import com.liguorien.flex.generator.FlexSet;
+import com.liguorien.flex.generator.FlexTransient;
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Method;
+
+/**
+ * <p>Holds the FlexGenerator annotations declared on the getter of a
+ * property.</p>
+ * <p>The metadata is resolved once and attached to the PropertyDescriptor,
+ * so the handlers and their writers don't have to look up the annotations
+ * every time they check a property.  Instances are immutable and can be
+ * shared between threads.</p>
+ *
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+public final class PropertyMetadata {
+    
+    /**
+     * the attribute name used to attach the metadata to a PropertyDescriptor
+     */
+    private final static String KEY = PropertyMetadata.class.getName();
+    
+    private final Class<?> _type;
+    private final String _nodeName;
+    private final NodeType _nodeType;
+    private final boolean _lazyServerRead;
+    private final boolean _lazyServerWrite;
+    private final boolean _lazyClientRead;
+    private final boolean _lazyClientWrite;
+    private final TransientMode _transientMode;
+    private final Class<?> _entryClass;
+    private final Class<?> _keyClass;
+    private final Class<?> _collectionClass;
+    private final boolean _collection;
+    private final boolean _map;
+    private final String _defaultValue;
+    private final String _bindingEvent;
+    
+    /**
+     * Creates a new instance of PropertyMetadata
+     * @param prop The PropertyDescriptor to resolve.
+     */
+    private PropertyMetadata(PropertyDescriptor prop) {
+        
+        final Method getter = prop.getReadMethod();
+        _type = prop.getPropertyType();
+        
+        String nodeName = prop.getName();
+        NodeType nodeType = NodeType.ELEMENT;
+        
+        if(getter.isAnnotationPresent(FlexNode.class)){
+            nodeName = getter.getAnnotation(FlexNode.class).value();
+            if(nodeName.indexOf("@") == 0){
+                nodeName = nodeName.substring(1);
+                nodeType = NodeType.ATTRIBUTE;
+            }
+        }
+        
+        _nodeName = nodeName;
+        _nodeType = nodeType;
+        
+        final FlexLazy lazy = getter.getAnnotation(FlexLazy.class);
+        _lazyServerRead = lazy != null && lazy.serverRead();
+        _lazyServerWrite = lazy != null && lazy.serverWrite();
+        _lazyClientRead = lazy != null && lazy.clientRead();
+        _lazyClientWrite = lazy != null && lazy.clientWrite();
+        
+        _transientMode = getter.isAnnotationPresent(FlexTransient.class)
+                ? getter.getAnnotation(FlexTransient.class).value()
+                : null;
+        
+        Class<?> entryClass = null;
+        Class<?> keyClass = null;
+        Class<?> collectionClass = null;
+        
+        if(getter.isAnnotationPresent(FlexList.class)){
+            final FlexList list = getter.getAnnotation(FlexList.class);
+            entryClass = list.value();
+            collectionClass = list.clazz();
+        }else if(getter.isAnnotationPresent(FlexSet.class)){
+            final FlexSet set = getter.getAnnotation(FlexSet.class);
+            entryClass = set.value();
+            collectionClass = set.clazz();
+        }
+        
+        _collection = collectionClass != null;
+        
+        if(getter.isAnnotationPresent(FlexMap.class)){
+            final FlexMap map = getter.getAnnotation(FlexMap.class);
+            keyClass = map.key();
+            entryClass = map.entry();
+            collectionClass = map.clazz();
+        }
+        
+        _map = keyClass != null;
+        
+        if(entryClass == null && _type != null && _type.isArray()){
+            entryClass = _type.getComponentType();
+        }
+        
+        _entryClass = entryClass;
+        _keyClass = keyClass;
+        _collectionClass = collectionClass;
+        
+        _defaultValue = getter.isAnnotationPresent(FlexDefault.class)
+                ? getter.getAnnotation(FlexDefault.class).value()
+                : null;
+        
+        _bindingEvent = getter.isAnnotationPresent(FlexBindable.class)
+                ? getter.getAnnotation(FlexBindable.class).event()
+                : null;
+    }
+    
+    /**
+     * <p>Returns the metadata of a property. It's resolved the first time
+     * and then attached to the PropertyDescriptor.</p>
+     * @param prop A PropertyDescriptor
+     * @return The metadata of the property.
+     */
+    public static PropertyMetadata get(PropertyDescriptor prop) {
+        
+        final Object value = prop.getValue(KEY);
+        
+        // the type of a PropertyDescriptorProxy can change
+        if(value != null &&
+                ((PropertyMetadata) value)._type == prop.getPropertyType()){
+            return (PropertyMetadata) value;
+        }
+        
+        final PropertyMetadata meta = new PropertyMetadata(prop);
+        prop.setValue(KEY, meta);
+        return meta;
+    }
+    
+    /**
+     * <p>Returns the node name of the property, without the '@' used to
+     * declare an attribute.</p>
+     * @return The node name.
+     * @see FlexNode
+     */
+    public String getNodeName() {
+        return _nodeName;
+    }
+    
+    /**
+     * <p>Returns {@link NodeType#ATTRIBUTE} if the property is declared as
+     * an attribute with {@link FlexNode}, {@link NodeType#ELEMENT}
+     * otherwise.</p>
+     * @return The node type.
+     */
+    public NodeType getNodeType() {
+        return _nodeType;
+    }
+    
+    /**
+     * <p>Determines if the property is lazy for a given mode.</p>
+     * @param mode The LazyMode expected (can be null)
+     * @return A boolean value
+     * @see FlexLazy
+     */
+    public boolean isLazy(LazyMode mode) {
+        
+        if(mode == null){
+            return false;
+        }
+        
+        switch(mode){
+            case SERVER_WRITE :
+                return _lazyServerWrite;
+            
+            case SERVER_READ :
+                return _lazyServerRead;
+            
+            case CLIENT_READ :
+                return _lazyClientRead;
+            
+            case CLIENT_WRITE :
+                return _lazyClientWrite;
+        }
+        
+        return false;
+    }
+    
+    /**
+     * Returns the {@link TransientMode} of the property.
+     * @return The TransientMode or null if the property is not transient.
+     * @see FlexTransient
+     */
+    public TransientMode getTransientMode() {
+        return _transientMode;
+    }
+    
+    /**
+     * <p>Returns the class of the entries of the property : the component
+     * type of an array, or the entry class declared with {@link FlexList},
+     * {@link FlexSet} or {@link FlexMap}.</p>
+     * @return The entry class or null.
+     */
+    public Class<?> getEntryClass() {
+        return _entryClass;
+    }
+    
+    /**
+     * Returns the key class declared with {@link FlexMap}.
+     * @return The key class or null.
+     */
+    public Class<?> getKeyClass() {
+        return _keyClass;
+    }
+    
+    /**
+     * <p>Returns the implementation class declared with {@link FlexList},
+     * {@link FlexSet} or {@link FlexMap}.</p>
+     * @return The implementation class or null.
+     */
+    public Class<?> getCollectionClass() {
+        return _collectionClass;
+    }
+    
+    /**
+     * Determines if the property is annotated with {@link FlexList} or
+     * {@link FlexSet}.
+     * @return A boolean value
+     */
+    public boolean isCollection() {
+        return _collection;
+    }
+    
+    /**
+     * Determines if the property is annotated with {@link FlexMap}.
+     * @return A boolean value
+     */
+    public boolean isMap() {
+        return _map;
+    }
+    
+    /**
+     * Returns the default value declared with {@link FlexDefault}.
+     * @return The default value or null.
+     */
+    public String getDefaultValue() {
+        return _defaultValue;
+    }
+    
+    /**
+     * Returns the event declared on the property with {@link FlexBindable}.
+     * @return The event or null if the property is not annotated.
+     */
+    public String getBindingEvent() {
+        return _bindingEvent;
+    }
+}
@@ -0,0 +1,88 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.generator.utils;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * <p>A ZIP archive where the generated classes are streamed in 
+ * {@link OutputMode#ARCHIVE} mode.  An entry is appended as soon as a
+ * class is generated, so the archive is never held in memory.</p>
+ * <p>The entries can be appended by several threads.</p>
+ *
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+public final class SourceArchive {
+    
+    private final File _file;
+    
+    private final ZipOutputStream _out;
+    
+    /**
+     * Creates a new instance of SourceArchive, which replaces the file.
+     * @param file The archive file.  Its directory must exist.
+     * @throws java.io.IOException If the file cannot be created.
+     */
+    public SourceArchive(File file) throws IOException {
+        _file = file;
+        _out = new ZipOutputStream(
+                new BufferedOutputStream(new FileOutputStream(file), 65536));
+    }
+    
+    /**
+     * Returns the archive file.
+     * @return A File object
+     */
+    public File getFile() {
+        return _file;
+    }
+    
+    /**
+     * <p>Appends an entry to the archive.</p>
+     * @param path The path of the entry (ie. "com/acme/PersonBuilder.java")
+     * @param content The encoded content of the entry, which is consumed.
+     * @throws java.io.IOException If an IO error occurs.
+     */
+    public synchronized void addEntry(String path, ByteBuffer content)
+    throws IOException {
+        _out.putNextEntry(new ZipEntry(path));
+        _out.write(content.array(), content.arrayOffset() + content.position(),
+                content.remaining());
+        content.position(content.limit());
+        _out.closeEntry();
+    }
+    
+    /**
+     * Writes the central directory and closes the archive.
+     * @throws java.io.IOException If an IO error occurs.
+     */
+    public synchronized void close() throws IOException {
+        _out.close();
+    }
+}
@@ -44,7 +44,10 @@ public interface PropertyWriter<T extends FlexGeneratorHandler> {
     public int getPriority();
     
     /**
-     * Determines if this writer accepts to write the property
+     * Determines if this writer accepts to write the property.  The result
+     * is memoized by the {@link PropertyWriterIndex}, so it must only depend
+     * on the type and the annotations of the property, on the context writer
+     * and on the entities generated.
      * @param prop 
      *     The property to check
      * @param handler 
@@ -0,0 +1,210 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.generator.writers;
+
+import com.liguorien.flex.generator.handlers.FlexGeneratorHandler;
+import com.liguorien.flex.generator.utils.LazyMode;
+import com.liguorien.flex.generator.utils.PropertyMetadata;
+import java.beans.PropertyDescriptor;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>Resolves the {@link PropertyWriter} instances which accept a property,
+ * without scanning the whole List of writers for every property.</p>
+ * <p>The writers accepting a property are resolved once for each
+ * combination of property type, {@link PropertyMetadata} and context
+ * writer, and the result is memoized.  The writers must then take their
+ * decision only from these informations and from the entities known by the
+ * generator.</p>
+ * <p>The writers implementing {@link TypedPropertyWriter} are selected from
+ * their declared types, without invoking {@link
+ * PropertyWriter#acceptProperty}.</p>
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+public class PropertyWriterIndex<T extends FlexGeneratorHandler> {
+    
+    private final List<PropertyWriter<T>> _writers;
+    
+    /**
+     * contains the declared types of each TypedPropertyWriter
+     */
+    private final Map<PropertyWriter<T>, Set<Class<?>>> _acceptedTypes =
+            new HashMap<PropertyWriter<T>, Set<Class<?>>>();
+    
+    private final Map<Key, List<PropertyWriter<T>>> _cache =
+            new ConcurrentHashMap<Key, List<PropertyWriter<T>>>();
+    
+    /**
+     * Creates a new instance of PropertyWriterIndex
+     * @param writers A sorted List of {@link PropertyWriter}.
+     */
+    public PropertyWriterIndex(List<PropertyWriter<T>> writers) {
+        
+        _writers = new ArrayList<PropertyWriter<T>>(writers);
+        
+        for(PropertyWriter<T> writer : _writers){
+            
+            if(!(writer instanceof TypedPropertyWriter)){
+                continue;
+            }
+            
+            final Class<?>[] types =
+                    ((TypedPropertyWriter<T>) writer).getAcceptedTypes();
+            
+            if(types != null){
+                final Set<Class<?>> set = new HashSet<Class<?>>();
+                Collections.addAll(set, types);
+                _acceptedTypes.put(writer, set);
+            }
+        }
+    }
+    
+    /**
+     * <p>Returns the writers which accept a property, by order of
+     * priority.</p>
+     * @param prop The property to write.
+     * @param handler The current handler.
+     * @param context
+     *     The context writer of the handler, which can change the writers
+     *     accepting the property.
+     * @return An unmodifiable List of {@link PropertyWriter}.
+     */
+    public List<PropertyWriter<T>> getWriters(
+            PropertyDescriptor prop, T handler, Object context) {
+        
+        final Key key = new Key(prop, context);
+        
+        List<PropertyWriter<T>> writers = _cache.get(key);
+        
+        if(writers == null){
+            
+            writers = new ArrayList<PropertyWriter<T>>(1);
+            
+            for(PropertyWriter<T> writer : _writers){
+                
+                final Set<Class<?>> types = _acceptedTypes.get(writer);
+                
+                if(types != null){
+                    if(types.contains(prop.getPropertyType())){
+                        writers.add(writer);
+                    }
+                }else if(writer.acceptProperty(prop, handler)){
+                    writers.add(writer);
+                }
+            }
+            
+            writers = Collections.unmodifiableList(writers);
+            _cache.put(key, writers);
+        }
+        
+        return writers;
+    }
+    
+    /**
+     * <p>Returns the writer of a property, that is the first writer
+     * which accepts it.</p>
+     * @param prop The property to write.
+     * @param handler The current handler.
+     * @param context The context writer of the handler.
+     * @return A {@link PropertyWriter} or null if no writer accepts
+     * the property.
+     */
+    public PropertyWriter<T> getWriter(
+            PropertyDescriptor prop, T handler, Object context) {
+        
+        final List<PropertyWriter<T>> writers =
+                getWriters(prop, handler, context);
+        
+        return writers.isEmpty() ? null : writers.get(0);
+    }
+    
+    /**
+     * Identifies the properties which are accepted by the same writers.
+     */
+    private static class Key {
+        
+        private final Class<?> _type;
+        private final Class<?> _entryClass;
+        private final Class<?> _keyClass;
+        private final Class<?> _context;
+        private final int _flags;
+        private final int _hashCode;
+        
+        private Key(PropertyDescriptor prop, Object context) {
+            
+            final PropertyMetadata meta = PropertyMetadata.get(prop);
+            
+            _type = prop.getPropertyType();
+            _entryClass = meta.getEntryClass();
+            _keyClass = meta.getKeyClass();
+            _context = (context == null) ? null : context.getClass();
+            
+            int flags = meta.getNodeType().ordinal();
+            flags = (flags << 1) | (meta.isCollection() ? 1 : 0);
+            flags = (flags << 1) | (meta.isMap() ? 1 : 0);
+            
+            for(LazyMode mode : LazyMode.values()){
+                flags = (flags << 1) | (meta.isLazy(mode) ? 1 : 0);
+            }
+            
+            _flags = flags;
+            
+            int hash = _flags;
+            hash = 31 * hash + hashCode(_type);
+            hash = 31 * hash + hashCode(_entryClass);
+            hash = 31 * hash + hashCode(_keyClass);
+            hash = 31 * hash + hashCode(_context);
+            _hashCode = hash;
+        }
+        
+        private static int hashCode(Object obj) {
+            return (obj == null) ? 0 : obj.hashCode();
+        }
+        
+        public boolean equals(Object obj) {
+            
+            if(!(obj instanceof Key)){
+                return false;
+            }
+            
+            final Key key = (Key) obj;
+            
+            return _flags == key._flags &&
+                    _type == key._type &&
+                    _entryClass == key._entryClass &&
+                    _keyClass == key._keyClass &&
+                    _context == key._context;
+        }
+        
+        public int hashCode() {
+            return _hashCode;
+        }
+    }
+}
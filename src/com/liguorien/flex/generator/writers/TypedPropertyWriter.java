@@ -0,0 +1,45 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.generator.writers;
+
+import com.liguorien.flex.generator.handlers.FlexGeneratorHandler;
+
+/**
+ * <p>Defines a {@link PropertyWriter} which accepts every property of some
+ * given types, whatever its annotations or the current context writer.</p>
+ * <p>The {@link PropertyWriterIndex} uses the declared types to select the
+ * writer without invoking {@link #acceptProperty}.</p>
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+public interface TypedPropertyWriter<T extends FlexGeneratorHandler>
+        extends PropertyWriter<T> {
+    
+    /**
+     * Returns the property types accepted by this writer.
+     * @return
+     *     An array of classes, or null if the types cannot be declared.  In
+     *     that case, {@link #acceptProperty} is invoked like for any other
+     *     writer.
+     */
+    public Class<?>[] getAcceptedTypes();
+}
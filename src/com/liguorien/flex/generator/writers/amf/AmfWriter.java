@@ -0,0 +1,128 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.generator.writers.amf;
+
+import com.liguorien.flex.generator.FlexGenerator;
+import com.liguorien.flex.generator.utils.NodeType;
+import com.liguorien.flex.generator.writers.ClassWriter;
+import com.liguorien.flex.generator.writers.dom4j.Dom4jWriter;
+import java.beans.PropertyDescriptor;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.reflect.Method;
+
+/**
+ * <p>Generates java code which reads the properties of an entity from an
+ * AMF3 stream.  Each property is read by a block which is executed when
+ * its name is read from the stream :</p>
+ * <pre>
+ * if("age".equals(name)) {
+ *     o.setAge(((Integer) convert(readValue(in, 
+ *             objects, strings, traits), int.class)).intValue());
+ *     continue;
+ * }
+ * </pre>
+ * <p>The prefix of each property ends with the arguments which come
+ * before the reference tables, which are appended on a new line by this
+ * writer.</p>
+ * <p>The package and class declarations are the same as the dom4j
+ * builders.</p>
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+public class AmfWriter extends Dom4jWriter {
+    
+    /**
+     * The reference tables passed to the generated read methods.
+     */
+    public final static String READ_TABLES = "objects, strings, traits";
+    
+    public final static ClassWriter WRITER = new AmfWriter();
+    
+    private final static ThreadLocal<ClassWriter> _contextWriter =
+            new ThreadLocal<ClassWriter>();
+    
+    /**
+     * Returns the ClassWriter used by the AMF3 writers of the current Thread.
+     * @return The current ClassWriter or {@link #WRITER} if none is set.
+     */
+    public static ClassWriter getContextWriter(){
+        final ClassWriter cw = _contextWriter.get();
+        return (cw == null) ? WRITER : cw;
+    }
+    
+    /**
+     * Sets the ClassWriter used by the AMF3 writers of the current Thread.
+     * @param w A ClassWriter or null to restore {@link #WRITER}.
+     */
+    public static void setContextWriter(ClassWriter w){
+        if(w == null){
+            _contextWriter.remove();
+        }else{
+            _contextWriter.set(w);
+        }
+    }
+    
+    /**
+     * @inheritDoc
+     */
+    public void writeProperty(Writer w, FlexGenerator g, String varName,
+            PropertyDescriptor prop, String prefix, String suffix,
+            NodeType type)
+            throws IOException {
+        
+        final Method setter = prop.getWriteMethod();
+        if(setter == null){
+            return;
+        }
+        
+        w.write("\n");
+        g.writeIndentation(w, 3);
+        w.write("if(\"");
+        w.write(prop.getName());
+        w.write("\".equals(name))");
+        g.writeCurlyBrace(w, 3);
+        g.writeIndentation(w, 4);
+        w.write(varName);
+        w.write(".");
+        w.write(setter.getName());
+        w.write("(");
+        
+        if(prefix != null){
+            w.write(prefix);
+        }
+        
+        w.write("\n");
+        g.writeIndentation(w, 6);
+        w.write(READ_TABLES);
+        
+        if(suffix != null){
+            w.write(suffix);
+        }
+        
+        w.write(");\n");
+        g.writeIndentation(w, 4);
+        w.write("continue;\n");
+        g.writeIndentation(w, 3);
+        w.write("}");
+    }
+}
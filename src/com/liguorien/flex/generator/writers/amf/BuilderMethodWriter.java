@@ -0,0 +1,107 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.generator.writers.amf;
+
+import com.liguorien.flex.generator.FlexGenerator;
+import com.liguorien.flex.generator.handlers.AmfBuilderHandler;
+import com.liguorien.flex.generator.writers.*;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * <p>Base class of the methods generated in the AMF3 builders.  The 
+ * helpers write the bodies line by line, the blocks are opened with
+ * {@link FlexGenerator#writeCurlyBrace} so the formatting options of the
+ * generator are respected.</p>
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+public abstract class BuilderMethodWriter
+        implements MethodWriter<AmfBuilderHandler> {
+    
+    public boolean acceptClass(Class<?> clazz) {
+        return true;
+    }
+    
+    public int getPriority() {
+        return 0;
+    }
+    
+    /**
+     * Writes the signature of a method which throws an IOException.
+     * @param w The writer
+     * @param g The current generator
+     * @param signature The signature, without the throws clause.
+     * @throws java.io.IOException If an IO error occurs.
+     */
+    protected static void writeSignature(Writer w, FlexGenerator g,
+            String signature) throws IOException {
+        g.writeIndentation(w, 1);
+        w.write(signature);
+        w.write(" \n");
+        g.writeIndentation(w, 3);
+        w.write("throws IOException");
+        g.writeCurlyBrace(w, 1);
+    }
+    
+    /**
+     * Writes an indented line of code.
+     * @param w The writer
+     * @param g The current generator
+     * @param indentation The indentation level
+     * @param code The code
+     * @throws java.io.IOException If an IO error occurs.
+     */
+    protected static void writeLine(Writer w, FlexGenerator g,
+            int indentation, String code) throws IOException {
+        g.writeIndentation(w, indentation);
+        w.write(code);
+        w.write('\n');
+    }
+    
+    /**
+     * Writes an indented statement which opens a block.
+     * @param w The writer
+     * @param g The current generator
+     * @param indentation The indentation level
+     * @param code The statement (ie. <code>if(o == null)</code>)
+     * @throws java.io.IOException If an IO error occurs.
+     */
+    protected static void writeBlock(Writer w, FlexGenerator g,
+            int indentation, String code) throws IOException {
+        g.writeIndentation(w, indentation);
+        w.write(code);
+        g.writeCurlyBrace(w, indentation);
+    }
+    
+    /**
+     * Writes the closing brace of a method.
+     * @param w The writer
+     * @param g The current generator
+     * @throws java.io.IOException If an IO error occurs.
+     */
+    protected static void writeMethodEnd(Writer w, FlexGenerator g)
+    throws IOException {
+        g.writeIndentation(w, 1);
+        w.write('}');
+    }
+}
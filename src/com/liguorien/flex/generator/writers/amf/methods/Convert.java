@@ -0,0 +1,97 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.generator.writers.amf.methods;
+
+import com.liguorien.flex.generator.FlexGenerator;
+import com.liguorien.flex.generator.handlers.AmfBuilderHandler;
+import com.liguorien.flex.generator.writers.amf.BuilderMethodWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * <p>Generates a method which converts a value read from an AMF3 stream to
+ * the type of a property.  It's needed since ActionScript writes the
+ * integral Numbers as integers.</p>
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+public class Convert extends BuilderMethodWriter {
+    
+    /**
+     * The method is written after the others.
+     * @return -1
+     */
+    public int getPriority() {
+        return -1;
+    }
+    
+    /**
+     * @inheritDoc
+     */
+    public void writeMethod(Writer w, FlexGenerator g,
+            AmfBuilderHandler handler, Class<?> clazz) throws IOException {
+        
+        
+        final String methodName = g.getMethodName(getClass());
+        
+        w.write("\n\n");
+        g.writeDocumentation(w, getClass(), 1);
+        g.writeIndentation(w, 1);
+        w.write(
+                "public static Object " + methodName +
+                "(Object value, Class<?> type)");
+        g.writeCurlyBrace(w, 1);
+        writeLine(w, g, 2,
+                "if(value == null || type.isInstance(value)) return value;");
+        writeBlock(w, g, 2, "if(value instanceof Number)");
+        writeLine(w, g, 3, "final Number n = (Number) value;");
+        writeLine(w, g, 3, "if(type == int.class || type == Integer.class)");
+        writeLine(w, g, 5, "return Integer.valueOf(n.intValue());");
+        writeLine(w, g, 3, "if(type == long.class || type == Long.class)");
+        writeLine(w, g, 5, "return Long.valueOf(n.longValue());");
+        writeLine(w, g, 3, "if(type == double.class || type == Double.class)");
+        writeLine(w, g, 5, "return Double.valueOf(n.doubleValue());");
+        writeLine(w, g, 3, "if(type == float.class || type == Float.class)");
+        writeLine(w, g, 5, "return Float.valueOf(n.floatValue());");
+        writeLine(w, g, 3, "if(type == short.class || type == Short.class)");
+        writeLine(w, g, 5, "return Short.valueOf(n.shortValue());");
+        writeLine(w, g, 3, "if(type == byte.class || type == Byte.class)");
+        writeLine(w, g, 5, "return Byte.valueOf(n.byteValue());");
+        writeLine(w, g, 2, "}");
+        writeLine(w, g, 2,
+                "if(type == boolean.class && value instanceof Boolean) return value;");
+        writeLine(w, g, 2,
+                "if(type == char.class && value instanceof Character) return value;");
+        writeLine(w, g, 2, "if(type == String.class) return value.toString();");
+        writeBlock(w, g, 2,
+                "if((type == char.class || type == Character.class) &&\n" +
+                g.getIndentation(4) + "value instanceof String)");
+        writeLine(w, g, 3,
+                "return Character.valueOf(((String) value).charAt(0));");
+        writeLine(w, g, 2, "}");
+        writeLine(w, g, 2,
+                "throw new ClassCastException(\"Cannot convert \" +");
+        writeLine(w, g, 4,
+                "value.getClass().getName() + \" to \" + type.getName());");
+        writeMethodEnd(w, g);
+    }
+}
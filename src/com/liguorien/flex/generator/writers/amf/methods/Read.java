@@ -0,0 +1,114 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.generator.writers.amf.methods;
+
+import com.liguorien.flex.generator.FlexGenerator;
+import com.liguorien.flex.generator.handlers.AmfBuilderHandler;
+import com.liguorien.flex.generator.utils.LazyMode;
+import com.liguorien.flex.generator.writers.amf.BuilderMethodWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * <p>Generates the method which reads an entity from an AMF3 stream.</p>
+ * <p>The generated code looks like this : </p>
+ * <pre>
+ * public static Person readAmf(DataInput in, List&lt;Object&gt; objects,
+ *         List&lt;String&gt; strings, List&lt;String&gt; traits) 
+ *         throws IOException {
+ *     if(!readMarker(in, 0x0A)) return null;
+ *     final int ref = readU29(in);
+ *     if((ref &amp; 0x01) == 0) return (Person) objects.get(ref &gt;&gt; 1);
+ *     final Person o = new Person();
+ *     objects.add(o);
+ *     readTraits(in, ref, strings, traits);
+ *     while(true) {
+ *         final String name = readString(in, strings);
+ *         if(name == null) return o;
+ *         if("age".equals(name)) {
+ *             o.setAge(((Integer) convert(readValue(in, 
+ *                     objects, strings, traits), int.class)).intValue());
+ *             continue;
+ *         }
+ *         readValue(in, objects, strings, traits);
+ *     }
+ * }
+ * </pre>
+ * <p>The entity is added to the object reference table before its
+ * properties are read, so the circular references are resolved.  The
+ * unknown members and the lazy properties are skipped.</p>
+ * @see ReadInstance
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+public class Read extends BuilderMethodWriter {
+    
+    /**
+     * @inheritDoc
+     */
+    public void writeMethod(Writer w, FlexGenerator g,
+            AmfBuilderHandler handler, Class<?> clazz) throws IOException {
+        
+        handler.addImport("java.io.DataInput");
+        handler.addImport("java.io.IOException");
+        handler.addImport("java.util.List");
+        handler.addImport(clazz.getName());
+        
+        final String className = handler.getClassName(clazz).toString();
+        final String readValue = g.getMethodName(ReadValue.class);
+        
+        w.write("\n\n");
+        g.writeDocumentation(w, getClass(), 1, className);
+        writeSignature(w, g, "public static " + className + " " +
+                g.getMethodName(getClass()) +
+                "(DataInput in, List<Object> objects, \n" +
+                g.getIndentation(3) + "List<String> strings, List<String> traits)");
+        writeLine(w, g, 2, "if(!" + g.getMethodName(ReadMarker.class) +
+                "(in, 0x0A)) return null;");
+        writeLine(w, g, 2, "final int ref = " +
+                g.getMethodName(ReadU29.class) + "(in);");
+        writeLine(w, g, 2, "if((ref & 0x01) == 0) return (" + className +
+                ") objects.get(ref >> 1);");
+        writeLine(w, g, 2, "final " + className + " o = new " +
+                className + "();");
+        writeLine(w, g, 2, "objects.add(o);");
+        writeLine(w, g, 2, g.getMethodName(ReadTraits.class) +
+                "(in, ref, strings, traits);");
+        writeBlock(w, g, 2, "while(true)");
+        writeLine(w, g, 3, "final String name = " +
+                g.getMethodName(ReadString.class) + "(in, strings);");
+        g.writeIndentation(w, 3);
+        w.write("if(name == null) return o;");
+        
+        FlexGenerator.writeProperties(w, g, handler, "o",
+                handler.getAttributes(),
+                handler.getPropertyWriters(), LazyMode.SERVER_READ);
+        FlexGenerator.writeProperties(w, g, handler, "o",
+                handler.getElements(),
+                handler.getPropertyWriters(), LazyMode.SERVER_READ);
+        
+        w.write('\n');
+        writeLine(w, g, 3, readValue + "(in, objects, strings, traits);");
+        writeLine(w, g, 2, "}");
+        writeMethodEnd(w, g);
+    }
+}
@@ -0,0 +1,83 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.generator.writers.amf.methods;
+
+import com.liguorien.flex.generator.FlexGenerator;
+import com.liguorien.flex.generator.handlers.AmfBuilderHandler;
+import com.liguorien.flex.generator.writers.amf.BuilderMethodWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * <p>Generates a method which reads an array of entities from an AMF3
+ * Array.</p>
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+public class ReadEntityArray extends BuilderMethodWriter {
+    
+    /**
+     * @inheritDoc
+     */
+    public void writeMethod(Writer w, FlexGenerator g,
+            AmfBuilderHandler handler, Class<?> clazz) throws IOException {
+        
+        handler.addImport("java.io.DataInput");
+        handler.addImport("java.io.IOException");
+        handler.addImport("java.util.List");
+        
+        final String className = handler.getClassName(clazz).toString();
+        final String methodName = g.getMethodName(getClass());
+        final String read = g.getMethodName(Read.class);
+        final String readMarker = g.getMethodName(ReadMarker.class);
+        final String readStringData = g.getMethodName(ReadStringData.class);
+        final String readU29 = g.getMethodName(ReadU29.class);
+        final String readValue = g.getMethodName(ReadValue.class);
+        
+        w.write("\n\n");
+        g.writeDocumentation(w, getClass(), 1, className);
+        writeSignature(w, g,
+                "public static " + className + "[] " + methodName +
+                "(DataInput in, List<Object> objects, \n" +
+                g.getIndentation(3) +
+                "List<String> strings, List<String> traits)");
+        writeLine(w, g, 2, "if(!" + readMarker + "(in, 0x09)) return null;");
+        writeLine(w, g, 2, "final int ref = " + readU29 + "(in);");
+        writeLine(w, g, 2,
+                "if((ref & 0x01) == 0) return (" + className +
+                "[]) objects.get(ref >> 1);");
+        writeLine(w, g, 2,
+                "final " + className + "[] array = new " + className +
+                "[ref >> 1];");
+        writeLine(w, g, 2, "objects.add(array);");
+        writeBlock(w, g, 2,
+                "while(" + readStringData + "(in, strings).length() > 0)");
+        writeLine(w, g, 3, readValue + "(in, objects, strings, traits);");
+        writeLine(w, g, 2, "}");
+        writeBlock(w, g, 2, "for(int i = 0; i < array.length; i++)");
+        writeLine(w, g, 3,
+                "array[i] = " + read + "(in, objects, strings, traits);");
+        writeLine(w, g, 2, "}");
+        writeLine(w, g, 2, "return array;");
+        writeMethodEnd(w, g);
+    }
+}
@@ -0,0 +1,63 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.generator.writers.amf.methods;
+
+import com.liguorien.flex.generator.FlexGenerator;
+import com.liguorien.flex.generator.handlers.AmfBuilderHandler;
+import com.liguorien.flex.generator.writers.amf.BuilderMethodWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * <p>Generates a method which reads an entity from an AMF3 stream, with
+ * new reference tables.</p>
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+public class ReadInstance extends BuilderMethodWriter {
+    
+    /**
+     * @inheritDoc
+     */
+    public void writeMethod(Writer w, FlexGenerator g,
+            AmfBuilderHandler handler, Class<?> clazz) throws IOException {
+        
+        handler.addImport("java.io.DataInput");
+        handler.addImport("java.io.IOException");
+        handler.addImport("java.util.ArrayList");
+        handler.addImport(clazz.getName());
+        
+        final String className = handler.getClassName(clazz).toString();
+        final String methodName = g.getMethodName(getClass());
+        final String read = g.getMethodName(Read.class);
+        
+        w.write("\n\n");
+        g.writeDocumentation(w, getClass(), 1, className);
+        writeSignature(w, g,
+                "public static " + className + " " + methodName +
+                "(DataInput in)");
+        writeLine(w, g, 2, "return " + read + "(in, new ArrayList<Object>(),");
+        writeLine(w, g, 4,
+                "new ArrayList<String>(), new ArrayList<String>());");
+        writeMethodEnd(w, g);
+    }
+}
@@ -0,0 +1,69 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.generator.writers.amf.methods;
+
+import com.liguorien.flex.generator.FlexGenerator;
+import com.liguorien.flex.generator.handlers.AmfBuilderHandler;
+import com.liguorien.flex.generator.writers.amf.BuilderMethodWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * <p>Generates a method which reads a String, or null, from an AMF3
+ * stream.</p>
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+public class ReadString extends BuilderMethodWriter {
+    
+    /**
+     * The method is written after the others.
+     * @return -1
+     */
+    public int getPriority() {
+        return -1;
+    }
+    
+    /**
+     * @inheritDoc
+     */
+    public void writeMethod(Writer w, FlexGenerator g,
+            AmfBuilderHandler handler, Class<?> clazz) throws IOException {
+        
+        handler.addImport("java.io.DataInput");
+        handler.addImport("java.io.IOException");
+        handler.addImport("java.util.List");
+        
+        final String methodName = g.getMethodName(getClass());
+        final String readMarker = g.getMethodName(ReadMarker.class);
+        final String readStringData = g.getMethodName(ReadStringData.class);
+        
+        w.write("\n\n");
+        g.writeDocumentation(w, getClass(), 1);
+        writeSignature(w, g,
+                "public static String " + methodName +
+                "(DataInput in, List<String> strings)");
+        writeLine(w, g, 2, "if(!" + readMarker + "(in, 0x06)) return null;");
+        writeLine(w, g, 2, "return " + readStringData + "(in, strings);");
+        writeMethodEnd(w, g);
+    }
+}
@@ -0,0 +1,76 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.generator.writers.amf.methods;
+
+import com.liguorien.flex.generator.FlexGenerator;
+import com.liguorien.flex.generator.handlers.AmfBuilderHandler;
+import com.liguorien.flex.generator.writers.amf.BuilderMethodWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * <p>Generates a method which reads the UTF-8 data of a String, or a
+ * reference to a String, from an AMF3 stream.</p>
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+public class ReadStringData extends BuilderMethodWriter {
+    
+    /**
+     * The method is written after the others.
+     * @return -1
+     */
+    public int getPriority() {
+        return -1;
+    }
+    
+    /**
+     * @inheritDoc
+     */
+    public void writeMethod(Writer w, FlexGenerator g,
+            AmfBuilderHandler handler, Class<?> clazz) throws IOException {
+        
+        handler.addImport("java.io.DataInput");
+        handler.addImport("java.io.IOException");
+        handler.addImport("java.util.List");
+        
+        final String methodName = g.getMethodName(getClass());
+        final String readU29 = g.getMethodName(ReadU29.class);
+        
+        w.write("\n\n");
+        g.writeDocumentation(w, getClass(), 1);
+        writeSignature(w, g,
+                "public static String " + methodName +
+                "(DataInput in, List<String> strings)");
+        writeLine(w, g, 2, "final int ref = " + readU29 + "(in);");
+        writeLine(w, g, 2,
+                "if((ref & 0x01) == 0) return strings.get(ref >> 1);");
+        writeLine(w, g, 2, "if(ref == 0x01) return \"\";");
+        writeLine(w, g, 2, "final byte[] bytes = new byte[ref >> 1];");
+        writeLine(w, g, 2, "in.readFully(bytes);");
+        writeLine(w, g, 2,
+                "final String value = new String(bytes, \"UTF-8\");");
+        writeLine(w, g, 2, "strings.add(value);");
+        writeLine(w, g, 2, "return value;");
+        writeMethodEnd(w, g);
+    }
+}
@@ -0,0 +1,80 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.generator.writers.amf.methods;
+
+import com.liguorien.flex.generator.FlexGenerator;
+import com.liguorien.flex.generator.handlers.AmfBuilderHandler;
+import com.liguorien.flex.generator.writers.amf.BuilderMethodWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * <p>Generates a method which reads the traits of an externalizable
+ * object and returns its class name.  The other kinds of traits are not
+ * supported.</p>
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+public class ReadTraits extends BuilderMethodWriter {
+    
+    /**
+     * The method is written after the others.
+     * @return -1
+     */
+    public int getPriority() {
+        return -1;
+    }
+    
+    /**
+     * @inheritDoc
+     */
+    public void writeMethod(Writer w, FlexGenerator g,
+            AmfBuilderHandler handler, Class<?> clazz) throws IOException {
+        
+        handler.addImport("java.io.DataInput");
+        handler.addImport("java.io.IOException");
+        handler.addImport("java.util.List");
+        
+        final String methodName = g.getMethodName(getClass());
+        final String readStringData = g.getMethodName(ReadStringData.class);
+        
+        w.write("\n\n");
+        g.writeDocumentation(w, getClass(), 1);
+        writeSignature(w, g,
+                "public static String " + methodName +
+                "(DataInput in, int ref, \n" + g.getIndentation(3) +
+                "List<String> strings, List<String> traits)");
+        writeLine(w, g, 2,
+                "if((ref & 0x03) == 0x01) return traits.get(ref >> 2);");
+        writeBlock(w, g, 2, "if((ref & 0x07) != 0x07)");
+        writeLine(w, g, 3, "throw new IOException(");
+        writeLine(w, g, 5,
+                "\"Only the externalizable AMF3 objects are supported\");");
+        writeLine(w, g, 2, "}");
+        writeLine(w, g, 2,
+                "final String className = " + readStringData +
+                "(in, strings);");
+        writeLine(w, g, 2, "traits.add(className);");
+        writeLine(w, g, 2, "return className;");
+        writeMethodEnd(w, g);
+    }
+}
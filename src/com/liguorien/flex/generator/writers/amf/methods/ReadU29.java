@@ -0,0 +1,69 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.generator.writers.amf.methods;
+
+import com.liguorien.flex.generator.FlexGenerator;
+import com.liguorien.flex.generator.handlers.AmfBuilderHandler;
+import com.liguorien.flex.generator.writers.amf.BuilderMethodWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * <p>Generates a method which reads an AMF3 variable length integer.</p>
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+public class ReadU29 extends BuilderMethodWriter {
+    
+    /**
+     * The method is written after the others.
+     * @return -1
+     */
+    public int getPriority() {
+        return -1;
+    }
+    
+    /**
+     * @inheritDoc
+     */
+    public void writeMethod(Writer w, FlexGenerator g,
+            AmfBuilderHandler handler, Class<?> clazz) throws IOException {
+        
+        handler.addImport("java.io.DataInput");
+        handler.addImport("java.io.IOException");
+        
+        final String methodName = g.getMethodName(getClass());
+        
+        w.write("\n\n");
+        g.writeDocumentation(w, getClass(), 1);
+        writeSignature(w, g,
+                "public static int " + methodName + "(DataInput in)");
+        writeLine(w, g, 2, "int value = 0;");
+        writeBlock(w, g, 2, "for(int i = 0; i < 3; i++)");
+        writeLine(w, g, 3, "final int b = in.readUnsignedByte();");
+        writeLine(w, g, 3, "if((b & 0x80) == 0) return (value << 7) | b;");
+        writeLine(w, g, 3, "value = (value << 7) | (b & 0x7F);");
+        writeLine(w, g, 2, "}");
+        writeLine(w, g, 2, "return (value << 8) | in.readUnsignedByte();");
+        writeMethodEnd(w, g);
+    }
+}
@@ -0,0 +1,141 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.generator.writers.amf.methods;
+
+import com.liguorien.flex.generator.FlexGenerator;
+import com.liguorien.flex.generator.handlers.AmfBuilderHandler;
+import com.liguorien.flex.generator.writers.amf.BuilderMethodWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * <p>Generates a method which reads any AMF3 value.  The Arrays are read
+ * as Lists, the Dictionaries as Maps and the externalizable objects as
+ * Maps of their members.  It's used to read the values of simple type and
+ * to skip the unknown members.</p>
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+public class ReadValue extends BuilderMethodWriter {
+    
+    /**
+     * The method is written after the others.
+     * @return -1
+     */
+    public int getPriority() {
+        return -1;
+    }
+    
+    /**
+     * @inheritDoc
+     */
+    public void writeMethod(Writer w, FlexGenerator g,
+            AmfBuilderHandler handler, Class<?> clazz) throws IOException {
+        
+        handler.addImport("java.io.DataInput");
+        handler.addImport("java.io.IOException");
+        handler.addImport("java.util.ArrayList");
+        handler.addImport("java.util.Date");
+        handler.addImport("java.util.HashMap");
+        handler.addImport("java.util.LinkedHashMap");
+        handler.addImport("java.util.List");
+        handler.addImport("java.util.Map");
+        
+        final String methodName = g.getMethodName(getClass());
+        final String readString = g.getMethodName(ReadString.class);
+        final String readStringData = g.getMethodName(ReadStringData.class);
+        final String readTraits = g.getMethodName(ReadTraits.class);
+        final String readU29 = g.getMethodName(ReadU29.class);
+        
+        w.write("\n\n");
+        g.writeDocumentation(w, getClass(), 1);
+        writeSignature(w, g,
+                "public static Object " + methodName +
+                "(DataInput in, List<Object> objects, \n" +
+                g.getIndentation(3) +
+                "List<String> strings, List<String> traits)");
+        writeLine(w, g, 2, "final int marker = in.readUnsignedByte();");
+        writeLine(w, g, 2, "if(marker == 0x00 || marker == 0x01) return null;");
+        writeLine(w, g, 2, "if(marker == 0x02) return Boolean.FALSE;");
+        writeLine(w, g, 2, "if(marker == 0x03) return Boolean.TRUE;");
+        writeLine(w, g, 2,
+                "if(marker == 0x04) return Integer.valueOf((" + readU29 +
+                "(in) << 3) >> 3);");
+        writeLine(w, g, 2,
+                "if(marker == 0x05) return Double.valueOf(in.readDouble());");
+        writeLine(w, g, 2,
+                "if(marker == 0x06) return " + readStringData +
+                "(in, strings);");
+        writeLine(w, g, 2, "final int ref = " + readU29 + "(in);");
+        writeLine(w, g, 2,
+                "if((ref & 0x01) == 0) return objects.get(ref >> 1);");
+        writeBlock(w, g, 2, "if(marker == 0x08)");
+        writeLine(w, g, 3,
+                "final Date date = new Date((long) in.readDouble());");
+        writeLine(w, g, 3, "objects.add(date);");
+        writeLine(w, g, 3, "return date;");
+        writeLine(w, g, 2, "}");
+        writeBlock(w, g, 2, "if(marker == 0x09)");
+        writeLine(w, g, 3,
+                "final List<Object> list = new ArrayList<Object>(ref >> 1);");
+        writeLine(w, g, 3, "objects.add(list);");
+        writeBlock(w, g, 3,
+                "while(" + readStringData + "(in, strings).length() > 0)");
+        writeLine(w, g, 4, methodName + "(in, objects, strings, traits);");
+        writeLine(w, g, 3, "}");
+        writeBlock(w, g, 3, "for(int i = ref >> 1; i > 0; i--)");
+        writeLine(w, g, 4,
+                "list.add(" + methodName + "(in, objects, strings, traits));");
+        writeLine(w, g, 3, "}");
+        writeLine(w, g, 3, "return list;");
+        writeLine(w, g, 2, "}");
+        writeBlock(w, g, 2, "if(marker == 0x0A)");
+        writeLine(w, g, 3, "final Map<String, Object> members =");
+        writeLine(w, g, 5, "new LinkedHashMap<String, Object>();");
+        writeLine(w, g, 3, "objects.add(members);");
+        writeLine(w, g, 3, readTraits + "(in, ref, strings, traits);");
+        writeLine(w, g, 3, "String name;");
+        writeBlock(w, g, 3,
+                "while((name = " + readString + "(in, strings)) != null)");
+        writeLine(w, g, 4,
+                "members.put(name, " + methodName +
+                "(in, objects, strings, traits));");
+        writeLine(w, g, 3, "}");
+        writeLine(w, g, 3, "return members;");
+        writeLine(w, g, 2, "}");
+        writeBlock(w, g, 2, "if(marker == 0x11)");
+        writeLine(w, g, 3,
+                "final Map<Object, Object> map = new HashMap<Object, Object>();");
+        writeLine(w, g, 3, "objects.add(map);");
+        writeLine(w, g, 3, "in.readUnsignedByte();");
+        writeBlock(w, g, 3, "for(int i = ref >> 1; i > 0; i--)");
+        writeLine(w, g, 4,
+                "map.put(" + methodName + "(in, objects, strings, traits),");
+        writeLine(w, g, 6, methodName + "(in, objects, strings, traits));");
+        writeLine(w, g, 3, "}");
+        writeLine(w, g, 3, "return map;");
+        writeLine(w, g, 2, "}");
+        writeLine(w, g, 2,
+                "throw new IOException(\"Unsupported AMF3 marker : \" + marker);");
+        writeMethodEnd(w, g);
+    }
+}
@@ -0,0 +1,136 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.generator.writers.amf.methods;
+
+import com.liguorien.flex.generator.FlexGenerator;
+import com.liguorien.flex.generator.handlers.AmfBuilderHandler;
+import com.liguorien.flex.generator.utils.LazyMode;
+import com.liguorien.flex.generator.writers.PropertyWriter;
+import com.liguorien.flex.generator.writers.amf.BuilderMethodWriter;
+import com.liguorien.flex.generator.writers.amf.properties.EntityValue;
+import com.liguorien.flex.generator.writers.amf.properties.SimpleValue;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * <p>Generates the method which writes an entity to an AMF3 stream, as an
+ * externalizable object.  The traits only hold the name of the Java class,
+ * which must be the alias of the ActionScript class.  The body is a list
+ * of names and values terminated by null, so the properties ignored by the
+ * reader, like the lazy ones, are simply skipped.</p>
+ * <p>The generated code looks like this : </p>
+ * <pre>
+ * public static void writeAmf(DataOutput out, Person o,
+ *         Map&lt;Object, Integer&gt; objects, Map&lt;String, Integer&gt; strings,
+ *         Map&lt;String, Integer&gt; traits) throws IOException {
+ *     if(o == null) {
+ *         out.writeByte(0x01);
+ *         return;
+ *     }
+ *     out.writeByte(0x0A);
+ *     if(writeReference(out, o, objects)) return;
+ *     writeTraits(out, "com.liguorien.Person", strings, traits);
+ *     writeString(out, "age", strings);
+ *     writeInteger(out, o.getAge());
+ *     writeString(out, "address", strings);
+ *     AddressAmfBuilder.writeAmf(out, o.getAddress(), 
+ *             objects, strings, traits);
+ *     out.writeByte(0x01);
+ * }
+ * </pre>
+ * @see WriteInstance
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+public class Write extends BuilderMethodWriter {
+    
+    public static Write getDefault(){
+        final Write w = new Write();
+        w.addPropertyWriter(new SimpleValue());
+        w.addPropertyWriter(new EntityValue());
+        return w;
+    }
+    
+    private final List<PropertyWriter<AmfBuilderHandler>> _propertyWriters
+            = new ArrayList<PropertyWriter<AmfBuilderHandler>>();
+    
+    /**
+     * Creates a new instance of Write
+     */
+    public Write() {
+    }
+    
+    public void addPropertyWriter(
+            PropertyWriter<AmfBuilderHandler> writer){
+        _propertyWriters.add(writer);
+        Collections.sort(_propertyWriters,
+                PropertyWriter.COMPARATOR);
+    }
+    
+    /**
+     * @inheritDoc
+     */
+    public void writeMethod(Writer w, FlexGenerator g,
+            AmfBuilderHandler handler, Class<?> clazz) throws IOException {
+        
+        handler.addImport("java.io.DataOutput");
+        handler.addImport("java.io.IOException");
+        handler.addImport("java.util.Map");
+        handler.addImport(clazz.getName());
+        
+        final String className = handler.getClassName(clazz).toString();
+        
+        w.write("\n\n");
+        g.writeDocumentation(w, getClass(), 1, className);
+        writeSignature(w, g, "public static void " +
+                g.getMethodName(getClass()) + "(DataOutput out, " +
+                className + " o, \n" + g.getIndentation(3) +
+                "Map<Object, Integer> objects, Map<String, Integer> strings, \n" +
+                g.getIndentation(3) + "Map<String, Integer> traits)");
+        writeBlock(w, g, 2, "if(o == null)");
+        writeLine(w, g, 3, "out.writeByte(0x01);");
+        writeLine(w, g, 3, "return;");
+        writeLine(w, g, 2, "}");
+        writeLine(w, g, 2, "out.writeByte(0x0A);");
+        writeLine(w, g, 2, "if(" + g.getMethodName(WriteReference.class) +
+                "(out, o, objects)) return;");
+        g.writeIndentation(w, 2);
+        w.write(g.getMethodName(WriteTraits.class));
+        w.write("(out, \"");
+        w.write(clazz.getName());
+        w.write("\", strings, traits);");
+        
+        FlexGenerator.writeProperties(w, g, handler, "o",
+                handler.getAttributes(),
+                _propertyWriters, LazyMode.SERVER_WRITE);
+        FlexGenerator.writeProperties(w, g, handler, "o",
+                handler.getElements(),
+                _propertyWriters, LazyMode.SERVER_WRITE);
+        
+        w.write('\n');
+        writeLine(w, g, 2, "out.writeByte(0x01);");
+        writeMethodEnd(w, g);
+    }
+}
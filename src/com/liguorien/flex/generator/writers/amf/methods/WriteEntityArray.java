@@ -0,0 +1,70 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.generator.writers.amf.methods;
+
+import com.liguorien.flex.generator.FlexGenerator;
+import com.liguorien.flex.generator.handlers.AmfBuilderHandler;
+import com.liguorien.flex.generator.writers.amf.BuilderMethodWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * <p>Generates a method which writes an array of entities to an AMF3
+ * stream, as an Array.</p>
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+public class WriteEntityArray extends BuilderMethodWriter {
+    
+    /**
+     * @inheritDoc
+     */
+    public void writeMethod(Writer w, FlexGenerator g,
+            AmfBuilderHandler handler, Class<?> clazz) throws IOException {
+        
+        handler.addImport("java.io.DataOutput");
+        handler.addImport("java.io.IOException");
+        handler.addImport("java.util.Map");
+        
+        final String className = handler.getClassName(clazz).toString();
+        final String methodName = g.getMethodName(getClass());
+        final String write = g.getMethodName(Write.class);
+        final String writeArrayHeader = g.getMethodName(WriteArrayHeader.class);
+        
+        w.write("\n\n");
+        g.writeDocumentation(w, getClass(), 1, className);
+        writeSignature(w, g,
+                "public static void " + methodName + "(DataOutput out, " +
+                className + "[] array, \n" + g.getIndentation(3) +
+                "Map<Object, Integer> objects, Map<String, Integer> strings, \n" +
+                g.getIndentation(3) + "Map<String, Integer> traits)");
+        writeBlock(w, g, 2,
+                "if(" + writeArrayHeader +
+                "(out, array, (array == null) ? 0 : array.length,\n" +
+                g.getIndentation(4) + "objects))");
+        writeBlock(w, g, 3, "for(" + className + " e : array)");
+        writeLine(w, g, 4, write + "(out, e, objects, strings, traits);");
+        writeLine(w, g, 3, "}");
+        writeLine(w, g, 2, "}");
+        writeMethodEnd(w, g);
+    }
+}
@@ -0,0 +1,64 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.generator.writers.amf.methods;
+
+import com.liguorien.flex.generator.FlexGenerator;
+import com.liguorien.flex.generator.handlers.AmfBuilderHandler;
+import com.liguorien.flex.generator.writers.amf.BuilderMethodWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * <p>Generates a method which writes an entity to an AMF3 stream, with
+ * new reference tables.</p>
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+public class WriteInstance extends BuilderMethodWriter {
+    
+    /**
+     * @inheritDoc
+     */
+    public void writeMethod(Writer w, FlexGenerator g,
+            AmfBuilderHandler handler, Class<?> clazz) throws IOException {
+        
+        handler.addImport("java.io.DataOutput");
+        handler.addImport("java.io.IOException");
+        handler.addImport("java.util.HashMap");
+        handler.addImport("java.util.IdentityHashMap");
+        handler.addImport(clazz.getName());
+        
+        final String className = handler.getClassName(clazz).toString();
+        final String methodName = g.getMethodName(getClass());
+        final String write = g.getMethodName(Write.class);
+        
+        g.writeDocumentation(w, getClass(), 1, className);
+        writeSignature(w, g,
+                "public static void " + methodName + "(DataOutput out, " +
+                className + " o)");
+        writeLine(w, g, 2,
+                write + "(out, o, new IdentityHashMap<Object, Integer>(),");
+        writeLine(w, g, 4,
+                "new HashMap<String, Integer>(), new HashMap<String, Integer>());");
+        writeMethodEnd(w, g);
+    }
+}
@@ -0,0 +1,72 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.generator.writers.amf.methods;
+
+import com.liguorien.flex.generator.FlexGenerator;
+import com.liguorien.flex.generator.handlers.AmfBuilderHandler;
+import com.liguorien.flex.generator.writers.amf.BuilderMethodWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * <p>Generates a method which writes an integer to an AMF3 stream.  The
+ * values which do not fit in 29 bits are written as Numbers.</p>
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+public class WriteInteger extends BuilderMethodWriter {
+    
+    /**
+     * The method is written after the others.
+     * @return -1
+     */
+    public int getPriority() {
+        return -1;
+    }
+    
+    /**
+     * @inheritDoc
+     */
+    public void writeMethod(Writer w, FlexGenerator g,
+            AmfBuilderHandler handler, Class<?> clazz) throws IOException {
+        
+        handler.addImport("java.io.DataOutput");
+        handler.addImport("java.io.IOException");
+        
+        final String methodName = g.getMethodName(getClass());
+        final String writeNumber = g.getMethodName(WriteNumber.class);
+        final String writeU29 = g.getMethodName(WriteU29.class);
+        
+        w.write("\n\n");
+        g.writeDocumentation(w, getClass(), 1);
+        writeSignature(w, g,
+                "public static void " + methodName +
+                "(DataOutput out, int value)");
+        writeBlock(w, g, 2, "if(value >= -0x10000000 && value < 0x10000000)");
+        writeLine(w, g, 3, "out.writeByte(0x04);");
+        writeLine(w, g, 3, writeU29 + "(out, value);");
+        writeBlock(w, g, 2, "}else");
+        writeLine(w, g, 3, writeNumber + "(out, value);");
+        writeLine(w, g, 2, "}");
+        writeMethodEnd(w, g);
+    }
+}
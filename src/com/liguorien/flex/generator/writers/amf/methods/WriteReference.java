@@ -0,0 +1,74 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.generator.writers.amf.methods;
+
+import com.liguorien.flex.generator.FlexGenerator;
+import com.liguorien.flex.generator.handlers.AmfBuilderHandler;
+import com.liguorien.flex.generator.writers.amf.BuilderMethodWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * <p>Generates a method which writes a reference to an object if it has
+ * already been written, or adds it to the object reference table.</p>
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+public class WriteReference extends BuilderMethodWriter {
+    
+    /**
+     * The method is written after the others.
+     * @return -1
+     */
+    public int getPriority() {
+        return -1;
+    }
+    
+    /**
+     * @inheritDoc
+     */
+    public void writeMethod(Writer w, FlexGenerator g,
+            AmfBuilderHandler handler, Class<?> clazz) throws IOException {
+        
+        handler.addImport("java.io.DataOutput");
+        handler.addImport("java.io.IOException");
+        handler.addImport("java.util.Map");
+        
+        final String methodName = g.getMethodName(getClass());
+        final String writeU29 = g.getMethodName(WriteU29.class);
+        
+        w.write("\n\n");
+        g.writeDocumentation(w, getClass(), 1);
+        writeSignature(w, g,
+                "public static boolean " + methodName +
+                "(DataOutput out, Object o, \n" + g.getIndentation(3) +
+                "Map<Object, Integer> objects)");
+        writeLine(w, g, 2, "final Integer ref = objects.get(o);");
+        writeBlock(w, g, 2, "if(ref != null)");
+        writeLine(w, g, 3, writeU29 + "(out, ref.intValue() << 1);");
+        writeLine(w, g, 3, "return true;");
+        writeLine(w, g, 2, "}");
+        writeLine(w, g, 2, "objects.put(o, Integer.valueOf(objects.size()));");
+        writeLine(w, g, 2, "return false;");
+        writeMethodEnd(w, g);
+    }
+}
@@ -0,0 +1,79 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.generator.writers.amf.methods;
+
+import com.liguorien.flex.generator.FlexGenerator;
+import com.liguorien.flex.generator.handlers.AmfBuilderHandler;
+import com.liguorien.flex.generator.writers.amf.BuilderMethodWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * <p>Generates a method which writes an AMF3 variable length integer.</p>
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+public class WriteU29 extends BuilderMethodWriter {
+    
+    /**
+     * The method is written after the others.
+     * @return -1
+     */
+    public int getPriority() {
+        return -1;
+    }
+    
+    /**
+     * @inheritDoc
+     */
+    public void writeMethod(Writer w, FlexGenerator g,
+            AmfBuilderHandler handler, Class<?> clazz) throws IOException {
+        
+        handler.addImport("java.io.DataOutput");
+        handler.addImport("java.io.IOException");
+        
+        final String methodName = g.getMethodName(getClass());
+        
+        w.write("\n\n");
+        g.writeDocumentation(w, getClass(), 1);
+        writeSignature(w, g,
+                "public static void " + methodName +
+                "(DataOutput out, int value)");
+        writeLine(w, g, 2, "value &= 0x1FFFFFFF;");
+        writeBlock(w, g, 2, "if(value < 0x80)");
+        writeLine(w, g, 3, "out.writeByte(value);");
+        writeBlock(w, g, 2, "}else if(value < 0x4000)");
+        writeLine(w, g, 3, "out.writeByte((value >> 7) | 0x80);");
+        writeLine(w, g, 3, "out.writeByte(value & 0x7F);");
+        writeBlock(w, g, 2, "}else if(value < 0x200000)");
+        writeLine(w, g, 3, "out.writeByte((value >> 14) | 0x80);");
+        writeLine(w, g, 3, "out.writeByte(((value >> 7) & 0x7F) | 0x80);");
+        writeLine(w, g, 3, "out.writeByte(value & 0x7F);");
+        writeBlock(w, g, 2, "}else");
+        writeLine(w, g, 3, "out.writeByte((value >> 22) | 0x80);");
+        writeLine(w, g, 3, "out.writeByte(((value >> 15) & 0x7F) | 0x80);");
+        writeLine(w, g, 3, "out.writeByte(((value >> 8) & 0x7F) | 0x80);");
+        writeLine(w, g, 3, "out.writeByte(value & 0xFF);");
+        writeLine(w, g, 2, "}");
+        writeMethodEnd(w, g);
+    }
+}
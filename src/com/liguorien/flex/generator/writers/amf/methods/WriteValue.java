@@ -0,0 +1,133 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.generator.writers.amf.methods;
+
+import com.liguorien.flex.generator.FlexGenerator;
+import com.liguorien.flex.generator.handlers.AmfBuilderHandler;
+import com.liguorien.flex.generator.writers.amf.BuilderMethodWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * <p>Generates a method which writes a value of simple type, a Date, an
+ * array, a Collection or a Map to an AMF3 stream.  The Collections and the
+ * arrays are written as Arrays and the Maps as Dictionaries.</p>
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+public class WriteValue extends BuilderMethodWriter {
+    
+    /**
+     * The method is written after the others.
+     * @return -1
+     */
+    public int getPriority() {
+        return -1;
+    }
+    
+    /**
+     * @inheritDoc
+     */
+    public void writeMethod(Writer w, FlexGenerator g,
+            AmfBuilderHandler handler, Class<?> clazz) throws IOException {
+        
+        handler.addImport("java.io.DataOutput");
+        handler.addImport("java.io.IOException");
+        handler.addImport("java.lang.reflect.Array");
+        handler.addImport("java.util.Collection");
+        handler.addImport("java.util.Date");
+        handler.addImport("java.util.Map");
+        
+        final String methodName = g.getMethodName(getClass());
+        final String writeArrayHeader = g.getMethodName(WriteArrayHeader.class);
+        final String writeInteger = g.getMethodName(WriteInteger.class);
+        final String writeMapHeader = g.getMethodName(WriteMapHeader.class);
+        final String writeNumber = g.getMethodName(WriteNumber.class);
+        final String writeReference = g.getMethodName(WriteReference.class);
+        final String writeString = g.getMethodName(WriteString.class);
+        final String writeU29 = g.getMethodName(WriteU29.class);
+        
+        w.write("\n\n");
+        g.writeDocumentation(w, getClass(), 1);
+        writeSignature(w, g,
+                "public static void " + methodName +
+                "(DataOutput out, Object value, \n" + g.getIndentation(3) +
+                "Map<Object, Integer> objects, Map<String, Integer> strings)");
+        writeBlock(w, g, 2, "if(value == null)");
+        writeLine(w, g, 3, "out.writeByte(0x01);");
+        writeBlock(w, g, 2, "}else if(value instanceof Boolean)");
+        writeLine(w, g, 3,
+                "out.writeByte(((Boolean) value).booleanValue() ? 0x03 : 0x02);");
+        writeBlock(w, g, 2,
+                "}else if(value instanceof Integer || value instanceof Short ||\n" +
+                g.getIndentation(4) + "value instanceof Byte)");
+        writeLine(w, g, 3,
+                writeInteger + "(out, ((Number) value).intValue());");
+        writeBlock(w, g, 2, "}else if(value instanceof Number)");
+        writeLine(w, g, 3,
+                writeNumber + "(out, ((Number) value).doubleValue());");
+        writeBlock(w, g, 2,
+                "}else if(value instanceof String || value instanceof Character)");
+        writeLine(w, g, 3, writeString + "(out, value.toString(), strings);");
+        writeBlock(w, g, 2, "}else if(value instanceof Date)");
+        writeLine(w, g, 3, "out.writeByte(0x08);");
+        writeBlock(w, g, 3, "if(!" + writeReference + "(out, value, objects))");
+        writeLine(w, g, 4, writeU29 + "(out, 0x01);");
+        writeLine(w, g, 4, "out.writeDouble(((Date) value).getTime());");
+        writeLine(w, g, 3, "}");
+        writeBlock(w, g, 2, "}else if(value instanceof Collection)");
+        writeLine(w, g, 3, "final Collection<?> coll = (Collection<?>) value;");
+        writeBlock(w, g, 3,
+                "if(" + writeArrayHeader +
+                "(out, coll, coll.size(), objects))");
+        writeBlock(w, g, 4, "for(Object e : coll)");
+        writeLine(w, g, 5, methodName + "(out, e, objects, strings);");
+        writeLine(w, g, 4, "}");
+        writeLine(w, g, 3, "}");
+        writeBlock(w, g, 2, "}else if(value instanceof Map)");
+        writeLine(w, g, 3, "final Map<?, ?> map = (Map<?, ?>) value;");
+        writeBlock(w, g, 3,
+                "if(" + writeMapHeader + "(out, map, map.size(), objects))");
+        writeBlock(w, g, 4, "for(Map.Entry<?, ?> entry : map.entrySet())");
+        writeLine(w, g, 5,
+                methodName + "(out, entry.getKey(), objects, strings);");
+        writeLine(w, g, 5,
+                methodName + "(out, entry.getValue(), objects, strings);");
+        writeLine(w, g, 4, "}");
+        writeLine(w, g, 3, "}");
+        writeBlock(w, g, 2, "}else if(value.getClass().isArray())");
+        writeLine(w, g, 3, "final int length = Array.getLength(value);");
+        writeBlock(w, g, 3,
+                "if(" + writeArrayHeader + "(out, value, length, objects))");
+        writeBlock(w, g, 4, "for(int i = 0; i < length; i++)");
+        writeLine(w, g, 5,
+                methodName + "(out, Array.get(value, i), objects, strings);");
+        writeLine(w, g, 4, "}");
+        writeLine(w, g, 3, "}");
+        writeBlock(w, g, 2, "}else");
+        writeLine(w, g, 3,
+                "throw new IOException(\"Unsupported AMF3 type : \" +");
+        writeLine(w, g, 5, "value.getClass().getName());");
+        writeLine(w, g, 2, "}");
+        writeMethodEnd(w, g);
+    }
+}
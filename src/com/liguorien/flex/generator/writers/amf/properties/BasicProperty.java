@@ -0,0 +1,122 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.generator.writers.amf.properties;
+
+import com.liguorien.flex.generator.FlexGenerator;
+import com.liguorien.flex.generator.handlers.AmfBuilderHandler;
+import com.liguorien.flex.generator.writers.TypedPropertyWriter;
+import com.liguorien.flex.generator.writers.amf.AmfWriter;
+import com.liguorien.flex.generator.writers.dom4j.Dom4jWriter;
+import com.liguorien.flex.generator.writers.amf.methods.Convert;
+import com.liguorien.flex.generator.writers.amf.methods.ReadValue;
+import java.beans.PropertyDescriptor;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * <p>Reads a property of simple type.  The value is converted to the 
+ * type of the property, since ActionScript writes the integral Numbers
+ * as integers.</p>
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+public class BasicProperty
+        implements TypedPropertyWriter<AmfBuilderHandler> {
+    
+    private Class<?> _type;
+    private int _priority;
+    
+    /**
+     * 
+     * @param type The type of the properties read by this writer.
+     * @param priority
+     */
+    public BasicProperty(Class<?> type, int priority){
+        _type = type;
+        _priority = priority;
+    }
+    
+    /**
+     * @inheritDoc
+     */
+    public boolean acceptProperty(
+            PropertyDescriptor prop, AmfBuilderHandler handler) {
+        return _type == prop.getPropertyType();
+    }
+    
+    /**
+     * @inheritDoc
+     */
+    public Class<?>[] getAcceptedTypes() {
+        return new Class<?>[]{_type};
+    }
+    
+    /**
+     * Returns the name of the wrapper class of a type.
+     * @param type A primitive type or a class.
+     * @return The simple name of the wrapper class.
+     */
+    public static String getWrapperName(Class<?> type){
+        if(type == char.class){
+            return "Character";
+        }
+        if(type == byte.class){
+            return "Byte";
+        }
+        return Dom4jWriter.getWrapperName(type.getSimpleName());
+    }
+    
+    /**
+     * @inheritDoc
+     */
+    public void writeProperty(Writer w, FlexGenerator g,
+            AmfBuilderHandler handler, String varName,
+            PropertyDescriptor prop) throws IOException {
+        
+        if(!_type.isPrimitive()){
+            handler.addImport(_type.getName());
+        }
+        
+        final String typeName = _type.getSimpleName();
+        final String prefix = g.getMethodName(Convert.class) + "(" +
+                g.getMethodName(ReadValue.class) + "(in, ";
+        
+        if(_type.isPrimitive()){
+            AmfWriter.getContextWriter().writeProperty(w, g, varName, prop,
+                    "((" + getWrapperName(_type) + ") " + prefix,
+                    "), " + typeName + ".class))." + typeName + "Value()",
+                    null);
+        }else{
+            AmfWriter.getContextWriter().writeProperty(w, g, varName, prop,
+                    "(" + typeName + ") " + prefix,
+                    "), " + typeName + ".class)",
+                    null);
+        }
+    }
+    
+    /**
+     * @inheritDoc
+     */
+    public int getPriority(){
+        return _priority;
+    }
+}
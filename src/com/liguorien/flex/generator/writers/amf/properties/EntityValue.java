@@ -0,0 +1,132 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.generator.writers.amf.properties;
+
+import com.liguorien.flex.generator.FlexGenerator;
+import com.liguorien.flex.generator.handlers.AmfBuilderHandler;
+import com.liguorien.flex.generator.utils.PropertyMetadata;
+import com.liguorien.flex.generator.writers.PropertyWriter;
+import com.liguorien.flex.generator.writers.amf.methods.Write;
+import com.liguorien.flex.generator.writers.amf.methods.WriteEntityArray;
+import com.liguorien.flex.generator.writers.amf.methods.WriteEntityCollection;
+import com.liguorien.flex.generator.writers.amf.methods.WriteEntityMap;
+import com.liguorien.flex.generator.writers.amf.methods.WriteString;
+import java.beans.PropertyDescriptor;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * <p>Writes the name and the value of a property which holds entities : a
+ * nested entity, or an array, a Collection or a Map of entities.  The 
+ * entities are written by the builder of their class.</p>
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+public class EntityValue implements PropertyWriter<AmfBuilderHandler> {
+    
+    public int getPriority() {
+        return 5;
+    }
+    
+    public boolean acceptProperty(
+            PropertyDescriptor prop, AmfBuilderHandler handler) {
+        return getEntryClass(prop, handler.getGenerator()) != null;
+    }
+    
+    /**
+     * Returns the entity class held by a property.
+     * @param prop A property
+     * @param g The current generator
+     * @return The entity class, or null if the property doesn't hold
+     * entities.
+     */
+    private static Class<?> getEntryClass(
+            PropertyDescriptor prop, FlexGenerator g){
+        
+        final Class<?> type = prop.getPropertyType();
+        final PropertyMetadata meta = PropertyMetadata.get(prop);
+        
+        Class<?> entryClass = type;
+        
+        if(type.isArray()){
+            entryClass = type.getComponentType();
+        }else if(Collection.class.isAssignableFrom(type) &&
+                meta.isCollection()){
+            entryClass = meta.getEntryClass();
+        }else if(Map.class.isAssignableFrom(type) && meta.isMap()){
+            entryClass = meta.getEntryClass();
+        }
+        
+        return g.isGeneratedClass(entryClass) ? entryClass : null;
+    }
+    
+    /**
+     * Writes the name of a property.
+     * @param w The writer
+     * @param g The current generator
+     * @param prop A property
+     * @throws java.io.IOException If an IO error occurs.
+     */
+    static void writeName(Writer w, FlexGenerator g,
+            PropertyDescriptor prop) throws IOException {
+        w.write("\n");
+        g.writeIndentation(w, 2);
+        g.writeMethodName(w, WriteString.class);
+        w.write("(out, \"");
+        w.write(prop.getName());
+        w.write("\", strings);");
+    }
+    
+    public void writeProperty(Writer w, FlexGenerator g,
+            AmfBuilderHandler handler, String varName,
+            PropertyDescriptor prop) throws IOException {
+        
+        final Class<?> type = prop.getPropertyType();
+        final Class<?> entryClass = getEntryClass(prop, g);
+        
+        Class<?> method = Write.class;
+        if(type.isArray()){
+            method = WriteEntityArray.class;
+        }else if(Collection.class.isAssignableFrom(type)){
+            method = WriteEntityCollection.class;
+        }else if(Map.class.isAssignableFrom(type)){
+            method = WriteEntityMap.class;
+        }
+        
+        writeName(w, g, prop);
+        
+        w.write("\n");
+        g.writeIndentation(w, 2);
+        w.write(handler.getBuilderName(entryClass));
+        w.write(".");
+        g.writeMethodName(w, method);
+        w.write("(out, ");
+        w.write(varName);
+        w.write(".");
+        w.write(prop.getReadMethod().getName());
+        w.write("(), \n");
+        g.writeIndentation(w, 4);
+        w.write("objects, strings, traits);");
+    }
+}
@@ -0,0 +1,97 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.generator.writers.amf.properties;
+
+import com.liguorien.flex.generator.FlexGenerator;
+import com.liguorien.flex.generator.handlers.AmfBuilderHandler;
+import com.liguorien.flex.generator.writers.PropertyWriter;
+import com.liguorien.flex.generator.writers.amf.methods.WriteInteger;
+import com.liguorien.flex.generator.writers.amf.methods.WriteNumber;
+import com.liguorien.flex.generator.writers.amf.methods.WriteString;
+import com.liguorien.flex.generator.writers.amf.methods.WriteValue;
+import java.beans.PropertyDescriptor;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * <p>Writes the name and the value of a property which doesn't hold 
+ * entities.  The primitive values are written without being boxed.</p>
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+public class SimpleValue implements PropertyWriter<AmfBuilderHandler> {
+    
+    public int getPriority() {
+        return 0;
+    }
+    
+    public boolean acceptProperty(
+            PropertyDescriptor prop, AmfBuilderHandler handler) {
+        return true;
+    }
+    
+    public void writeProperty(Writer w, FlexGenerator g,
+            AmfBuilderHandler handler, String varName,
+            PropertyDescriptor prop) throws IOException {
+        
+        final Class<?> type = prop.getPropertyType();
+        final String value =
+                varName + "." + prop.getReadMethod().getName() + "()";
+        
+        EntityValue.writeName(w, g, prop);
+        
+        w.write("\n");
+        g.writeIndentation(w, 2);
+        
+        if(type == int.class || type == short.class || type == byte.class){
+            g.writeMethodName(w, WriteInteger.class);
+            w.write("(out, ");
+            w.write(value);
+            w.write(");");
+        }else if(type == long.class || type == float.class ||
+                type == double.class){
+            g.writeMethodName(w, WriteNumber.class);
+            w.write("(out, ");
+            w.write(value);
+            w.write(");");
+        }else if(type == boolean.class){
+            w.write("out.writeByte(");
+            w.write(value);
+            w.write(" ? 0x03 : 0x02);");
+        }else if(type == char.class){
+            g.writeMethodName(w, WriteString.class);
+            w.write("(out, String.valueOf(");
+            w.write(value);
+            w.write("), strings);");
+        }else if(type == String.class){
+            g.writeMethodName(w, WriteString.class);
+            w.write("(out, ");
+            w.write(value);
+            w.write(", strings);");
+        }else{
+            g.writeMethodName(w, WriteValue.class);
+            w.write("(out, ");
+            w.write(value);
+            w.write(", objects, strings);");
+        }
+    }
+}
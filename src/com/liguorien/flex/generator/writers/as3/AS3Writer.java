@@ -22,8 +22,8 @@
 package com.liguorien.flex.generator.writers.as3;
 
 import com.liguorien.flex.generator.FlexGenerator;
-import com.liguorien.flex.generator.FlexNode;
 import com.liguorien.flex.generator.utils.NodeType;
+import com.liguorien.flex.generator.utils.PropertyMetadata;
 import com.liguorien.flex.generator.writers.*;
 import com.liguorien.flex.generator.writers.as3.methods.GetEntityArray;
 import com.liguorien.flex.generator.writers.as3.methods.GetInstance;
@@ -36,7 +36,6 @@ import com.liguorien.flex.generator.writers.as3.properties.EntityArrayProperty;
 import java.beans.PropertyDescriptor;
 import java.io.IOException;
 import java.io.Writer;
-import java.lang.reflect.Method;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
@@ -122,14 +121,7 @@ public class AS3Writer implements ClassWriter {
             w.write(e4xPrefix);
         }
         
-        w.write("nod.");
-        
-        final Method getter = prop.getReadMethod();
-        if(getter.isAnnotationPresent(FlexNode.class)){
-            w.write(getter.getAnnotation(FlexNode.class).value());
-        }else{
-            w.write(prop.getName());
-        }
+        writeNode(w, g, prop);
         
         if(e4xSuffix != null){
             w.write(e4xSuffix);
@@ -138,6 +130,26 @@ public class AS3Writer implements ClassWriter {
         w.write(";");
     }
     
+    /**
+     * <p>Writes the E4X expression which reads the node of a property 
+     * from the XML object <code>nod</code>.</p>
+     * @param w A Writer
+     * @param g The generator
+     * @param prop The property
+     * @throws java.io.IOException 
+     */
+    protected void writeNode(Writer w, FlexGenerator g, 
+            PropertyDescriptor prop) throws IOException {
+        
+        w.write("nod.");
+        
+        final PropertyMetadata meta = PropertyMetadata.get(prop);
+        if(meta.getNodeType() == NodeType.ATTRIBUTE){
+            w.write("@");
+        }
+        w.write(meta.getNodeName());
+    }
+    
     
     /**
      * @inheritDoc
@@ -199,6 +211,37 @@ public class AS3Writer implements ClassWriter {
         g.writeCurlyBrace(w, 1);
     }
     
+    /**
+     * <p>Returns the argument which sends the reference table of the 
+     * document to another builder function, or an empty String when the 
+     * generator doesn't write the shared references.</p>
+     * @param g The generator
+     * @return ", refs" or an empty String
+     * @see FlexGenerator#setSharedReferences
+     */
+    public static String getReferencesArgument(FlexGenerator g){
+        return g.isSharedReferences() ? ", refs" : "";
+    }
+    
+    /**
+     * <p>Returns the optional parameter which receives the reference table
+     * of the document, or an empty String when the generator doesn't 
+     * write the shared references.  The functions which read the XML 
+     * receive the entities by id in an Object, the functions which write 
+     * it receive the ids by entity in a Dictionary.</p>
+     * @param g The generator
+     * @param reading true for the functions which read the XML
+     * @return The declaration of the parameter
+     */
+    public static String getReferencesParameter(
+            FlexGenerator g, boolean reading){
+        
+        if(!g.isSharedReferences()){
+            return "";
+        }
+        return reading ? ", refs:Object=null" : ", refs:Dictionary=null";
+    }
+    
     /**
      * @inheritDoc
      */
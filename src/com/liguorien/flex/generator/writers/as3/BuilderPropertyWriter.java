@@ -22,11 +22,17 @@
 package com.liguorien.flex.generator.writers.as3;
 
 import com.liguorien.flex.generator.FlexGenerator;
+import com.liguorien.flex.generator.FlexList;
+import com.liguorien.flex.generator.FlexMap;
+import com.liguorien.flex.generator.FlexSet;
 import com.liguorien.flex.generator.handlers.FlexModelBuilderHandler;
+import com.liguorien.flex.generator.utils.PropertyMetadata;
 import com.liguorien.flex.generator.writers.PropertyWriter;
 import java.beans.PropertyDescriptor;
 import java.io.IOException;
 import java.io.Writer;
+import java.util.Collection;
+import java.util.Map;
 
 /**
  *
@@ -39,4 +45,50 @@ public abstract class BuilderPropertyWriter
     public int getPriority() {
         return 0;
     }
+    
+    /**
+     * <p>Returns the entry class of an array or of a Collection annotated
+     * with {@link FlexList} or {@link FlexSet}.</p>
+     * <p>The writers are shared between the generator threads, so they must
+     * compute it for each call instead of keeping it in a field.</p>
+     * @param prop A PropertyDescriptor
+     * @return The entry class or null if the property is not an array or 
+     * an annotated Collection.
+     */
+    public static Class<?> getEntryClass(PropertyDescriptor prop){
+        
+        final Class<?> type = prop.getPropertyType();
+        
+        if(type.isArray()){
+            return type.getComponentType();
+        }
+        
+        if(Collection.class.isAssignableFrom(type)){
+            
+            final PropertyMetadata meta = PropertyMetadata.get(prop);
+            
+            if(meta.isCollection()){
+                return meta.getEntryClass();
+            }
+        }
+        
+        return null;
+    }
+    
+    /**
+     * <p>Returns the entry class of a Map annotated with {@link FlexMap}.</p>
+     * @param prop A PropertyDescriptor
+     * @return The entry class or null if the property is not an annotated Map.
+     */
+    public static Class<?> getMapEntryClass(PropertyDescriptor prop){
+        
+        final PropertyMetadata meta = PropertyMetadata.get(prop);
+        
+        if(Map.class.isAssignableFrom(prop.getPropertyType()) &&
+                meta.isMap()){
+            return meta.getEntryClass();
+        }
+        
+        return null;
+    }
 }
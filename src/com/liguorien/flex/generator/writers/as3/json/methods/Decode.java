@@ -0,0 +1,54 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.generator.writers.as3.json.methods;
+
+import com.liguorien.flex.generator.FlexGenerator;
+import com.liguorien.flex.generator.handlers.FlexJsonBuilderHandler;
+import com.liguorien.flex.generator.writers.as3.json.JsonMethodWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * <p>Generates a function which reads an entity from a JSON text, with
+ * the native JSON parser of the Flash Player.</p>
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+public class Decode extends JsonMethodWriter {
+    
+    /**
+     * @inheritDoc
+     */
+    public void writeMethod(Writer w, FlexGenerator g,
+            FlexJsonBuilderHandler handler, Class<?> clazz)
+            throws IOException {
+        
+        final String className = handler.getClassName(clazz).toString();
+        final String decode = g.getMethodName(Decode.class);
+        final String getInstance = g.getMethodName(GetInstance.class);
+        
+        writeSignature(w, g, clazz, decode + "(text:String):" + className);
+        writeLine(w, g, 3, "if(text == null) return null;");
+        writeLine(w, g, 3, "return " + getInstance + "(JSON.parse(text));");
+        writeMethodEnd(w, g);
+    }
+}
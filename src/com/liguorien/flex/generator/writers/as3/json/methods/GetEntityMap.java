@@ -0,0 +1,59 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.generator.writers.as3.json.methods;
+
+import com.liguorien.flex.generator.FlexGenerator;
+import com.liguorien.flex.generator.handlers.FlexJsonBuilderHandler;
+import com.liguorien.flex.generator.writers.as3.json.JsonMethodWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * <p>Generates a function which builds a Dictionary of entities from a
+ * parsed JSON object.</p>
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+public class GetEntityMap extends JsonMethodWriter {
+    
+    /**
+     * @inheritDoc
+     */
+    public void writeMethod(Writer w, FlexGenerator g,
+            FlexJsonBuilderHandler handler, Class<?> clazz)
+            throws IOException {
+        
+        handler.addImport("flash.utils.Dictionary");
+        
+        final String getEntityMap = g.getMethodName(GetEntityMap.class);
+        final String getInstance = g.getMethodName(GetInstance.class);
+        
+        writeSignature(w, g, clazz, getEntityMap + "(data:Object):Dictionary");
+        writeLine(w, g, 3, "if(data == null) return null;");
+        writeLine(w, g, 3, "var map:Dictionary = new Dictionary();");
+        writeBlock(w, g, 3, "for(var key:String in data)");
+        writeLine(w, g, 4, "map[key] = " + getInstance + "(data[key]);");
+        writeLine(w, g, 3, "}");
+        writeLine(w, g, 3, "return map;");
+        writeMethodEnd(w, g);
+    }
+}
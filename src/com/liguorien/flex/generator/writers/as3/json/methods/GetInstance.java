@@ -0,0 +1,82 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.generator.writers.as3.json.methods;
+
+import com.liguorien.flex.generator.FlexGenerator;
+import com.liguorien.flex.generator.handlers.FlexJsonBuilderHandler;
+import com.liguorien.flex.generator.utils.LazyMode;
+import com.liguorien.flex.generator.writers.as3.json.JsonMethodWriter;
+import com.liguorien.flex.generator.writers.as3.methods.ClearDirty;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * <p>Generates a function which builds an entity from a parsed JSON 
+ * object.</p>
+ * <p>The generated code looks like this : </p>
+ * <pre>
+ * public static function getInstance(data:Object):Person {
+ *     if(data == null) return null;
+ *     var o:Person = new Person();
+ *     o.id = data.id;
+ *     o.address = AddressJsonBuilder.getInstance(data.address);
+ *     return o;
+ * }
+ * </pre>
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+public class GetInstance extends JsonMethodWriter {
+    
+    /**
+     * @inheritDoc
+     */
+    public void writeMethod(Writer w, FlexGenerator g,
+            FlexJsonBuilderHandler handler, Class<?> clazz)
+            throws IOException {
+        
+        final String className = handler.getClassName(clazz).toString();
+        
+        writeSignature(w, g, clazz, g.getMethodName(getClass()) + 
+                "(data:Object):" + className);
+        writeLine(w, g, 3, "if(data == null) return null;");
+        g.writeIndentation(w, 3);
+        w.write("var o:" + className + " = new " + className + "();");
+        
+        FlexGenerator.writeProperties(w, g, handler, "o",
+                handler.getAttributes(),
+                handler.getPropertyWriters(), LazyMode.CLIENT_READ);
+        FlexGenerator.writeProperties(w, g, handler, "o",
+                handler.getElements(),
+                handler.getPropertyWriters(), LazyMode.CLIENT_READ);
+        
+        w.write('\n');
+        
+        // the setters have marked every property
+        if(g.isDirtyTracking()){
+            writeLine(w, g, 3, "o." + g.getMethodName(ClearDirty.class) + "();");
+        }
+        
+        writeLine(w, g, 3, "return o;");
+        writeMethodEnd(w, g);
+    }
+}
@@ -0,0 +1,97 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.generator.writers.as3.json.methods;
+
+import com.liguorien.flex.generator.FlexGenerator;
+import com.liguorien.flex.generator.handlers.FlexJsonBuilderHandler;
+import com.liguorien.flex.generator.utils.LazyMode;
+import com.liguorien.flex.generator.writers.PropertyWriter;
+import com.liguorien.flex.generator.writers.as3.json.JsonMethodWriter;
+import com.liguorien.flex.generator.writers.as3.json.properties.BasicMapMember;
+import com.liguorien.flex.generator.writers.as3.json.properties.EntityMember;
+import com.liguorien.flex.generator.writers.as3.json.properties.ValueMember;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * <p>Generates a function which converts an entity to a plain object, 
+ * ready to be encoded.</p>
+ * <p>The generated code looks like this : </p>
+ * <pre>
+ * public static function getObject(o:Person):Object {
+ *     if(o == null) return null;
+ *     var data:Object = new Object();
+ *     data.id = o.id;
+ *     data.address = AddressJsonBuilder.getObject(o.address);
+ *     return data;
+ * }
+ * </pre>
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+public class GetObject extends JsonMethodWriter {
+    
+    public static GetObject getDefault(){
+        final GetObject w = new GetObject();
+        w.addPropertyWriter(new ValueMember());
+        w.addPropertyWriter(new BasicMapMember());
+        w.addPropertyWriter(new EntityMember());
+        return w;
+    }
+    
+    private final List<PropertyWriter<FlexJsonBuilderHandler>> _propertyWriters
+            = new ArrayList<PropertyWriter<FlexJsonBuilderHandler>>();
+    
+    public void addPropertyWriter(
+            PropertyWriter<FlexJsonBuilderHandler> writer){
+        _propertyWriters.add(writer);
+        Collections.sort(_propertyWriters, PropertyWriter.COMPARATOR);
+    }
+    
+    /**
+     * @inheritDoc
+     */
+    public void writeMethod(Writer w, FlexGenerator g,
+            FlexJsonBuilderHandler handler, Class<?> clazz)
+            throws IOException {
+        
+        writeSignature(w, g, clazz, g.getMethodName(getClass()) + "(o:" +
+                handler.getClassName(clazz) + "):Object");
+        writeLine(w, g, 3, "if(o == null) return null;");
+        g.writeIndentation(w, 3);
+        w.write("var data:Object = new Object();");
+        
+        FlexGenerator.writeProperties(w, g, handler, "o",
+                handler.getAttributes(),
+                _propertyWriters, LazyMode.CLIENT_WRITE);
+        FlexGenerator.writeProperties(w, g, handler, "o",
+                handler.getElements(),
+                _propertyWriters, LazyMode.CLIENT_WRITE);
+        
+        w.write('\n');
+        writeLine(w, g, 3, "return data;");
+        writeMethodEnd(w, g);
+    }
+}
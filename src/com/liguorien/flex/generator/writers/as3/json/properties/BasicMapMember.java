@@ -0,0 +1,57 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.generator.writers.as3.json.properties;
+
+import com.liguorien.flex.generator.FlexGenerator;
+import com.liguorien.flex.generator.handlers.FlexJsonBuilderHandler;
+import com.liguorien.flex.generator.writers.PropertyWriter;
+import com.liguorien.flex.generator.writers.as3.json.methods.GetBasicObjectMap;
+import java.beans.PropertyDescriptor;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Map;
+
+/**
+ * <p>Converts a Map of simple values to a plain object.</p>
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+public class BasicMapMember
+        implements PropertyWriter<FlexJsonBuilderHandler> {
+    
+    public int getPriority() {
+        return 3;
+    }
+    
+    public boolean acceptProperty(
+            PropertyDescriptor prop, FlexJsonBuilderHandler handler) {
+        return Map.class.isAssignableFrom(prop.getPropertyType());
+    }
+    
+    public void writeProperty(Writer w, FlexGenerator g,
+            FlexJsonBuilderHandler handler, String varName,
+            PropertyDescriptor prop) throws IOException {
+        EntityProperty.writeAssignment(w, g, "data." + prop.getName(),
+                g.getMethodName(GetBasicObjectMap.class) + 
+                "(" + varName + "." + prop.getName() + ")");
+    }
+}
@@ -0,0 +1,76 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.generator.writers.as3.json.properties;
+
+import com.liguorien.flex.generator.FlexGenerator;
+import com.liguorien.flex.generator.handlers.FlexJsonBuilderHandler;
+import com.liguorien.flex.generator.writers.PropertyWriter;
+import com.liguorien.flex.generator.writers.as3.json.methods.GetEntityArray;
+import com.liguorien.flex.generator.writers.as3.json.methods.GetObject;
+import com.liguorien.flex.generator.writers.as3.json.methods.GetObjectArray;
+import com.liguorien.flex.generator.writers.as3.json.methods.GetObjectMap;
+import java.beans.PropertyDescriptor;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * <p>Converts a property which holds entities : a nested entity, or an 
+ * array, a Collection or a Map of entities.  The entities are converted
+ * by the builder of their class.</p>
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+public class EntityMember
+        implements PropertyWriter<FlexJsonBuilderHandler> {
+    
+    public int getPriority() {
+        return 5;
+    }
+    
+    public boolean acceptProperty(
+            PropertyDescriptor prop, FlexJsonBuilderHandler handler) {
+        return EntityProperty.getEntryClass(
+                prop, handler.getGenerator()) != null;
+    }
+    
+    public void writeProperty(Writer w, FlexGenerator g,
+            FlexJsonBuilderHandler handler, String varName,
+            PropertyDescriptor prop) throws IOException {
+        
+        final Class<?> type = prop.getPropertyType();
+        
+        Class<?> method = GetObject.class;
+        if(type.isArray() || Collection.class.isAssignableFrom(type)){
+            method = GetObjectArray.class;
+        }else if(Map.class.isAssignableFrom(type)){
+            method = GetObjectMap.class;
+        }
+        
+        EntityProperty.writeAssignment(w, g, "data." + prop.getName(),
+                handler.getBuilderName(
+                EntityProperty.getEntryClass(prop, g)) + "." +
+                g.getMethodName(method) + "(" + varName + "." + 
+                prop.getName() + ")");
+    }
+}
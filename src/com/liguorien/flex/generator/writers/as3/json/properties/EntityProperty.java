@@ -0,0 +1,117 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.generator.writers.as3.json.properties;
+
+import com.liguorien.flex.generator.FlexGenerator;
+import com.liguorien.flex.generator.handlers.FlexJsonBuilderHandler;
+import com.liguorien.flex.generator.utils.PropertyMetadata;
+import com.liguorien.flex.generator.writers.PropertyWriter;
+import com.liguorien.flex.generator.writers.as3.json.methods.GetEntityArray;
+import com.liguorien.flex.generator.writers.as3.json.methods.GetEntityMap;
+import com.liguorien.flex.generator.writers.as3.json.methods.GetInstance;
+import java.beans.PropertyDescriptor;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * <p>Reads a property which holds entities : a nested entity, or an array,
+ * a Collection or a Map of entities.  The entities are read by the 
+ * builder of their class.</p>
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+public class EntityProperty
+        implements PropertyWriter<FlexJsonBuilderHandler> {
+    
+    public int getPriority() {
+        return 5;
+    }
+    
+    public boolean acceptProperty(
+            PropertyDescriptor prop, FlexJsonBuilderHandler handler) {
+        return getEntryClass(prop, handler.getGenerator()) != null;
+    }
+    
+    /**
+     * Returns the entity class held by a property.
+     * @param prop A property
+     * @param g The current generator
+     * @return The entity class, or null if the property doesn't hold
+     * entities.
+     */
+    static Class<?> getEntryClass(PropertyDescriptor prop, FlexGenerator g){
+        
+        final Class<?> type = prop.getPropertyType();
+        final PropertyMetadata meta = PropertyMetadata.get(prop);
+        
+        Class<?> entryClass = type;
+        
+        if(type.isArray()){
+            entryClass = type.getComponentType();
+        }else if(Collection.class.isAssignableFrom(type) &&
+                meta.isCollection()){
+            entryClass = meta.getEntryClass();
+        }else if(Map.class.isAssignableFrom(type) && meta.isMap()){
+            entryClass = meta.getEntryClass();
+        }
+        
+        return g.isGeneratedClass(entryClass) ? entryClass : null;
+    }
+    
+    /**
+     * Writes an assignment.
+     * @param w The writer
+     * @param g The current generator
+     * @param target The assigned expression
+     * @param value The value
+     * @throws java.io.IOException If an IO error occurs.
+     */
+    static void writeAssignment(Writer w, FlexGenerator g,
+            String target, String value) throws IOException {
+        w.write("\n");
+        g.writeIndentation(w, 3);
+        w.write(target);
+        w.write(" = ");
+        w.write(value);
+        w.write(";");
+    }
+    
+    public void writeProperty(Writer w, FlexGenerator g,
+            FlexJsonBuilderHandler handler, String varName,
+            PropertyDescriptor prop) throws IOException {
+        
+        final Class<?> type = prop.getPropertyType();
+        
+        Class<?> method = GetInstance.class;
+        if(type.isArray() || Collection.class.isAssignableFrom(type)){
+            method = GetEntityArray.class;
+        }else if(Map.class.isAssignableFrom(type)){
+            method = GetEntityMap.class;
+        }
+        
+        writeAssignment(w, g, varName + "." + prop.getName(),
+                handler.getBuilderName(getEntryClass(prop, g)) + "." +
+                g.getMethodName(method) + "(data." + prop.getName() + ")");
+    }
+}
@@ -0,0 +1,86 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.generator.writers.as3.methods;
+
+import com.liguorien.flex.generator.FlexGenerator;
+import com.liguorien.flex.generator.handlers.FlexModelHandler;
+import com.liguorien.flex.generator.writers.MethodWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * <p>Generates the method which clears the dirty bitmask of an entity,
+ * once its modifications have been sent to the server.  Only written when
+ * the generator {@link FlexGenerator#isDirtyTracking tracks the 
+ * modifications}.</p>
+ * @version 0.2
+ * @author Nicolas Dsy
+ * @see IsDirty
+ */
+public class ClearDirty
+        implements MethodWriter<FlexModelHandler> {
+    
+    /**
+     * @inheritDoc
+     */
+    public void writeMethod(Writer w, FlexGenerator g,
+            FlexModelHandler handler, Class<?> clazz) throws IOException {
+        
+        if(!g.isDirtyTracking()){
+            return;
+        }
+        
+        w.write("\n\n");
+        g.writeDocumentation(w, getClass(), 2,
+                handler.getClassName(clazz).toString());
+        g.writeIndentation(w, 2);
+        w.write("public function ");
+        g.writeMethodName(w, getClass());
+        w.write("():void");
+        g.writeCurlyBrace(w, 2);
+        
+        final int count = IsDirty.getMaskCount(handler);
+        for(int i = 0; i < count; i++){
+            g.writeIndentation(w, 3);
+            w.write(IsDirty.getMaskField(i * 32));
+            w.write(" = 0;\n");
+        }
+        
+        g.writeIndentation(w, 2);
+        w.write("}\n");
+    }
+    
+    /**
+     * @inheritDoc
+     */
+    public boolean acceptClass(Class<?> clazz) {
+        return true;
+    }
+    
+    /**
+     * The method is written after the properties.
+     * @return -1
+     */
+    public int getPriority() {
+        return -1;
+    }
+}
@@ -85,10 +85,9 @@ public class GetBasicArray extends BuilderMethodWriter {
            
             AS3Writer.setContextWriter(new TextElement());
             
-            for(PropertyWriter<FlexModelBuilderHandler> pw : pws){
-                if(pw.acceptProperty(proxy, handler)){
-                    pw.writeProperty(w, g, handler, "n", proxy);
-                }
+            for(PropertyWriter<FlexModelBuilderHandler> pw :
+                    g.getPropertyWriters(proxy, handler, pws)){
+                pw.writeProperty(w, g, handler, "n", proxy);
             }
             
             AS3Writer.setContextWriter(null);
@@ -0,0 +1,247 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.generator.writers.as3.methods;
+
+import com.liguorien.flex.generator.FlexGenerator;
+import com.liguorien.flex.generator.handlers.FlexModelBuilderHandler;
+import com.liguorien.flex.generator.utils.LazyMode;
+import com.liguorien.flex.generator.utils.OutputBuffer;
+import com.liguorien.flex.generator.writers.as3.AS3Writer;
+import com.liguorien.flex.generator.writers.as3.BuilderMethodWriter;
+import java.beans.PropertyDescriptor;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * <p>Generates a method which builds an XML object from the modified 
+ * properties of an entity.  Only written when the generator 
+ * {@link FlexGenerator#isDirtyTracking tracks the modifications}.</p>
+ * <p>The generated code looks like this : </p>
+ * <pre>
+ * public static function getDeltaXML(o:Person, name:String=null):XML {
+ *     if(o == null) return new XML("");
+ *     var el:XML = &lt;Person delta="true"/&gt;;
+ *     if(o.isDirty(0)) el.@["id"] = o.id;
+ *     if(o.isDirty(2)) el.appendChild(o.name == null 
+ *             ? &lt;name nil="true"/&gt; : getBasicXML(o.name, "name"));
+ *     if(o.isDirty(3)) {
+ *         el.appendChild(o.address == null ? &lt;address nil="true"/&gt; 
+ *                 : AddressBuilder.getXML(o.address, "address"));
+ *     }else if(o.address != null &amp;&amp; o.address.isDirty()) {
+ *         el.appendChild(AddressBuilder.getDeltaXML(o.address, "address"));
+ *     }
+ *     if(name != null) el.setName(name);
+ *     return el;
+ * }
+ * </pre>
+ * <p>The element of a modified property is written by the property 
+ * writers of {@link GetXML}.  A property set to null is written as an 
+ * empty element with a <code>nil</code> attribute, and a nested entity 
+ * which has only been modified itself is written as a delta.  The 
+ * elements are read by the <code>applyDelta</code> method of the dom4j
+ * builders.</p>
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+public class GetDeltaXML extends BuilderMethodWriter {
+    
+    private final GetXML _getXML;
+    
+    /**
+     * Creates a new instance of GetDeltaXML
+     * @param getXML The writer of the getXML method, whose property 
+     * writers are used to write the modified properties.
+     */
+    public GetDeltaXML(GetXML getXML) {
+        _getXML = getXML;
+    }
+    
+    /**
+     * @inheritDoc
+     */
+    public void writeMethod(Writer w, FlexGenerator g,
+            FlexModelBuilderHandler handler, Class<?> clazz)
+            throws IOException {
+        
+        if(!g.isDirtyTracking()){
+            return;
+        }
+        
+        final String className = clazz.getSimpleName();
+        
+        w.write("\n\n");
+        if(g.isSharedReferences()){
+            handler.addImport("flash.utils.Dictionary");
+            g.writeDocumentation(w, getClass(), "refs", 2, className);
+        }else{
+            g.writeDocumentation(w, getClass(), 2, className);
+        }
+        g.writeIndentation(w, 2);
+        w.write("public static function ");
+        g.writeMethodName(w, getClass());
+        w.write("(o:");
+        handler.writeClassName(w, clazz,
+                g.getClassPrefix(), g.getClassSuffix());
+        w.write(", name:String=null");
+        w.write(AS3Writer.getReferencesParameter(g, false));
+        w.write("):XML");
+        g.writeCurlyBrace(w, 2);
+        g.writeIndentation(w, 3);
+        w.write("if(o == null) return new XML(\"\");\n");
+        
+        if(g.isSharedReferences()){
+            g.writeIndentation(w, 3);
+            w.write("if(refs == null) refs = new Dictionary();\n");
+        }
+        
+        g.writeIndentation(w, 3);
+        w.write("var el:XML = <");
+        w.write(FlexGenerator.getNodeName(clazz));
+        w.write(" delta=\"true\"/>;\n");
+        
+        for(PropertyDescriptor prop : handler.getAttributes()){
+            
+            if(FlexGenerator.isLazy(prop, LazyMode.CLIENT_WRITE)){
+                continue;
+            }
+            
+            writeCondition(w, g, handler, prop);
+            w.write(" el.@[\"");
+            w.write(FlexGenerator.getNodeName(prop));
+            w.write("\"] = o.");
+            w.write(prop.getName());
+            w.write(";\n");
+        }
+        
+        final OutputBuffer buffer = new OutputBuffer(256);
+        
+        for(PropertyDescriptor prop : handler.getElements()){
+            
+            buffer.reset();
+            FlexGenerator.writeProperty(buffer, g, handler, "o", prop,
+                    _getXML.getPropertyWriters(), LazyMode.CLIENT_WRITE);
+            
+            final String expression = getExpression(buffer.toString());
+            
+            if(expression.length() == 0){
+                continue;
+            }
+            
+            final Class<?> type = prop.getPropertyType();
+            final String nodeName = FlexGenerator.getNodeName(prop);
+            
+            if(!g.isGeneratedClass(type)){
+                writeCondition(w, g, handler, prop);
+                w.write(" el.appendChild(");
+                writeValue(w, prop, expression);
+                w.write(");\n");
+                continue;
+            }
+            
+            writeCondition(w, g, handler, prop);
+            g.writeCurlyBrace(w, 3);
+            g.writeIndentation(w, 4);
+            w.write("el.appendChild(");
+            writeValue(w, prop, expression);
+            w.write(");\n");
+            g.writeIndentation(w, 3);
+            w.write("}else if(o.");
+            w.write(prop.getName());
+            w.write(" != null && o.");
+            w.write(prop.getName());
+            w.write(".");
+            g.writeMethodName(w, IsDirty.class);
+            w.write("())");
+            g.writeCurlyBrace(w, 3);
+            g.writeIndentation(w, 4);
+            w.write("el.appendChild(");
+            w.write(handler.getClassName(type).toString());
+            w.write(handler.getBuilderSuffix());
+            w.write('.');
+            g.writeMethodName(w, getClass());
+            w.write("(o.");
+            w.write(prop.getName());
+            w.write(", \"");
+            w.write(nodeName);
+            w.write("\"");
+            w.write(AS3Writer.getReferencesArgument(g));
+            w.write("));\n");
+            g.writeIndentation(w, 3);
+            w.write("}\n");
+        }
+        
+        g.writeIndentation(w, 3);
+        w.write("if(name != null) el.setName(name);\n");
+        g.writeIndentation(w, 3);
+        w.write("return el;\n");
+        g.writeIndentation(w, 2);
+        w.write("}");
+    }
+    
+    /**
+     * Writes the condition which tests the bit of a property.
+     */
+    private void writeCondition(Writer w, FlexGenerator g,
+            FlexModelBuilderHandler handler, PropertyDescriptor prop)
+            throws IOException {
+        
+        g.writeIndentation(w, 3);
+        w.write("if(o.");
+        g.writeMethodName(w, IsDirty.class);
+        w.write("(");
+        w.write(String.valueOf(handler.getPropertyIndex(prop)));
+        w.write("))");
+    }
+    
+    /**
+     * Writes the element of a property, or a nil element if the property
+     * can be null.
+     */
+    private void writeValue(Writer w, PropertyDescriptor prop,
+            String expression) throws IOException {
+        
+        if(!prop.getPropertyType().isPrimitive()){
+            w.write("o.");
+            w.write(prop.getName());
+            w.write(" == null ? <");
+            w.write(FlexGenerator.getNodeName(prop));
+            w.write(" nil=\"true\"/> : ");
+        }
+        
+        w.write(expression);
+    }
+    
+    /**
+     * Returns the expression written by a property writer of getXML, 
+     * without the curly braces of the E4X literal.
+     */
+    private static String getExpression(String code) {
+        
+        final String expression = code.trim();
+        
+        if(expression.startsWith("{") && expression.endsWith("}")){
+            return expression.substring(1, expression.length() - 1);
+        }
+        
+        return expression;
+    }
+}
@@ -25,6 +25,7 @@ import com.liguorien.flex.generator.FlexGenerator;
 import com.liguorien.flex.generator.writers.MethodWriter;
 import com.liguorien.flex.generator.handlers.FlexModelBuilderHandler;
 import com.liguorien.flex.generator.writers.*;
+import com.liguorien.flex.generator.writers.as3.AS3Writer;
 import com.liguorien.flex.generator.writers.as3.BuilderMethodWriter;
 import java.io.IOException;
 import java.io.Writer;
@@ -41,14 +42,27 @@ public class GetEntityArray extends BuilderMethodWriter {
             throws IOException {        
             
         w.write("\n\n");
-        g.writeDocumentation(w, getClass(), 2, clazz.getSimpleName());
+        if(g.isSharedReferences()){
+            g.writeDocumentation(w, getClass(), "refs", 2, 
+                    clazz.getSimpleName());
+        }else{
+            g.writeDocumentation(w, getClass(), 2, clazz.getSimpleName());
+        }
         g.writeIndentation(w, 2);
         w.write("public static function ");
         g.writeMethodName(w, getClass());
-        w.write("(nod:XML):Array");
+        w.write("(nod:XML");
+        w.write(AS3Writer.getReferencesParameter(g, true));
+        w.write("):Array");
         g.writeCurlyBrace(w, 2);
         g.writeIndentation(w, 3);
         w.write("if(nod == null) return null;\n");
+        
+        if(g.isSharedReferences()){
+            g.writeIndentation(w, 3);
+            w.write("if(refs == null) refs = {};\n");
+        }
+        
         g.writeIndentation(w, 3);
         w.write("var items:Array = new Array();\n");
         g.writeIndentation(w, 3);
@@ -58,7 +72,7 @@ public class GetEntityArray extends BuilderMethodWriter {
         w.write("items.push(");
         g.writeMethodName(w, GetInstance.class, 
                 handler.getCurrentClass().getSimpleName());
-        w.write("(n));\n");
+        w.write("(n" + AS3Writer.getReferencesArgument(g) + "));\n");
         g.writeIndentation(w, 3);
         w.write("}\n");
         g.writeIndentation(w, 3);
@@ -25,6 +25,7 @@ import com.liguorien.flex.generator.FlexGenerator;
 import com.liguorien.flex.generator.handlers.FlexModelBuilderHandler;
 import com.liguorien.flex.generator.utils.LazyMode;
 import com.liguorien.flex.generator.utils.PropertyDescriptorProxy;
+import com.liguorien.flex.generator.writers.as3.AS3Writer;
 import com.liguorien.flex.generator.writers.as3.BuilderMethodWriter;
 import java.io.IOException;
 import java.io.Writer;
@@ -42,14 +43,27 @@ public class GetEntityMap  extends BuilderMethodWriter {
         handler.addImport("flash.utils.Dictionary");
         
         w.write("\n\n");
-        g.writeDocumentation(w, getClass(), 2, clazz.getSimpleName());
+        if(g.isSharedReferences()){
+            g.writeDocumentation(w, getClass(), "refs", 2, 
+                    clazz.getSimpleName());
+        }else{
+            g.writeDocumentation(w, getClass(), 2, clazz.getSimpleName());
+        }
         g.writeIndentation(w, 2);
         w.write("public static function ");
         g.writeMethodName(w, getClass());
-        w.write("(nod:XML):Dictionary");
+        w.write("(nod:XML");
+        w.write(AS3Writer.getReferencesParameter(g, true));
+        w.write("):Dictionary");
         g.writeCurlyBrace(w, 2);
         g.writeIndentation(w, 3);
         w.write("if(nod == null) return null;\n");
+        
+        if(g.isSharedReferences()){
+            g.writeIndentation(w, 3);
+            w.write("if(refs == null) refs = {};\n");
+        }
+        
         g.writeIndentation(w, 3);
         w.write("var map:Dictionary = new Dictionary();\n");
         g.writeIndentation(w, 3);
@@ -59,7 +73,7 @@ public class GetEntityMap  extends BuilderMethodWriter {
         w.write("map[String(n.@KEY)] = ");
         g.writeMethodName(w, GetInstance.class, 
                 handler.getCurrentClass().getSimpleName());       
-        w.write("(n);\n");
+        w.write("(n" + AS3Writer.getReferencesArgument(g) + ");\n");
         g.writeIndentation(w, 3);
         w.write("}\n");
         g.writeIndentation(w, 3);
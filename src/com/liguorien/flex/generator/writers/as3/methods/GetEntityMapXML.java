@@ -23,6 +23,7 @@ package com.liguorien.flex.generator.writers.as3.methods;
 
 import com.liguorien.flex.generator.FlexGenerator;
 import com.liguorien.flex.generator.handlers.FlexModelBuilderHandler;
+import com.liguorien.flex.generator.writers.as3.AS3Writer;
 import com.liguorien.flex.generator.writers.as3.ContextMethodWriter;
 import java.io.IOException;
 import java.io.Writer;
@@ -45,21 +46,41 @@ public class GetEntityMapXML extends ContextMethodWriter {
         
         final String nodeName = FlexGenerator.getNodeName(clazz);
         w.write("\n\n");
-        g.writeDocumentation(w, getClass(), 2, clazz.getSimpleName());
+        if(g.isSharedReferences()){
+            handler.addImport("flash.utils.Dictionary");
+            g.writeDocumentation(w, getClass(), "refs", 2, 
+                    clazz.getSimpleName());
+        }else{
+            g.writeDocumentation(w, getClass(), 2, clazz.getSimpleName());
+        }
         g.writeIndentation(w, 2);
         w.write("public static function ");
         g.writeMethodName(w, getClass(), clazz.getSimpleName());
-        w.write("(map:Dictionary, name:String):XML");
+        w.write("(map:Dictionary, name:String");
+        w.write(AS3Writer.getReferencesParameter(g, false));
+        w.write("):XML");
         g.writeCurlyBrace(w, 2);
         g.writeIndentation(w, 3);
         w.write("if(map == null) return new XML(\"\");\n");
+        
+        if(g.isSharedReferences()){
+            g.writeIndentation(w, 3);
+            w.write("if(refs == null) refs = new Dictionary();\n");
+        }
+        
         g.writeIndentation(w, 3);
         w.write("var nod:XML = <{name} />;\n");
         g.writeIndentation(w, 3);
         w.write("for (var key:String in map)");
         g.writeCurlyBrace(w, 3);
         g.writeIndentation(w, 4);
-        w.write("var temp:XML = getXML(map[key]);\n");
+        w.write("var temp:XML = ");
+        g.writeMethodName(w, GetXML.class);
+        w.write("(map[key]");
+        if(g.isSharedReferences()){
+            w.write(", null, refs");
+        }
+        w.write(");\n");
         g.writeIndentation(w, 4);
         w.write("temp.@KEY = key;\n");
         g.writeIndentation(w, 4);
@@ -25,12 +25,33 @@ import com.liguorien.flex.generator.FlexGenerator;
 import com.liguorien.flex.generator.utils.LazyMode;
 import com.liguorien.flex.generator.handlers.FlexModelBuilderHandler;
 import com.liguorien.flex.generator.writers.*;
+import com.liguorien.flex.generator.utils.OutputBuffer;
+import com.liguorien.flex.generator.writers.as3.AS3Writer;
 import com.liguorien.flex.generator.writers.as3.BuilderMethodWriter;
+import com.liguorien.flex.generator.writers.as3.ChildNode;
+import java.beans.PropertyDescriptor;
 import java.io.IOException;
 import java.io.Writer;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
- *
+ * <p>Generates a function which reads an entity from an XML object.</p>
+ * <p>By default, each property is read by an E4X expression, which walks
+ * the children of the XML object.  When the generator 
+ * {@link FlexGenerator#isSinglePassReading reads in a single pass}, the 
+ * attributes and the child elements are walked once and each node is 
+ * dispatched on its local name : </p>
+ * <pre>
+ * for each(var child:XML in nod.elements()) {
+ *     switch(String(child.localName())) {
+ *         case "age" :
+ *             o.age = int(child);
+ *             break;
+ *     }
+ * }
+ * </pre>
  * @version 0.2
  * @author Nicolas Dsy
  */
@@ -48,11 +69,18 @@ public class GetInstance extends BuilderMethodWriter {
             FlexModelBuilderHandler handler, Class<?> clazz) throws IOException{
         
         w.write("\n\n");
-        g.writeDocumentation(w, getClass(), 2, clazz.getSimpleName());
+        if(g.isSharedReferences()){
+            g.writeDocumentation(w, getClass(), "refs", 2, 
+                    clazz.getSimpleName());
+        }else{
+            g.writeDocumentation(w, getClass(), 2, clazz.getSimpleName());
+        }
         g.writeIndentation(w, 2);
         w.write("public static function ");
         g.writeMethodName(w, getClass(), clazz.getSimpleName()); 
-        w.write("(nod:XML):");
+        w.write("(nod:XML");
+        w.write(AS3Writer.getReferencesParameter(g, true));
+        w.write("):");
         
         handler.writeClassName(w, clazz,
                 g.getClassPrefix(), g.getClassSuffix());
@@ -60,8 +88,19 @@ public class GetInstance extends BuilderMethodWriter {
         g.writeCurlyBrace(w, 2);
         g.writeIndentation(w, 3);
         w.write("if(nod == null) return null;\n");
-        g.writeIndentation(w, 3);
         
+        if(g.isSharedReferences()){
+            g.writeIndentation(w, 3);
+            w.write("if(refs == null) refs = {};\n");
+            g.writeIndentation(w, 3);
+            w.write("var ref:String = String(nod.@");
+            w.write(FlexGenerator.REF_ATTRIBUTE);
+            w.write(");\n");
+            g.writeIndentation(w, 3);
+            w.write("if(ref != \"\") return refs[ref];\n");
+        }
+        
+        g.writeIndentation(w, 3);
         w.write("var o:");
         
         handler.writeClassName(w, clazz,
@@ -71,19 +110,137 @@ public class GetInstance extends BuilderMethodWriter {
                 g.getClassPrefix(), g.getClassSuffix());
         w.write("();");
         
-        FlexGenerator.writeProperties(w, g, handler, "o",
-                handler.getAttributes(),
-                handler.getPropertyWriters(), LazyMode.CLIENT_READ);
+        if(g.isSharedReferences()){
+            // registered before the properties are read, for the cycles
+            w.write('\n');
+            g.writeIndentation(w, 3);
+            w.write("var id:String = String(nod.@");
+            w.write(FlexGenerator.ID_ATTRIBUTE);
+            w.write(");\n");
+            g.writeIndentation(w, 3);
+            w.write("if(id != \"\") refs[id] = o;");
+        }
         
-        FlexGenerator.writeProperties(w, g, handler, "o",
-                handler.getElements(),
-                handler.getPropertyWriters(), LazyMode.CLIENT_READ);
+        if(g.isSinglePassReading()){
+            w.write("\n");
+            writeDispatch(w, g, handler);
+        }else{
+            FlexGenerator.writeProperties(w, g, handler, "o",
+                    handler.getAttributes(),
+                    handler.getPropertyWriters(), LazyMode.CLIENT_READ);
+            
+            FlexGenerator.writeProperties(w, g, handler, "o",
+                    handler.getElements(),
+                    handler.getPropertyWriters(), LazyMode.CLIENT_READ);
+            
+            w.write("\n");
+        }
+        
+        // the setters have marked every property
+        if(g.isDirtyTracking()){
+            g.writeIndentation(w, 3);
+            w.write("o.");
+            g.writeMethodName(w, ClearDirty.class);
+            w.write("();\n");
+        }
         
-        w.write("\n");
         g.writeIndentation(w, 3);
         w.write("return o;");
         w.write("\n");
         g.writeIndentation(w, 2);
         w.write("}");
-    }    
-}
\ No newline at end of file
+    }
+    
+    /**
+     * Writes the loops which dispatch the attributes and the child 
+     * elements on their local name.
+     */
+    private void writeDispatch(Writer w, FlexGenerator g,
+            FlexModelBuilderHandler handler) throws IOException {
+        
+        final Map<String, String> attributes;
+        final Map<String, String> elements;
+        
+        AS3Writer.setContextWriter(new ChildNode());
+        try{
+            attributes = getStatements(g, handler, handler.getAttributes());
+            elements = getStatements(g, handler, handler.getElements());
+        }finally{
+            AS3Writer.setContextWriter(null);
+        }
+        
+        if(!attributes.isEmpty()){
+            writeLoop(w, g, "attr", "attributes", attributes);
+        }
+        
+        if(!elements.isEmpty()){
+            writeLoop(w, g, "child", "elements", elements);
+        }
+    }
+    
+    /**
+     * Returns the statements which read a Collection of properties, by 
+     * node name.
+     */
+    private Map<String, String> getStatements(FlexGenerator g, 
+            FlexModelBuilderHandler handler,
+            Collection<PropertyDescriptor> props) throws IOException {
+        
+        final Map<String, String> statements = 
+                new LinkedHashMap<String, String>();
+        final OutputBuffer buffer = new OutputBuffer(256);
+        
+        for(PropertyDescriptor prop : props){
+            
+            buffer.reset();
+            FlexGenerator.writeProperty(buffer, g, handler, "o", prop,
+                    handler.getPropertyWriters(), LazyMode.CLIENT_READ);
+            final String statement = buffer.toString().trim();
+            
+            if(statement.length() != 0){
+                statements.put(FlexGenerator.getNodeName(prop), statement);
+            }
+        }
+        
+        return statements;
+    }
+    
+    /**
+     * Writes a loop over the attributes or the child elements of 
+     * <code>nod</code>, with a case for each node name.
+     */
+    private void writeLoop(Writer w, FlexGenerator g, String varName,
+            String list, Map<String, String> statements) 
+            throws IOException {
+        
+        g.writeIndentation(w, 3);
+        w.write("for each(var ");
+        w.write(varName);
+        w.write(":XML in nod.");
+        w.write(list);
+        w.write("())");
+        g.writeCurlyBrace(w, 3);
+        g.writeIndentation(w, 4);
+        w.write("switch(String(");
+        w.write(varName);
+        w.write(".localName()))");
+        g.writeCurlyBrace(w, 4);
+        
+        for(Map.Entry<String, String> e : statements.entrySet()){
+            g.writeIndentation(w, 5);
+            w.write("case \"");
+            w.write(e.getKey());
+            w.write("\" :\n");
+            g.writeIndentation(w, 6);
+            w.write(e.getValue());
+            w.write('\n');
+            g.writeIndentation(w, 6);
+            w.write("break;\n");
+        }
+        
+        g.writeIndentation(w, 4);
+        w.write("}\n");
+        g.writeIndentation(w, 3);
+        w.write("}\n");
+    }
+}
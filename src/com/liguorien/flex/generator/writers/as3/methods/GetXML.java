@@ -27,6 +27,7 @@ import com.liguorien.flex.generator.handlers.FlexModelBuilderHandler;
 import com.liguorien.flex.generator.writers.PropertyWriter;
 
 
+import com.liguorien.flex.generator.writers.as3.AS3Writer;
 import com.liguorien.flex.generator.writers.as3.BuilderMethodWriter;
 import com.liguorien.flex.generator.writers.as3.properties.ArrayElement;
 import com.liguorien.flex.generator.writers.as3.properties.BasicElement;
@@ -70,28 +71,90 @@ public class GetXML extends BuilderMethodWriter {
         Collections.sort(_propertyWriters, PropertyWriter.COMPARATOR);
     }
     
+    /**
+     * <p>Returns the property writers of this method, sorted by 
+     * priority.</p>
+     * @return A List of {@link PropertyWriter}
+     */
+    public List<PropertyWriter<FlexModelBuilderHandler>> getPropertyWriters(){
+        return _propertyWriters;
+    }
+    
+    /**
+     * <p>Writes the code which returns a reference element when the 
+     * instance has already been written in the document, or gives an id 
+     * to the instance.  The next id is kept in the table itself, under a 
+     * key which can't be an entity.</p>
+     */
+    static void writeReference(Writer w, FlexGenerator g, String nodeName)
+            throws IOException {
+        
+        g.writeIndentation(w, 3);
+        w.write("if(refs == null) refs = new Dictionary();\n");
+        g.writeIndentation(w, 3);
+        w.write("if(refs[o] !== undefined)");
+        g.writeCurlyBrace(w, 3);
+        g.writeIndentation(w, 4);
+        w.write("var ref:XML = <");
+        w.write(nodeName);
+        w.write(" ");
+        w.write(FlexGenerator.REF_ATTRIBUTE);
+        w.write("={refs[o]}/>;\n");
+        g.writeIndentation(w, 4);
+        w.write("if(name != null) ref.setName(name);\n");
+        g.writeIndentation(w, 4);
+        w.write("return ref;\n");
+        g.writeIndentation(w, 3);
+        w.write("}\n");
+        g.writeIndentation(w, 3);
+        w.write("var id:int = int(refs[\"_count\"]);\n");
+        g.writeIndentation(w, 3);
+        w.write("refs[\"_count\"] = id + 1;\n");
+        g.writeIndentation(w, 3);
+        w.write("refs[o] = id;\n");
+    }
+    
     public void writeMethod(Writer w,
             FlexGenerator g, FlexModelBuilderHandler handler, Class<?> clazz)
             throws IOException {
         
         final String classNodeName = FlexGenerator.getNodeName(clazz);
         w.write("\n\n");
-        g.writeDocumentation(w, getClass(), 2, clazz.getSimpleName());
+        if(g.isSharedReferences()){
+            handler.addImport("flash.utils.Dictionary");
+            g.writeDocumentation(w, getClass(), "refs", 2, 
+                    clazz.getSimpleName());
+        }else{
+            g.writeDocumentation(w, getClass(), 2, clazz.getSimpleName());
+        }
         g.writeIndentation(w, 2);
         w.write("public static function ");
         g.writeMethodName(w, getClass());
         w.write("(o:");
         handler.writeClassName(w, clazz,
                 g.getClassPrefix(), g.getClassSuffix());
-        w.write(", name:String=null):XML");
+        w.write(", name:String=null");
+        w.write(AS3Writer.getReferencesParameter(g, false));
+        w.write("):XML");
         g.writeCurlyBrace(w, 2);
         w.flush();
         g.writeIndentation(w, 3);
         w.write("if(o == null) return new XML(\"\");\n");
+        
+        if(g.isSharedReferences()){
+            writeReference(w, g, classNodeName);
+        }
+        
         g.writeIndentation(w, 3);
         w.write("var el:XML = <");
         w.write(classNodeName);
         
+        if(g.isSharedReferences()){
+            w.write(" ");
+            w.write(FlexGenerator.ID_ATTRIBUTE);
+            w.write("={id}");
+        }
+        
         for (PropertyDescriptor prop : handler.getAttributes()) {
             if (!FlexGenerator.isLazy(prop, LazyMode.CLIENT_WRITE)) {
                 w.write(" ");
@@ -21,16 +21,14 @@
 
 package com.liguorien.flex.generator.writers.as3.methods;
 
-import com.liguorien.flex.generator.FlexBindable;
-import com.liguorien.flex.generator.FlexDefault;
 import com.liguorien.flex.generator.FlexGenerator;
 import com.liguorien.flex.generator.writers.MethodWriter;
 import com.liguorien.flex.generator.handlers.FlexModelHandler;
+import com.liguorien.flex.generator.utils.PropertyMetadata;
 import com.liguorien.flex.generator.writers.as3.AS3Writer;
 import java.beans.PropertyDescriptor;
 import java.io.IOException;
 import java.io.Writer;
-import java.lang.reflect.Method;
 
 /**
  *
@@ -73,32 +71,25 @@ public class GetterSetter
             PropertyDescriptor property, FlexModelHandler handler) {
         
         final Class type = property.getPropertyType();
-        final Method getter = property.getReadMethod();
+        final PropertyMetadata meta = PropertyMetadata.get(property);
         
-        String bindingEvent = null;
-        String defaultValue = null;
+        String bindingEvent = meta.getBindingEvent();
+        final String defaultValue = meta.getDefaultValue();
         
-        if(getter.isAnnotationPresent(FlexBindable.class)){
-            bindingEvent = getter.
-                    getAnnotation(FlexBindable.class).
-                    event();
-        }else if(handler.isBindingEverything()){
+        if(bindingEvent == null && handler.isBindingEverything()){
             bindingEvent = handler.getDefaultEvent();
         }
         
-        if(getter.isAnnotationPresent(FlexDefault.class)){
-            defaultValue = getter.
-                    getAnnotation(FlexDefault.class).
-                    value();
-        }
-        
         final String typeName = handler.getGenerator().isGeneratedClass(type)
             ? handler.getClassName(type).toString()
             : AS3Writer.getTypeName(type);
         
+        final int dirtyIndex = handler.getGenerator().isDirtyTracking()
+                ? handler.getPropertyIndex(property) : -1;
+        
         appendProperty(w, handler, property.getName(), 
                 typeName, bindingEvent, defaultValue, 
-                property.getWriteMethod() == null);
+                property.getWriteMethod() == null, dirtyIndex);
     }        
     
     
@@ -110,9 +101,12 @@ public class GetterSetter
      * @param type The type of the property
      * @param binding Indicated if the property should be bindable
      * @param defaultValue The default value of the property
+     * @param dirtyIndex The index of the property in the dirty bitmask, or
+     * -1 if the modifications are not tracked
      */
     private void appendProperty(Writer w, FlexModelHandler handler, String name,
-            String type, String binding, String defaultValue, boolean readOnly){
+            String type, String binding, String defaultValue, boolean readOnly,
+            int dirtyIndex){
         
         try {
        
@@ -201,6 +195,14 @@ public class GetterSetter
                 w.write(name);
                 w.write(" = value;\n");
                 
+                if(dirtyIndex != -1){
+                    g.writeIndentation(w, 3);
+                    w.write(IsDirty.getMaskField(dirtyIndex));
+                    w.write(" |= ");
+                    w.write(IsDirty.getMaskBit(dirtyIndex));
+                    w.write(";\n");
+                }
+                
                 if(binding != null && !"".equals(binding)){
                     g.writeIndentation(w, 3);
                     w.write("dispatchEvent(new Event(\"");
@@ -0,0 +1,164 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.generator.writers.as3.methods;
+
+import com.liguorien.flex.generator.FlexGenerator;
+import com.liguorien.flex.generator.handlers.FlexModelHandler;
+import com.liguorien.flex.generator.writers.MethodWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * <p>Generates the dirty bitmask of an entity and the method which 
+ * reads it.  Only written when the generator 
+ * {@link FlexGenerator#isDirtyTracking tracks the modifications}.</p>
+ * <p>Each property has a bit, at the index returned by
+ * {@link FlexModelHandler#getPropertyIndex}.  The bits are held in a 
+ * <code>uint</code> for each group of 32 properties.  The generated code 
+ * looks like this : </p>
+ * <pre>
+ * private var _dirty0:uint;
+ * 
+ * public function isDirty(index:int = -1):Boolean {
+ *     if(index &lt; 0) return _dirty0 != 0;
+ *     return (_dirty0 &amp; (1 &lt;&lt; index)) != 0;
+ * }
+ * </pre>
+ * <p>The bit of a property is set by its setter, so a collection which is
+ * modified in place is not marked until it's set again.</p>
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+public class IsDirty
+        implements MethodWriter<FlexModelHandler> {
+    
+    /**
+     * @inheritDoc
+     */
+    public void writeMethod(Writer w, FlexGenerator g,
+            FlexModelHandler handler, Class<?> clazz) throws IOException {
+        
+        if(!g.isDirtyTracking()){
+            return;
+        }
+        
+        final int count = getMaskCount(handler);
+        
+        w.write("\n\n");
+        
+        for(int i = 0; i < count; i++){
+            g.writeIndentation(w, 2);
+            w.write("private var ");
+            w.write(getMaskField(i * 32));
+            w.write(":uint;\n");
+        }
+        
+        w.write("\n");
+        g.writeDocumentation(w, getClass(), 2,
+                handler.getClassName(clazz).toString());
+        g.writeIndentation(w, 2);
+        w.write("public function ");
+        g.writeMethodName(w, getClass());
+        w.write("(index:int = -1):Boolean");
+        g.writeCurlyBrace(w, 2);
+        g.writeIndentation(w, 3);
+        w.write("if(index < 0) return (");
+        for(int i = 0; i < count; i++){
+            if(i > 0){
+                w.write(" | ");
+            }
+            w.write(getMaskField(i * 32));
+        }
+        w.write(") != 0;\n");
+        
+        if(count == 1){
+            g.writeIndentation(w, 3);
+            w.write("return (");
+            w.write(getMaskField(0));
+            w.write(" & (1 << index)) != 0;\n");
+        }else{
+            g.writeIndentation(w, 3);
+            w.write("switch(index >> 5)");
+            g.writeCurlyBrace(w, 3);
+            for(int i = 0; i < count; i++){
+                g.writeIndentation(w, 4);
+                w.write("case ");
+                w.write(String.valueOf(i));
+                w.write(": return (");
+                w.write(getMaskField(i * 32));
+                w.write(" & (1 << (index & 31))) != 0;\n");
+            }
+            g.writeIndentation(w, 3);
+            w.write("}\n");
+            g.writeIndentation(w, 3);
+            w.write("return false;\n");
+        }
+        
+        g.writeIndentation(w, 2);
+        w.write("}\n");
+    }
+    
+    /**
+     * Returns the number of <code>uint</code> fields of the bitmask.
+     * @param handler The current handler
+     * @return The number of fields (at least 1)
+     */
+    static int getMaskCount(FlexModelHandler handler) {
+        final int count =
+                handler.getAttributes().size() + handler.getElements().size();
+        return Math.max(1, (count + 31) / 32);
+    }
+    
+    /**
+     * <p>Returns the field of the bitmask which holds the bit of a 
+     * property.</p>
+     * @param index The index of the property
+     * @return The name of the field (ie. "_dirty0")
+     */
+    public static String getMaskField(int index) {
+        return "_dirty" + (index >> 5);
+    }
+    
+    /**
+     * <p>Returns the bit of a property in its field of the bitmask.</p>
+     * @param index The index of the property
+     * @return An ActionScript hexadecimal literal (ie. "0x4")
+     */
+    public static String getMaskBit(int index) {
+        return "0x" + Long.toHexString(1L << (index & 31));
+    }
+    
+    /**
+     * @inheritDoc
+     */
+    public boolean acceptClass(Class<?> clazz) {
+        return true;
+    }
+    
+    /**
+     * The method is written after the properties.
+     * @return -1
+     */
+    public int getPriority() {
+        return -1;
+    }
+}
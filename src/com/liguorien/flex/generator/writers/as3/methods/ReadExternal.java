@@ -0,0 +1,140 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.generator.writers.as3.methods;
+
+import com.liguorien.flex.generator.FlexGenerator;
+import com.liguorien.flex.generator.handlers.FlexModelHandler;
+import com.liguorien.flex.generator.utils.LazyMode;
+import com.liguorien.flex.generator.writers.MethodWriter;
+import java.beans.PropertyDescriptor;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * <p>Generates the <code>readExternal</code> method of 
+ * <code>IExternalizable</code>.  Only written when the handler is 
+ * {@link FlexModelHandler#isExternalizable externalizable}.</p>
+ * <p>The generated code looks like this : </p>
+ * <pre>
+ * public function readExternal(input:IDataInput):void {
+ *     var name:String;
+ *     while((name = input.readObject() as String) != null) {
+ *         switch(name) {
+ *             case "id":
+ *                 _id = input.readObject();
+ *                 break;
+ *             default:
+ *                 input.readObject();
+ *         }
+ *     }
+ * }
+ * </pre>
+ * <p>The unknown members and the lazy properties are skipped.</p>
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+public class ReadExternal
+        implements MethodWriter<FlexModelHandler> {
+    
+    /**
+     * @inheritDoc
+     */
+    public void writeMethod(Writer w, FlexGenerator g,
+            FlexModelHandler handler, Class<?> clazz) throws IOException {
+        
+        if(!handler.isExternalizable()){
+            return;
+        }
+        
+        handler.addImport("flash.utils.IDataInput");
+        
+        w.write("\n\n");
+        g.writeDocumentation(w, getClass(), 2, 
+                handler.getClassName(clazz).toString());
+        g.writeIndentation(w, 2);
+        w.write("public function ");
+        g.writeMethodName(w, getClass());
+        w.write("(input:IDataInput):void");
+        g.writeCurlyBrace(w, 2);
+        g.writeIndentation(w, 3);
+        w.write("var name:String;\n");
+        g.writeIndentation(w, 3);
+        w.write("while((name = input.readObject() as String) != null)");
+        g.writeCurlyBrace(w, 3);
+        g.writeIndentation(w, 4);
+        w.write("switch(name)");
+        g.writeCurlyBrace(w, 4);
+        
+        for(PropertyDescriptor prop : handler.getAttributes()){
+            writeProperty(w, g, prop);
+        }
+        
+        for(PropertyDescriptor prop : handler.getElements()){
+            writeProperty(w, g, prop);
+        }
+        
+        g.writeIndentation(w, 5);
+        w.write("default:\n");
+        g.writeIndentation(w, 6);
+        w.write("input.readObject();\n");
+        g.writeIndentation(w, 4);
+        w.write("}\n");
+        g.writeIndentation(w, 3);
+        w.write("}\n");
+        g.writeIndentation(w, 2);
+        w.write("}\n");
+    }
+    
+    private void writeProperty(Writer w, FlexGenerator g,
+            PropertyDescriptor prop) throws IOException {
+        
+        if(FlexGenerator.isLazy(prop, LazyMode.CLIENT_READ)){
+            return;
+        }
+        
+        g.writeIndentation(w, 5);
+        w.write("case \"");
+        w.write(prop.getName());
+        w.write("\":\n");
+        g.writeIndentation(w, 6);
+        w.write(g.isUsingUnderscore() ? "_" : "this.");
+        w.write(prop.getName());
+        w.write(" = input.readObject();\n");
+        g.writeIndentation(w, 6);
+        w.write("break;\n");
+    }
+    
+    /**
+     * @inheritDoc
+     */
+    public boolean acceptClass(Class<?> clazz) {
+        return true;
+    }
+    
+    /**
+     * The method is written after the properties.
+     * @return -1
+     */
+    public int getPriority() {
+        return -1;
+    }
+}
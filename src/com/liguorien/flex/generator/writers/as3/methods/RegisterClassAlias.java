@@ -0,0 +1,76 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.generator.writers.as3.methods;
+
+import com.liguorien.flex.generator.FlexGenerator;
+import com.liguorien.flex.generator.handlers.FlexModelHandler;
+import com.liguorien.flex.generator.writers.MethodWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * <p>Registers the generated class under the name of the Java entity, so 
+ * the AMF3 streams written by the AMF builders are read as instances of 
+ * the generated class.  Only written when the handler is 
+ * {@link FlexModelHandler#isExternalizable externalizable}.</p>
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+public class RegisterClassAlias
+        implements MethodWriter<FlexModelHandler> {
+    
+    /**
+     * @inheritDoc
+     */
+    public void writeMethod(Writer w, FlexGenerator g,
+            FlexModelHandler handler, Class<?> clazz) throws IOException {
+        
+        if(!handler.isExternalizable()){
+            return;
+        }
+        
+        handler.addImport("flash.net.registerClassAlias");
+        
+        w.write("\n\n");
+        g.writeIndentation(w, 2);
+        w.write("registerClassAlias(\"");
+        w.write(clazz.getName());
+        w.write("\", ");
+        w.write(handler.getClassName(clazz).toString());
+        w.write(");\n");
+    }
+    
+    /**
+     * @inheritDoc
+     */
+    public boolean acceptClass(Class<?> clazz) {
+        return true;
+    }
+    
+    /**
+     * The alias is registered before the properties.
+     * @return 1
+     */
+    public int getPriority() {
+        return 1;
+    }
+}
@@ -0,0 +1,119 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.generator.writers.as3.methods;
+
+import com.liguorien.flex.generator.FlexGenerator;
+import com.liguorien.flex.generator.handlers.FlexModelHandler;
+import com.liguorien.flex.generator.utils.LazyMode;
+import com.liguorien.flex.generator.writers.MethodWriter;
+import java.beans.PropertyDescriptor;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * <p>Generates the <code>writeExternal</code> method of 
+ * <code>IExternalizable</code>.  Only written when the handler is 
+ * {@link FlexModelHandler#isExternalizable externalizable}.</p>
+ * <p>The generated code looks like this : </p>
+ * <pre>
+ * public function writeExternal(output:IDataOutput):void {
+ *     output.writeObject("id");
+ *     output.writeObject(_id);
+ *     output.writeObject(null);
+ * }
+ * </pre>
+ * <p>Each property is written with its name, so the lazy properties can 
+ * be left out without breaking the stream.</p>
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+public class WriteExternal
+        implements MethodWriter<FlexModelHandler> {
+    
+    /**
+     * @inheritDoc
+     */
+    public void writeMethod(Writer w, FlexGenerator g,
+            FlexModelHandler handler, Class<?> clazz) throws IOException {
+        
+        if(!handler.isExternalizable()){
+            return;
+        }
+        
+        handler.addImport("flash.utils.IDataOutput");
+        
+        w.write("\n\n");
+        g.writeDocumentation(w, getClass(), 2, 
+                handler.getClassName(clazz).toString());
+        g.writeIndentation(w, 2);
+        w.write("public function ");
+        g.writeMethodName(w, getClass());
+        w.write("(output:IDataOutput):void");
+        g.writeCurlyBrace(w, 2);
+        
+        for(PropertyDescriptor prop : handler.getAttributes()){
+            writeProperty(w, g, prop);
+        }
+        
+        for(PropertyDescriptor prop : handler.getElements()){
+            writeProperty(w, g, prop);
+        }
+        
+        g.writeIndentation(w, 3);
+        w.write("output.writeObject(null);\n");
+        g.writeIndentation(w, 2);
+        w.write("}\n");
+    }
+    
+    private void writeProperty(Writer w, FlexGenerator g,
+            PropertyDescriptor prop) throws IOException {
+        
+        if(FlexGenerator.isLazy(prop, LazyMode.CLIENT_WRITE)){
+            return;
+        }
+        
+        g.writeIndentation(w, 3);
+        w.write("output.writeObject(\"");
+        w.write(prop.getName());
+        w.write("\");\n");
+        g.writeIndentation(w, 3);
+        w.write("output.writeObject(");
+        w.write(g.isUsingUnderscore() ? "_" : "this.");
+        w.write(prop.getName());
+        w.write(");\n");
+    }
+    
+    /**
+     * @inheritDoc
+     */
+    public boolean acceptClass(Class<?> clazz) {
+        return true;
+    }
+    
+    /**
+     * The method is written after the properties.
+     * @return -1
+     */
+    public int getPriority() {
+        return -1;
+    }
+}
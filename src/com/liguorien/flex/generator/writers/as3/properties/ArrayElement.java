@@ -22,52 +22,27 @@
 package com.liguorien.flex.generator.writers.as3.properties;
 
 import com.liguorien.flex.generator.FlexGenerator;
-import com.liguorien.flex.generator.FlexList;
-import com.liguorien.flex.generator.FlexSet;
 import com.liguorien.flex.generator.handlers.FlexModelBuilderHandler;
+import com.liguorien.flex.generator.writers.as3.AS3Writer;
 import com.liguorien.flex.generator.writers.as3.BuilderPropertyWriter;
 import com.liguorien.flex.generator.writers.as3.methods.GetBasicXMLList;
 import com.liguorien.flex.generator.writers.as3.methods.GetEntityXMLList;
 import java.beans.PropertyDescriptor;
 import java.io.IOException;
 import java.io.Writer;
-import java.lang.reflect.Method;
-import java.util.Collection;
 
 /**
  * @version 0.2
  * @author Nicolas Dsy
  */
 public class ArrayElement extends BuilderPropertyWriter {
-    
-    private Class<?> _entryClass;
       
     /**
      * @inheritDoc
      */
     public boolean acceptProperty(
             PropertyDescriptor prop, FlexModelBuilderHandler handler) {
-        
-        _entryClass = null;
-        
-        final Class<?> type = prop.getPropertyType();
-        
-        if(type.isArray()){
-            _entryClass = type.getComponentType();
-        }
-        
-        if(Collection.class.isAssignableFrom(type)){
-            
-            final Method getter = prop.getReadMethod();
-            
-            if(getter.isAnnotationPresent(FlexList.class)){
-                _entryClass = getter.getAnnotation(FlexList.class).value();
-            } else if(getter.isAnnotationPresent(FlexSet.class)){
-                _entryClass = getter.getAnnotation(FlexSet.class).value();
-            }
-        }
-        
-        return _entryClass != null;
+        return getEntryClass(prop) != null;
     }
     
     /**
@@ -77,17 +52,19 @@ public class ArrayElement extends BuilderPropertyWriter {
             FlexModelBuilderHandler handler, String varName,
             PropertyDescriptor prop) throws IOException {
         
+        final Class<?> entryClass = getEntryClass(prop);
+        final boolean entity = g.isGeneratedClass(entryClass);
         
         w.write('\n');
         g.writeIndentation(w, 4);
         w.write('{');
         
-        if(g.isGeneratedClass(_entryClass)){
+        if(entity){
             
             // ENTITY ARRAY
-            final String entityClassName = _entryClass.getSimpleName();
+            final String entityClassName = entryClass.getSimpleName();
             
-            w.write(handler.getClassName(_entryClass).toString());
+            w.write(handler.getClassName(entryClass).toString());
             w.write(handler.getBuilderSuffix());
             w.write('.');
             g.writeMethodName(w, GetEntityXMLList.class, entityClassName);
@@ -95,13 +72,17 @@ public class ArrayElement extends BuilderPropertyWriter {
         }else{
             // BASIC ARRAY
             g.writeMethodName(w, GetBasicXMLList.class,
-                    _entryClass.getSimpleName());
+                    entryClass.getSimpleName());
         }
         
         w.write("(o.");
         w.write(prop.getName());
         w.write(", \"");
         w.write(FlexGenerator.getNodeName(prop));
-        w.write("\")}");
+        w.write("\"");
+        if(entity){
+            w.write(AS3Writer.getReferencesArgument(g));
+        }
+        w.write(")}");
     }
 }
@@ -22,8 +22,6 @@
 package com.liguorien.flex.generator.writers.as3.properties;
 
 import com.liguorien.flex.generator.FlexGenerator;
-import com.liguorien.flex.generator.FlexList;
-import com.liguorien.flex.generator.FlexSet;
 import com.liguorien.flex.generator.utils.LazyMode;
 import com.liguorien.flex.generator.utils.NodeType;
 import com.liguorien.flex.generator.handlers.FlexModelBuilderHandler;
@@ -34,9 +32,6 @@ import com.liguorien.flex.generator.writers.as3.methods.GetBasicArray;
 import java.beans.PropertyDescriptor;
 import java.io.IOException;
 import java.io.Writer;
-import java.lang.reflect.Method;
-
-import java.util.Collection;
 
 /**
  * @version 0.2
@@ -44,8 +39,6 @@ import java.util.Collection;
  */
 public class BasicArrayProperty extends BuilderPropertyWriter {
     
-    private Class<?> _entryClass;
-    
     public BasicArrayProperty() {
     }
     
@@ -66,32 +59,7 @@ public class BasicArrayProperty extends BuilderPropertyWriter {
             return false;
         }
         
-        final Class<?> type = prop.getPropertyType();
-        final FlexGenerator g = handler.getGenerator();
-        
-        if(type.isArray()){
-            _entryClass = type.getComponentType();
-            return true;
-        }
-        
-        if(Collection.class.isAssignableFrom(type)){
-            
-            final Method getter = prop.getReadMethod();
-            
-            if(getter.isAnnotationPresent(FlexList.class)){
-                _entryClass =
-                        getter.getAnnotation(FlexList.class).value();
-                return true;
-            }
-            
-            if(getter.isAnnotationPresent(FlexSet.class)){
-                 _entryClass =
-                        getter.getAnnotation(FlexSet.class).value();
-                return true;
-            }
-        }
-        
-        return false;
+        return getEntryClass(prop) != null;
     }
     
     /**
@@ -106,12 +74,14 @@ public class BasicArrayProperty extends BuilderPropertyWriter {
     public void writeProperty(Writer w, FlexGenerator g,
             FlexModelBuilderHandler handler, String varName,
             PropertyDescriptor prop) throws IOException {
-            
-        handler.addContextMethodWriter(new GetBasicArray(_entryClass, prop));
+        
+        final Class<?> entryClass = getEntryClass(prop);
+        
+        handler.addContextMethodWriter(new GetBasicArray(entryClass, prop));
        
         AS3Writer.getContextWriter().writeProperty(w, g, varName, prop,
                 g.getMethodName(GetBasicArray.class, 
-                GetArray.capitalize(AS3Writer.getTypeName(_entryClass)))
+                GetArray.capitalize(AS3Writer.getTypeName(entryClass)))
                 + "(", "[0])", NodeType.ELEMENT);
     }
 }
\ No newline at end of file
@@ -52,7 +52,8 @@ public class BasicMapElement extends BasicMapProperty {
         w.write('\n');
         g.writeIndentation(w, 4);
         w.write('{');
-        g.writeMethodName(w, GetBasicMapXML.class, _entryClass.getSimpleName());
+        g.writeMethodName(w, GetBasicMapXML.class,
+                getMapEntryClass(prop).getSimpleName());
         w.write("(o.");
         w.write(prop.getName());
         w.write(", \"");
@@ -32,8 +32,6 @@ import com.liguorien.flex.generator.writers.as3.methods.GetEntityMap;
 import java.beans.PropertyDescriptor;
 import java.io.IOException;
 import java.io.Writer;
-import java.lang.reflect.Method;
-import java.util.Map;
 
 /**
  * @version 0.2
@@ -41,9 +39,6 @@ import java.util.Map;
  */
 public class BasicMapProperty extends BuilderPropertyWriter {
     
-    protected Class<?> _keyClass;
-    protected Class<?> _entryClass;
-    
     /**
      * @inheritDoc
      */
@@ -57,23 +52,7 @@ public class BasicMapProperty extends BuilderPropertyWriter {
      */
     public boolean acceptProperty(
             PropertyDescriptor prop, FlexModelBuilderHandler handler) {
-        
-        _keyClass = null;
-        _entryClass = null;
-        
-        final Class<?> type = prop.getPropertyType();
-        final FlexGenerator g = handler.getGenerator();
-        final Method getter = prop.getReadMethod();
-        
-        if(Map.class.isAssignableFrom(type) &&
-                getter.isAnnotationPresent(FlexMap.class)){
-            
-            final FlexMap map = getter.getAnnotation(FlexMap.class);
-            _keyClass = map.key();
-            _entryClass = map.entry();
-        }
-        
-        return _entryClass != null && _keyClass != null;
+        return getMapEntryClass(prop) != null;
     }
     
     /**
@@ -83,12 +62,14 @@ public class BasicMapProperty extends BuilderPropertyWriter {
             FlexModelBuilderHandler handler, String varName,
             PropertyDescriptor prop) throws IOException {
         
+        final Class<?> entryClass = getMapEntryClass(prop);
+        
         handler.addContextMethodWriter(
-                new GetBasicMap(_entryClass, prop));
+                new GetBasicMap(entryClass, prop));
         
                
         AS3Writer.getContextWriter().writeProperty(w, g, varName, prop,
-                g.getMethodName(GetBasicMap.class, _entryClass.getSimpleName())
+                g.getMethodName(GetBasicMap.class, entryClass.getSimpleName())
                 + "(", "[0])",
                 NodeType.ELEMENT);
     }    
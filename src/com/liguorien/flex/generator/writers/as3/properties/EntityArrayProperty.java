@@ -22,8 +22,6 @@
 package com.liguorien.flex.generator.writers.as3.properties;
 
 import com.liguorien.flex.generator.FlexGenerator;
-import com.liguorien.flex.generator.FlexList;
-import com.liguorien.flex.generator.FlexSet;
 import com.liguorien.flex.generator.utils.NodeType;
 import com.liguorien.flex.generator.handlers.FlexModelBuilderHandler;
 import com.liguorien.flex.generator.writers.as3.BuilderPropertyWriter;
@@ -32,8 +30,6 @@ import com.liguorien.flex.generator.writers.as3.methods.GetEntityArray;
 import java.beans.PropertyDescriptor;
 import java.io.IOException;
 import java.io.Writer;
-import java.lang.reflect.Method;
-import java.util.Collection;
 
 /**
  *
@@ -41,8 +37,6 @@ import java.util.Collection;
  * @author Nicolas Dsy
  */
 public class EntityArrayProperty extends BuilderPropertyWriter {
-    
-    private Class<?> _entryClass;
    
     public EntityArrayProperty() {
     }
@@ -54,29 +48,7 @@ public class EntityArrayProperty extends BuilderPropertyWriter {
     public boolean acceptProperty(
             PropertyDescriptor prop, FlexModelBuilderHandler handler) {
         
-        final Class<?> type = prop.getPropertyType();
-        final FlexGenerator g = handler.getGenerator();
-        
-        if(type.isArray()){
-            return g.isGeneratedClass(_entryClass = type.getComponentType());
-        }
-        
-        if(Collection.class.isAssignableFrom(type)){
-            
-            final Method getter = prop.getReadMethod();
-            
-            if(getter.isAnnotationPresent(FlexList.class)){
-                return g.isGeneratedClass(_entryClass =
-                        getter.getAnnotation(FlexList.class).value());
-            }
-            
-            if(getter.isAnnotationPresent(FlexSet.class)){
-                return g.isGeneratedClass(_entryClass =
-                        getter.getAnnotation(FlexSet.class).value());
-            }
-        }
-        
-        return false;
+        return handler.getGenerator().isGeneratedClass(getEntryClass(prop));
     }
     
     /**
@@ -86,15 +58,17 @@ public class EntityArrayProperty extends BuilderPropertyWriter {
             FlexModelBuilderHandler handler, String varName,
             PropertyDescriptor prop) throws IOException {
         
+        final Class<?> entryClass = getEntryClass(prop);
+        
         handler.addImport(
-                g.getPackageName(_entryClass) + '.' +
-                handler.getClassName(_entryClass) + handler.getBuilderSuffix());
+                g.getPackageName(entryClass) + '.' +
+                handler.getClassName(entryClass) + handler.getBuilderSuffix());
         
         AS3Writer.getContextWriter().writeProperty(w, g, varName, prop,
-                handler.getClassName(_entryClass) +
+                handler.getClassName(entryClass) +
                 handler.getBuilderSuffix() +
-                "." + g.getMethodName(GetEntityArray.class, _entryClass)
-                + "(", "[0])", 
+                "." + g.getMethodName(GetEntityArray.class, entryClass)
+                + "(", "[0]" + AS3Writer.getReferencesArgument(g) + ")", 
                 NodeType.ELEMENT);
     }
     
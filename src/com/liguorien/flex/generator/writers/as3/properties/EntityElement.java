@@ -24,6 +24,7 @@ package com.liguorien.flex.generator.writers.as3.properties;
 import com.liguorien.flex.generator.FlexGenerator;
 import com.liguorien.flex.generator.handlers.FlexModelBuilderHandler;
 import com.liguorien.flex.generator.writers.dom4j.methods.GetElement;
+import com.liguorien.flex.generator.writers.as3.AS3Writer;
 import com.liguorien.flex.generator.writers.as3.BuilderPropertyWriter;
 import com.liguorien.flex.generator.writers.as3.methods.GetXML;
 import java.beans.PropertyDescriptor;
@@ -70,6 +71,8 @@ public class EntityElement extends BuilderPropertyWriter {
         w.write(prop.getName());
         w.write(", \"");
         w.write(FlexGenerator.getNodeName(prop));
-        w.write("\")}");
+        w.write("\"");
+        w.write(AS3Writer.getReferencesArgument(g));
+        w.write(")}");
     }
 }
@@ -23,6 +23,7 @@ package com.liguorien.flex.generator.writers.as3.properties;
 
 import com.liguorien.flex.generator.FlexGenerator;
 import com.liguorien.flex.generator.handlers.FlexModelBuilderHandler;
+import com.liguorien.flex.generator.writers.as3.AS3Writer;
 import com.liguorien.flex.generator.writers.as3.methods.GetEntityMapXML;
 import java.beans.PropertyDescriptor;
 import java.io.IOException;
@@ -48,20 +49,22 @@ public class EntityMapElement extends EntityMapProperty {
             FlexModelBuilderHandler handler, String varName,
             PropertyDescriptor prop) throws IOException {
         
-        
+        final Class<?> entryClass = getMapEntryClass(prop);
         
         w.write('\n');
         g.writeIndentation(w, 4);
         w.write('{');
-        w.write(handler.getClassName(_entryClass).toString());
+        w.write(handler.getClassName(entryClass).toString());
         w.write(handler.getBuilderSuffix());
         w.write('.');
         g.writeMethodName(w, 
-                GetEntityMapXML.class, _entryClass.getSimpleName());
+                GetEntityMapXML.class, entryClass.getSimpleName());
         w.write("(o.");
         w.write(prop.getName());
         w.write(", \"");
         w.write(FlexGenerator.getNodeName(prop));
-        w.write("\")}");
+        w.write("\"");
+        w.write(AS3Writer.getReferencesArgument(g));
+        w.write(")}");
     }
 }
\ No newline at end of file
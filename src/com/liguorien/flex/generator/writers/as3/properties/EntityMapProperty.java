@@ -22,7 +22,6 @@
 package com.liguorien.flex.generator.writers.as3.properties;
 
 import com.liguorien.flex.generator.FlexGenerator;
-import com.liguorien.flex.generator.FlexMap;
 import com.liguorien.flex.generator.handlers.FlexModelBuilderHandler;
 import com.liguorien.flex.generator.utils.NodeType;
 import com.liguorien.flex.generator.writers.as3.BuilderPropertyWriter;
@@ -31,8 +30,6 @@ import com.liguorien.flex.generator.writers.as3.methods.GetEntityMap;
 import java.beans.PropertyDescriptor;
 import java.io.IOException;
 import java.io.Writer;
-import java.lang.reflect.Method;
-import java.util.Map;
 
 /**
  * @version 0.2
@@ -52,7 +49,7 @@ public class EntityMapProperty extends BasicMapProperty {
             PropertyDescriptor prop, FlexModelBuilderHandler handler) {
         
         return super.acceptProperty(prop, handler) &&
-                handler.getGenerator().isGeneratedClass(_entryClass);
+                handler.getGenerator().isGeneratedClass(getMapEntryClass(prop));
     }
     
     /**
@@ -62,15 +59,17 @@ public class EntityMapProperty extends BasicMapProperty {
             FlexModelBuilderHandler handler, String varName,
             PropertyDescriptor prop) throws IOException {
         
+        final Class<?> entryClass = getMapEntryClass(prop);
+        
         handler.addImport(
-                g.getPackageName(_entryClass) + '.' +
-                handler.getClassName(_entryClass) + handler.getBuilderSuffix());
+                g.getPackageName(entryClass) + '.' +
+                handler.getClassName(entryClass) + handler.getBuilderSuffix());
         
         AS3Writer.getContextWriter().writeProperty(w, g, varName, prop,
-                handler.getClassName(_entryClass) +
+                handler.getClassName(entryClass) +
                 handler.getBuilderSuffix() +
-                "." + g.getMethodName(GetEntityMap.class, _entryClass)
-                + "(", "[0])",
+                "." + g.getMethodName(GetEntityMap.class, entryClass)
+                + "(", "[0]" + AS3Writer.getReferencesArgument(g) + ")",
                 NodeType.ELEMENT);
     }
 }
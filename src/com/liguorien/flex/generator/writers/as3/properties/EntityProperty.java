@@ -61,7 +61,7 @@ public class EntityProperty extends BuilderPropertyWriter {
                 handler.getClassName(clazz) +
                 handler.getBuilderSuffix() +
                 "." + g.getMethodName(GetInstance.class, clazz)
-                + "(", "[0])", NodeType.ELEMENT);
+                + "(", "[0]" + AS3Writer.getReferencesArgument(g) + ")", NodeType.ELEMENT);
     }
     
     
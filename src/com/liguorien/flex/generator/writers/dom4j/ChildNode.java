@@ -0,0 +1,66 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.generator.writers.dom4j;
+
+import com.liguorien.flex.generator.FlexGenerator;
+import com.liguorien.flex.generator.utils.NodeType;
+import java.beans.PropertyDescriptor;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * <p>Generates java code which reads a property from the current node of
+ * a single pass over the attributes and the child elements of a dom4j 
+ * element.  The current attribute is named <code>attr</code> and the 
+ * current child element is named <code>child</code>.</p>
+ * @see com.liguorien.flex.generator.writers.dom4j.methods.GetInstance
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+public class ChildNode extends Dom4jWriter {
+    
+    /**
+     * @inheritDoc
+     */
+    protected void writeNode(Writer w, FlexGenerator g, 
+            PropertyDescriptor prop, String nodeName, NodeType type) 
+            throws IOException {
+        
+        switch(type){
+            case ATTRIBUTE :
+                w.write("attr.getValue()");
+                break;
+            
+            case ELEMENT :
+                w.write("child");
+                break;
+            
+            case TEXT :
+                if(String.class.equals(prop.getPropertyType())){
+                    w.write("child.getTextTrim()");
+                }else{
+                    w.write("child.getText().trim()");
+                }
+                break;
+        }
+    }
+}
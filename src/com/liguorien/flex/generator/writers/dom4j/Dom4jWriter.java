@@ -22,9 +22,11 @@
 package com.liguorien.flex.generator.writers.dom4j;
 
 import com.liguorien.flex.generator.FlexGenerator;
-import com.liguorien.flex.generator.FlexNode;
+import com.liguorien.flex.generator.handlers.Dom4jBuilderHandler;
 import com.liguorien.flex.generator.utils.NodeType;
+import com.liguorien.flex.generator.utils.PropertyMetadata;
 import com.liguorien.flex.generator.writers.ClassWriter;
+import com.liguorien.flex.generator.writers.dom4j.methods.GetText;
 import java.beans.PropertyDescriptor;
 import java.io.IOException;
 import java.io.Writer;
@@ -87,21 +89,15 @@ public class Dom4jWriter implements ClassWriter {
             return;
         }
         
-        final Method getter = prop.getReadMethod();
+        final PropertyMetadata meta = PropertyMetadata.get(prop);
         
-        if(type == null){
+        if(meta.getNodeType() == NodeType.ATTRIBUTE){
+            type = NodeType.ATTRIBUTE;
+        }else if(type == null){
             type = NodeType.TEXT;
         }
         
-        String nodeName = prop.getName();
-        
-        if(getter.isAnnotationPresent(FlexNode.class)){
-            nodeName = getter.getAnnotation(FlexNode.class).value();
-            if(nodeName.indexOf("@") == 0){
-                type = NodeType.ATTRIBUTE;
-                nodeName = nodeName.substring(1);
-            }
-        }
+        final String nodeName = meta.getNodeName();
         
         
         w.write("\n");
@@ -115,6 +111,30 @@ public class Dom4jWriter implements ClassWriter {
             w.write(prefix);
         }
         
+        writeNode(w, g, prop, nodeName, type);
+        
+        if(suffix != null){
+            w.write(suffix);
+        }
+        
+        w.write(");");
+    }
+    
+    /**
+     * <p>Writes the expression which reads the node of a property from 
+     * the element <code>el</code> : the value of an attribute, a child 
+     * element or the text of a child element.</p>
+     * @param w A Writer
+     * @param g The generator
+     * @param prop The property
+     * @param nodeName The name of the node
+     * @param type The type of the node
+     * @throws java.io.IOException 
+     */
+    protected void writeNode(Writer w, FlexGenerator g, 
+            PropertyDescriptor prop, String nodeName, NodeType type) 
+            throws IOException {
+        
         switch(type){
             case ATTRIBUTE :
                 w.write("el.attributeValue(\"");
@@ -125,18 +145,17 @@ public class Dom4jWriter implements ClassWriter {
                 break;
                 
             case TEXT :
-                w.write("el.elementTextTrim(\"");
+                if(String.class.equals(prop.getPropertyType())){
+                    w.write("el.elementTextTrim(\"");
+                }else{
+                    w.write(g.getMethodName(GetText.class));
+                    w.write("(el, \"");
+                }
                 break;
         }
         
         w.write(nodeName);
         w.write("\")");
-        
-        if(suffix != null){
-            w.write(suffix);
-        }
-        
-        w.write(");");
     }
     
     
@@ -248,7 +267,137 @@ public class Dom4jWriter implements ClassWriter {
         }
         return result;
     }
+    
+    /**
+     * <p>Returns the code which creates a Collection or a Map able to hold 
+     * a given number of entries without growing.</p>
+     * <p>The hashed classes (Maps and Sets) are sized with their default 
+     * load factor.  The classes without an <code>int</code> constructor 
+     * (ie. LinkedList, TreeMap) are created with their default 
+     * constructor.</p>
+     * @param collClass The class of the Collection or Map.
+     * @param typeParameters The type parameters (ie. "String, Integer").
+     * @param size An expression which gives the number of entries.
+     * @return The code of the constructor call.
+     */
+    public static String getNewInstance(Class<?> collClass, 
+            String typeParameters, String size){
+        
+        final StringBuilder buffer = new StringBuilder("new ");
+        buffer.append(collClass.getSimpleName()).
+                append('<').append(typeParameters).append(">(");
+        
+        if(hasCapacityConstructor(collClass)){
+            if(Map.class.isAssignableFrom(collClass) ||
+                    Set.class.isAssignableFrom(collClass)){
+                buffer.append(size).append(" * 4 / 3 + 1");
+            }else{
+                buffer.append(size);
+            }
+        }
+        
+        return buffer.append(')').toString();
+    }
+    
+    private static boolean hasCapacityConstructor(Class<?> collClass){
+        try {
+            collClass.getConstructor(int.class);
+            return true;
+        } catch (NoSuchMethodException ex) {
+            return false;
+        }
+    }
 
+    /**
+     * <p>Indicates if the current context writer reads or writes the
+     * properties of an entity, that is the default writer or a 
+     * {@link ChildNode}.  The other context writers read the entries of 
+     * a Collection or a Map.</p>
+     * @return true in the context of an entity
+     */
+    public static boolean isEntityContext(){
+        final ClassWriter cw = getContextWriter();
+        return cw == WRITER || cw instanceof ChildNode;
+    }
+    
+    /**
+     * <p>Returns the argument which sends the reference table of the 
+     * document to another builder method, or an empty String when the 
+     * generator doesn't write the shared references.</p>
+     * @param g The generator
+     * @return ", refs" or an empty String
+     * @see FlexGenerator#setSharedReferences
+     */
+    public static String getReferencesArgument(FlexGenerator g){
+        return g.isSharedReferences() ? ", refs" : "";
+    }
+    
+    /**
+     * <p>Writes the parameter which receives the reference table of the 
+     * document, if the generator writes the shared references.  The 
+     * methods which read the elements receive the entities by id, the 
+     * methods which write them receive the ids by entity.</p>
+     * @param w A Writer
+     * @param g The generator
+     * @param handler The current handler
+     * @param reading true for the methods which read the elements
+     * @throws java.io.IOException 
+     */
+    public static void writeReferencesParameter(Writer w, FlexGenerator g,
+            Dom4jBuilderHandler handler, boolean reading) 
+            throws IOException {
+        
+        if(g.isSharedReferences()){
+            handler.addImport("java.util.Map");
+            w.write(reading ? 
+                ", Map<String, Object> refs" : ", Map<Object, String> refs");
+        }
+    }
+    
+    /**
+     * <p>Writes a method which creates the reference table of a document 
+     * and calls the method which receives it.  It's the entry point of the
+     * builders when the generator writes the shared references.</p>
+     * @param w A Writer
+     * @param g The generator
+     * @param handler The current handler
+     * @param declaration The declaration of the method, without its 
+     * parameters (ie. "public static Element getElement").
+     * @param methodName The name of the called method
+     * @param parameters The parameters of the method (ie. "Person o")
+     * @param arguments The arguments sent to the called method (ie. "o")
+     * @param reading true for the methods which read the elements
+     * @throws java.io.IOException 
+     */
+    public static void writeReferencesEntry(Writer w, FlexGenerator g,
+            Dom4jBuilderHandler handler, String declaration, 
+            String methodName, String parameters, String arguments, 
+            boolean reading) throws IOException {
+        
+        if(reading){
+            handler.addImport("java.util.HashMap");
+        }else{
+            handler.addImport("java.util.IdentityHashMap");
+        }
+        
+        g.writeIndentation(w, 1);
+        w.write(declaration);
+        w.write('(');
+        w.write(parameters);
+        w.write(')');
+        g.writeCurlyBrace(w, 1);
+        g.writeIndentation(w, 2);
+        w.write("return ");
+        w.write(methodName);
+        w.write('(');
+        w.write(arguments);
+        w.write(reading ? 
+            ", new HashMap<String, Object>());\n" : 
+            ", new IdentityHashMap<Object, String>());\n");
+        g.writeIndentation(w, 1);
+        w.write("}\n\n");
+    }
+    
     /**
      * @inheritDoc
      */
@@ -22,7 +22,6 @@
 package com.liguorien.flex.generator.writers.dom4j;
 
 import com.liguorien.flex.generator.FlexGenerator;
-import com.liguorien.flex.generator.FlexMap;
 import com.liguorien.flex.generator.FlexNode;
 import com.liguorien.flex.generator.utils.NodeType;
 import java.beans.PropertyDescriptor;
@@ -36,12 +35,6 @@ import java.io.Writer;
  */
 public class MapKey extends Dom4jWriter {
     
-    private FlexMap _map;
-    
-    public MapKey(FlexMap map){
-        _map = map;
-    }
-    
     public void writeProperty(Writer w, FlexGenerator g, String varName, 
             PropertyDescriptor prop, String prefix, String suffix, 
             NodeType type) throws IOException {
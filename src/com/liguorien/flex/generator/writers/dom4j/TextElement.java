@@ -45,7 +45,12 @@ public class TextElement extends Dom4jWriter {
         }
         
         w.write(varName);
-        w.write(".getTextTrim()");
+        
+        if(String.class.equals(prop.getPropertyType())){
+            w.write(".getTextTrim()");
+        }else{
+            w.write(".getText().trim()");
+        }
         
         if(suffix != null){
             w.write(suffix);
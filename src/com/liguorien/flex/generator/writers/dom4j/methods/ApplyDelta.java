@@ -0,0 +1,211 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.generator.writers.dom4j.methods;
+
+import com.liguorien.flex.generator.FlexGenerator;
+import com.liguorien.flex.generator.handlers.Dom4jBuilderHandler;
+import com.liguorien.flex.generator.utils.LazyMode;
+import com.liguorien.flex.generator.utils.OutputBuffer;
+import com.liguorien.flex.generator.writers.dom4j.BuilderMethodWriter;
+import java.beans.PropertyDescriptor;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * <p>Generates a method which applies the delta of an entity, as written 
+ * by the <code>getDeltaXML</code> method of the Flex builders, to an 
+ * existing instance.  Only written when the generator 
+ * {@link FlexGenerator#isDirtyTracking tracks the modifications}.</p>
+ * <p>The generated code looks like this : </p>
+ * <pre>
+ * public static Person applyDelta(Element el, Person o) {
+ *     if(el.attribute("id") != null) {
+ *         o.setId(Integer.parseInt(el.attributeValue("id")));
+ *     }
+ *     if(el.element("age") != null) {
+ *         o.setAge(Integer.parseInt(getText(el, "age")));
+ *     }
+ *     if(isNil(el, "address")) {
+ *         o.setAddress(null);
+ *     }else if(isDelta(el, "address") &amp;&amp; o.getAddress() != null) {
+ *         AddressBuilder.applyDelta(el.element("address"), o.getAddress());
+ *     }else if(el.element("address") != null) {
+ *         o.setAddress(AddressBuilder.getInstance(el.element("address")));
+ *     }
+ *     return o;
+ * }
+ * </pre>
+ * <p>The properties which are not in the delta are left unchanged.  The 
+ * value of a modified property is read by the property writers of 
+ * {@link GetInstance}.</p>
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+public class ApplyDelta extends BuilderMethodWriter {
+    
+    /**
+     * @inheritDoc
+     */
+    public void writeMethod(Writer w, FlexGenerator g,
+            Dom4jBuilderHandler handler, Class<?> clazz) throws IOException {
+        
+        if(!g.isDirtyTracking()){
+            return;
+        }
+        
+        handler.addImport("org.dom4j.Element");
+        handler.addImport(clazz.getName());
+        
+        w.write("\n\n");
+        g.writeDocumentation(w, getClass(), 1,
+                handler.getClassName(clazz).toString());
+        g.writeIndentation(w, 1);
+        w.write("public static ");
+        handler.writeClassName(w, clazz,
+                g.getClassPrefix(), g.getClassSuffix());
+        w.write(" ");
+        g.writeMethodName(w, getClass());
+        w.write("(Element el, ");
+        handler.writeClassName(w, clazz,
+                g.getClassPrefix(), g.getClassSuffix());
+        w.write(" o)");
+        g.writeCurlyBrace(w, 1);
+        
+        if(g.isSharedReferences()){
+            handler.addImport("java.util.HashMap");
+            handler.addImport("java.util.Map");
+            g.writeIndentation(w, 2);
+            w.write("final Map<String, Object> refs = ");
+            w.write("new HashMap<String, Object>();\n");
+        }
+        
+        final OutputBuffer buffer = new OutputBuffer(256);
+        
+        for(PropertyDescriptor prop : handler.getAttributes()){
+            
+            final String statement = 
+                    getStatement(buffer, g, handler, prop);
+            
+            if(statement.length() == 0){
+                continue;
+            }
+            
+            g.writeIndentation(w, 2);
+            w.write("if(el.attribute(\"");
+            w.write(FlexGenerator.getNodeName(prop));
+            w.write("\") != null)");
+            writeBlock(w, g, statement);
+        }
+        
+        for(PropertyDescriptor prop : handler.getElements()){
+            
+            final String statement = 
+                    getStatement(buffer, g, handler, prop);
+            
+            if(statement.length() == 0){
+                continue;
+            }
+            
+            final String nodeName = FlexGenerator.getNodeName(prop);
+            final Class<?> type = prop.getPropertyType();
+            
+            g.writeIndentation(w, 2);
+            
+            if(!type.isPrimitive()){
+                w.write("if(");
+                g.writeMethodName(w, IsNil.class);
+                w.write("(el, \"");
+                w.write(nodeName);
+                w.write("\"))");
+                g.writeCurlyBrace(w, 2);
+                g.writeIndentation(w, 3);
+                w.write("o.");
+                w.write(prop.getWriteMethod().getName());
+                w.write("(null);\n");
+                g.writeIndentation(w, 2);
+                w.write("}else ");
+                
+                if(g.isGeneratedClass(type)){
+                    w.write("if(");
+                    g.writeMethodName(w, IsDelta.class);
+                    w.write("(el, \"");
+                    w.write(nodeName);
+                    w.write("\") && o.");
+                    w.write(prop.getReadMethod().getName());
+                    w.write("() != null)");
+                    g.writeCurlyBrace(w, 2);
+                    g.writeIndentation(w, 3);
+                    w.write(handler.getClassName(type).toString());
+                    w.write(handler.getBuilderSuffix());
+                    w.write('.');
+                    g.writeMethodName(w, getClass());
+                    w.write("(el.element(\"");
+                    w.write(nodeName);
+                    w.write("\"), o.");
+                    w.write(prop.getReadMethod().getName());
+                    w.write("());\n");
+                    g.writeIndentation(w, 2);
+                    w.write("}else ");
+                }
+            }
+            
+            w.write("if(el.element(\"");
+            w.write(nodeName);
+            w.write("\") != null)");
+            writeBlock(w, g, statement);
+        }
+        
+        g.writeIndentation(w, 2);
+        w.write("return o;\n");
+        g.writeIndentation(w, 1);
+        w.write('}');
+    }
+    
+    /**
+     * Returns the statement written by the property writers of 
+     * getInstance for a property, or an empty String if the property 
+     * isn't read.
+     */
+    private String getStatement(OutputBuffer buffer, FlexGenerator g,
+            Dom4jBuilderHandler handler, PropertyDescriptor prop)
+            throws IOException {
+        
+        buffer.reset();
+        FlexGenerator.writeProperty(buffer, g, handler, "o", prop,
+                handler.getPropertyWriters(), LazyMode.SERVER_READ);
+        return buffer.toString().trim();
+    }
+    
+    /**
+     * Writes a statement between curly braces.
+     */
+    private void writeBlock(Writer w, FlexGenerator g, String statement)
+            throws IOException {
+        
+        g.writeCurlyBrace(w, 2);
+        g.writeIndentation(w, 3);
+        w.write(statement);
+        w.write('\n');
+        g.writeIndentation(w, 2);
+        w.write("}\n");
+    }
+}
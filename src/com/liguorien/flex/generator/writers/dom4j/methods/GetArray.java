@@ -95,7 +95,15 @@ public class GetArray extends ContextMethodWriter {
         }
         
         w.write("\n\n");
-        g.writeDocumentation(w, getClass(), 1, _entryClass.getSimpleName());
+        final boolean entity = g.isGeneratedClass(_entryClass);
+        
+        if(entity && g.isSharedReferences()){
+            g.writeDocumentation(w, getClass(), "refs", 1, 
+                    _entryClass.getSimpleName());
+        }else{
+            g.writeDocumentation(w, getClass(), 1, 
+                    _entryClass.getSimpleName());
+        }
         g.writeIndentation(w, 1);
         w.write("public static ");
         w.write(_entryClass.getSimpleName());
@@ -104,7 +112,11 @@ public class GetArray extends ContextMethodWriter {
         g.writeMethodName(w, getClass(), getTypeName(), 
                 _prop.getReadMethod().getName());
       
-        w.write("(Element el)");
+        w.write("(Element el");
+        if(entity){
+            Dom4jWriter.writeReferencesParameter(w, g, handler, true);
+        }
+        w.write(")");
         g.writeCurlyBrace(w, 1);
         g.writeIndentation(w, 2);
         w.write("if(el == null) return null;\n");
@@ -126,13 +138,15 @@ public class GetArray extends ContextMethodWriter {
         g.writeIndentation(w, 3);
         w.write("items[i] = ");
         
-        if(g.isGeneratedClass(_entryClass)){
+        if(entity){
             handler.writeClassName(w, _entryClass,
                     g.getClassPrefix(), g.getClassSuffix());
             w.write(handler.getBuilderSuffix());
             w.write(".");
             g.writeMethodName(w, GetInstance.class, getTypeName());
-            w.write("(e)");
+            w.write("(e");
+            w.write(Dom4jWriter.getReferencesArgument(g));
+            w.write(")");
         }else{
             try {
                 
@@ -143,10 +157,9 @@ public class GetArray extends ContextMethodWriter {
                 final PropertyDescriptor proxy =
                         new PropertyDescriptorProxy(_entryClass);
                 
-                for(PropertyWriter<Dom4jBuilderHandler> pw : pws){
-                    if(pw.acceptProperty(proxy, handler)){
-                        pw.writeProperty(w, g, handler, "e", proxy);
-                    }
+                for(PropertyWriter<Dom4jBuilderHandler> pw :
+                        g.getPropertyWriters(proxy, handler, pws)){
+                    pw.writeProperty(w, g, handler, "e", proxy);
                 }
                 
             } catch (IntrospectionException ex) {
@@ -25,7 +25,6 @@ import com.liguorien.flex.generator.FlexGenerator;
 import com.liguorien.flex.generator.writers.PropertyWriter;
 import com.liguorien.flex.generator.handlers.Dom4jBuilderHandler;
 import com.liguorien.flex.generator.utils.PropertyDescriptorProxy;
-import com.liguorien.flex.generator.writers.dom4j.BuilderMethodWriter;
 import com.liguorien.flex.generator.writers.dom4j.ContextMethodWriter;
 import com.liguorien.flex.generator.writers.dom4j.Dom4jWriter;
 import com.liguorien.flex.generator.writers.dom4j.TextElement;
@@ -36,7 +35,27 @@ import java.io.Writer;
 import java.util.List;
 
 /**
- *
+ * <p>Generates the methods which read the Collection of a property from 
+ * the children of a dom4j element.</p>
+ * <p>The first one fills a Collection created by the caller.  The second 
+ * one creates the Collection with the number of child elements, so it 
+ * doesn't grow while it's filled : </p>
+ * <pre>
+ * public static HashSet&lt;String&gt; getTags(Element els) {
+ *     if(els == null) return null;
+ *     final List children = els.elements();
+ *     final HashSet&lt;String&gt; coll = 
+ *         new HashSet&lt;String&gt;(children.size() * 4 / 3 + 1);
+ *     for(Iterator it = children.iterator(); it.hasNext();) {
+ *         final Element el = (Element)it.next();
+ *         coll.add(el.getTextTrim());
+ *     }
+ *     return coll;
+ * }
+ * </pre>
+ * <p>The List of the children is only created once, since 
+ * <code>elementIterator()</code> creates it as well.  The Collections 
+ * of entities only read the children named after the entity.</p>
  * @version 0.2
  * @author Nicolas Dsy
  */
@@ -55,7 +74,6 @@ public class GetCollection extends ContextMethodWriter {
         _entryClass = entryClass;
         _collClass = collClazz;
         _methodName = methodName;
-        _entryClass = entryClass;
         _prop = prop;
     }
     
@@ -64,19 +82,35 @@ public class GetCollection extends ContextMethodWriter {
         
         handler.addImport("org.dom4j.Element");
         handler.addImport("java.util.Collection");
+        handler.addImport("java.util.Iterator");
+        handler.addImport("java.util.List");
         
-        if(g.isGeneratedClass(_entryClass)){
-            handler.addImport(g.getPackageName(clazz) + '.' +
-                    clazz.getSimpleName() + handler.getBuilderSuffix());
-        }else{
-            handler.addImport(_entryClass.getName());
+        final boolean entity = g.isGeneratedClass(_entryClass);
+        
+        if(entity){
+            handler.addImport(g.getPackageName(_entryClass) + '.' +
+                    _entryClass.getSimpleName() + handler.getBuilderSuffix());
         }
         
+        handler.addImport(_entryClass.getName());
         handler.addImport(_collClass.getName());
+        
         final String typeName =
                 Dom4jWriter.getWrapperName(_entryClass.getSimpleName());
+        final String collType = 
+                _collClass.getSimpleName() + "<" + typeName + ">";
+        final String children = entity ? 
+                "(\"" + FlexGenerator.getNodeName(_entryClass) + "\")" : 
+                "()";
+        final boolean refs = entity && g.isSharedReferences();
+        
+        // fills the Collection of the caller
         w.write("\n\n");
-        g.writeDocumentation(w, getClass(), 1, typeName);
+        if(refs){
+            g.writeDocumentation(w, getClass(), "refs", 1, typeName);
+        }else{
+            g.writeDocumentation(w, getClass(), 1, typeName);
+        }
         g.writeIndentation(w, 1);
         w.write("public static <T extends Collection<");
         w.write(typeName);
@@ -84,24 +118,84 @@ public class GetCollection extends ContextMethodWriter {
         g.writeIndentation(w, 3);
         w.write("T ");
         g.writeMethodName(w, getClass(), _methodName);       
-        w.write("(T coll, Element els)");
+        w.write("(T coll, Element els");
+        if(entity){
+            Dom4jWriter.writeReferencesParameter(w, g, handler, true);
+        }
+        w.write(")");
         g.writeCurlyBrace(w, 1);
         g.writeIndentation(w, 2);
         w.write("if(els == null) return null;\n");
+        writeLoop(w, g, handler, entity, "els.elementIterator" + children);
         g.writeIndentation(w, 2);
-        w.write("for(Object obj: els.elements())");
+        w.write("return coll;\n");
+        g.writeIndentation(w, 1);
+        w.write('}');
+        
+        // creates a Collection sized for the children
+        w.write("\n\n");
+        g.writeDocumentation(w, getClass(), refs ? "sized.refs" : "sized", 
+                1, typeName);
+        g.writeIndentation(w, 1);
+        w.write("public static ");
+        w.write(collType);
+        w.write(" ");
+        g.writeMethodName(w, getClass(), _methodName);       
+        w.write("(Element els");
+        if(entity){
+            Dom4jWriter.writeReferencesParameter(w, g, handler, true);
+        }
+        w.write(")");
+        g.writeCurlyBrace(w, 1);
+        g.writeIndentation(w, 2);
+        w.write("if(els == null) return null;\n");
+        g.writeIndentation(w, 2);
+        w.write("final List children = els.elements");
+        w.write(children);
+        w.write(";\n");
+        g.writeIndentation(w, 2);
+        w.write("final ");
+        w.write(collType);
+        w.write(" coll = \n");
+        g.writeIndentation(w, 4);
+        w.write(Dom4jWriter.getNewInstance(
+                _collClass, typeName, "children.size()"));
+        w.write(";\n");
+        writeLoop(w, g, handler, entity, "children.iterator()");
+        g.writeIndentation(w, 2);
+        w.write("return coll;\n");
+        g.writeIndentation(w, 1);
+        w.write('}');
+    }
+    
+    /**
+     * Writes the loop which adds the entries read from the children 
+     * returned by an Iterator.
+     */
+    private void writeLoop(Writer w, FlexGenerator g,
+            Dom4jBuilderHandler handler, boolean entity, String iterator) 
+            throws IOException {
+        
+        g.writeIndentation(w, 2);
+        w.write("for(Iterator it = ");
+        w.write(iterator);
+        w.write("; it.hasNext();)");
         g.writeCurlyBrace(w, 2);
         g.writeIndentation(w, 3);
-        w.write("final Element el = (Element)obj;\n");
+        w.write("final Element el = (Element)it.next();\n");
         g.writeIndentation(w, 3);
         w.write("coll.add(");
         
-        if(g.isGeneratedClass(_entryClass)){
+        if(entity){
             
             handler.writeClassName(w, _entryClass,
                     g.getClassPrefix(), g.getClassSuffix());
             w.write(handler.getBuilderSuffix());
-            w.write(".getInstance(el)");
+            w.write(".");
+            g.writeMethodName(w, GetInstance.class);
+            w.write("(el");
+            w.write(Dom4jWriter.getReferencesArgument(g));
+            w.write(")");
         }else{
             try {
                 
@@ -112,10 +206,9 @@ public class GetCollection extends ContextMethodWriter {
                 final PropertyDescriptor proxy =
                         new PropertyDescriptorProxy(_entryClass);
                 
-                for(PropertyWriter<Dom4jBuilderHandler> pw : pws){
-                    if(pw.acceptProperty(proxy, handler)){
-                        pw.writeProperty(w, g, handler, "el", proxy);
-                    }
+                for(PropertyWriter<Dom4jBuilderHandler> pw :
+                        g.getPropertyWriters(proxy, handler, pws)){
+                    pw.writeProperty(w, g, handler, "el", proxy);
                 }
                 
             } catch (IntrospectionException ex) {
@@ -129,9 +222,5 @@ public class GetCollection extends ContextMethodWriter {
         w.write(");\n");       
         g.writeIndentation(w, 2);
         w.write("}\n");
-        g.writeIndentation(w, 2);
-        w.write("return coll;\n");
-        g.writeIndentation(w, 1);
-        w.write('}');
     }
-}
\ No newline at end of file
+}
@@ -26,6 +26,7 @@ import com.liguorien.flex.generator.utils.LazyMode;
 import com.liguorien.flex.generator.writers.PropertyWriter;
 import com.liguorien.flex.generator.handlers.Dom4jBuilderHandler;
 import com.liguorien.flex.generator.writers.dom4j.BuilderMethodWriter;
+import com.liguorien.flex.generator.writers.dom4j.Dom4jWriter;
 import com.liguorien.flex.generator.writers.dom4j.properties.ArrayElement;
 import com.liguorien.flex.generator.writers.dom4j.properties.CollectionElement;
 import com.liguorien.flex.generator.writers.dom4j.properties.EntityElement;
@@ -84,13 +85,24 @@ public class GetElement extends BuilderMethodWriter {
         
         w.write("\n\n");
         g.writeDocumentation(w, getClass(), 1, className);
+        
+        if(g.isSharedReferences()){
+            final String methodName = g.getMethodName(getClass());
+            Dom4jWriter.writeReferencesEntry(w, g, handler, 
+                    "public static Element " + methodName, methodName,
+                    handler.getClassName(clazz) + " o", "o", false);
+            g.writeDocumentation(w, getClass(), "refs", 1, className);
+        }
+        
         g.writeIndentation(w, 1);
         w.write("public static Element ");
         g.writeMethodName(w, getClass());
         w.write("(");
         handler.writeClassName(w, clazz, g.getClassPrefix(),
                 g.getClassSuffix());
-        w.write(" o)");
+        w.write(" o");
+        Dom4jWriter.writeReferencesParameter(w, g, handler, false);
+        w.write(")");
         g.writeCurlyBrace(w, 1);
         g.writeIndentation(w, 2);
         w.write("if(o == null) return null;\n");
@@ -98,6 +110,32 @@ public class GetElement extends BuilderMethodWriter {
         w.write("final Element el = DocumentHelper.createElement(\"");
         w.write(FlexGenerator.getNodeName(clazz));
         w.write("\");\n");
+        
+        if(g.isSharedReferences()){
+            // an instance already written is only referenced
+            g.writeIndentation(w, 2);
+            w.write("final String ref = refs.get(o);\n");
+            g.writeIndentation(w, 2);
+            w.write("if(ref != null)");
+            g.writeCurlyBrace(w, 2);
+            g.writeIndentation(w, 3);
+            w.write("el.addAttribute(\"");
+            w.write(FlexGenerator.REF_ATTRIBUTE);
+            w.write("\", ref);\n");
+            g.writeIndentation(w, 3);
+            w.write("return el;\n");
+            g.writeIndentation(w, 2);
+            w.write("}\n");
+            g.writeIndentation(w, 2);
+            w.write("final String id = String.valueOf(refs.size());\n");
+            g.writeIndentation(w, 2);
+            w.write("refs.put(o, id);\n");
+            g.writeIndentation(w, 2);
+            w.write("el.addAttribute(\"");
+            w.write(FlexGenerator.ID_ATTRIBUTE);
+            w.write("\", id);\n");
+        }
+        
         g.writeIndentation(w, 2);
         w.write("String str = null;\n");
         g.writeIndentation(w, 2);
@@ -24,6 +24,7 @@ package com.liguorien.flex.generator.writers.dom4j.methods;
 import com.liguorien.flex.generator.FlexGenerator;
 import com.liguorien.flex.generator.handlers.Dom4jBuilderHandler;
 import com.liguorien.flex.generator.writers.dom4j.ContextMethodWriter;
+import com.liguorien.flex.generator.writers.dom4j.Dom4jWriter;
 import java.io.IOException;
 import java.io.Writer;
 
@@ -46,15 +47,27 @@ public class GetEntityArrayElement extends ContextMethodWriter {
         final String nodeName = FlexGenerator.getNodeName(clazz);
         
         w.write("\n\n");
-        g.writeDocumentation(w, getClass(), 1,
-                handler.getClassName(clazz).toString());
+        final String className = handler.getClassName(clazz).toString();
+        final String methodName = g.getMethodName(getClass());
+        
+        g.writeDocumentation(w, getClass(), 1, className);
+        
+        if(g.isSharedReferences()){
+            Dom4jWriter.writeReferencesEntry(w, g, handler, 
+                    "public static Element " + methodName, methodName, 
+                    className + "[] arr", "arr", false);
+            g.writeDocumentation(w, getClass(), "refs", 1, className);
+        }
+        
         g.writeIndentation(w, 1);
         w.write("public static Element ");
         g.writeMethodName(w, getClass());
         w.write("(");
         handler.writeClassName(w, clazz,
                 g.getClassPrefix(), g.getClassSuffix());
-        w.write("[] arr)");
+        w.write("[] arr");
+        Dom4jWriter.writeReferencesParameter(w, g, handler, false);
+        w.write(")");
         g.writeCurlyBrace(w, 1);
         g.writeIndentation(w, 2);
         w.write("if(arr == null) return null;\n");
@@ -69,7 +82,11 @@ public class GetEntityArrayElement extends ContextMethodWriter {
         w.write(" obj : arr)");
         g.writeCurlyBrace(w, 2);
         g.writeIndentation(w, 3);
-        w.write("el.add(getElement(obj));\n");
+        w.write("el.add(");
+        g.writeMethodName(w, GetElement.class);
+        w.write("(obj");
+        w.write(Dom4jWriter.getReferencesArgument(g));
+        w.write("));\n");
         
         g.writeIndentation(w, 2);
         w.write("}\n");
@@ -27,6 +27,7 @@ import com.liguorien.flex.generator.writers.MethodWriter;
 import com.liguorien.flex.generator.handlers.Dom4jBuilderHandler;
 import com.liguorien.flex.generator.writers.*;
 import com.liguorien.flex.generator.writers.dom4j.BuilderMethodWriter;
+import com.liguorien.flex.generator.writers.dom4j.Dom4jWriter;
 import java.io.IOException;
 import java.io.Writer;
 
@@ -41,6 +42,7 @@ public class GetEntityCollection extends BuilderMethodWriter {
         
         handler.addImport("org.dom4j.Element");
         handler.addImport("java.util.Collection");
+        handler.addImport("java.util.Iterator");
         
         final String className = handler.getClassName(clazz).toString();
         
@@ -59,13 +61,26 @@ public class GetEntityCollection extends BuilderMethodWriter {
         g.writeCurlyBrace(w, 1);
         g.writeIndentation(w, 2);
         w.write("if(el == null) return null;\n");
+        
+        if(g.isSharedReferences()){
+            handler.addImport("java.util.HashMap");
+            handler.addImport("java.util.Map");
+            g.writeIndentation(w, 2);
+            w.write("final Map<String, Object> refs = ");
+            w.write("new HashMap<String, Object>();\n");
+        }
+        
         g.writeIndentation(w, 2);
-        w.write("for(Object obj: el.elements(\"");
+        w.write("for(Iterator it = el.elementIterator(\"");
         w.write(FlexGenerator.getNodeName(clazz));
-        w.write("\"))");
+        w.write("\"); it.hasNext();)");
         g.writeCurlyBrace(w, 2);
         g.writeIndentation(w, 3);
-        w.write("coll.add(getInstance((Element)obj));\n");
+        w.write("coll.add(");
+        g.writeMethodName(w, GetInstance.class);
+        w.write("((Element)it.next()");
+        w.write(Dom4jWriter.getReferencesArgument(g));
+        w.write("));\n");
         g.writeIndentation(w, 2);
         w.write("}\n");
         g.writeIndentation(w, 2);
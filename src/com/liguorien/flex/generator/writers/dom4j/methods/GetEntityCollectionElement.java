@@ -24,6 +24,7 @@ package com.liguorien.flex.generator.writers.dom4j.methods;
 import com.liguorien.flex.generator.FlexGenerator;
 import com.liguorien.flex.generator.handlers.Dom4jBuilderHandler;
 import com.liguorien.flex.generator.writers.dom4j.BuilderMethodWriter;
+import com.liguorien.flex.generator.writers.dom4j.Dom4jWriter;
 import java.io.IOException;
 import java.io.Writer;
 
@@ -47,17 +48,25 @@ public class GetEntityCollectionElement extends BuilderMethodWriter {
         final String nodeName = FlexGenerator.getNodeName(clazz);
         
         w.write("\n\n");
-        g.writeDocumentation(w, getClass(), 1, 
-                handler.getClassName(clazz).toString());
+        final String className = handler.getClassName(clazz).toString();
+        final String methodName = g.getMethodName(getClass());
+        final String declaration = "public static <T extends Collection<" + 
+                className + ">> \n" + g.getIndentation(3) + 
+                "Element " + methodName;
+        
+        g.writeDocumentation(w, getClass(), 1, className);
+        
+        if(g.isSharedReferences()){
+            Dom4jWriter.writeReferencesEntry(w, g, handler, declaration,
+                    methodName, "T coll", "coll", false);
+            g.writeDocumentation(w, getClass(), "refs", 1, className);
+        }
+        
         g.writeIndentation(w, 1);
-        w.write("public static <T extends Collection<");
-        handler.writeClassName(w, clazz,
-                g.getClassPrefix(), g.getClassSuffix());
-        w.write(">> \n");
-        g.writeIndentation(w, 3);
-        w.write("Element ");
-        g.writeMethodName(w, getClass());
-        w.write("(T coll)");
+        w.write(declaration);
+        w.write("(T coll");
+        Dom4jWriter.writeReferencesParameter(w, g, handler, false);
+        w.write(")");
         g.writeCurlyBrace(w, 1);
         g.writeIndentation(w, 2);
         w.write("if(coll == null) return null;\n");
@@ -72,7 +81,11 @@ public class GetEntityCollectionElement extends BuilderMethodWriter {
         w.write(" obj : coll)");
         g.writeCurlyBrace(w, 2);
         g.writeIndentation(w, 3);    
-        w.write("el.add(getElement(obj));\n");
+        w.write("el.add(");
+        g.writeMethodName(w, GetElement.class);
+        w.write("(obj");
+        w.write(Dom4jWriter.getReferencesArgument(g));
+        w.write("));\n");
         
         g.writeIndentation(w, 2);
         w.write("}\n");
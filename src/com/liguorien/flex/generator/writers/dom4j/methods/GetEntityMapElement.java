@@ -47,15 +47,24 @@ public class GetEntityMapElement extends BuilderMethodWriter {
         
         
         w.write("\n\n");
+        final String methodName = g.getMethodName(getClass());
+        final String declaration = "public static <T extends Map<?, " + 
+                className + ">> \n" + g.getIndentation(3) + 
+                "Element " + methodName;
+        
         g.writeDocumentation(w, getClass(), 1, className);
+        
+        if(g.isSharedReferences()){
+            Dom4jWriter.writeReferencesEntry(w, g, handler, declaration,
+                    methodName, "T map", "map", false);
+            g.writeDocumentation(w, getClass(), "refs", 1, className);
+        }
+        
         g.writeIndentation(w, 1);
-        w.write("public static <T extends Map<?, ");
-        w.write(className);
-        w.write(">> \n");
-        g.writeIndentation(w, 3);
-        w.write("Element ");
-        g.writeMethodName(w, getClass());
-        w.write("(T map)");
+        w.write(declaration);
+        w.write("(T map");
+        Dom4jWriter.writeReferencesParameter(w, g, handler, false);
+        w.write(")");
         g.writeCurlyBrace(w, 1);
         g.writeIndentation(w, 2);
         w.write("if(map == null) return null;\n");
@@ -67,7 +76,11 @@ public class GetEntityMapElement extends BuilderMethodWriter {
         w.write("for(Object key : map.keySet())");
         g.writeCurlyBrace(w, 2);
         g.writeIndentation(w, 3);
-        w.write("final Element ell = getElement(map.get(key));\n");
+        w.write("final Element ell = ");
+        g.writeMethodName(w, GetElement.class);
+        w.write("(map.get(key)");
+        w.write(Dom4jWriter.getReferencesArgument(g));
+        w.write(");\n");
         g.writeIndentation(w, 3);
         w.write("ell.addAttribute(\"KEY\", String.valueOf(key.toString()));\n");
         g.writeIndentation(w, 3);
@@ -24,11 +24,37 @@ package com.liguorien.flex.generator.writers.dom4j.methods;
 import com.liguorien.flex.generator.FlexGenerator;
 import com.liguorien.flex.generator.utils.LazyMode;
 import com.liguorien.flex.generator.handlers.Dom4jBuilderHandler;
+import com.liguorien.flex.generator.utils.OutputBuffer;
 import com.liguorien.flex.generator.writers.dom4j.BuilderMethodWriter;
+import com.liguorien.flex.generator.writers.dom4j.ChildNode;
+import com.liguorien.flex.generator.writers.dom4j.Dom4jWriter;
+import java.beans.PropertyDescriptor;
 import java.io.IOException;
 import java.io.Writer;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
 
 /**
+ * <p>Generates a method which reads an entity from a dom4j element.</p>
+ * <p>By default, each property is looked up by its name.  When the 
+ * generator {@link FlexGenerator#isSinglePassReading reads in a single 
+ * pass}, the attributes and the child elements are iterated once and each
+ * node is dispatched with a switch on the hash code of its name : </p>
+ * <pre>
+ * for(Iterator it = el.elementIterator(); it.hasNext();) {
+ *     final Element child = (Element) it.next();
+ *     final String name = child.getName();
+ *     switch(name.hashCode()) {
+ *         case 96511 :
+ *             if("age".equals(name)) {
+ *                 o.setAge(Integer.valueOf(child.getText().trim()));
+ *             }
+ *             break;
+ *     }
+ * }
+ * </pre>
  * @version 0.2
  * @author Nicolas Dsy
  */
@@ -46,16 +72,39 @@ public class GetInstance extends BuilderMethodWriter  {
         final String className = handler.getClassName(clazz).toString();
         g.writeDocumentation(w, getClass(), 1, className);
         
+        if(g.isSharedReferences()){
+            final String methodName = g.getMethodName(getClass());
+            Dom4jWriter.writeReferencesEntry(w, g, handler, 
+                    "public static " + className + " " + methodName, 
+                    methodName, "Element el", "el", true);
+            g.writeDocumentation(w, getClass(), "refs", 1, className);
+        }
+        
         g.writeIndentation(w, 1);
         w.write("public static ");
         handler.writeClassName(w, clazz,
                 g.getClassPrefix(), g.getClassSuffix());
         w.write(" ");
         g.writeMethodName(w, getClass());
-        w.write("(Element el)");
+        w.write("(Element el");
+        Dom4jWriter.writeReferencesParameter(w, g, handler, true);
+        w.write(")");
         g.writeCurlyBrace(w, 1);
         g.writeIndentation(w, 2);
         w.write("if(el == null) return null;\n");
+        
+        if(g.isSharedReferences()){
+            g.writeIndentation(w, 2);
+            w.write("final String ref = el.attributeValue(\"");
+            w.write(FlexGenerator.REF_ATTRIBUTE);
+            w.write("\");\n");
+            g.writeIndentation(w, 2);
+            w.write("if(ref != null) return (");
+            handler.writeClassName(w, clazz,
+                    g.getClassPrefix(), g.getClassSuffix());
+            w.write(") refs.get(ref);\n");
+        }
+        
         g.writeIndentation(w, 2);
         w.write("final ");
         handler.writeClassName(w, clazz,
@@ -64,16 +113,174 @@ public class GetInstance extends BuilderMethodWriter  {
         handler.writeClassName(w, clazz,
                 g.getClassPrefix(), g.getClassSuffix());
         w.write("();");
-        FlexGenerator.writeProperties(w, g, handler, "o",
-                handler.getAttributes(),
-                handler.getPropertyWriters(), LazyMode.SERVER_READ);
-        FlexGenerator.writeProperties(w, g, handler, "o",
-                handler.getElements(),
-                handler.getPropertyWriters(), LazyMode.SERVER_READ);
-        w.write('\n');
+        
+        if(g.isSharedReferences()){
+            // registered before the properties are read, for the cycles
+            w.write('\n');
+            g.writeIndentation(w, 2);
+            w.write("final String id = el.attributeValue(\"");
+            w.write(FlexGenerator.ID_ATTRIBUTE);
+            w.write("\");\n");
+            g.writeIndentation(w, 2);
+            w.write("if(id != null) refs.put(id, o);");
+        }
+        
+        if(g.isSinglePassReading()){
+            w.write('\n');
+            writeDispatch(w, g, handler);
+        }else{
+            FlexGenerator.writeProperties(w, g, handler, "o",
+                    handler.getAttributes(),
+                    handler.getPropertyWriters(), LazyMode.SERVER_READ);
+            FlexGenerator.writeProperties(w, g, handler, "o",
+                    handler.getElements(),
+                    handler.getPropertyWriters(), LazyMode.SERVER_READ);
+            w.write('\n');
+        }
+        
         g.writeIndentation(w, 2);
         w.write("return o;\n");
         g.writeIndentation(w, 1);
         w.write('}');
     }
-}
\ No newline at end of file
+    
+    /**
+     * Writes the loops which dispatch the attributes and the child 
+     * elements on their name.
+     */
+    private void writeDispatch(Writer w, FlexGenerator g,
+            Dom4jBuilderHandler handler) throws IOException {
+        
+        final Map<Integer, Map<String, String>> attributes;
+        final Map<Integer, Map<String, String>> elements;
+        
+        Dom4jWriter.setContextWriter(new ChildNode());
+        try{
+            attributes = getStatements(g, handler, handler.getAttributes());
+            elements = getStatements(g, handler, handler.getElements());
+        }finally{
+            Dom4jWriter.setContextWriter(null);
+        }
+        
+        if(!attributes.isEmpty()){
+            handler.addImport("org.dom4j.Attribute");
+            writeLoop(w, g, handler, "Attribute", "attr", 
+                    "attributeIterator", attributes);
+        }
+        
+        if(!elements.isEmpty()){
+            writeLoop(w, g, handler, "Element", "child", 
+                    "elementIterator", elements);
+        }
+    }
+    
+    /**
+     * Returns the statements which read a Collection of properties, by 
+     * hash code and node name.
+     */
+    private Map<Integer, Map<String, String>> getStatements(
+            FlexGenerator g, Dom4jBuilderHandler handler, 
+            Collection<PropertyDescriptor> props) throws IOException {
+        
+        final Map<Integer, Map<String, String>> statements = 
+                new TreeMap<Integer, Map<String, String>>();
+        final OutputBuffer buffer = new OutputBuffer(256);
+        
+        for(PropertyDescriptor prop : props){
+            
+            buffer.reset();
+            FlexGenerator.writeProperty(buffer, g, handler, "o", prop,
+                    handler.getPropertyWriters(), LazyMode.SERVER_READ);
+            final String statement = buffer.toString().trim();
+            
+            if(statement.length() == 0){
+                continue;
+            }
+            
+            final String nodeName = FlexGenerator.getNodeName(prop);
+            final Integer hash = nodeName.hashCode();
+            
+            Map<String, String> names = statements.get(hash);
+            if(names == null){
+                names = new LinkedHashMap<String, String>();
+                statements.put(hash, names);
+            }
+            names.put(nodeName, statement);
+        }
+        
+        return statements;
+    }
+    
+    /**
+     * Writes a loop over the attributes or the child elements of 
+     * <code>el</code>, with a case for each hash code.
+     */
+    private void writeLoop(Writer w, FlexGenerator g, 
+            Dom4jBuilderHandler handler, String nodeClass, String varName,
+            String iterator, Map<Integer, Map<String, String>> statements)
+            throws IOException {
+        
+        handler.addImport("java.util.Iterator");
+        
+        g.writeIndentation(w, 2);
+        w.write("for(Iterator it = el.");
+        w.write(iterator);
+        w.write("(); it.hasNext();)");
+        g.writeCurlyBrace(w, 2);
+        g.writeIndentation(w, 3);
+        w.write("final ");
+        w.write(nodeClass);
+        w.write(' ');
+        w.write(varName);
+        w.write(" = (");
+        w.write(nodeClass);
+        w.write(") it.next();\n");
+        g.writeIndentation(w, 3);
+        w.write("final String name = ");
+        w.write(varName);
+        w.write(".getName();\n");
+        g.writeIndentation(w, 3);
+        w.write("switch(name.hashCode())");
+        g.writeCurlyBrace(w, 3);
+        
+        for(Map.Entry<Integer, Map<String, String>> e : 
+                statements.entrySet()){
+            
+            g.writeIndentation(w, 4);
+            w.write("case ");
+            w.write(e.getKey().toString());
+            w.write(" :\n");
+            g.writeIndentation(w, 5);
+            
+            boolean first = true;
+            
+            for(Map.Entry<String, String> statement : 
+                    e.getValue().entrySet()){
+                
+                if(first){
+                    first = false;
+                }else{
+                    w.write("else ");
+                }
+                w.write("if(\"");
+                w.write(statement.getKey());
+                w.write("\".equals(name))");
+                g.writeCurlyBrace(w, 5);
+                g.writeIndentation(w, 6);
+                w.write(statement.getValue());
+                w.write('\n');
+                g.writeIndentation(w, 5);
+                w.write('}');
+            }
+            
+            w.write('\n');
+            g.writeIndentation(w, 5);
+            w.write("break;\n");
+        }
+        
+        g.writeIndentation(w, 3);
+        w.write("}\n");
+        g.writeIndentation(w, 2);
+        w.write("}\n");
+    }
+}
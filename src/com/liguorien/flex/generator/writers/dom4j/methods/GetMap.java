@@ -22,10 +22,10 @@
 package com.liguorien.flex.generator.writers.dom4j.methods;
 
 import com.liguorien.flex.generator.FlexGenerator;
-import com.liguorien.flex.generator.FlexMap;
 import com.liguorien.flex.generator.writers.PropertyWriter;
 import com.liguorien.flex.generator.handlers.Dom4jBuilderHandler;
 import com.liguorien.flex.generator.utils.PropertyDescriptorProxy;
+import com.liguorien.flex.generator.utils.PropertyMetadata;
 import com.liguorien.flex.generator.writers.dom4j.*;
 import com.liguorien.flex.generator.writers.dom4j.MapKey;
 import com.liguorien.flex.generator.writers.dom4j.TextElement;
@@ -36,38 +36,70 @@ import java.io.Writer;
 import java.util.List;
 
 /**
- *
+ * <p>Generates a method which builds the Map of a property from the 
+ * children of a dom4j element.  The key of each entry is read from its 
+ * <code>KEY</code> attribute.</p>
+ * <p>Like {@link GetCollection}, a method fills a Map created by the 
+ * caller and another one creates the Map with the number of child 
+ * elements.</p>
  * @version 0.2
  * @author Nicolas Dsy
  */
 public class GetMap extends ContextMethodWriter  {
 
-    private FlexMap _map;
+    private Class<?> _keyClass;
+    private Class<?> _entryClass;
     private PropertyDescriptor _prop;
     
-    public GetMap(FlexMap map, String methodName,  PropertyDescriptor prop){
+    public GetMap(Class<?> keyClass, Class<?> entryClass, String methodName,
+            PropertyDescriptor prop){
         super(methodName);    
-        _map = map;
+        _keyClass = keyClass;
+        _entryClass = entryClass;
         _prop = prop;
     }
     
     public void writeMethod(Writer w, FlexGenerator g,
             Dom4jBuilderHandler handler, Class<?> clazz) throws IOException {
         
+        final Class<?> mapClass = 
+                PropertyMetadata.get(_prop).getCollectionClass();
+        
         handler.addImport("org.dom4j.Element");
+        handler.addImport("java.util.Iterator");
+        handler.addImport("java.util.List");
         handler.addImport("java.util.Map");
-        handler.addImport(_map.key().getName());
-        handler.addImport(_map.entry().getName());
+        handler.addImport(mapClass.getName());
+        handler.addImport(_keyClass.getName());
+        handler.addImport(_entryClass.getName());
+        
+        final boolean entity = g.isGeneratedClass(_entryClass);
+        
+        if(entity){
+            handler.addImport(g.getPackageName(_entryClass) + '.' +
+                    _entryClass.getSimpleName() + handler.getBuilderSuffix());
+        }
         
         final String keyClassName = 
-                Dom4jWriter.getWrapperName(_map.key().getSimpleName()); 
+                Dom4jWriter.getWrapperName(_keyClass.getSimpleName()); 
         
         final String entryClassName = 
-                Dom4jWriter.getWrapperName(_map.entry().getSimpleName()); 
+                Dom4jWriter.getWrapperName(_entryClass.getSimpleName()); 
+        
+        final String mapType = mapClass.getSimpleName() + "<" + 
+                keyClassName + ", " + entryClassName + ">";
         
+        final boolean refs = entity && g.isSharedReferences();
+        
+        // fills the Map of the caller
         w.write("\n\n");
-        g.writeDocumentation(w, getClass(), 1, 
-                entryClassName, keyClassName, getTypeName());
+        if(refs){
+            g.writeDocumentation(w, getClass(), "refs", 1, 
+                    entryClassName, keyClassName, getTypeName());
+        }else{
+            g.writeDocumentation(w, getClass(), 1, 
+                    entryClassName, keyClassName, getTypeName());
+        }
         g.writeIndentation(w, 1);
         w.write("public static <T extends Map<");
         w.write(keyClassName);
@@ -77,31 +109,84 @@ public class GetMap extends ContextMethodWriter  {
         g.writeIndentation(w, 3);
         w.write("T ");
         g.writeMethodName(w, getClass(), getTypeName());       
-        w.write("(T map, Element els)");
+        w.write("(T map, Element els");
+        if(entity){
+            Dom4jWriter.writeReferencesParameter(w, g, handler, true);
+        }
+        w.write(")");
         g.writeCurlyBrace(w, 1);
         g.writeIndentation(w, 2);
         w.write("if(els == null) return null;\n");
+        writeLoop(w, g, handler, entity, "els.elementIterator()");
         g.writeIndentation(w, 2);
-        w.write("for(Object obj: els.elements())");
+        w.write("return map;\n");
+        g.writeIndentation(w, 1);
+        w.write('}');
+        
+        // creates a Map sized for the children
+        w.write("\n\n");
+        g.writeDocumentation(w, getClass(), refs ? "sized.refs" : "sized", 1, 
+                entryClassName, keyClassName, getTypeName());
+        g.writeIndentation(w, 1);
+        w.write("public static ");
+        w.write(mapType);
+        w.write(" ");
+        g.writeMethodName(w, getClass(), getTypeName());       
+        w.write("(Element els");
+        if(entity){
+            Dom4jWriter.writeReferencesParameter(w, g, handler, true);
+        }
+        w.write(")");
+        g.writeCurlyBrace(w, 1);
+        g.writeIndentation(w, 2);
+        w.write("if(els == null) return null;\n");
+        g.writeIndentation(w, 2);
+        w.write("final List children = els.elements();\n");
+        g.writeIndentation(w, 2);
+        w.write("final ");
+        w.write(mapType);
+        w.write(" map = \n");
+        g.writeIndentation(w, 4);
+        w.write(Dom4jWriter.getNewInstance(mapClass, 
+                keyClassName + ", " + entryClassName, "children.size()"));
+        w.write(";\n");
+        writeLoop(w, g, handler, entity, "children.iterator()");
+        g.writeIndentation(w, 2);
+        w.write("return map;\n");
+        g.writeIndentation(w, 1);
+        w.write('}');
+    }
+    
+    /**
+     * Writes the loop which puts the entries read from the children 
+     * returned by an Iterator.
+     */
+    private void writeLoop(Writer w, FlexGenerator g,
+            Dom4jBuilderHandler handler, boolean entity, String iterator) 
+            throws IOException {
+        
+        g.writeIndentation(w, 2);
+        w.write("for(Iterator it = ");
+        w.write(iterator);
+        w.write("; it.hasNext();)");
         g.writeCurlyBrace(w, 2);
         g.writeIndentation(w, 3);
-        w.write("final Element el = (Element)obj;\n");
+        w.write("final Element el = (Element)it.next();\n");
         g.writeIndentation(w, 3);
         w.write("map.put(");
         
-        Dom4jWriter.setContextWriter(new MapKey(_map));
+        Dom4jWriter.setContextWriter(new MapKey());
         
         final List<PropertyWriter<Dom4jBuilderHandler>> pws =
                 handler.getPropertyWriters();
         try {
             
             final PropertyDescriptor proxy =
-                    new PropertyDescriptorProxy(_map.key());
+                    new PropertyDescriptorProxy(_keyClass);
             
-            for(PropertyWriter<Dom4jBuilderHandler> pw : pws){
-                if(pw.acceptProperty(proxy, handler)){
-                    pw.writeProperty(w, g, handler, "el", proxy);
-                }
+            for(PropertyWriter<Dom4jBuilderHandler> pw :
+                    g.getPropertyWriters(proxy, handler, pws)){
+                pw.writeProperty(w, g, handler, "el", proxy);
             }
             
         } catch (IntrospectionException ex) {
@@ -112,23 +197,26 @@ public class GetMap extends ContextMethodWriter  {
         
         w.write(", ");
         
-        if(g.isGeneratedClass(_map.entry())){
+        if(entity){
            w.write('\n');
            g.writeIndentation(w, 5);
-            handler.writeClassName(w, _map.entry(),
+            handler.writeClassName(w, _entryClass,
                     g.getClassPrefix(), g.getClassSuffix());
             w.write(handler.getBuilderSuffix());
-            w.write(".getInstance(el)");
+            w.write(".");
+            g.writeMethodName(w, GetInstance.class);
+            w.write("(el");
+            w.write(Dom4jWriter.getReferencesArgument(g));
+            w.write(")");
         }else{
             try {
                 Dom4jWriter.setContextWriter(new TextElement());
                 final PropertyDescriptor proxy =
-                        new PropertyDescriptorProxy(_map.entry());
+                        new PropertyDescriptorProxy(_entryClass);
                 
-                for(PropertyWriter<Dom4jBuilderHandler> pw : pws){
-                    if(pw.acceptProperty(proxy, handler)){
-                        pw.writeProperty(w, g, handler, "el", proxy);
-                    }
+                for(PropertyWriter<Dom4jBuilderHandler> pw :
+                        g.getPropertyWriters(proxy, handler, pws)){
+                    pw.writeProperty(w, g, handler, "el", proxy);
                 }
                 
             } catch (IntrospectionException ex) {
@@ -142,9 +230,5 @@ public class GetMap extends ContextMethodWriter  {
         w.write(");\n");        
         g.writeIndentation(w, 2);
         w.write("}\n");
-        g.writeIndentation(w, 2);
-        w.write("return map;\n");
-        g.writeIndentation(w, 1);
-        w.write('}');
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,81 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.generator.writers.dom4j.methods;
+
+import com.liguorien.flex.generator.FlexGenerator;
+import com.liguorien.flex.generator.handlers.Dom4jBuilderHandler;
+import com.liguorien.flex.generator.writers.dom4j.BuilderMethodWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * <p>Generates a method which tells if a child element has a 
+ * <code>nil</code> attribute set to true.  It's used by 
+ * {@link ApplyDelta} and only written when the generator 
+ * {@link FlexGenerator#isDirtyTracking tracks the modifications}.</p>
+ * <pre>
+ * public static boolean isNil(Element el, String name) {
+ *     final Element child = el.element(name);
+ *     return child != null &amp;&amp; "true".equals(child.attributeValue("nil"));
+ * }
+ * </pre>
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+public class IsNil extends BuilderMethodWriter {
+    
+    /**
+     * The method is written after the others.
+     * @return -1
+     */
+    public int getPriority() {
+        return -1;
+    }
+    
+    /**
+     * @inheritDoc
+     */
+    public void writeMethod(Writer w, FlexGenerator g,
+            Dom4jBuilderHandler handler, Class<?> clazz) throws IOException {
+        
+        if(!g.isDirtyTracking()){
+            return;
+        }
+        
+        handler.addImport("org.dom4j.Element");
+        
+        w.write("\n\n");
+        g.writeDocumentation(w, getClass(), 1);
+        g.writeIndentation(w, 1);
+        w.write("public static boolean ");
+        g.writeMethodName(w, getClass());
+        w.write("(Element el, String name)");
+        g.writeCurlyBrace(w, 1);
+        g.writeIndentation(w, 2);
+        w.write("final Element child = el.element(name);\n");
+        g.writeIndentation(w, 2);
+        w.write("return child != null && "
+                + "\"true\".equals(child.attributeValue(\"nil\"));\n");
+        g.writeIndentation(w, 1);
+        w.write('}');
+    }
+}
@@ -0,0 +1,121 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.generator.writers.dom4j.methods;
+
+import com.liguorien.flex.generator.FlexGenerator;
+import com.liguorien.flex.generator.handlers.Dom4jBuilderHandler;
+import com.liguorien.flex.generator.writers.dom4j.BuilderMethodWriter;
+import com.liguorien.flex.generator.writers.dom4j.Dom4jWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * <p>Generates a method which writes the entities returned by an Iterator
+ * to a dom4j XMLWriter, in an element with the given name.  The element 
+ * of each entity is built, written and released before the next one, so 
+ * a cursor over a large result can be written without loading it in 
+ * memory.</p>
+ * <p>The generated code looks like this : </p>
+ * <pre>
+ * public static void writeAll(XMLWriter out, String name, 
+ *         Iterator&lt;? extends Person&gt; it) throws IOException {
+ *     final Element root = DocumentHelper.createElement(name);
+ *     out.writeOpen(root);
+ *     while(it.hasNext()) {
+ *         final Element el = getElement(it.next());
+ *         if(el != null) out.write(el);
+ *     }
+ *     out.writeClose(root);
+ * }
+ * </pre>
+ * <p>When the generator writes the 
+ * {@link FlexGenerator#setSharedReferences shared references}, each 
+ * entity gets its own table of references : an element which was 
+ * already flushed can't be the target of a reference, and the memory 
+ * used doesn't grow with the number of entities.</p>
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+public class WriteAll extends BuilderMethodWriter {
+    
+    /**
+     * @inheritDoc
+     */
+    public void writeMethod(Writer w, FlexGenerator g,
+            Dom4jBuilderHandler handler, Class<?> clazz) throws IOException {
+        
+        handler.addImport("org.dom4j.DocumentHelper");
+        handler.addImport("org.dom4j.Element");
+        handler.addImport("org.dom4j.io.XMLWriter");
+        handler.addImport("java.io.IOException");
+        handler.addImport("java.util.Iterator");
+        
+        w.write("\n\n");
+        final String className = handler.getClassName(clazz).toString();
+        if(g.isSharedReferences()){
+            g.writeDocumentation(w, getClass(), "refs", 1, className);
+        }else{
+            g.writeDocumentation(w, getClass(), 1, className);
+        }
+        g.writeIndentation(w, 1);
+        w.write("public static void ");
+        g.writeMethodName(w, getClass());
+        w.write("(XMLWriter out, String name, \n");
+        g.writeIndentation(w, 3);
+        w.write("Iterator<? extends ");
+        handler.writeClassName(w, clazz,
+                g.getClassPrefix(), g.getClassSuffix());
+        w.write("> it) throws IOException");
+        g.writeCurlyBrace(w, 1);
+        g.writeIndentation(w, 2);
+        w.write("final Element root = DocumentHelper.createElement(name);\n");
+        g.writeIndentation(w, 2);
+        w.write("out.writeOpen(root);\n");
+        g.writeIndentation(w, 2);
+        w.write("while(it.hasNext())");
+        g.writeCurlyBrace(w, 2);
+        
+        if(g.isSharedReferences()){
+            handler.addImport("java.util.IdentityHashMap");
+            handler.addImport("java.util.Map");
+            g.writeIndentation(w, 3);
+            w.write("final Map<Object, String> refs = \n");
+            g.writeIndentation(w, 5);
+            w.write("new IdentityHashMap<Object, String>();\n");
+        }
+        
+        g.writeIndentation(w, 3);
+        w.write("final Element el = ");
+        g.writeMethodName(w, GetElement.class);
+        w.write("(it.next()");
+        w.write(Dom4jWriter.getReferencesArgument(g));
+        w.write(");\n");
+        g.writeIndentation(w, 3);
+        w.write("if(el != null) out.write(el);\n");
+        g.writeIndentation(w, 2);
+        w.write("}\n");
+        g.writeIndentation(w, 2);
+        w.write("out.writeClose(root);\n");
+        g.writeIndentation(w, 1);
+        w.write('}');
+    }
+}
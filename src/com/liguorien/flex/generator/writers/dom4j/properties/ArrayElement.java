@@ -29,6 +29,7 @@ import com.liguorien.flex.generator.writers.dom4j.methods.GetPrimitiveArrayEleme
 
 
 
+import com.liguorien.flex.generator.writers.dom4j.Dom4jWriter;
 import java.beans.PropertyDescriptor;
 import java.io.IOException;
 import java.io.Writer;
@@ -90,7 +91,9 @@ public class ArrayElement implements PropertyWriter<Dom4jBuilderHandler> {
             w.write("(o.");
             
             w.write(getter.getName());
-            w.write("());\n");
+            w.write("()");
+            w.write(Dom4jWriter.getReferencesArgument(g));
+            w.write(");\n");
         }else{
             
            // if(entryClass.isPrimitive()){
@@ -86,7 +86,9 @@ public class ArrayProperty
             Dom4jWriter.getContextWriter().writeProperty(w, g, varName, prop,
                     g.getMethodName(GetArray.class,
                     GetArray.capitalize(entryClass.getSimpleName()),
-                    getter.getName()) + "(", ")", NodeType.ELEMENT);
+                    getter.getName()) + "(", 
+                    Dom4jWriter.getReferencesArgument(g) + ")", 
+                    NodeType.ELEMENT);
         }else{
             
             
@@ -29,13 +29,30 @@ import com.liguorien.flex.generator.writers.dom4j.*;
 import java.beans.PropertyDescriptor;
 import java.io.IOException;
 import java.io.Writer;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  *
  * @version 0.2
  * @author Nicolas Dsy
  */
-public class BasicProperty implements PropertyWriter<Dom4jBuilderHandler> {
+public class BasicProperty 
+        implements TypedPropertyWriter<Dom4jBuilderHandler> {
+    
+    private static final Map<String, Class<?>> _primitives =
+            new HashMap<String, Class<?>>();
+    
+    static {
+        _primitives.put("boolean", boolean.class);
+        _primitives.put("byte", byte.class);
+        _primitives.put("char", char.class);
+        _primitives.put("short", short.class);
+        _primitives.put("int", int.class);
+        _primitives.put("long", long.class);
+        _primitives.put("float", float.class);
+        _primitives.put("double", double.class);
+    }
     
     private String _typeName;
     private String _prefix;
@@ -65,6 +82,36 @@ public class BasicProperty implements PropertyWriter<Dom4jBuilderHandler> {
         return _typeName.equals(prop.getPropertyType().getSimpleName());
     }
     
+    /**
+     * <p>Returns the primitive type or the java.lang class which has the 
+     * type name of this writer.</p>
+     * @inheritDoc
+     */
+    public Class<?>[] getAcceptedTypes() {
+        final Class<?> type = getType(_typeName);
+        return (type == null) ? null : new Class<?>[]{type};
+    }
+    
+    /**
+     * Returns the primitive type or the java.lang class of a given name.
+     * @param typeName A simple class name (ie. int, Integer, String)
+     * @return The class or null if the name is unknown.
+     */
+    public static Class<?> getType(String typeName) {
+        
+        final Class<?> type = _primitives.get(typeName);
+        
+        if(type != null){
+            return type;
+        }
+        
+        try {
+            return Class.forName("java.lang." + typeName);
+        } catch (ClassNotFoundException ex) {
+            return null;
+        }
+    }
+    
     /**
      *
      * @param w
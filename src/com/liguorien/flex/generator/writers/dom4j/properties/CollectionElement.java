@@ -26,8 +26,10 @@ import com.liguorien.flex.generator.FlexList;
 import com.liguorien.flex.generator.writers.PropertyWriter;
 import com.liguorien.flex.generator.FlexSet;
 import com.liguorien.flex.generator.handlers.Dom4jBuilderHandler;
+import com.liguorien.flex.generator.utils.PropertyMetadata;
 import com.liguorien.flex.generator.writers.dom4j.methods.GetCollectionElement;
 import com.liguorien.flex.generator.writers.dom4j.methods.GetEntityCollectionElement;
+import com.liguorien.flex.generator.writers.dom4j.Dom4jWriter;
 import java.beans.PropertyDescriptor;
 import java.io.IOException;
 import java.io.Writer;
@@ -58,8 +60,7 @@ public class CollectionElement
             PropertyDescriptor prop, Dom4jBuilderHandler handler) {
         
         return Collection.class.isAssignableFrom(prop.getPropertyType()) &&
-                (prop.getReadMethod().isAnnotationPresent(FlexList.class) ||
-                prop.getReadMethod().isAnnotationPresent(FlexSet.class));
+                PropertyMetadata.get(prop).isCollection();
     }
     
     public void writeProperty(
@@ -68,19 +69,14 @@ public class CollectionElement
         
         final Class<?> type = prop.getPropertyType();
         final Method getter = prop.getReadMethod();
-        Class<?> entryClass = null;
-        
-        if(getter.isAnnotationPresent(FlexList.class)){
-            entryClass = getter.getAnnotation(FlexList.class).value();
-        }else if(getter.isAnnotationPresent(FlexSet.class)){
-            entryClass = getter.getAnnotation(FlexSet.class).value();
-        }
+        final Class<?> entryClass = PropertyMetadata.get(prop).getEntryClass();
+        final boolean entity = g.isGeneratedClass(entryClass);
         
         w.write('\n');
         g.writeIndentation(w, 2);
         w.write("nested = ");
         
-        if(g.isGeneratedClass(entryClass)){
+        if(entity){
             handler.writeClassName(w, entryClass, g.getClassPrefix(),
                     g.getClassSuffix());
             w.write(handler.getBuilderSuffix());
@@ -94,7 +90,11 @@ public class CollectionElement
         }
         
         w.write(getter.getName());
-        w.write("());\n");
+        w.write("()");
+        if(entity){
+            w.write(Dom4jWriter.getReferencesArgument(g));
+        }
+        w.write(");\n");
         g.writeIndentation(w, 2);
         w.write("if(nested != null)");
         g.writeCurlyBrace(w, 2);
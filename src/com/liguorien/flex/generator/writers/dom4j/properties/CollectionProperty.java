@@ -22,11 +22,10 @@
 package com.liguorien.flex.generator.writers.dom4j.properties;
 
 import com.liguorien.flex.generator.FlexGenerator;
-import com.liguorien.flex.generator.FlexList;
 import com.liguorien.flex.generator.utils.NodeType;
 import com.liguorien.flex.generator.writers.PropertyWriter;
-import com.liguorien.flex.generator.FlexSet;
 import com.liguorien.flex.generator.handlers.Dom4jBuilderHandler;
+import com.liguorien.flex.generator.utils.PropertyMetadata;
 import com.liguorien.flex.generator.writers.dom4j.*;
 import com.liguorien.flex.generator.writers.dom4j.methods.GetCollection;
 import java.beans.PropertyDescriptor;
@@ -52,8 +51,7 @@ public class CollectionProperty
     public boolean acceptProperty(
             PropertyDescriptor prop, Dom4jBuilderHandler handler) {
         return Collection.class.isAssignableFrom(prop.getPropertyType()) &&
-                (prop.getReadMethod().isAnnotationPresent(FlexList.class) ||
-                prop.getReadMethod().isAnnotationPresent(FlexSet.class));
+                PropertyMetadata.get(prop).isCollection();
     }
     
     public void writeProperty(Writer w, FlexGenerator g,
@@ -64,18 +62,11 @@ public class CollectionProperty
         final Class<?> type = prop.getPropertyType();
         final Method getter = prop.getReadMethod();
         
-        Class<?> entryClass = null;
-        Class<?> collClass = null;
+        final PropertyMetadata meta = PropertyMetadata.get(prop);
+        final Class<?> entryClass = meta.getEntryClass();
+        final Class<?> collClass = meta.getCollectionClass();
         
-        if(getter.isAnnotationPresent(FlexList.class)){
-            entryClass = getter.getAnnotation(FlexList.class).value();
-            collClass = getter.getAnnotation(FlexList.class).clazz();
-        }else if(getter.isAnnotationPresent(FlexSet.class)){
-            entryClass = getter.getAnnotation(FlexSet.class).value();
-            collClass = getter.getAnnotation(FlexSet.class).clazz();
-        }
-        
-        if(entryClass == null){
+        if(!meta.isCollection()){
             return ;
         }
         
@@ -83,32 +74,20 @@ public class CollectionProperty
         handler.addImport(collClass.getName());
         
         if (g.isGeneratedClass(entryClass)){
-            
             handler.addImport(
                     g.getPackageName(entryClass) + '.' +
                     entryClass.getSimpleName() + handler.getBuilderSuffix());
-            
-            Dom4jWriter.getContextWriter().writeProperty(w, g, varName, prop,
-                    entryClass.getSimpleName() +
-                    handler.getBuilderSuffix() +
-                    ".getEntityCollection(\n" + g.getIndentation(4) +
-                    "new " + collClass.getSimpleName()
-                    + "<" +
-                    Dom4jWriter.getWrapperName(entryClass.getSimpleName()
-                    ) + ">(), ", ")", NodeType.ELEMENT);
-        }else{
-            handler.addContextMethodWriter(
-                    new GetCollection(
-                    entryClass, collClass, getter.getName(), prop));
-            Dom4jWriter.getContextWriter().writeProperty(w, g, varName, prop,
-                    getter.getName() + "(\n" + g.getIndentation(4) +
-                    "new " + collClass.getSimpleName()
-                    + "<" +
-                    Dom4jWriter.getWrapperName(entryClass.getSimpleName()
-                    ) + ">(), ", ")", NodeType.ELEMENT);
-            
-            //Dom4jWriter.setContextWriter(null);
         }
+        
+        handler.addContextMethodWriter(
+                new GetCollection(
+                entryClass, collClass, getter.getName(), prop));
+        final String refs = g.isGeneratedClass(entryClass) ?
+                Dom4jWriter.getReferencesArgument(g) : "";
+        
+        Dom4jWriter.getContextWriter().writeProperty(w, g, varName, prop,
+                g.getMethodName(GetCollection.class, getter.getName()) + 
+                "(", refs + ")", NodeType.ELEMENT);
     }
     
     
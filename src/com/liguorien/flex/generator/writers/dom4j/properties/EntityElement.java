@@ -24,6 +24,7 @@ package com.liguorien.flex.generator.writers.dom4j.properties;
 import com.liguorien.flex.generator.FlexGenerator;
 import com.liguorien.flex.generator.writers.PropertyWriter;
 import com.liguorien.flex.generator.handlers.Dom4jBuilderHandler;
+import com.liguorien.flex.generator.writers.dom4j.Dom4jWriter;
 import java.beans.PropertyDescriptor;
 import java.io.IOException;
 import java.io.Writer;
@@ -65,7 +66,9 @@ public class EntityElement
         w.write(handler.getBuilderSuffix());
         w.write(".getElement(o.");
         w.write(getter.getName());
-        w.write("());\n");
+        w.write("()");
+        w.write(Dom4jWriter.getReferencesArgument(g));
+        w.write(");\n");
         g.writeIndentation(w, 2);
         w.write("if(nested != null)");
         g.writeCurlyBrace(w, 2);
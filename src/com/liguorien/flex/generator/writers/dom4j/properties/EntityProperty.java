@@ -50,7 +50,7 @@ public class EntityProperty
     
     public boolean acceptProperty(
             PropertyDescriptor prop, Dom4jBuilderHandler handler) {
-        return Dom4jWriter.getContextWriter() == Dom4jWriter.WRITER &&
+        return Dom4jWriter.isEntityContext() &&
                 handler.getGenerator().isGeneratedClass(prop.getPropertyType());
     }
     
@@ -67,7 +67,8 @@ public class EntityProperty
         Dom4jWriter.getContextWriter().writeProperty(w, g, varName, prop,
                 entryClass.getSimpleName() +
                 handler.getBuilderSuffix() +
-                ".getInstance(", ")", NodeType.ELEMENT);
+                ".getInstance(", Dom4jWriter.getReferencesArgument(g) + ")",
+                NodeType.ELEMENT);
     }
     
 }
\ No newline at end of file
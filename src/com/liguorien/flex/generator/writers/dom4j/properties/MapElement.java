@@ -22,11 +22,12 @@
 package com.liguorien.flex.generator.writers.dom4j.properties;
 
 import com.liguorien.flex.generator.FlexGenerator;
-import com.liguorien.flex.generator.FlexMap;
 import com.liguorien.flex.generator.writers.PropertyWriter;
 import com.liguorien.flex.generator.handlers.Dom4jBuilderHandler;
+import com.liguorien.flex.generator.utils.PropertyMetadata;
 import com.liguorien.flex.generator.writers.dom4j.methods.GetEntityMapElement;
 import com.liguorien.flex.generator.writers.dom4j.methods.GetMapElement;
+import com.liguorien.flex.generator.writers.dom4j.Dom4jWriter;
 import java.beans.PropertyDescriptor;
 import java.io.IOException;
 import java.io.Writer;
@@ -49,7 +50,7 @@ public class MapElement
             PropertyDescriptor prop, Dom4jBuilderHandler handler) {
         
         return Map.class.isAssignableFrom(prop.getPropertyType()) &&
-                prop.getReadMethod().isAnnotationPresent(FlexMap.class);
+                PropertyMetadata.get(prop).isMap();
     }
     
     public void writeProperty(
@@ -60,7 +61,8 @@ public class MapElement
         
         final Class<?> type = prop.getPropertyType();
         final Method getter = prop.getReadMethod();
-        final FlexMap map = getter.getAnnotation(FlexMap.class);
+        final Class<?> entryClass = PropertyMetadata.get(prop).getEntryClass();
+        final boolean entity = g.isGeneratedClass(entryClass);
         
         
         
@@ -68,15 +70,15 @@ public class MapElement
         g.writeIndentation(w, 2);
         w.write("nested = ");
         
-        if(g.isGeneratedClass(map.entry())){
+        if(entity){
             
             //handler.addContextMethodWriter(new GetEntityMapElement());
             
             handler.addImport(
-                    g.getPackageName(map.entry()) + '.' +
-                    map.entry().getSimpleName() + handler.getBuilderSuffix());
+                    g.getPackageName(entryClass) + '.' +
+                    entryClass.getSimpleName() + handler.getBuilderSuffix());
             
-            handler.writeClassName(w, map.entry(), g.getClassPrefix(),
+            handler.writeClassName(w, entryClass, g.getClassPrefix(),
                     g.getClassSuffix());
             w.write(handler.getBuilderSuffix());
             w.write(".\n");
@@ -88,7 +90,11 @@ public class MapElement
         }
         
         w.write(getter.getName());
-        w.write("());\n");
+        w.write("()");
+        if(entity){
+            w.write(Dom4jWriter.getReferencesArgument(g));
+        }
+        w.write(");\n");
         g.writeIndentation(w, 2);
         w.write("if(nested != null)");
         g.writeCurlyBrace(w, 2);
@@ -22,8 +22,8 @@
 package com.liguorien.flex.generator.writers.dom4j.properties;
 
 import com.liguorien.flex.generator.FlexGenerator;
-import com.liguorien.flex.generator.FlexMap;
 import com.liguorien.flex.generator.utils.NodeType;
+import com.liguorien.flex.generator.utils.PropertyMetadata;
 import com.liguorien.flex.generator.writers.PropertyWriter;
 import com.liguorien.flex.generator.handlers.Dom4jBuilderHandler;
 import com.liguorien.flex.generator.writers.dom4j.*;
@@ -50,9 +50,9 @@ public class MapProperty
     
     public boolean acceptProperty(
                 PropertyDescriptor prop, Dom4jBuilderHandler handler) {
-        return Dom4jWriter.getContextWriter() == Dom4jWriter.WRITER &&
+        return Dom4jWriter.isEntityContext() &&
                 Map.class.isAssignableFrom(prop.getPropertyType()) &&
-                prop.getReadMethod().isAnnotationPresent(FlexMap.class);
+                PropertyMetadata.get(prop).isMap();
     }
     
     public void writeProperty(Writer w, FlexGenerator g,
@@ -61,31 +61,27 @@ public class MapProperty
             throws IOException {
         
         final Method getter = prop.getReadMethod();
+        final PropertyMetadata meta = PropertyMetadata.get(prop);
         
-        if (getter.isAnnotationPresent(FlexMap.class)){
+        if (meta.isMap()){
             
-            final FlexMap map =
-                    getter.getAnnotation(FlexMap.class);
+            final Class<?> keyClass = meta.getKeyClass();
+            final Class<?> entryClass = meta.getEntryClass();
+            final Class<?> mapClass = meta.getCollectionClass();
             
-            handler.addContextMethodWriter(
-                    new GetMap(map, getter.getName(), prop));
+            handler.addContextMethodWriter(new GetMap(
+                    keyClass, entryClass, getter.getName(), prop));
             
-            handler.addImport(map.key().getName());
-            handler.addImport(map.entry().getName());
-            handler.addImport(map.clazz().getName());
+            handler.addImport(keyClass.getName());
+            handler.addImport(entryClass.getName());
+            handler.addImport(mapClass.getName());
             
-            final String keyClassName = 
-                    Dom4jWriter.getWrapperName(map.key().getSimpleName());
-            
-            final String entryClassName = 
-                    Dom4jWriter.getWrapperName(map.entry().getSimpleName());
+            final String refs = g.isGeneratedClass(entryClass) ?
+                    Dom4jWriter.getReferencesArgument(g) : "";
             
             Dom4jWriter.getContextWriter().writeProperty(w, g, varName, prop,
-                    g.getMethodName(GetMap.class, getter.getName()) +
-                    "(\n" + g.getIndentation(4) + "new " +
-                    map.clazz().getSimpleName() + "<" +
-                    keyClassName + ", " + entryClassName + ">(), ", ")",
-                    NodeType.ELEMENT);
+                    g.getMethodName(GetMap.class, getter.getName()) + "(", 
+                    refs + ")", NodeType.ELEMENT);
             
         }
     }
@@ -0,0 +1,152 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.generator.writers.json;
+
+import com.liguorien.flex.generator.FlexGenerator;
+import com.liguorien.flex.generator.utils.NodeType;
+import com.liguorien.flex.generator.writers.ClassWriter;
+import com.liguorien.flex.generator.writers.dom4j.Dom4jWriter;
+import com.liguorien.flex.generator.writers.json.methods.ReadNull;
+import java.beans.PropertyDescriptor;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.reflect.Method;
+
+/**
+ * <p>Generates java code which reads the properties of an entity from a
+ * JSON object.  Each property is read by a block which is executed when
+ * its name is read from the object :</p>
+ * <pre>
+ * if("age".equals(name)) {
+ *     o.setAge(Integer.parseInt(readLiteral(in)));
+ *     continue;
+ * }
+ * </pre>
+ * <p>The package and class declarations are the same as the dom4j
+ * builders.</p>
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+public class JsonWriter extends Dom4jWriter {
+    
+    public final static ClassWriter WRITER = new JsonWriter();
+    
+    private final static ThreadLocal<ClassWriter> _contextWriter =
+            new ThreadLocal<ClassWriter>();
+    
+    /**
+     * Returns the ClassWriter used by the JSON writers of the current Thread.
+     * @return The current ClassWriter or {@link #WRITER} if none is set.
+     */
+    public static ClassWriter getContextWriter(){
+        final ClassWriter cw = _contextWriter.get();
+        return (cw == null) ? WRITER : cw;
+    }
+    
+    /**
+     * Sets the ClassWriter used by the JSON writers of the current Thread.
+     * @param w A ClassWriter or null to restore {@link #WRITER}.
+     */
+    public static void setContextWriter(ClassWriter w){
+        if(w == null){
+            _contextWriter.remove();
+        }else{
+            _contextWriter.set(w);
+        }
+    }
+    
+    /**
+     * @inheritDoc
+     */
+    public void writeProperty(Writer w, FlexGenerator g, String varName,
+            PropertyDescriptor prop, String prefix, String suffix,
+            NodeType type)
+            throws IOException {
+        writeProperty(w, g, varName, prop, prefix, suffix, false);
+    }
+    
+    /**
+     * <p>Writes the block which reads a property of primitive type.  A 
+     * null value, like an unset Number written by the ActionScript 
+     * <code>JSON.stringify</code>, is skipped, so the property keeps its 
+     * default value :</p>
+     * <pre>
+     * if("age".equals(name)) {
+     *     if(!readNull(in)) o.setAge(Integer.parseInt(readLiteral(in)));
+     *     continue;
+     * }
+     * </pre>
+     * @param w A Writer
+     * @param g The generator
+     * @param varName The name of the entity variable
+     * @param prop The property
+     * @param value The expression which reads the value
+     * @throws java.io.IOException If an IO error occurs.
+     */
+    public void writePrimitiveProperty(Writer w, FlexGenerator g, 
+            String varName, PropertyDescriptor prop, String value)
+            throws IOException {
+        writeProperty(w, g, varName, prop, value, null, true);
+    }
+    
+    private void writeProperty(Writer w, FlexGenerator g, String varName,
+            PropertyDescriptor prop, String prefix, String suffix,
+            boolean skipNull)
+            throws IOException {
+        
+        final Method setter = prop.getWriteMethod();
+        if(setter == null){
+            return;
+        }
+        
+        w.write("\n");
+        g.writeIndentation(w, 3);
+        w.write("if(\"");
+        w.write(prop.getName());
+        w.write("\".equals(name))");
+        g.writeCurlyBrace(w, 3);
+        g.writeIndentation(w, 4);
+        if(skipNull){
+            w.write("if(!");
+            g.writeMethodName(w, ReadNull.class);
+            w.write("(in)) ");
+        }
+        w.write(varName);
+        w.write(".");
+        w.write(setter.getName());
+        w.write("(");
+        
+        if(prefix != null){
+            w.write(prefix);
+        }
+        
+        if(suffix != null){
+            w.write(suffix);
+        }
+        
+        w.write(");\n");
+        g.writeIndentation(w, 4);
+        w.write("continue;\n");
+        g.writeIndentation(w, 3);
+        w.write("}");
+    }
+}
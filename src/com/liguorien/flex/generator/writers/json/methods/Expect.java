@@ -0,0 +1,70 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.generator.writers.json.methods;
+
+import com.liguorien.flex.generator.FlexGenerator;
+import com.liguorien.flex.generator.handlers.JsonBuilderHandler;
+import com.liguorien.flex.generator.writers.json.BuilderMethodWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * <p>Generates a method which reads an expected character of a JSON
+ * text.</p>
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+public class Expect extends BuilderMethodWriter {
+    
+    /**
+     * The method is written after the others.
+     * @return -1
+     */
+    public int getPriority() {
+        return -1;
+    }
+    
+    /**
+     * @inheritDoc
+     */
+    public void writeMethod(Writer w, FlexGenerator g,
+            JsonBuilderHandler handler, Class<?> clazz) throws IOException {
+        
+        handler.addImport("java.io.IOException");
+        handler.addImport("java.io.PushbackReader");
+        
+        final String methodName = g.getMethodName(getClass());
+        final String next = g.getMethodName(Next.class);
+        
+        w.write("\n\n");
+        g.writeDocumentation(w, getClass(), 1);
+        writeSignature(w, g,
+                "public static void " + methodName +
+                "(PushbackReader in, char expected)");
+        writeLine(w, g, 2, "final int c = " + next + "(in);");
+        writeBlock(w, g, 2, "if(c != expected)");
+        writeLine(w, g, 3, "throw new IOException(\"Expected '\" + expected +");
+        writeLine(w, g, 5, "\"' but found '\" + (char) c + \"'\");");
+        writeLine(w, g, 2, "}");
+        writeMethodEnd(w, g);
+    }
+}
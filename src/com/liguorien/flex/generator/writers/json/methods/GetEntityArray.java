@@ -0,0 +1,67 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.generator.writers.json.methods;
+
+import com.liguorien.flex.generator.FlexGenerator;
+import com.liguorien.flex.generator.handlers.JsonBuilderHandler;
+import com.liguorien.flex.generator.writers.json.BuilderMethodWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * <p>Generates a method which reads an array of entities from a JSON
+ * array.</p>
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+public class GetEntityArray extends BuilderMethodWriter {
+    
+    /**
+     * @inheritDoc
+     */
+    public void writeMethod(Writer w, FlexGenerator g,
+            JsonBuilderHandler handler, Class<?> clazz) throws IOException {
+        
+        handler.addImport("java.io.IOException");
+        handler.addImport("java.io.PushbackReader");
+        handler.addImport("java.util.ArrayList");
+        handler.addImport("java.util.List");
+        
+        final String className = handler.getClassName(clazz).toString();
+        final String methodName = g.getMethodName(getClass());
+        final String getEntityCollection =
+                g.getMethodName(GetEntityCollection.class);
+        
+        w.write("\n\n");
+        g.writeDocumentation(w, getClass(), 1, className);
+        writeSignature(w, g,
+                "public static " + className + "[] " + methodName +
+                "(PushbackReader in)");
+        writeLine(w, g, 2,
+                "final List<" + className + "> list = " + getEntityCollection +
+                "(in, new ArrayList<" + className + ">());");
+        writeLine(w, g, 2,
+                "return (list == null) ? null : list.toArray(new " +
+                className + "[list.size()]);");
+        writeMethodEnd(w, g);
+    }
+}
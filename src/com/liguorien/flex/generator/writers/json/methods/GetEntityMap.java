@@ -0,0 +1,75 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.generator.writers.json.methods;
+
+import com.liguorien.flex.generator.FlexGenerator;
+import com.liguorien.flex.generator.handlers.JsonBuilderHandler;
+import com.liguorien.flex.generator.writers.json.BuilderMethodWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * <p>Generates a method which fills a Map with the entities of a JSON
+ * object.  The keys are converted to the key type of the Map.</p>
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+public class GetEntityMap extends BuilderMethodWriter {
+    
+    /**
+     * @inheritDoc
+     */
+    public void writeMethod(Writer w, FlexGenerator g,
+            JsonBuilderHandler handler, Class<?> clazz) throws IOException {
+        
+        handler.addImport("java.io.IOException");
+        handler.addImport("java.io.PushbackReader");
+        handler.addImport("java.util.Map");
+        
+        final String className = handler.getClassName(clazz).toString();
+        final String methodName = g.getMethodName(getClass());
+        final String expect = g.getMethodName(Expect.class);
+        final String getInstance = g.getMethodName(GetInstance.class);
+        final String hasNext = g.getMethodName(HasNext.class);
+        final String parse = g.getMethodName(Parse.class);
+        final String readNull = g.getMethodName(ReadNull.class);
+        final String readString = g.getMethodName(ReadString.class);
+        
+        w.write("\n\n");
+        g.writeDocumentation(w, getClass(), 1, className);
+        writeSignature(w, g,
+                "public static <K, T extends Map<K, " + className + ">> T " +
+                methodName + "(PushbackReader in, \n" + g.getIndentation(3) +
+                "T map, Class<K> keyType)");
+        writeLine(w, g, 2, "if(" + readNull + "(in)) return null;");
+        writeLine(w, g, 2, expect + "(in, '{');");
+        writeBlock(w, g, 2, "while(" + hasNext + "(in, '}'))");
+        writeLine(w, g, 3,
+                "final K key = keyType.cast(" + parse + "(" + readString +
+                "(in), keyType));");
+        writeLine(w, g, 3, expect + "(in, ':');");
+        writeLine(w, g, 3, "map.put(key, " + getInstance + "(in));");
+        writeLine(w, g, 2, "}");
+        writeLine(w, g, 2, "return map;");
+        writeMethodEnd(w, g);
+    }
+}
@@ -0,0 +1,100 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.generator.writers.json.methods;
+
+import com.liguorien.flex.generator.FlexGenerator;
+import com.liguorien.flex.generator.handlers.JsonBuilderHandler;
+import com.liguorien.flex.generator.utils.LazyMode;
+import com.liguorien.flex.generator.writers.json.BuilderMethodWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * <p>Generates the method which reads an entity from a JSON object, 
+ * without building a tree.</p>
+ * <p>The generated code looks like this : </p>
+ * <pre>
+ * public static Person getInstance(PushbackReader in) throws IOException {
+ *     if(readNull(in)) return null;
+ *     expect(in, '{');
+ *     final Person o = new Person();
+ *     while(hasNext(in, '}')) {
+ *         final String name = readString(in);
+ *         expect(in, ':');
+ *         if("age".equals(name)) {
+ *             o.setAge(Integer.parseInt(readLiteral(in)));
+ *             continue;
+ *         }
+ *         skipValue(in);
+ *     }
+ *     return o;
+ * }
+ * </pre>
+ * <p>The unknown members and the lazy properties are skipped.</p>
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+public class GetInstance extends BuilderMethodWriter {
+    
+    /**
+     * @inheritDoc
+     */
+    public void writeMethod(Writer w, FlexGenerator g,
+            JsonBuilderHandler handler, Class<?> clazz) throws IOException {
+        
+        handler.addImport("java.io.IOException");
+        handler.addImport("java.io.PushbackReader");
+        handler.addImport(clazz.getName());
+        
+        final String className = handler.getClassName(clazz).toString();
+        
+        w.write("\n\n");
+        g.writeDocumentation(w, getClass(), 1, className);
+        writeSignature(w, g, "public static " + className + " " +
+                g.getMethodName(getClass()) + "(PushbackReader in)");
+        writeLine(w, g, 2, "if(" + g.getMethodName(ReadNull.class) +
+                "(in)) return null;");
+        writeLine(w, g, 2, g.getMethodName(Expect.class) + "(in, '{');");
+        writeLine(w, g, 2, "final " + className + " o = new " + 
+                className + "();");
+        writeBlock(w, g, 2, "while(" + g.getMethodName(HasNext.class) +
+                "(in, '}'))");
+        writeLine(w, g, 3, "final String name = " + 
+                g.getMethodName(ReadString.class) + "(in);");
+        g.writeIndentation(w, 3);
+        w.write(g.getMethodName(Expect.class));
+        w.write("(in, ':');");
+        
+        FlexGenerator.writeProperties(w, g, handler, "o",
+                handler.getAttributes(),
+                handler.getPropertyWriters(), LazyMode.SERVER_READ);
+        FlexGenerator.writeProperties(w, g, handler, "o",
+                handler.getElements(),
+                handler.getPropertyWriters(), LazyMode.SERVER_READ);
+        
+        w.write('\n');
+        writeLine(w, g, 3, g.getMethodName(SkipValue.class) + "(in);");
+        writeLine(w, g, 2, "}");
+        writeLine(w, g, 2, "return o;");
+        writeMethodEnd(w, g);
+    }
+}
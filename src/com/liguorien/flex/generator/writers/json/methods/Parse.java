@@ -0,0 +1,87 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.generator.writers.json.methods;
+
+import com.liguorien.flex.generator.FlexGenerator;
+import com.liguorien.flex.generator.handlers.JsonBuilderHandler;
+import com.liguorien.flex.generator.writers.json.BuilderMethodWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * <p>Generates a method which converts the text of a JSON value to a
+ * simple type.  The Dates are read from their number of
+ * milliseconds.</p>
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+public class Parse extends BuilderMethodWriter {
+    
+    /**
+     * The method is written after the others.
+     * @return -1
+     */
+    public int getPriority() {
+        return -1;
+    }
+    
+    /**
+     * @inheritDoc
+     */
+    public void writeMethod(Writer w, FlexGenerator g,
+            JsonBuilderHandler handler, Class<?> clazz) throws IOException {
+        
+        handler.addImport("java.util.Date");
+        
+        final String methodName = g.getMethodName(getClass());
+        
+        w.write("\n\n");
+        g.writeDocumentation(w, getClass(), 1);
+        g.writeIndentation(w, 1);
+        w.write(
+                "public static Object " + methodName +
+                "(String text, Class<?> type)");
+        g.writeCurlyBrace(w, 1);
+        writeLine(w, g, 2, "if(text == null) return null;");
+        writeLine(w, g, 2, "if(type == String.class) return text;");
+        writeLine(w, g, 2, "if(type == Integer.class || type == int.class)");
+        writeLine(w, g, 4, "return Integer.valueOf(text);");
+        writeLine(w, g, 2, "if(type == Boolean.class || type == boolean.class)");
+        writeLine(w, g, 4, "return Boolean.valueOf(text);");
+        writeLine(w, g, 2, "if(type == Double.class || type == double.class)");
+        writeLine(w, g, 4, "return Double.valueOf(text);");
+        writeLine(w, g, 2, "if(type == Long.class || type == long.class)");
+        writeLine(w, g, 4, "return Long.valueOf(text);");
+        writeLine(w, g, 2, "if(type == Float.class || type == float.class)");
+        writeLine(w, g, 4, "return Float.valueOf(text);");
+        writeLine(w, g, 2, "if(type == Short.class || type == short.class)");
+        writeLine(w, g, 4, "return Short.valueOf(text);");
+        writeLine(w, g, 2, "if(type == Byte.class || type == byte.class)");
+        writeLine(w, g, 4, "return Byte.valueOf(text);");
+        writeLine(w, g, 2, "if(type == Character.class || type == char.class)");
+        writeLine(w, g, 4, "return Character.valueOf(text.charAt(0));");
+        writeLine(w, g, 2, "if(type == Date.class)");
+        writeLine(w, g, 4, "return new Date(Long.parseLong(text));");
+        writeLine(w, g, 2, "return text;");
+        writeMethodEnd(w, g);
+    }
+}
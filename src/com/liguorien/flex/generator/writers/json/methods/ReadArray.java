@@ -0,0 +1,87 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.generator.writers.json.methods;
+
+import com.liguorien.flex.generator.FlexGenerator;
+import com.liguorien.flex.generator.handlers.JsonBuilderHandler;
+import com.liguorien.flex.generator.writers.json.BuilderMethodWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * <p>Generates a method which reads an array of simple type from a JSON
+ * array.  The arrays of primitive type are filled without being boxed
+ * again, a null element keeps the default value of the type.</p>
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+public class ReadArray extends BuilderMethodWriter {
+    
+    /**
+     * The method is written after the others.
+     * @return -1
+     */
+    public int getPriority() {
+        return -1;
+    }
+    
+    /**
+     * @inheritDoc
+     */
+    public void writeMethod(Writer w, FlexGenerator g,
+            JsonBuilderHandler handler, Class<?> clazz) throws IOException {
+        
+        handler.addImport("java.io.IOException");
+        handler.addImport("java.io.PushbackReader");
+        handler.addImport("java.lang.reflect.Array");
+        handler.addImport("java.util.ArrayList");
+        handler.addImport("java.util.List");
+        
+        final String methodName = g.getMethodName(getClass());
+        final String expect = g.getMethodName(Expect.class);
+        final String hasNext = g.getMethodName(HasNext.class);
+        final String readNull = g.getMethodName(ReadNull.class);
+        final String readValue = g.getMethodName(ReadValue.class);
+        
+        w.write("\n\n");
+        g.writeDocumentation(w, getClass(), 1);
+        writeSignature(w, g,
+                "public static Object " + methodName +
+                "(PushbackReader in, Class<?> type)");
+        writeLine(w, g, 2, "if(" + readNull + "(in)) return null;");
+        writeLine(w, g, 2, expect + "(in, '[');");
+        writeLine(w, g, 2,
+                "final List<Object> list = new ArrayList<Object>();");
+        writeBlock(w, g, 2, "while(" + hasNext + "(in, ']'))");
+        writeLine(w, g, 3, "list.add(" + readValue + "(in, type));");
+        writeLine(w, g, 2, "}");
+        writeLine(w, g, 2,
+                "final Object array = Array.newInstance(type, list.size());");
+        writeBlock(w, g, 2, "for(int i = 0; i < list.size(); i++)");
+        // a null element of a primitive array keeps its default value
+        writeLine(w, g, 3, "final Object e = list.get(i);");
+        writeLine(w, g, 3, "if(e != null) Array.set(array, i, e);");
+        writeLine(w, g, 2, "}");
+        writeLine(w, g, 2, "return array;");
+        writeMethodEnd(w, g);
+    }
+}
@@ -0,0 +1,86 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.generator.writers.json.methods;
+
+import com.liguorien.flex.generator.FlexGenerator;
+import com.liguorien.flex.generator.handlers.JsonBuilderHandler;
+import com.liguorien.flex.generator.writers.json.BuilderMethodWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * <p>Generates a method which reads a JSON string, or null.</p>
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+public class ReadString extends BuilderMethodWriter {
+    
+    /**
+     * The method is written after the others.
+     * @return -1
+     */
+    public int getPriority() {
+        return -1;
+    }
+    
+    /**
+     * @inheritDoc
+     */
+    public void writeMethod(Writer w, FlexGenerator g,
+            JsonBuilderHandler handler, Class<?> clazz) throws IOException {
+        
+        handler.addImport("java.io.IOException");
+        handler.addImport("java.io.PushbackReader");
+        handler.addImport("java.io.EOFException");
+        
+        final String methodName = g.getMethodName(getClass());
+        final String expect = g.getMethodName(Expect.class);
+        final String readNull = g.getMethodName(ReadNull.class);
+        
+        w.write("\n\n");
+        g.writeDocumentation(w, getClass(), 1);
+        writeSignature(w, g,
+                "public static String " + methodName + "(PushbackReader in)");
+        writeLine(w, g, 2, "if(" + readNull + "(in)) return null;");
+        writeLine(w, g, 2, expect + "(in, '\"');");
+        writeLine(w, g, 2, "final StringBuilder buffer = new StringBuilder();");
+        writeBlock(w, g, 2, "for(int c = in.read(); c != '\"'; c = in.read())");
+        writeLine(w, g, 3, "if(c == -1) throw new EOFException();");
+        writeBlock(w, g, 3, "if(c == '\\\\')");
+        writeLine(w, g, 4, "c = in.read();");
+        writeBlock(w, g, 4, "if(c == 'u')");
+        writeLine(w, g, 5, "final char[] hex = new char[4];");
+        writeBlock(w, g, 5, "for(int i = 0; i < hex.length; i++)");
+        writeLine(w, g, 6, "hex[i] = (char) in.read();");
+        writeLine(w, g, 5, "}");
+        writeLine(w, g, 5, "c = Integer.parseInt(new String(hex), 16);");
+        writeBlock(w, g, 4, "}else if(\"bfnrt\".indexOf(c) != -1)");
+        writeLine(w, g, 5,
+                "c = \"\\b\\f\\n\\r\\t\".charAt(\"bfnrt\".indexOf(c));");
+        writeLine(w, g, 4, "}");
+        writeLine(w, g, 3, "}");
+        writeLine(w, g, 3, "buffer.append((char) c);");
+        writeLine(w, g, 2, "}");
+        writeLine(w, g, 2, "return buffer.toString();");
+        writeMethodEnd(w, g);
+    }
+}
@@ -0,0 +1,125 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.generator.writers.json.methods;
+
+import com.liguorien.flex.generator.FlexGenerator;
+import com.liguorien.flex.generator.handlers.JsonBuilderHandler;
+import com.liguorien.flex.generator.utils.LazyMode;
+import com.liguorien.flex.generator.writers.PropertyWriter;
+import com.liguorien.flex.generator.writers.json.BuilderMethodWriter;
+import com.liguorien.flex.generator.writers.json.properties.EntityValue;
+import com.liguorien.flex.generator.writers.json.properties.SimpleValue;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * <p>Generates the method which writes an entity as a JSON object.  The 
+ * null properties are left out, the others are written in the order of 
+ * the XML builders.</p>
+ * <p>The generated code looks like this : </p>
+ * <pre>
+ * public static void write(Writer out, Person o) throws IOException {
+ *     if(o == null) {
+ *         out.write("null");
+ *         return;
+ *     }
+ *     char sep = '{';
+ *     out.write(sep);
+ *     out.write("\"id\":");
+ *     out.write(String.valueOf(o.getId()));
+ *     sep = ',';
+ *     if(o.getAddress() != null) {
+ *         out.write(sep);
+ *         out.write("\"address\":");
+ *         AddressJsonBuilder.write(out, o.getAddress());
+ *         sep = ',';
+ *     }
+ *     out.write((sep == '{') ? "{}" : "}");
+ * }
+ * </pre>
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+public class Write extends BuilderMethodWriter {
+    
+    public static Write getDefault(){
+        final Write w = new Write();
+        w.addPropertyWriter(new SimpleValue());
+        w.addPropertyWriter(new EntityValue());
+        return w;
+    }
+    
+    private final List<PropertyWriter<JsonBuilderHandler>> _propertyWriters
+            = new ArrayList<PropertyWriter<JsonBuilderHandler>>();
+    
+    /**
+     * Creates a new instance of Write
+     */
+    public Write() {
+    }
+    
+    public void addPropertyWriter(
+            PropertyWriter<JsonBuilderHandler> writer){
+        _propertyWriters.add(writer);
+        Collections.sort(_propertyWriters,
+                PropertyWriter.COMPARATOR);
+    }
+    
+    /**
+     * @inheritDoc
+     */
+    public void writeMethod(Writer w, FlexGenerator g,
+            JsonBuilderHandler handler, Class<?> clazz) throws IOException {
+        
+        handler.addImport("java.io.IOException");
+        handler.addImport("java.io.Writer");
+        handler.addImport(clazz.getName());
+        
+        final String className = handler.getClassName(clazz).toString();
+        
+        w.write("\n\n");
+        g.writeDocumentation(w, getClass(), 1, className);
+        writeSignature(w, g, "public static void " +
+                g.getMethodName(getClass()) + "(Writer out, " +
+                className + " o)");
+        writeBlock(w, g, 2, "if(o == null)");
+        writeLine(w, g, 3, "out.write(\"null\");");
+        writeLine(w, g, 3, "return;");
+        writeLine(w, g, 2, "}");
+        g.writeIndentation(w, 2);
+        w.write("char sep = '{';");
+        
+        FlexGenerator.writeProperties(w, g, handler, "o",
+                handler.getAttributes(),
+                _propertyWriters, LazyMode.SERVER_WRITE);
+        FlexGenerator.writeProperties(w, g, handler, "o",
+                handler.getElements(),
+                _propertyWriters, LazyMode.SERVER_WRITE);
+        
+        w.write('\n');
+        writeLine(w, g, 2, "out.write((sep == '{') ? \"{}\" : \"}\");");
+        writeMethodEnd(w, g);
+    }
+}
@@ -0,0 +1,79 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.generator.writers.json.methods;
+
+import com.liguorien.flex.generator.FlexGenerator;
+import com.liguorien.flex.generator.handlers.JsonBuilderHandler;
+import com.liguorien.flex.generator.writers.json.BuilderMethodWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * <p>Generates a method which writes the entities returned by an Iterator
+ * as a JSON array.  The entities are written one at a time, so a cursor 
+ * over a large result can be written without loading it in memory.</p>
+ * <p>The generated code looks like this : </p>
+ * <pre>
+ * public static void writeAll(Writer out, Iterator&lt;? extends Person&gt; it) 
+ *         throws IOException {
+ *     out.write('[');
+ *     if(it.hasNext()) write(out, it.next());
+ *     while(it.hasNext()) {
+ *         out.write(',');
+ *         write(out, it.next());
+ *     }
+ *     out.write(']');
+ * }
+ * </pre>
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+public class WriteAll extends BuilderMethodWriter {
+    
+    /**
+     * @inheritDoc
+     */
+    public void writeMethod(Writer w, FlexGenerator g,
+            JsonBuilderHandler handler, Class<?> clazz) throws IOException {
+        
+        handler.addImport("java.io.IOException");
+        handler.addImport("java.io.Writer");
+        handler.addImport("java.util.Iterator");
+        
+        final String className = handler.getClassName(clazz).toString();
+        final String write = g.getMethodName(Write.class);
+        
+        w.write("\n\n");
+        g.writeDocumentation(w, getClass(), 1, className);
+        writeSignature(w, g,
+                "public static void " + g.getMethodName(getClass()) +
+                "(Writer out, Iterator<? extends " + className + "> it)");
+        writeLine(w, g, 2, "out.write('[');");
+        writeLine(w, g, 2, "if(it.hasNext()) " + write + "(out, it.next());");
+        writeBlock(w, g, 2, "while(it.hasNext())");
+        writeLine(w, g, 3, "out.write(',');");
+        writeLine(w, g, 3, write + "(out, it.next());");
+        writeLine(w, g, 2, "}");
+        writeLine(w, g, 2, "out.write(']');");
+        writeMethodEnd(w, g);
+    }
+}
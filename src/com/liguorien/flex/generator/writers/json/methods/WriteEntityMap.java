@@ -0,0 +1,76 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.generator.writers.json.methods;
+
+import com.liguorien.flex.generator.FlexGenerator;
+import com.liguorien.flex.generator.handlers.JsonBuilderHandler;
+import com.liguorien.flex.generator.writers.json.BuilderMethodWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * <p>Generates a method which writes a Map of entities as a JSON object.
+ * The keys are written as Strings.</p>
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+public class WriteEntityMap extends BuilderMethodWriter {
+    
+    /**
+     * @inheritDoc
+     */
+    public void writeMethod(Writer w, FlexGenerator g,
+            JsonBuilderHandler handler, Class<?> clazz) throws IOException {
+        
+        handler.addImport("java.io.IOException");
+        handler.addImport("java.io.Writer");
+        handler.addImport("java.util.Map");
+        
+        final String className = handler.getClassName(clazz).toString();
+        final String methodName = g.getMethodName(getClass());
+        final String write = g.getMethodName(Write.class);
+        final String writeString = g.getMethodName(WriteString.class);
+        
+        w.write("\n\n");
+        g.writeDocumentation(w, getClass(), 1, className);
+        writeSignature(w, g,
+                "public static void " + methodName +
+                "(Writer out, Map<?, ? extends " + className + "> map)");
+        writeBlock(w, g, 2, "if(map == null)");
+        writeLine(w, g, 3, "out.write(\"null\");");
+        writeLine(w, g, 3, "return;");
+        writeLine(w, g, 2, "}");
+        writeLine(w, g, 2, "char sep = '{';");
+        writeBlock(w, g, 2,
+                "for(Map.Entry<?, ? extends " + className +
+                "> entry : map.entrySet())");
+        writeLine(w, g, 3, "out.write(sep);");
+        writeLine(w, g, 3,
+                writeString + "(out, String.valueOf(entry.getKey()));");
+        writeLine(w, g, 3, "out.write(':');");
+        writeLine(w, g, 3, write + "(out, entry.getValue());");
+        writeLine(w, g, 3, "sep = ',';");
+        writeLine(w, g, 2, "}");
+        writeLine(w, g, 2, "out.write((sep == '{') ? \"{}\" : \"}\");");
+        writeMethodEnd(w, g);
+    }
+}
@@ -0,0 +1,89 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.generator.writers.json.methods;
+
+import com.liguorien.flex.generator.FlexGenerator;
+import com.liguorien.flex.generator.handlers.JsonBuilderHandler;
+import com.liguorien.flex.generator.writers.json.BuilderMethodWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * <p>Generates a method which writes a String, or null, as a JSON string.
+ * The quotes, the backslashes and the control characters are escaped, the
+ * other characters are written in runs.</p>
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+public class WriteString extends BuilderMethodWriter {
+    
+    /**
+     * The method is written after the others.
+     * @return -1
+     */
+    public int getPriority() {
+        return -1;
+    }
+    
+    /**
+     * @inheritDoc
+     */
+    public void writeMethod(Writer w, FlexGenerator g,
+            JsonBuilderHandler handler, Class<?> clazz) throws IOException {
+        
+        handler.addImport("java.io.IOException");
+        handler.addImport("java.io.Writer");
+        
+        final String methodName = g.getMethodName(getClass());
+        
+        w.write("\n\n");
+        g.writeDocumentation(w, getClass(), 1);
+        writeSignature(w, g,
+                "public static void " + methodName +
+                "(Writer out, String value)");
+        writeBlock(w, g, 2, "if(value == null)");
+        writeLine(w, g, 3, "out.write(\"null\");");
+        writeLine(w, g, 3, "return;");
+        writeLine(w, g, 2, "}");
+        writeLine(w, g, 2, "final int length = value.length();");
+        writeLine(w, g, 2, "int start = 0;");
+        writeLine(w, g, 2, "out.write('\"');");
+        writeBlock(w, g, 2, "for(int i = 0; i < length; i++)");
+        writeLine(w, g, 3, "final char c = value.charAt(i);");
+        writeBlock(w, g, 3, "if(c == '\"' || c == '\\\\' || c < ' ')");
+        writeLine(w, g, 4, "out.write(value, start, i - start);");
+        writeBlock(w, g, 4, "if(c < ' ')");
+        writeLine(w, g, 5, "out.write(\"\\\\u\");");
+        writeLine(w, g, 5,
+                "out.write(Integer.toHexString(0x10000 | c).substring(1));");
+        writeBlock(w, g, 4, "}else");
+        writeLine(w, g, 5, "out.write('\\\\');");
+        writeLine(w, g, 5, "out.write(c);");
+        writeLine(w, g, 4, "}");
+        writeLine(w, g, 4, "start = i + 1;");
+        writeLine(w, g, 3, "}");
+        writeLine(w, g, 2, "}");
+        writeLine(w, g, 2, "out.write(value, start, length - start);");
+        writeLine(w, g, 2, "out.write('\"');");
+        writeMethodEnd(w, g);
+    }
+}
@@ -0,0 +1,116 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.generator.writers.json.methods;
+
+import com.liguorien.flex.generator.FlexGenerator;
+import com.liguorien.flex.generator.handlers.JsonBuilderHandler;
+import com.liguorien.flex.generator.writers.json.BuilderMethodWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * <p>Generates a method which writes a value of simple type, a Date, an
+ * array, a Collection or a Map as a JSON value.  The Dates are written as
+ * their number of milliseconds and the keys of the Maps as Strings.  The
+ * Doubles and the Floats which are not finite are written as null.</p>
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+public class WriteValue extends BuilderMethodWriter {
+    
+    /**
+     * The method is written after the others.
+     * @return -1
+     */
+    public int getPriority() {
+        return -1;
+    }
+    
+    /**
+     * @inheritDoc
+     */
+    public void writeMethod(Writer w, FlexGenerator g,
+            JsonBuilderHandler handler, Class<?> clazz) throws IOException {
+        
+        handler.addImport("java.io.IOException");
+        handler.addImport("java.io.Writer");
+        handler.addImport("java.lang.reflect.Array");
+        handler.addImport("java.util.Collection");
+        handler.addImport("java.util.Date");
+        handler.addImport("java.util.Map");
+        
+        final String methodName = g.getMethodName(getClass());
+        final String writeString = g.getMethodName(WriteString.class);
+        final String writeNumber = g.getMethodName(WriteNumber.class);
+        
+        w.write("\n\n");
+        g.writeDocumentation(w, getClass(), 1);
+        writeSignature(w, g,
+                "public static void " + methodName +
+                "(Writer out, Object value)");
+        writeBlock(w, g, 2, "if(value instanceof Double)");
+        writeLine(w, g, 3,
+                writeNumber + "(out, ((Double) value).doubleValue());");
+        writeBlock(w, g, 2, "}else if(value instanceof Float)");
+        writeLine(w, g, 3,
+                writeNumber + "(out, ((Float) value).floatValue());");
+        writeBlock(w, g, 2,
+                "}else if(value == null || value instanceof Number ||\n" +
+                g.getIndentation(4) + "value instanceof Boolean)");
+        writeLine(w, g, 3, "out.write(String.valueOf(value));");
+        writeBlock(w, g, 2, "}else if(value instanceof Date)");
+        writeLine(w, g, 3,
+                "out.write(String.valueOf(((Date) value).getTime()));");
+        writeBlock(w, g, 2, "}else if(value instanceof Collection)");
+        writeLine(w, g, 3, "char sep = '[';");
+        writeBlock(w, g, 3, "for(Object e : (Collection<?>) value)");
+        writeLine(w, g, 4, "out.write(sep);");
+        writeLine(w, g, 4, methodName + "(out, e);");
+        writeLine(w, g, 4, "sep = ',';");
+        writeLine(w, g, 3, "}");
+        writeLine(w, g, 3, "out.write((sep == '[') ? \"[]\" : \"]\");");
+        writeBlock(w, g, 2, "}else if(value instanceof Map)");
+        writeLine(w, g, 3, "char sep = '{';");
+        writeBlock(w, g, 3,
+                "for(Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet())");
+        writeLine(w, g, 4, "out.write(sep);");
+        writeLine(w, g, 4,
+                writeString + "(out, String.valueOf(entry.getKey()));");
+        writeLine(w, g, 4, "out.write(':');");
+        writeLine(w, g, 4, methodName + "(out, entry.getValue());");
+        writeLine(w, g, 4, "sep = ',';");
+        writeLine(w, g, 3, "}");
+        writeLine(w, g, 3, "out.write((sep == '{') ? \"{}\" : \"}\");");
+        writeBlock(w, g, 2, "}else if(value.getClass().isArray())");
+        writeLine(w, g, 3, "final int length = Array.getLength(value);");
+        writeLine(w, g, 3, "out.write('[');");
+        writeBlock(w, g, 3, "for(int i = 0; i < length; i++)");
+        writeLine(w, g, 4, "if(i > 0) out.write(',');");
+        writeLine(w, g, 4, methodName + "(out, Array.get(value, i));");
+        writeLine(w, g, 3, "}");
+        writeLine(w, g, 3, "out.write(']');");
+        writeBlock(w, g, 2, "}else");
+        writeLine(w, g, 3, writeString + "(out, value.toString());");
+        writeLine(w, g, 2, "}");
+        writeMethodEnd(w, g);
+    }
+}
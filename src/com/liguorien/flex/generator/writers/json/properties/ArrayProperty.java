@@ -0,0 +1,85 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.generator.writers.json.properties;
+
+import com.liguorien.flex.generator.FlexGenerator;
+import com.liguorien.flex.generator.handlers.JsonBuilderHandler;
+import com.liguorien.flex.generator.writers.PropertyWriter;
+import com.liguorien.flex.generator.writers.json.JsonWriter;
+import com.liguorien.flex.generator.writers.json.methods.ReadArray;
+import com.liguorien.flex.generator.writers.json.methods.GetEntityArray;
+import java.beans.PropertyDescriptor;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * <p>Reads an array from a JSON array.</p>
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+public class ArrayProperty
+        implements PropertyWriter<JsonBuilderHandler> {
+    
+    private int _priority;
+    
+    public ArrayProperty(int priority){
+        _priority = priority;
+    }
+    
+    public boolean acceptProperty(
+            PropertyDescriptor prop, JsonBuilderHandler handler) {
+        return JsonWriter.getContextWriter() == JsonWriter.WRITER &&
+                prop.getPropertyType().isArray();
+    }
+    
+    public void writeProperty(Writer w, FlexGenerator g,
+            JsonBuilderHandler handler, String varName,
+            PropertyDescriptor prop)
+            throws IOException {
+        
+        final Class<?> entryClass = prop.getPropertyType().getComponentType();
+        
+        if(g.isGeneratedClass(entryClass)){
+            JsonWriter.getContextWriter().writeProperty(w, g, varName, prop,
+                    handler.getBuilderName(entryClass) + "." +
+                    g.getMethodName(GetEntityArray.class) + "(in)",
+                    null, null);
+            return;
+        }
+        
+        if(!entryClass.isPrimitive()){
+            handler.addImport(entryClass.getName());
+        }
+        
+        JsonWriter.getContextWriter().writeProperty(w, g, varName, prop,
+                "(" + entryClass.getSimpleName() + "[]) " +
+                g.getMethodName(ReadArray.class) + "(in, " +
+                entryClass.getSimpleName() + ".class)", null, null);
+    }
+    
+    /**
+     * @inheritDoc
+     */
+    public int getPriority(){
+        return _priority;
+    }
+}
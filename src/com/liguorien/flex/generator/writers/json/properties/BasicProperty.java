@@ -0,0 +1,132 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.generator.writers.json.properties;
+
+import com.liguorien.flex.generator.FlexGenerator;
+import com.liguorien.flex.generator.handlers.JsonBuilderHandler;
+import com.liguorien.flex.generator.writers.ClassWriter;
+import com.liguorien.flex.generator.writers.TypedPropertyWriter;
+import com.liguorien.flex.generator.writers.json.JsonWriter;
+import com.liguorien.flex.generator.writers.json.methods.ReadLiteral;
+import com.liguorien.flex.generator.writers.json.methods.ReadString;
+import com.liguorien.flex.generator.writers.json.methods.ReadValue;
+import java.beans.PropertyDescriptor;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * <p>Reads a property of simple type.  The primitive values are parsed 
+ * from the text of the JSON value, without being boxed.  A primitive 
+ * property whose value is null keeps its default value.</p>
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+public class BasicProperty
+        implements TypedPropertyWriter<JsonBuilderHandler> {
+    
+    /**
+     * The parse methods of the primitive types.
+     */
+    private final static Map<Class<?>, String> _parsers =
+            new HashMap<Class<?>, String>();
+    
+    static {
+        _parsers.put(int.class, "Integer.parseInt(");
+        _parsers.put(long.class, "Long.parseLong(");
+        _parsers.put(short.class, "Short.parseShort(");
+        _parsers.put(byte.class, "Byte.parseByte(");
+        _parsers.put(double.class, "Double.parseDouble(");
+        _parsers.put(float.class, "Float.parseFloat(");
+        _parsers.put(boolean.class, "\"true\".equals(");
+    }
+    
+    private Class<?> _type;
+    private int _priority;
+    
+    /**
+     * 
+     * @param type The type of the properties read by this writer.
+     * @param priority
+     */
+    public BasicProperty(Class<?> type, int priority){
+        _type = type;
+        _priority = priority;
+    }
+    
+    /**
+     * @inheritDoc
+     */
+    public boolean acceptProperty(
+            PropertyDescriptor prop, JsonBuilderHandler handler) {
+        return _type == prop.getPropertyType();
+    }
+    
+    /**
+     * @inheritDoc
+     */
+    public Class<?>[] getAcceptedTypes() {
+        return new Class<?>[]{_type};
+    }
+    
+    /**
+     * @inheritDoc
+     */
+    public void writeProperty(Writer w, FlexGenerator g,
+            JsonBuilderHandler handler, String varName,
+            PropertyDescriptor prop) throws IOException {
+        
+        final String typeName = _type.getSimpleName();
+        final String parser = _parsers.get(_type);
+        String value;
+        
+        if(parser != null){
+            value = parser + g.getMethodName(ReadLiteral.class) + "(in))";
+        }else if(_type == String.class){
+            value = g.getMethodName(ReadString.class) + "(in)";
+        }else if(_type == char.class){
+            value = g.getMethodName(ReadString.class) + "(in).charAt(0)";
+        }else{
+            handler.addImport(_type.getName());
+            value = "(" + typeName + ") " +
+                    g.getMethodName(ReadValue.class) + "(in, " +
+                    typeName + ".class)";
+        }
+        
+        final ClassWriter cw = JsonWriter.getContextWriter();
+        
+        if(_type.isPrimitive() && cw instanceof JsonWriter){
+            ((JsonWriter) cw).writePrimitiveProperty(
+                    w, g, varName, prop, value);
+        }else{
+            cw.writeProperty(w, g, varName, prop, value, null, null);
+        }
+    }
+    
+    /**
+     * @inheritDoc
+     */
+    public int getPriority(){
+        return _priority;
+    }
+}
@@ -0,0 +1,93 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.generator.writers.json.properties;
+
+import com.liguorien.flex.generator.FlexGenerator;
+import com.liguorien.flex.generator.handlers.JsonBuilderHandler;
+import com.liguorien.flex.generator.utils.PropertyMetadata;
+import com.liguorien.flex.generator.writers.PropertyWriter;
+import com.liguorien.flex.generator.writers.json.JsonWriter;
+import com.liguorien.flex.generator.writers.json.methods.ReadCollection;
+import com.liguorien.flex.generator.writers.json.methods.GetEntityCollection;
+import java.beans.PropertyDescriptor;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Collection;
+
+/**
+ * <p>Reads a Collection annotated with {@link
+ * com.liguorien.flex.generator.FlexList} or {@link
+ * com.liguorien.flex.generator.FlexSet} from a JSON array.</p>
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+public class CollectionProperty
+        implements PropertyWriter<JsonBuilderHandler> {
+    
+    private int _priority;
+    
+    public CollectionProperty(int priority){
+        _priority = priority;
+    }
+    
+    public boolean acceptProperty(
+            PropertyDescriptor prop, JsonBuilderHandler handler) {
+        return JsonWriter.getContextWriter() == JsonWriter.WRITER &&
+                Collection.class.isAssignableFrom(prop.getPropertyType()) &&
+                PropertyMetadata.get(prop).isCollection();
+    }
+    
+    public void writeProperty(Writer w, FlexGenerator g,
+            JsonBuilderHandler handler, String varName,
+            PropertyDescriptor prop)
+            throws IOException {
+        
+        final PropertyMetadata meta = PropertyMetadata.get(prop);
+        final Class<?> entryClass = meta.getEntryClass();
+        final Class<?> collClass = meta.getCollectionClass();
+        
+        handler.addImport(entryClass.getName());
+        handler.addImport(collClass.getName());
+        
+        final String collection = "new " + collClass.getSimpleName() + "<" +
+                entryClass.getSimpleName() + ">()";
+        
+        if(g.isGeneratedClass(entryClass)){
+            JsonWriter.getContextWriter().writeProperty(w, g, varName, prop,
+                    handler.getBuilderName(entryClass) + "." +
+                    g.getMethodName(GetEntityCollection.class) +
+                    "(in, " + collection + ")", null, null);
+        }else{
+            JsonWriter.getContextWriter().writeProperty(w, g, varName, prop,
+                    g.getMethodName(ReadCollection.class) + "(in, " +
+                    collection + ", " + entryClass.getSimpleName() + ".class)",
+                    null, null);
+        }
+    }
+    
+    /**
+     * @inheritDoc
+     */
+    public int getPriority(){
+        return _priority;
+    }
+}
@@ -0,0 +1,164 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.generator.writers.json.properties;
+
+import com.liguorien.flex.generator.FlexGenerator;
+import com.liguorien.flex.generator.handlers.JsonBuilderHandler;
+import com.liguorien.flex.generator.utils.PropertyMetadata;
+import com.liguorien.flex.generator.writers.PropertyWriter;
+import com.liguorien.flex.generator.writers.json.methods.Write;
+import com.liguorien.flex.generator.writers.json.methods.WriteEntityArray;
+import com.liguorien.flex.generator.writers.json.methods.WriteEntityCollection;
+import com.liguorien.flex.generator.writers.json.methods.WriteEntityMap;
+import java.beans.PropertyDescriptor;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * <p>Writes the name and the value of a property which holds entities : a
+ * nested entity, or an array, a Collection or a Map of entities.  The 
+ * entities are written by the builder of their class.</p>
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+public class EntityValue implements PropertyWriter<JsonBuilderHandler> {
+    
+    public int getPriority() {
+        return 5;
+    }
+    
+    public boolean acceptProperty(
+            PropertyDescriptor prop, JsonBuilderHandler handler) {
+        return getEntryClass(prop, handler.getGenerator()) != null;
+    }
+    
+    /**
+     * Returns the entity class held by a property.
+     * @param prop A property
+     * @param g The current generator
+     * @return The entity class, or null if the property doesn't hold
+     * entities.
+     */
+    private static Class<?> getEntryClass(
+            PropertyDescriptor prop, FlexGenerator g){
+        
+        final Class<?> type = prop.getPropertyType();
+        final PropertyMetadata meta = PropertyMetadata.get(prop);
+        
+        Class<?> entryClass = type;
+        
+        if(type.isArray()){
+            entryClass = type.getComponentType();
+        }else if(Collection.class.isAssignableFrom(type) &&
+                meta.isCollection()){
+            entryClass = meta.getEntryClass();
+        }else if(Map.class.isAssignableFrom(type) && meta.isMap()){
+            entryClass = meta.getEntryClass();
+        }
+        
+        return g.isGeneratedClass(entryClass) ? entryClass : null;
+    }
+    
+    /**
+     * Writes the beginning of a member : the separator and the name of the
+     * property.  The members of a non primitive type are only written when
+     * they are not null.
+     * @param w The writer
+     * @param g The current generator
+     * @param value The expression of the value
+     * @param prop A property
+     * @return The indentation of the code which writes the value.
+     * @throws java.io.IOException If an IO error occurs.
+     */
+    static int writeMemberBegin(Writer w, FlexGenerator g, String value,
+            PropertyDescriptor prop) throws IOException {
+        
+        int indent = 2;
+        
+        w.write("\n");
+        if(!prop.getPropertyType().isPrimitive()){
+            g.writeIndentation(w, indent++);
+            w.write("if(");
+            w.write(value);
+            w.write(" != null)");
+            g.writeCurlyBrace(w, 2);
+        }
+        
+        g.writeIndentation(w, indent);
+        w.write("out.write(sep);\n");
+        g.writeIndentation(w, indent);
+        w.write("out.write(\"\\\"");
+        w.write(prop.getName());
+        w.write("\\\":\");\n");
+        g.writeIndentation(w, indent);
+        return indent;
+    }
+    
+    /**
+     * Writes the end of a member, after its value.
+     * @param w The writer
+     * @param g The current generator
+     * @param indent The indentation returned by {@link #writeMemberBegin}
+     * @throws java.io.IOException If an IO error occurs.
+     */
+    static void writeMemberEnd(Writer w, FlexGenerator g, int indent)
+    throws IOException {
+        w.write("\n");
+        g.writeIndentation(w, indent);
+        w.write("sep = ',';");
+        if(indent > 2){
+            w.write("\n");
+            g.writeIndentation(w, 2);
+            w.write("}");
+        }
+    }
+    
+    public void writeProperty(Writer w, FlexGenerator g,
+            JsonBuilderHandler handler, String varName,
+            PropertyDescriptor prop) throws IOException {
+        
+        final Class<?> type = prop.getPropertyType();
+        final Class<?> entryClass = getEntryClass(prop, g);
+        final String value =
+                varName + "." + prop.getReadMethod().getName() + "()";
+        
+        Class<?> method = Write.class;
+        if(type.isArray()){
+            method = WriteEntityArray.class;
+        }else if(Collection.class.isAssignableFrom(type)){
+            method = WriteEntityCollection.class;
+        }else if(Map.class.isAssignableFrom(type)){
+            method = WriteEntityMap.class;
+        }
+        
+        final int indent = writeMemberBegin(w, g, value, prop);
+        w.write(handler.getBuilderName(entryClass));
+        w.write(".");
+        g.writeMethodName(w, method);
+        w.write("(out, ");
+        w.write(value);
+        w.write(");");
+        writeMemberEnd(w, g, indent);
+    }
+}
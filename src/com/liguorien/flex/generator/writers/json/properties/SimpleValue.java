@@ -0,0 +1,90 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.generator.writers.json.properties;
+
+import com.liguorien.flex.generator.FlexGenerator;
+import com.liguorien.flex.generator.handlers.JsonBuilderHandler;
+import com.liguorien.flex.generator.writers.PropertyWriter;
+import com.liguorien.flex.generator.writers.json.methods.WriteNumber;
+import com.liguorien.flex.generator.writers.json.methods.WriteString;
+import com.liguorien.flex.generator.writers.json.methods.WriteValue;
+import java.beans.PropertyDescriptor;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * <p>Writes the name and the value of a property which doesn't hold 
+ * entities.  The primitive values are written without being boxed, the
+ * doubles and the floats which are not finite are written as null.</p>
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+public class SimpleValue implements PropertyWriter<JsonBuilderHandler> {
+    
+    public int getPriority() {
+        return 0;
+    }
+    
+    public boolean acceptProperty(
+            PropertyDescriptor prop, JsonBuilderHandler handler) {
+        return true;
+    }
+    
+    public void writeProperty(Writer w, FlexGenerator g,
+            JsonBuilderHandler handler, String varName,
+            PropertyDescriptor prop) throws IOException {
+        
+        final Class<?> type = prop.getPropertyType();
+        final String value =
+                varName + "." + prop.getReadMethod().getName() + "()";
+        
+        final int indent = EntityValue.writeMemberBegin(w, g, value, prop);
+        
+        if(type == char.class){
+            g.writeMethodName(w, WriteString.class);
+            w.write("(out, String.valueOf(");
+            w.write(value);
+            w.write("));");
+        }else if(type == double.class || type == float.class){
+            g.writeMethodName(w, WriteNumber.class);
+            w.write("(out, ");
+            w.write(value);
+            w.write(");");
+        }else if(type.isPrimitive()){
+            w.write("out.write(String.valueOf(");
+            w.write(value);
+            w.write("));");
+        }else if(type == String.class){
+            g.writeMethodName(w, WriteString.class);
+            w.write("(out, ");
+            w.write(value);
+            w.write(");");
+        }else{
+            g.writeMethodName(w, WriteValue.class);
+            w.write("(out, ");
+            w.write(value);
+            w.write(");");
+        }
+        
+        EntityValue.writeMemberEnd(w, g, indent);
+    }
+}
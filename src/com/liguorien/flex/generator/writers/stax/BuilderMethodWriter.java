@@ -0,0 +1,41 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.generator.writers.stax;
+
+import com.liguorien.flex.generator.handlers.StaxBuilderHandler;
+import com.liguorien.flex.generator.writers.*;
+
+/**
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+public abstract class BuilderMethodWriter
+        implements MethodWriter<StaxBuilderHandler> {
+    
+    public boolean acceptClass(Class<?> clazz) {
+        return true;
+    }
+    
+    public int getPriority() {
+        return 0;
+    }
+}
@@ -0,0 +1,156 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.generator.writers.stax;
+
+import com.liguorien.flex.generator.FlexGenerator;
+import com.liguorien.flex.generator.utils.NodeType;
+import com.liguorien.flex.generator.utils.PropertyMetadata;
+import com.liguorien.flex.generator.writers.ClassWriter;
+import com.liguorien.flex.generator.writers.dom4j.Dom4jWriter;
+import java.beans.PropertyDescriptor;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.reflect.Method;
+
+/**
+ * <p>Generates java code which reads the properties of an entity from a
+ * StAX <code>XMLStreamReader</code> named <code>in</code>.</p>
+ * <p>Attributes are read directly from the reader.  Each element is read
+ * by a block which is executed when the reader is on the start tag of the
+ * element :</p>
+ * <pre>
+ * if("age".equals(name)) {
+ *     o.setAge(new Integer(in.getElementText().trim()));
+ *     continue;
+ * }
+ * </pre>
+ * <p>The package and class declarations are the same as the dom4j
+ * builders.</p>
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+public class StaxWriter extends Dom4jWriter {
+    
+    public final static ClassWriter WRITER = new StaxWriter();
+    
+    private final static ThreadLocal<ClassWriter> _contextWriter =
+            new ThreadLocal<ClassWriter>();
+    
+    /**
+     * Returns the ClassWriter used by the StAX writers of the current Thread.
+     * @return The current ClassWriter or {@link #WRITER} if none is set.
+     */
+    public static ClassWriter getContextWriter(){
+        final ClassWriter cw = _contextWriter.get();
+        return (cw == null) ? WRITER : cw;
+    }
+    
+    /**
+     * Sets the ClassWriter used by the StAX writers of the current Thread.
+     * @param w A ClassWriter or null to restore {@link #WRITER}.
+     */
+    public static void setContextWriter(ClassWriter w){
+        if(w == null){
+            _contextWriter.remove();
+        }else{
+            _contextWriter.set(w);
+        }
+    }
+    
+    /**
+     * @inheritDoc
+     */
+    public void writeProperty(Writer w, FlexGenerator g, String varName,
+            PropertyDescriptor prop, String prefix, String suffix,
+            NodeType type)
+            throws IOException {
+        
+        final Method setter = prop.getWriteMethod();
+        if(setter == null){
+            return;
+        }
+        
+        final PropertyMetadata meta = PropertyMetadata.get(prop);
+        
+        if(meta.getNodeType() == NodeType.ATTRIBUTE){
+            type = NodeType.ATTRIBUTE;
+        }else if(type == null){
+            type = NodeType.TEXT;
+        }
+        
+        final String nodeName = meta.getNodeName();
+        
+        int indentation = 2;
+        
+        if(type != NodeType.ATTRIBUTE){
+            w.write("\n");
+            g.writeIndentation(w, 3);
+            w.write("if(\"");
+            w.write(nodeName);
+            w.write("\".equals(name))");
+            g.writeCurlyBrace(w, 3);
+            indentation = 4;
+        }else{
+            w.write("\n");
+        }
+        
+        g.writeIndentation(w, indentation);
+        w.write(varName);
+        w.write(".");
+        w.write(setter.getName());
+        w.write("(");
+        
+        if(prefix != null){
+            w.write(prefix);
+        }
+        
+        switch(type){
+            case ATTRIBUTE :
+                w.write("in.getAttributeValue(null, \"");
+                w.write(nodeName);
+                w.write("\")");
+                break;
+            
+            case ELEMENT :
+                w.write("in");
+                break;
+            
+            case TEXT :
+                w.write("in.getElementText().trim()");
+                break;
+        }
+        
+        if(suffix != null){
+            w.write(suffix);
+        }
+        
+        w.write(");");
+        
+        if(type != NodeType.ATTRIBUTE){
+            w.write("\n");
+            g.writeIndentation(w, 4);
+            w.write("continue;\n");
+            g.writeIndentation(w, 3);
+            w.write("}");
+        }
+    }
+}
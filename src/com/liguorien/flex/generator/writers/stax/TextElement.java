@@ -0,0 +1,53 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.generator.writers.stax;
+
+import com.liguorien.flex.generator.FlexGenerator;
+import com.liguorien.flex.generator.utils.NodeType;
+import java.beans.PropertyDescriptor;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Generate java code which retrieve the text content of the current element
+ * of a StAX reader.
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+public class TextElement extends StaxWriter {
+    
+    public void writeProperty(Writer w, FlexGenerator g, String varName,
+            PropertyDescriptor prop, String prefix, String suffix,
+            NodeType type) throws IOException {
+        
+        if(prefix != null){
+            w.write(prefix);
+        }
+        
+        w.write(varName);
+        w.write(".getElementText().trim()");
+        
+        if(suffix != null){
+            w.write(suffix);
+        }
+    }
+}
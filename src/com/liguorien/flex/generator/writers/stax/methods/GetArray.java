@@ -0,0 +1,162 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.generator.writers.stax.methods;
+
+import com.liguorien.flex.generator.FlexGenerator;
+import com.liguorien.flex.generator.handlers.StaxBuilderHandler;
+import com.liguorien.flex.generator.writers.stax.ContextMethodWriter;
+import java.beans.PropertyDescriptor;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * <p>Generates a method which builds an array from the children of the
+ * current element of a StAX reader.</p>
+ * <p>The generated code looks like this : </p>
+ * <pre>
+ * public static Person[] getContacts(XMLStreamReader in)
+ *         throws XMLStreamException {
+ *     Person[] arr = new Person[8];
+ *     int size = 0;
+ *     while(in.nextTag() == XMLStreamConstants.START_ELEMENT) {
+ *         if(size == arr.length) {
+ *             final Person[] tmp = new Person[size * 2];
+ *             System.arraycopy(arr, 0, tmp, 0, size);
+ *             arr = tmp;
+ *         }
+ *         arr[size++] = PersonStaxBuilder.getInstance(in);
+ *     }
+ *     if(size &lt; arr.length) {
+ *         final Person[] tmp = new Person[size];
+ *         System.arraycopy(arr, 0, tmp, 0, size);
+ *         arr = tmp;
+ *     }
+ *     return arr;
+ * }
+ * </pre>
+ * <p>The entries are read in the array itself, so the arrays of primitives
+ * are filled without boxing.</p>
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+public class GetArray extends ContextMethodWriter {
+    
+    private Class<?> _entryClass;
+    private PropertyDescriptor _prop;
+    
+    /**
+     * Create a new instance of GetArray
+     * @param entryClass The entry type of the array
+     * @param prop The property which requested this method generation.
+     */
+    public GetArray(Class<?> entryClass, PropertyDescriptor prop){
+        super(entryClass.getSimpleName());
+        _prop = prop;
+        _entryClass = entryClass;
+    }
+    
+    /**
+     * @inheritDoc
+     */
+    public void writeMethod(Writer w, FlexGenerator g,
+            StaxBuilderHandler handler, Class<?> clazz) throws IOException {
+        
+        handler.addImport("javax.xml.stream.XMLStreamConstants");
+        handler.addImport("javax.xml.stream.XMLStreamException");
+        handler.addImport("javax.xml.stream.XMLStreamReader");
+        
+        if(g.isGeneratedClass(_entryClass)){
+            handler.addImport(g.getPackageName(_entryClass) + '.' +
+                    _entryClass.getSimpleName() + handler.getBuilderSuffix());
+        }else if(!_entryClass.isPrimitive()){
+            handler.addImport(_entryClass.getName());
+        }
+        
+        final String entryName = _entryClass.getSimpleName();
+        
+        w.write("\n\n");
+        g.writeDocumentation(w, getClass(), 1, entryName);
+        g.writeIndentation(w, 1);
+        w.write("public static ");
+        w.write(entryName);
+        w.write("[] ");
+        g.writeMethodName(w, getClass(), getTypeName(),
+                _prop.getReadMethod().getName());
+        w.write("(XMLStreamReader in) \n");
+        g.writeIndentation(w, 3);
+        w.write("throws XMLStreamException");
+        g.writeCurlyBrace(w, 1);
+        g.writeIndentation(w, 2);
+        w.write(entryName);
+        w.write("[] arr = new ");
+        w.write(entryName);
+        w.write("[8];\n");
+        g.writeIndentation(w, 2);
+        w.write("int size = 0;\n");
+        g.writeIndentation(w, 2);
+        w.write("while(in.nextTag() == XMLStreamConstants.START_ELEMENT)");
+        g.writeCurlyBrace(w, 2);
+        g.writeIndentation(w, 3);
+        w.write("if(size == arr.length)");
+        g.writeCurlyBrace(w, 3);
+        writeResize(w, g, entryName, "size * 2", 4);
+        g.writeIndentation(w, 3);
+        w.write("}\n");
+        g.writeIndentation(w, 3);
+        w.write("arr[size++] = ");
+        GetCollection.writeEntry(w, g, handler, _entryClass);
+        w.write(";\n");
+        g.writeIndentation(w, 2);
+        w.write("}\n");
+        g.writeIndentation(w, 2);
+        w.write("if(size < arr.length)");
+        g.writeCurlyBrace(w, 2);
+        writeResize(w, g, entryName, "size", 3);
+        g.writeIndentation(w, 2);
+        w.write("}\n");
+        g.writeIndentation(w, 2);
+        w.write("return arr;\n");
+        g.writeIndentation(w, 1);
+        w.write('}');
+    }
+
+    /**
+     * Writes the code which copies the array in a new one of a given length.
+     */
+    private static void writeResize(Writer w, FlexGenerator g,
+            String entryName, String length, int indentation)
+            throws IOException {
+
+        g.writeIndentation(w, indentation);
+        w.write("final ");
+        w.write(entryName);
+        w.write("[] tmp = new ");
+        w.write(entryName);
+        w.write("[");
+        w.write(length);
+        w.write("];\n");
+        g.writeIndentation(w, indentation);
+        w.write("System.arraycopy(arr, 0, tmp, 0, size);\n");
+        g.writeIndentation(w, indentation);
+        w.write("arr = tmp;\n");
+    }
+}
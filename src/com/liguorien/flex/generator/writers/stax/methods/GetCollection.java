@@ -0,0 +1,151 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.generator.writers.stax.methods;
+
+import com.liguorien.flex.generator.FlexGenerator;
+import com.liguorien.flex.generator.handlers.StaxBuilderHandler;
+import com.liguorien.flex.generator.utils.PropertyDescriptorProxy;
+import com.liguorien.flex.generator.writers.PropertyWriter;
+import com.liguorien.flex.generator.writers.dom4j.Dom4jWriter;
+import com.liguorien.flex.generator.writers.stax.ContextMethodWriter;
+import com.liguorien.flex.generator.writers.stax.StaxWriter;
+import com.liguorien.flex.generator.writers.stax.TextElement;
+import java.beans.IntrospectionException;
+import java.beans.PropertyDescriptor;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * <p>Generates a method which fills a Collection of simple type with the
+ * children of the current element of a StAX reader.</p>
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+public class GetCollection extends ContextMethodWriter {
+    
+    private String _methodName;
+    private Class<?> _entryClass;
+    private Class<?> _collClass;
+    private PropertyDescriptor _prop;
+    
+    public GetCollection(Class<?> entryClass, Class<?> collClazz,
+            String methodName, PropertyDescriptor prop){
+        
+        super(methodName);
+        
+        _entryClass = entryClass;
+        _collClass = collClazz;
+        _methodName = methodName;
+        _prop = prop;
+    }
+    
+    public void writeMethod(Writer w, FlexGenerator g,
+            StaxBuilderHandler handler, Class<?> clazz) throws IOException {
+        
+        handler.addImport("javax.xml.stream.XMLStreamConstants");
+        handler.addImport("javax.xml.stream.XMLStreamException");
+        handler.addImport("javax.xml.stream.XMLStreamReader");
+        handler.addImport("java.util.Collection");
+        
+        if(g.isGeneratedClass(_entryClass)){
+            handler.addImport(g.getPackageName(_entryClass) + '.' +
+                    _entryClass.getSimpleName() + handler.getBuilderSuffix());
+        }else{
+            handler.addImport(_entryClass.getName());
+        }
+        
+        handler.addImport(_collClass.getName());
+        final String typeName =
+                Dom4jWriter.getWrapperName(_entryClass.getSimpleName());
+        w.write("\n\n");
+        g.writeDocumentation(w, getClass(), 1, typeName);
+        g.writeIndentation(w, 1);
+        w.write("public static <T extends Collection<");
+        w.write(typeName);
+        w.write(">> \n");
+        g.writeIndentation(w, 3);
+        w.write("T ");
+        g.writeMethodName(w, getClass(), _methodName);
+        w.write("(T coll, XMLStreamReader in) \n");
+        g.writeIndentation(w, 3);
+        w.write("throws XMLStreamException");
+        g.writeCurlyBrace(w, 1);
+        g.writeIndentation(w, 2);
+        w.write("while(in.nextTag() == XMLStreamConstants.START_ELEMENT)");
+        g.writeCurlyBrace(w, 2);
+        g.writeIndentation(w, 3);
+        w.write("coll.add(");
+        writeEntry(w, g, handler, _entryClass);
+        w.write(");\n");
+        g.writeIndentation(w, 2);
+        w.write("}\n");
+        g.writeIndentation(w, 2);
+        w.write("return coll;\n");
+        g.writeIndentation(w, 1);
+        w.write('}');
+    }
+    
+    /**
+     * Writes the expression which reads an entry from the current element
+     * of the reader named <code>in</code>.
+     * @param w The output Writer
+     * @param g The FlexGenerator instance
+     * @param handler The handler which is generating the class
+     * @param entryClass The type of the entry
+     * @throws java.io.IOException If an I/O error occurs.
+     */
+    static void writeEntry(Writer w, FlexGenerator g,
+            StaxBuilderHandler handler, Class<?> entryClass)
+            throws IOException {
+        
+        if(g.isGeneratedClass(entryClass)){
+            handler.writeClassName(w, entryClass,
+                    g.getClassPrefix(), g.getClassSuffix());
+            w.write(handler.getBuilderSuffix());
+            w.write(".");
+            g.writeMethodName(w, GetInstance.class);
+            w.write("(in)");
+            return;
+        }
+        
+        try {
+            
+            final List<PropertyWriter<StaxBuilderHandler>> pws =
+                    handler.getPropertyWriters();
+            
+            StaxWriter.setContextWriter(new TextElement());
+            final PropertyDescriptor proxy =
+                    new PropertyDescriptorProxy(entryClass);
+            
+            for(PropertyWriter<StaxBuilderHandler> pw :
+                    g.getPropertyWriters(proxy, handler, pws)){
+                pw.writeProperty(w, g, handler, "in", proxy);
+            }
+        
+        } catch (IntrospectionException ex) {
+            throw new RuntimeException(ex);
+        } finally {
+            StaxWriter.setContextWriter(null);
+        }
+    }
+}
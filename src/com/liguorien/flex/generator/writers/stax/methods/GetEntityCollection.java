@@ -0,0 +1,90 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.generator.writers.stax.methods;
+
+import com.liguorien.flex.generator.FlexGenerator;
+import com.liguorien.flex.generator.handlers.StaxBuilderHandler;
+import com.liguorien.flex.generator.writers.stax.BuilderMethodWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * <p>Generates a method which fills a Collection with the entities read
+ * from a StAX reader.  It's used by the builders of the entities which
+ * have a Collection of this entity.</p>
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+public class GetEntityCollection extends BuilderMethodWriter {
+    
+    public void writeMethod(Writer w, FlexGenerator g,
+            StaxBuilderHandler handler, Class<?> clazz) throws IOException {
+        
+        handler.addImport("javax.xml.stream.XMLStreamConstants");
+        handler.addImport("javax.xml.stream.XMLStreamException");
+        handler.addImport("javax.xml.stream.XMLStreamReader");
+        handler.addImport("java.util.Collection");
+        
+        final String className = handler.getClassName(clazz).toString();
+        
+        w.write("\n\n");
+        g.writeDocumentation(w, getClass(), 1, className);
+        g.writeIndentation(w, 1);
+        w.write("public static <T extends Collection<");
+        handler.writeClassName(w, clazz,
+                g.getClassPrefix(), g.getClassSuffix());
+        w.write(">> \n");
+        g.writeIndentation(w, 3);
+        w.write("T ");
+        g.writeMethodName(w, getClass());
+        w.write("(T coll, XMLStreamReader in) \n");
+        g.writeIndentation(w, 3);
+        w.write("throws XMLStreamException");
+        g.writeCurlyBrace(w, 1);
+        g.writeIndentation(w, 2);
+        w.write("while(in.nextTag() == XMLStreamConstants.START_ELEMENT)");
+        g.writeCurlyBrace(w, 2);
+        g.writeIndentation(w, 3);
+        w.write("if(\"");
+        w.write(FlexGenerator.getNodeName(clazz));
+        w.write("\".equals(in.getLocalName()))");
+        g.writeCurlyBrace(w, 3);
+        g.writeIndentation(w, 4);
+        w.write("coll.add(");
+        g.writeMethodName(w, GetInstance.class);
+        w.write("(in));\n");
+        g.writeIndentation(w, 3);
+        w.write("}else");
+        g.writeCurlyBrace(w, 3);
+        g.writeIndentation(w, 4);
+        g.writeMethodName(w, SkipElement.class);
+        w.write("(in);\n");
+        g.writeIndentation(w, 3);
+        w.write("}\n");
+        g.writeIndentation(w, 2);
+        w.write("}\n");
+        g.writeIndentation(w, 2);
+        w.write("return coll;\n");
+        g.writeIndentation(w, 1);
+        w.write('}');
+    }
+}
@@ -0,0 +1,113 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.generator.writers.stax.methods;
+
+import com.liguorien.flex.generator.FlexGenerator;
+import com.liguorien.flex.generator.handlers.StaxBuilderHandler;
+import com.liguorien.flex.generator.utils.LazyMode;
+import com.liguorien.flex.generator.writers.stax.BuilderMethodWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * <p>Generates a method which reads an entity from a StAX reader.</p>
+ * <p>The generated code looks like this : </p>
+ * <pre>
+ * public static Person getInstance(XMLStreamReader in)
+ *         throws XMLStreamException {
+ *     final Person o = new Person();
+ *     o.setId(Integer.parseInt(in.getAttributeValue(null, "id")));
+ *     while(in.nextTag() == XMLStreamConstants.START_ELEMENT) {
+ *         final String name = in.getLocalName();
+ *         if("age".equals(name)) {
+ *             o.setAge(new Integer(in.getElementText().trim()));
+ *             continue;
+ *         }
+ *         skipElement(in);
+ *     }
+ *     return o;
+ * }
+ * </pre>
+ * <p>The reader must be on the start tag of the entity, and it's left on
+ * its end tag.  The unknown elements and the lazy properties are
+ * skipped.</p>
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+public class GetInstance extends BuilderMethodWriter {
+    
+    /**
+     * @inheritDoc
+     */
+    public void writeMethod(Writer w, FlexGenerator g,
+            StaxBuilderHandler handler, Class<?> clazz) throws IOException {
+        
+        handler.addImport("javax.xml.stream.XMLStreamConstants");
+        handler.addImport("javax.xml.stream.XMLStreamException");
+        handler.addImport("javax.xml.stream.XMLStreamReader");
+        handler.addImport(clazz.getName());
+        
+        final String className = handler.getClassName(clazz).toString();
+        g.writeDocumentation(w, getClass(), 1, className);
+        
+        g.writeIndentation(w, 1);
+        w.write("public static ");
+        handler.writeClassName(w, clazz,
+                g.getClassPrefix(), g.getClassSuffix());
+        w.write(" ");
+        g.writeMethodName(w, getClass());
+        w.write("(XMLStreamReader in) \n");
+        g.writeIndentation(w, 3);
+        w.write("throws XMLStreamException");
+        g.writeCurlyBrace(w, 1);
+        g.writeIndentation(w, 2);
+        w.write("final ");
+        handler.writeClassName(w, clazz,
+                g.getClassPrefix(), g.getClassSuffix());
+        w.write(" o = new ");
+        handler.writeClassName(w, clazz,
+                g.getClassPrefix(), g.getClassSuffix());
+        w.write("();");
+        FlexGenerator.writeProperties(w, g, handler, "o",
+                handler.getAttributes(),
+                handler.getPropertyWriters(), LazyMode.SERVER_READ);
+        w.write('\n');
+        g.writeIndentation(w, 2);
+        w.write("while(in.nextTag() == XMLStreamConstants.START_ELEMENT)");
+        g.writeCurlyBrace(w, 2);
+        g.writeIndentation(w, 3);
+        w.write("final String name = in.getLocalName();");
+        FlexGenerator.writeProperties(w, g, handler, "o",
+                handler.getElements(),
+                handler.getPropertyWriters(), LazyMode.SERVER_READ);
+        w.write('\n');
+        g.writeIndentation(w, 3);
+        g.writeMethodName(w, SkipElement.class);
+        w.write("(in);\n");
+        g.writeIndentation(w, 2);
+        w.write("}\n");
+        g.writeIndentation(w, 2);
+        w.write("return o;\n");
+        g.writeIndentation(w, 1);
+        w.write('}');
+    }
+}
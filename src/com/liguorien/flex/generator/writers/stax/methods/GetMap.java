@@ -0,0 +1,133 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.generator.writers.stax.methods;
+
+import com.liguorien.flex.generator.FlexGenerator;
+import com.liguorien.flex.generator.handlers.StaxBuilderHandler;
+import com.liguorien.flex.generator.utils.PropertyDescriptorProxy;
+import com.liguorien.flex.generator.writers.PropertyWriter;
+import com.liguorien.flex.generator.writers.dom4j.Dom4jWriter;
+import com.liguorien.flex.generator.writers.stax.ContextMethodWriter;
+import com.liguorien.flex.generator.writers.stax.MapKey;
+import com.liguorien.flex.generator.writers.stax.StaxWriter;
+import java.beans.IntrospectionException;
+import java.beans.PropertyDescriptor;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * <p>Generates a method which fills a Map with the children of the current
+ * element of a StAX reader.  The key is read from the <code>KEY</code>
+ * attribute before the content of the entry.</p>
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+public class GetMap extends ContextMethodWriter {
+    
+    private Class<?> _keyClass;
+    private Class<?> _entryClass;
+    private PropertyDescriptor _prop;
+    
+    public GetMap(Class<?> keyClass, Class<?> entryClass, String methodName,
+            PropertyDescriptor prop){
+        super(methodName);
+        _keyClass = keyClass;
+        _entryClass = entryClass;
+        _prop = prop;
+    }
+    
+    public void writeMethod(Writer w, FlexGenerator g,
+            StaxBuilderHandler handler, Class<?> clazz) throws IOException {
+        
+        handler.addImport("javax.xml.stream.XMLStreamConstants");
+        handler.addImport("javax.xml.stream.XMLStreamException");
+        handler.addImport("javax.xml.stream.XMLStreamReader");
+        handler.addImport("java.util.Map");
+        handler.addImport(_keyClass.getName());
+        handler.addImport(_entryClass.getName());
+        
+        if(g.isGeneratedClass(_entryClass)){
+            handler.addImport(g.getPackageName(_entryClass) + '.' +
+                    _entryClass.getSimpleName() + handler.getBuilderSuffix());
+        }
+        
+        final String keyClassName =
+                Dom4jWriter.getWrapperName(_keyClass.getSimpleName());
+        
+        final String entryClassName =
+                Dom4jWriter.getWrapperName(_entryClass.getSimpleName());
+        
+        w.write("\n\n");
+        g.writeDocumentation(w, getClass(), 1,
+                entryClassName, keyClassName, getTypeName());
+        g.writeIndentation(w, 1);
+        w.write("public static <T extends Map<");
+        w.write(keyClassName);
+        w.write(", ");
+        w.write(entryClassName);
+        w.write(">> \n");
+        g.writeIndentation(w, 3);
+        w.write("T ");
+        g.writeMethodName(w, getClass(), getTypeName());
+        w.write("(T map, XMLStreamReader in) \n");
+        g.writeIndentation(w, 3);
+        w.write("throws XMLStreamException");
+        g.writeCurlyBrace(w, 1);
+        g.writeIndentation(w, 2);
+        w.write("while(in.nextTag() == XMLStreamConstants.START_ELEMENT)");
+        g.writeCurlyBrace(w, 2);
+        g.writeIndentation(w, 3);
+        w.write("map.put(");
+        
+        try {
+            
+            final List<PropertyWriter<StaxBuilderHandler>> pws =
+                    handler.getPropertyWriters();
+            
+            StaxWriter.setContextWriter(new MapKey());
+            final PropertyDescriptor proxy =
+                    new PropertyDescriptorProxy(_keyClass);
+            
+            for(PropertyWriter<StaxBuilderHandler> pw :
+                    g.getPropertyWriters(proxy, handler, pws)){
+                pw.writeProperty(w, g, handler, "in", proxy);
+            }
+        
+        } catch (IntrospectionException ex) {
+            throw new RuntimeException(ex);
+        } finally {
+            StaxWriter.setContextWriter(null);
+        }
+        
+        w.write(", \n");
+        g.writeIndentation(w, 5);
+        GetCollection.writeEntry(w, g, handler, _entryClass);
+        w.write(");\n");
+        g.writeIndentation(w, 2);
+        w.write("}\n");
+        g.writeIndentation(w, 2);
+        w.write("return map;\n");
+        g.writeIndentation(w, 1);
+        w.write('}');
+    }
+}
@@ -0,0 +1,158 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.generator.writers.stax.methods;
+
+import com.liguorien.flex.generator.FlexGenerator;
+import com.liguorien.flex.generator.handlers.StaxBuilderHandler;
+import com.liguorien.flex.generator.utils.LazyMode;
+import com.liguorien.flex.generator.writers.PropertyWriter;
+import com.liguorien.flex.generator.writers.stax.BuilderMethodWriter;
+import com.liguorien.flex.generator.writers.stax.properties.ArrayElement;
+import com.liguorien.flex.generator.writers.stax.properties.CollectionElement;
+import com.liguorien.flex.generator.writers.stax.properties.EntityElement;
+import com.liguorien.flex.generator.writers.stax.properties.MapElement;
+import com.liguorien.flex.generator.writers.stax.properties.SimpleElement;
+import java.beans.PropertyDescriptor;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * <p>Generates the methods which write an entity to a StAX
+ * <code>XMLStreamWriter</code>.  The XML is the same as the one of the
+ * dom4j <code>getElement</code> method, but nothing is kept in memory.</p>
+ * <p>The generated code looks like this : </p>
+ * <pre>
+ * public static void write(XMLStreamWriter out, Person o,
+ *         String name, String key) throws XMLStreamException {
+ *     if(o == null) return;
+ *     out.writeStartElement(name);
+ *     out.writeAttribute("id", String.valueOf(o.getId()));
+ *     if(key != null) out.writeAttribute("KEY", key);
+ *     writeElement(out, "age", String.valueOf(o.getAge()));
+ *     AddressStaxBuilder.write(out, o.getAddress(), "home-address", null);
+ *     out.writeEndElement();
+ * }
+ * </pre>
+ * <p>The element is named by the caller, so the same method writes the
+ * entity properties and the entries of the collections.  The
+ * <code>key</code> parameter is only used by the entries of the Maps.</p>
+ * @see WriteInstance
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+public class Write extends BuilderMethodWriter {
+    
+    public static Write getDefault(){
+        final Write w = new Write();
+        w.addPropertyWriter(new SimpleElement());
+        w.addPropertyWriter(new ArrayElement());
+        w.addPropertyWriter(new EntityElement());
+        w.addPropertyWriter(new MapElement());
+        w.addPropertyWriter(new CollectionElement());
+        return w;
+    }
+    
+    private final List<PropertyWriter<StaxBuilderHandler>> _propertyWriters
+            = new ArrayList<PropertyWriter<StaxBuilderHandler>>();
+    
+    /**
+     * Creates a new instance of Write
+     */
+    public Write() {
+    }
+    
+    public void addPropertyWriter(
+            PropertyWriter<StaxBuilderHandler> writer){
+        _propertyWriters.add(writer);
+        Collections.sort(_propertyWriters,
+                PropertyWriter.COMPARATOR);
+    }
+    
+    public void writeMethod(Writer w, FlexGenerator g,
+            StaxBuilderHandler handler, Class<?> clazz) throws IOException {
+        
+        handler.addImport("javax.xml.stream.XMLStreamException");
+        handler.addImport("javax.xml.stream.XMLStreamWriter");
+        
+        final String className = handler.getClassName(clazz).toString();
+        
+        w.write("\n\n");
+        g.writeDocumentation(w, getClass(), 1, className);
+        g.writeIndentation(w, 1);
+        w.write("public static void ");
+        g.writeMethodName(w, getClass());
+        w.write("(XMLStreamWriter out, ");
+        handler.writeClassName(w, clazz, g.getClassPrefix(),
+                g.getClassSuffix());
+        w.write(" o, \n");
+        g.writeIndentation(w, 3);
+        w.write("String name, String key) throws XMLStreamException");
+        g.writeCurlyBrace(w, 1);
+        g.writeIndentation(w, 2);
+        w.write("if(o == null) return;\n");
+        g.writeIndentation(w, 2);
+        w.write("out.writeStartElement(name);");
+        
+        for(PropertyDescriptor prop : handler.getAttributes()){
+            
+            if(FlexGenerator.isLazy(prop, LazyMode.SERVER_WRITE)){
+                continue;
+            }
+            
+            final Class<?> type = prop.getPropertyType();
+            final Method getter = prop.getReadMethod();
+            
+            if(g.isGeneratedClass(type)){
+                throw new IllegalArgumentException(
+                        "A complex type cannot be used as XML attribute " +
+                        "("+clazz.getName()+"."+prop.getName()+")");
+            }
+            
+            w.write("\n");
+            g.writeIndentation(w, 2);
+            w.write("out.writeAttribute(\"");
+            w.write(FlexGenerator.getNodeName(prop));
+            w.write("\", String.valueOf(o.");
+            w.write(getter.getName());
+            w.write("()));");
+        }
+        
+        w.write("\n");
+        g.writeIndentation(w, 2);
+        w.write("if(key != null) out.writeAttribute(\"KEY\", key);");
+        
+        FlexGenerator.writeProperties(w, g, handler, "o",
+                handler.getElements(),
+                _propertyWriters,
+                LazyMode.SERVER_WRITE);
+        
+        w.write('\n');
+        g.writeIndentation(w, 2);
+        w.write("out.writeEndElement();\n");
+        g.writeIndentation(w, 1);
+        w.write('}');
+    }
+}
@@ -0,0 +1,91 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.generator.writers.stax.methods;
+
+import com.liguorien.flex.generator.FlexGenerator;
+import com.liguorien.flex.generator.handlers.StaxBuilderHandler;
+import com.liguorien.flex.generator.writers.stax.BuilderMethodWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * <p>Generates a method which writes the entities returned by an Iterator
+ * to a StAX writer, in an element with the given name.  The entities are 
+ * written one at a time, so a cursor over a large result can be written 
+ * without loading it in memory.</p>
+ * <p>The generated code looks like this : </p>
+ * <pre>
+ * public static void writeAll(XMLStreamWriter out, String name, 
+ *         Iterator&lt;? extends Person&gt; it) throws XMLStreamException {
+ *     out.writeStartElement(name);
+ *     while(it.hasNext()) {
+ *         write(out, it.next(), "Person", null);
+ *     }
+ *     out.writeEndElement();
+ * }
+ * </pre>
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+public class WriteAll extends BuilderMethodWriter {
+    
+    /**
+     * @inheritDoc
+     */
+    public void writeMethod(Writer w, FlexGenerator g,
+            StaxBuilderHandler handler, Class<?> clazz) throws IOException {
+        
+        handler.addImport("javax.xml.stream.XMLStreamException");
+        handler.addImport("javax.xml.stream.XMLStreamWriter");
+        handler.addImport("java.util.Iterator");
+        
+        w.write("\n\n");
+        g.writeDocumentation(w, getClass(), 1,
+                handler.getClassName(clazz).toString());
+        g.writeIndentation(w, 1);
+        w.write("public static void ");
+        g.writeMethodName(w, getClass());
+        w.write("(XMLStreamWriter out, String name, \n");
+        g.writeIndentation(w, 3);
+        w.write("Iterator<? extends ");
+        handler.writeClassName(w, clazz,
+                g.getClassPrefix(), g.getClassSuffix());
+        w.write("> it) throws XMLStreamException");
+        g.writeCurlyBrace(w, 1);
+        g.writeIndentation(w, 2);
+        w.write("out.writeStartElement(name);\n");
+        g.writeIndentation(w, 2);
+        w.write("while(it.hasNext())");
+        g.writeCurlyBrace(w, 2);
+        g.writeIndentation(w, 3);
+        g.writeMethodName(w, Write.class);
+        w.write("(out, it.next(), \"");
+        w.write(FlexGenerator.getNodeName(clazz));
+        w.write("\", null);\n");
+        g.writeIndentation(w, 2);
+        w.write("}\n");
+        g.writeIndentation(w, 2);
+        w.write("out.writeEndElement();\n");
+        g.writeIndentation(w, 1);
+        w.write('}');
+    }
+}
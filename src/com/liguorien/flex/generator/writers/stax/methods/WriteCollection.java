@@ -0,0 +1,75 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.generator.writers.stax.methods;
+
+import com.liguorien.flex.generator.FlexGenerator;
+import com.liguorien.flex.generator.handlers.StaxBuilderHandler;
+import com.liguorien.flex.generator.writers.stax.ContextMethodWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * <p>Generates a method which writes a Collection of simple type to a
+ * StAX writer.  Each entry is written in an <code>e</code> element.</p>
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+public class WriteCollection extends ContextMethodWriter {
+    
+    public WriteCollection(){
+        super(WriteCollection.class.getName());
+    }
+    
+    public void writeMethod(Writer w, FlexGenerator g,
+            StaxBuilderHandler handler, Class<?> clazz) throws IOException {
+        
+        handler.addImport("javax.xml.stream.XMLStreamException");
+        handler.addImport("javax.xml.stream.XMLStreamWriter");
+        handler.addImport("java.util.Collection");
+        
+        w.write("\n\n");
+        g.writeDocumentation(w, getClass(), 1);
+        g.writeIndentation(w, 1);
+        w.write("public static void ");
+        g.writeMethodName(w, getClass());
+        w.write("(XMLStreamWriter out, String name, \n");
+        g.writeIndentation(w, 3);
+        w.write("Collection<?> coll) throws XMLStreamException");
+        g.writeCurlyBrace(w, 1);
+        g.writeIndentation(w, 2);
+        w.write("if(coll == null) return;\n");
+        g.writeIndentation(w, 2);
+        w.write("out.writeStartElement(name);\n");
+        g.writeIndentation(w, 2);
+        w.write("for(Object obj : coll)");
+        g.writeCurlyBrace(w, 2);
+        g.writeIndentation(w, 3);
+        g.writeMethodName(w, WriteElement.class);
+        w.write("(out, \"e\", String.valueOf(obj));\n");
+        g.writeIndentation(w, 2);
+        w.write("}\n");
+        g.writeIndentation(w, 2);
+        w.write("out.writeEndElement();\n");
+        g.writeIndentation(w, 1);
+        w.write('}');
+    }
+}
@@ -0,0 +1,75 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.generator.writers.stax.methods;
+
+import com.liguorien.flex.generator.FlexGenerator;
+import com.liguorien.flex.generator.handlers.StaxBuilderHandler;
+import com.liguorien.flex.generator.writers.stax.BuilderMethodWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * <p>Generates the public entry point which writes an entity to a StAX
+ * <code>XMLStreamWriter</code>, in an element named after the entity.</p>
+ * <pre>
+ * public static void write(XMLStreamWriter out, Person o)
+ *         throws XMLStreamException {
+ *     write(out, o, "Person", null);
+ * }
+ * </pre>
+ * @version 0.2
+ * @author Nicolas Dsy
+ * @see Write
+ */
+public class WriteInstance extends BuilderMethodWriter {
+    
+    /**
+     * @inheritDoc
+     */
+    public void writeMethod(Writer w, FlexGenerator g,
+            StaxBuilderHandler handler, Class<?> clazz) throws IOException {
+        
+        handler.addImport("javax.xml.stream.XMLStreamException");
+        handler.addImport("javax.xml.stream.XMLStreamWriter");
+        
+        w.write("\n\n");
+        g.writeDocumentation(w, getClass(), 1,
+                handler.getClassName(clazz).toString());
+        g.writeIndentation(w, 1);
+        w.write("public static void ");
+        g.writeMethodName(w, getClass());
+        w.write("(XMLStreamWriter out, ");
+        handler.writeClassName(w, clazz, g.getClassPrefix(),
+                g.getClassSuffix());
+        w.write(" o) \n");
+        g.writeIndentation(w, 3);
+        w.write("throws XMLStreamException");
+        g.writeCurlyBrace(w, 1);
+        g.writeIndentation(w, 2);
+        g.writeMethodName(w, Write.class);
+        w.write("(out, o, \"");
+        w.write(FlexGenerator.getNodeName(clazz));
+        w.write("\", null);\n");
+        g.writeIndentation(w, 1);
+        w.write('}');
+    }
+}
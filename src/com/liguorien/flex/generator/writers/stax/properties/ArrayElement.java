@@ -0,0 +1,85 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.generator.writers.stax.properties;
+
+import com.liguorien.flex.generator.FlexGenerator;
+import com.liguorien.flex.generator.handlers.StaxBuilderHandler;
+import com.liguorien.flex.generator.writers.PropertyWriter;
+import com.liguorien.flex.generator.writers.stax.methods.WriteArray;
+import com.liguorien.flex.generator.writers.stax.methods.WriteEntityArray;
+import java.beans.PropertyDescriptor;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * <p>Writes an array of entities or of simple type.</p>
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+public class ArrayElement
+        implements PropertyWriter<StaxBuilderHandler> {
+    
+    public int getPriority() {
+        return 3;
+    }
+    
+    /**
+     * <p>Accepts properties which type is an array.</p>
+     * @inheritDoc
+     */
+    public boolean acceptProperty(
+            PropertyDescriptor prop, StaxBuilderHandler handler) {
+        return prop.getPropertyType().isArray();
+    }
+    
+    public void writeProperty(
+            Writer w, FlexGenerator g, StaxBuilderHandler handler,
+            String varName, PropertyDescriptor prop) throws IOException {
+        
+        final Class<?> entryClass = prop.getPropertyType().getComponentType();
+        
+        w.write('\n');
+        g.writeIndentation(w, 2);
+        
+        if(g.isGeneratedClass(entryClass)){
+            handler.addImport(g.getPackageName(entryClass) + '.' +
+                    entryClass.getSimpleName() +
+                    handler.getBuilderSuffix());
+            handler.writeClassName(w, entryClass, g.getClassPrefix(),
+                    g.getClassSuffix());
+            w.write(handler.getBuilderSuffix());
+            w.write(".");
+            g.writeMethodName(w, WriteEntityArray.class);
+        }else{
+            handler.addContextMethodWriter(new WriteArray(entryClass));
+            g.writeMethodName(w, WriteArray.class);
+        }
+        
+        w.write("(out, \"");
+        w.write(FlexGenerator.getNodeName(prop));
+        w.write("\", ");
+        w.write(varName);
+        w.write(".");
+        w.write(prop.getReadMethod().getName());
+        w.write("());");
+    }
+}
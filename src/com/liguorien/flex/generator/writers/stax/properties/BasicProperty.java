@@ -0,0 +1,95 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.generator.writers.stax.properties;
+
+import com.liguorien.flex.generator.FlexGenerator;
+import com.liguorien.flex.generator.handlers.StaxBuilderHandler;
+import com.liguorien.flex.generator.writers.TypedPropertyWriter;
+import com.liguorien.flex.generator.writers.stax.StaxWriter;
+import java.beans.PropertyDescriptor;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * <p>Writes a property of simple type, converted from the String read by
+ * the context writer with a given prefix and suffix.</p>
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+public class BasicProperty
+        implements TypedPropertyWriter<StaxBuilderHandler> {
+    
+    private String _typeName;
+    private String _prefix;
+    private String _suffix;
+    private int _priority;
+    
+    /**
+     *
+     * @param typeName
+     * @param prefix
+     * @param suffix
+     * @param priority
+     */
+    public BasicProperty(
+            String typeName, String prefix, String suffix, int priority){
+        _typeName = typeName;
+        _prefix = prefix;
+        _suffix = suffix;
+        _priority = priority;
+    }
+    
+    /**
+     * @inheritDoc
+     */
+    public boolean acceptProperty(
+                PropertyDescriptor prop, StaxBuilderHandler handler) {
+        return _typeName.equals(prop.getPropertyType().getSimpleName());
+    }
+    
+    /**
+     * @inheritDoc
+     */
+    public Class<?>[] getAcceptedTypes() {
+        final Class<?> type = com.liguorien.flex.generator.writers.dom4j.
+                properties.BasicProperty.getType(_typeName);
+        return (type == null) ? null : new Class<?>[]{type};
+    }
+    
+    /**
+     * @inheritDoc
+     */
+    public void writeProperty(Writer w, FlexGenerator g,
+            StaxBuilderHandler handler, String varName,
+            PropertyDescriptor prop) throws IOException {
+        
+        StaxWriter.getContextWriter().writeProperty(
+                w, g, varName, prop, _prefix, _suffix, null);
+    }
+    
+    /**
+     * @inheritDoc
+     */
+    public int getPriority(){
+        return _priority;
+    }
+}
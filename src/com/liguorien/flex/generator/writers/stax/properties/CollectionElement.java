@@ -0,0 +1,90 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.generator.writers.stax.properties;
+
+import com.liguorien.flex.generator.FlexGenerator;
+import com.liguorien.flex.generator.handlers.StaxBuilderHandler;
+import com.liguorien.flex.generator.utils.PropertyMetadata;
+import com.liguorien.flex.generator.writers.PropertyWriter;
+import com.liguorien.flex.generator.writers.stax.methods.WriteCollection;
+import com.liguorien.flex.generator.writers.stax.methods.WriteEntityCollection;
+import java.beans.PropertyDescriptor;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Collection;
+
+/**
+ * <p>Writes a Collection annotated with {@link
+ * com.liguorien.flex.generator.FlexList} or {@link
+ * com.liguorien.flex.generator.FlexSet}.</p>
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+public class CollectionElement
+        implements PropertyWriter<StaxBuilderHandler> {
+    
+    public int getPriority() {
+        return 3;
+    }
+    
+    /**
+     * <p>Accepts properties which type is subclass of java.util.Collection.</p>
+     * @inheritDoc
+     */
+    public boolean acceptProperty(
+            PropertyDescriptor prop, StaxBuilderHandler handler) {
+        return Collection.class.isAssignableFrom(prop.getPropertyType()) &&
+                PropertyMetadata.get(prop).isCollection();
+    }
+    
+    public void writeProperty(
+            Writer w, FlexGenerator g, StaxBuilderHandler handler,
+            String varName, PropertyDescriptor prop) throws IOException {
+        
+        final Class<?> entryClass = PropertyMetadata.get(prop).getEntryClass();
+        
+        w.write('\n');
+        g.writeIndentation(w, 2);
+        
+        if(g.isGeneratedClass(entryClass)){
+            handler.addImport(g.getPackageName(entryClass) + '.' +
+                    entryClass.getSimpleName() +
+                    handler.getBuilderSuffix());
+            handler.writeClassName(w, entryClass, g.getClassPrefix(),
+                    g.getClassSuffix());
+            w.write(handler.getBuilderSuffix());
+            w.write(".");
+            g.writeMethodName(w, WriteEntityCollection.class);
+        }else{
+            handler.addContextMethodWriter(new WriteCollection());
+            g.writeMethodName(w, WriteCollection.class);
+        }
+        
+        w.write("(out, \"");
+        w.write(FlexGenerator.getNodeName(prop));
+        w.write("\", ");
+        w.write(varName);
+        w.write(".");
+        w.write(prop.getReadMethod().getName());
+        w.write("());");
+    }
+}
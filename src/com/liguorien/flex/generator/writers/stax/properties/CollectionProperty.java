@@ -0,0 +1,107 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.generator.writers.stax.properties;
+
+import com.liguorien.flex.generator.FlexGenerator;
+import com.liguorien.flex.generator.handlers.StaxBuilderHandler;
+import com.liguorien.flex.generator.utils.NodeType;
+import com.liguorien.flex.generator.utils.PropertyMetadata;
+import com.liguorien.flex.generator.writers.PropertyWriter;
+import com.liguorien.flex.generator.writers.dom4j.Dom4jWriter;
+import com.liguorien.flex.generator.writers.stax.StaxWriter;
+import com.liguorien.flex.generator.writers.stax.methods.GetCollection;
+import com.liguorien.flex.generator.writers.stax.methods.GetEntityCollection;
+import java.beans.PropertyDescriptor;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.reflect.Method;
+import java.util.Collection;
+
+/**
+ * <p>Writes a Collection annotated with {@link
+ * com.liguorien.flex.generator.FlexList} or {@link
+ * com.liguorien.flex.generator.FlexSet}.</p>
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+public class CollectionProperty
+        implements PropertyWriter<StaxBuilderHandler> {
+    
+    private int _priority;
+    
+    public CollectionProperty(int priority){
+        _priority = priority;
+    }
+    
+    public boolean acceptProperty(
+            PropertyDescriptor prop, StaxBuilderHandler handler) {
+        return Collection.class.isAssignableFrom(prop.getPropertyType()) &&
+                PropertyMetadata.get(prop).isCollection();
+    }
+    
+    public void writeProperty(Writer w, FlexGenerator g,
+            StaxBuilderHandler handler, String varName,
+            PropertyDescriptor prop)
+            throws IOException {
+        
+        final Method getter = prop.getReadMethod();
+        final PropertyMetadata meta = PropertyMetadata.get(prop);
+        final Class<?> entryClass = meta.getEntryClass();
+        final Class<?> collClass = meta.getCollectionClass();
+        
+        handler.addImport(entryClass.getName());
+        handler.addImport(collClass.getName());
+        
+        final String collection = "new " + collClass.getSimpleName() + "<" +
+                Dom4jWriter.getWrapperName(entryClass.getSimpleName()) +
+                ">(), ";
+        
+        if (g.isGeneratedClass(entryClass)){
+            
+            handler.addImport(
+                    g.getPackageName(entryClass) + '.' +
+                    entryClass.getSimpleName() + handler.getBuilderSuffix());
+            
+            StaxWriter.getContextWriter().writeProperty(w, g, varName, prop,
+                    entryClass.getSimpleName() + handler.getBuilderSuffix() +
+                    "." + g.getMethodName(GetEntityCollection.class) +
+                    "(\n" + g.getIndentation(5) + collection, ")",
+                    NodeType.ELEMENT);
+        }else{
+            handler.addContextMethodWriter(
+                    new GetCollection(
+                    entryClass, collClass, getter.getName(), prop));
+            
+            StaxWriter.getContextWriter().writeProperty(w, g, varName, prop,
+                    g.getMethodName(GetCollection.class, getter.getName()) +
+                    "(\n" + g.getIndentation(5) + collection, ")",
+                    NodeType.ELEMENT);
+        }
+    }
+    
+    /**
+     * @inheritDoc
+     */
+    public int getPriority(){
+        return _priority;
+    }
+}
@@ -0,0 +1,75 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.generator.writers.stax.properties;
+
+import com.liguorien.flex.generator.FlexGenerator;
+import com.liguorien.flex.generator.handlers.StaxBuilderHandler;
+import com.liguorien.flex.generator.writers.PropertyWriter;
+import com.liguorien.flex.generator.writers.stax.methods.Write;
+import java.beans.PropertyDescriptor;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * <p>Writes a nested entity in an element named after the property.</p>
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+public class EntityElement
+        implements PropertyWriter<StaxBuilderHandler> {
+    
+    public int getPriority() {
+        return 1;
+    }
+    
+    public boolean acceptProperty(
+            PropertyDescriptor prop, StaxBuilderHandler handler) {
+        return handler.getGenerator().
+                isGeneratedClass(prop.getPropertyType());
+    }
+    
+    public void writeProperty(Writer w, FlexGenerator g,
+            StaxBuilderHandler handler, String varName,
+            PropertyDescriptor prop) throws IOException {
+        
+        final Class<?> type = prop.getPropertyType();
+        
+        handler.addImport(
+                g.getPackageName(type) + '.' +
+                type.getSimpleName() + handler.getBuilderSuffix());
+        
+        w.write('\n');
+        g.writeIndentation(w, 2);
+        handler.writeClassName(w, type, g.getClassPrefix(),
+                g.getClassSuffix());
+        w.write(handler.getBuilderSuffix());
+        w.write(".");
+        g.writeMethodName(w, Write.class);
+        w.write("(out, ");
+        w.write(varName);
+        w.write(".");
+        w.write(prop.getReadMethod().getName());
+        w.write("(), \"");
+        w.write(FlexGenerator.getNodeName(prop));
+        w.write("\", null);");
+    }
+}
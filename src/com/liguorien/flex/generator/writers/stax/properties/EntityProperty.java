@@ -0,0 +1,73 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.generator.writers.stax.properties;
+
+import com.liguorien.flex.generator.FlexGenerator;
+import com.liguorien.flex.generator.handlers.StaxBuilderHandler;
+import com.liguorien.flex.generator.utils.NodeType;
+import com.liguorien.flex.generator.writers.PropertyWriter;
+import com.liguorien.flex.generator.writers.stax.StaxWriter;
+import com.liguorien.flex.generator.writers.stax.methods.GetInstance;
+import java.beans.PropertyDescriptor;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * <p>Writes a nested entity, read by the builder of its class.</p>
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+public class EntityProperty
+        implements PropertyWriter<StaxBuilderHandler> {
+    
+    private int _priority;
+    
+    public EntityProperty(int priority){
+        _priority = priority;
+    }
+    
+    public int getPriority() {
+        return _priority;
+    }
+    
+    public boolean acceptProperty(
+            PropertyDescriptor prop, StaxBuilderHandler handler) {
+        return StaxWriter.getContextWriter() == StaxWriter.WRITER &&
+                handler.getGenerator().isGeneratedClass(prop.getPropertyType());
+    }
+    
+    public void writeProperty(Writer w, FlexGenerator g,
+            StaxBuilderHandler handler, String varName,
+            PropertyDescriptor prop) throws IOException {
+        
+        final Class<?> entryClass = prop.getPropertyType();
+        
+        handler.addImport(
+                g.getPackageName(entryClass) + '.' +
+                entryClass.getSimpleName() + handler.getBuilderSuffix());
+        
+        StaxWriter.getContextWriter().writeProperty(w, g, varName, prop,
+                entryClass.getSimpleName() + handler.getBuilderSuffix() +
+                "." + g.getMethodName(GetInstance.class) + "(", ")",
+                NodeType.ELEMENT);
+    }
+}
@@ -0,0 +1,89 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.generator.writers.stax.properties;
+
+import com.liguorien.flex.generator.FlexGenerator;
+import com.liguorien.flex.generator.handlers.StaxBuilderHandler;
+import com.liguorien.flex.generator.utils.PropertyMetadata;
+import com.liguorien.flex.generator.writers.PropertyWriter;
+import com.liguorien.flex.generator.writers.stax.methods.WriteMap;
+import com.liguorien.flex.generator.writers.stax.methods.WriteEntityMap;
+import java.beans.PropertyDescriptor;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Map;
+
+/**
+ * <p>Writes a Map annotated with {@link
+ * com.liguorien.flex.generator.FlexMap}.</p>
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+public class MapElement
+        implements PropertyWriter<StaxBuilderHandler> {
+    
+    public int getPriority() {
+        return 1;
+    }
+    
+    /**
+     * <p>Accepts properties which type is subclass of java.util.Map.</p>
+     * @inheritDoc
+     */
+    public boolean acceptProperty(
+            PropertyDescriptor prop, StaxBuilderHandler handler) {
+        return Map.class.isAssignableFrom(prop.getPropertyType()) &&
+                PropertyMetadata.get(prop).isMap();
+    }
+    
+    public void writeProperty(
+            Writer w, FlexGenerator g, StaxBuilderHandler handler,
+            String varName, PropertyDescriptor prop) throws IOException {
+        
+        final Class<?> entryClass = PropertyMetadata.get(prop).getEntryClass();
+        
+        w.write('\n');
+        g.writeIndentation(w, 2);
+        
+        if(g.isGeneratedClass(entryClass)){
+            handler.addImport(g.getPackageName(entryClass) + '.' +
+                    entryClass.getSimpleName() +
+                    handler.getBuilderSuffix());
+            handler.writeClassName(w, entryClass, g.getClassPrefix(),
+                    g.getClassSuffix());
+            w.write(handler.getBuilderSuffix());
+            w.write(".");
+            g.writeMethodName(w, WriteEntityMap.class);
+        }else{
+            handler.addContextMethodWriter(new WriteMap());
+            g.writeMethodName(w, WriteMap.class);
+        }
+        
+        w.write("(out, \"");
+        w.write(FlexGenerator.getNodeName(prop));
+        w.write("\", ");
+        w.write(varName);
+        w.write(".");
+        w.write(prop.getReadMethod().getName());
+        w.write("());");
+    }
+}
@@ -0,0 +1,100 @@
+
+/**
+ *   Copyright (C) 2006 Nicolas Dsy.  All rights reserved.
+ *   
+ *   This file is part of FlexGenerator
+ *
+ *   This library is free software; you can redistribute it and/or
+ *   modify it under the terms of the GNU Lesser General Public
+ *   License as published by the Free Software Foundation; either
+ *   version 2.1 of the License, or (at your option) any later version.
+ *   
+ *   This library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *   Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ *   License along with this library; if not, write to the Free Software
+ *   Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.liguorien.flex.generator.writers.stax.properties;
+
+import com.liguorien.flex.generator.FlexGenerator;
+import com.liguorien.flex.generator.handlers.StaxBuilderHandler;
+import com.liguorien.flex.generator.utils.NodeType;
+import com.liguorien.flex.generator.utils.PropertyMetadata;
+import com.liguorien.flex.generator.writers.PropertyWriter;
+import com.liguorien.flex.generator.writers.dom4j.Dom4jWriter;
+import com.liguorien.flex.generator.writers.stax.StaxWriter;
+import com.liguorien.flex.generator.writers.stax.methods.GetMap;
+import java.beans.PropertyDescriptor;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.reflect.Method;
+import java.util.Map;
+
+/**
+ * <p>Writes a Map annotated with {@link
+ * com.liguorien.flex.generator.FlexMap}.  The key of each entry is read
+ * from its <code>KEY</code> attribute.</p>
+ * @version 0.2
+ * @author Nicolas Dsy
+ */
+public class MapProperty
+        implements PropertyWriter<StaxBuilderHandler> {
+    
+    private int _priority;
+    
+    public MapProperty(int priority){
+        _priority = priority;
+    }
+    
+    public boolean acceptProperty(
+                PropertyDescriptor prop, StaxBuilderHandler handler) {
+        return StaxWriter.getContextWriter() == StaxWriter.WRITER &&
+                Map.class.isAssignableFrom(prop.getPropertyType()) &&
+                PropertyMetadata.get(prop).isMap();
+    }
+    
+    public void writeProperty(Writer w, FlexGenerator g,
+            StaxBuilderHandler handler, String varName,
+            PropertyDescriptor prop)
+            throws IOException {
+        
+        final Method getter = prop.getReadMethod();
+        final PropertyMetadata meta = PropertyMetadata.get(prop);
+        
+        final Class<?> keyClass = meta.getKeyClass();
+        final Class<?> entryClass = meta.getEntryClass();
+        final Class<?> mapClass = meta.getCollectionClass();
+        
+        handler.addContextMethodWriter(new GetMap(
+                keyClass, entryClass, getter.getName(), prop));
+        
+        handler.addImport(keyClass.getName());
+        handler.addImport(entryClass.getName());
+        handler.addImport(mapClass.getName());
+        
+        final String keyClassName =
+                Dom4jWriter.getWrapperName(keyClass.getSimpleName());
+        
+        final String entryClassName =
+                Dom4jWriter.getWrapperName(entryClass.getSimpleName());
+        
+        StaxWriter.getContextWriter().writeProperty(w, g, varName, prop,
+                g.getMethodName(GetMap.class, getter.getName()) +
+                "(\n" + g.getIndentation(5) + "new " +
+                mapClass.getSimpleName() + "<" +
+                keyClassName + ", " + entryClassName + ">(), ", ")",
+                NodeType.ELEMENT);
+    }
+    
+    /**
+     * @inheritDoc
+     */
+    public int getPriority(){
+        return _priority;
+    }
+}